@@ -0,0 +1,42 @@
+#!/bin/sh
+# Extrai o jar e gera o arquivo CDS (app.jsa) com uma execução de treino que sobe o contexto e sai
+# logo após o refresh, sem banco: Flyway desligado, ddl-auto=none e sem acesso a metadados JDBC.
+#
+# Uso: scripts/cds-train.sh [jar] [destino]
+#   jar      padrão: target/backend-0.0.1-SNAPSHOT.jar (gere com ./mvnw -Pcds package para ter AOT)
+#   destino  padrão: target/cds
+#
+# O .jsa só vale para a mesma JVM que o gerou: no Docker o treino roda na imagem final.
+# Execução: cd <destino> && java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar
+set -eu
+
+JAR=${1:-target/backend-0.0.1-SNAPSHOT.jar}
+DEST=${2:-target/cds}
+JAVA=${JAVA:-java}
+
+rm -rf "$DEST"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$DEST"
+if [ "$(basename "$JAR")" != app.jar ]; then
+  mv "$DEST/$(basename "$JAR")" "$DEST/app.jar"
+fi
+
+# Só liga AOT no treino se o jar tiver sido gerado com o profile cds.
+AOT=false
+if unzip -l "$DEST/app.jar" | grep -q '__ApplicationContextInitializer.class'; then
+  AOT=true
+fi
+
+# Sem metadados JDBC o Hibernate não descobre o dialeto sozinho (o aviso HHH90000025 é esperado).
+cd "$DEST"
+"$JAVA" \
+  -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=error \
+  -Dspring.aot.enabled="$AOT" \
+  -Dspring.context.exit=onRefresh \
+  -Dspring.flyway.enabled=false \
+  -Dspring.jpa.hibernate.ddl-auto=none \
+  -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+  -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect \
+  -DDB_HOST=localhost -DDB_PORT=5432 -DDB_NAME=cds -DDB_USER=cds -DDB_PASSWORD=cds \
+  -jar app.jar
+
+echo "CDS pronto em $DEST/app.jsa (aot=$AOT)"
@@ -0,0 +1,74 @@
+#!/bin/sh
+# Mede startup e primeira requisição em quatro modos: jar padrão, profile lazy, CDS (+AOT quando o
+# jar foi gerado com -Pcds) e CDS + lazy. Precisa de um Postgres acessível pelas variáveis DB_* de sempre.
+#
+# Uso: scripts/startup-bench.sh [rodadas]   (rode antes: ./mvnw -Pcds package && scripts/cds-train.sh)
+set -eu
+
+RUNS=${1:-5}
+JAVA=${JAVA:-java}
+PORT=${SERVER_PORT:-8080}
+JAR=target/cds/app.jar
+LOG=$(mktemp)
+
+: "${DB_HOST:?DB_HOST is required}"
+[ -f "$JAR" ] || { echo "rode scripts/cds-train.sh antes" >&2; exit 1; }
+
+AOT=false
+if unzip -l "$JAR" | grep -q '__ApplicationContextInitializer.class'; then
+  AOT=true
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+# Uma rodada: sobe a app, espera o health, mede GET /assets e derruba o processo.
+run_once() {
+  start=$(now_ms)
+  APP_SEED=false "$JAVA" "$@" -jar "$JAR" --server.port="$PORT" > "$LOG" 2>&1 &
+  pid=$!
+
+  until curl -fsS "http://localhost:$PORT/actuator/health" > /dev/null 2>&1; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "a aplicação caiu; log em $LOG" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  ready=$(( $(now_ms) - start ))
+
+  first=$(curl -fsS -o /dev/null -w '%{time_total}' "http://localhost:$PORT/assets?size=10")
+  started=$(sed -n 's/.*Started BackendApplication in \([0-9.]*\) seconds.*/\1/p' "$LOG")
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$ready $started $first"
+}
+
+bench() {
+  label=$1
+  shift
+  total_ready=0
+  i=0
+  while [ "$i" -lt "$RUNS" ]; do
+    result=$(run_once "$@")
+    ready=$(echo "$result" | cut -d' ' -f1)
+    total_ready=$((total_ready + ready))
+    printf '%-8s run %d: ready=%sms started=%ss first-request=%ss\n' \
+      "$label" "$((i + 1))" "$ready" \
+      "$(echo "$result" | cut -d' ' -f2)" "$(echo "$result" | cut -d' ' -f3)"
+    i=$((i + 1))
+  done
+  printf '%-8s média ready=%sms\n\n' "$label" "$((total_ready / RUNS))"
+}
+
+cd "$(dirname "$JAR")"
+JAR=app.jar
+
+bench default
+bench lazy -Dspring.profiles.active=lazy
+bench cds -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled="$AOT"
+bench cds+lazy -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled="$AOT" -Dspring.profiles.active=lazy
+
+rm -f "$LOG"
@@ -0,0 +1,146 @@
+package com.geosapiens.backend.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de concorrência adaptativo no estilo Gradient2: compara a latência recente (média curta)
+ * com a latência de referência (média longa). Enquanto as duas andam juntas o limite cresce
+ * ({@code limite + sqrt(limite)}); quando a recente sobe além da tolerância, há fila se formando no
+ * banco e o limite encolhe proporcionalmente. Falhas (5xx, timeouts) aplicam o corte multiplicativo
+ * do AIMD. Requisições acima do limite são recusadas na hora, sem fila.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  /** Quanto a latência recente pode superar a de referência antes de o limite cair. */
+  private static final double RTT_TOLERANCE = 1.5;
+  /** Peso de cada amostra nas médias curta e longa (~10 e ~500 amostras). */
+  private static final double SHORT_SMOOTHING = 0.1;
+  private static final double LONG_SMOOTHING = 0.002;
+  /** Fração do limite novo aplicada por amostra, para o limite não oscilar. */
+  private static final double LIMIT_SMOOTHING = 0.2;
+  /** Corte do AIMD quando uma requisição falha por sobrecarga. */
+  private static final double DROP_BACKOFF = 0.9;
+
+  private final Bulkhead bulkhead;
+  private final int minLimit;
+  private final int maxLimit;
+  private final LongSupplier nanoClock;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+
+  private volatile double limit;
+  private double shortRttNanos;
+  private double longRttNanos;
+
+  public AdaptiveConcurrencyLimiter(Bulkhead bulkhead, int initialLimit, int minLimit, int maxLimit) {
+    this(bulkhead, initialLimit, minLimit, maxLimit, System::nanoTime);
+  }
+
+  AdaptiveConcurrencyLimiter(
+      Bulkhead bulkhead, int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Limites inválidos: min=" + minLimit + ", max=" + maxLimit);
+    }
+    this.bulkhead = bulkhead;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.nanoClock = nanoClock;
+    this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+  }
+
+  /** Reserva uma vaga; {@code null} quando o bulkhead está no limite. */
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected.increment();
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(nanoClock.getAsLong(), current + 1);
+      }
+    }
+  }
+
+  public Bulkhead bulkhead() {
+    return bulkhead;
+  }
+
+  public int limit() {
+    return (int) limit;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  /** Latência de referência em ms (0 antes da primeira amostra). */
+  public synchronized double referenceRttMillis() {
+    return longRttNanos / 1_000_000;
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+    if (longRttNanos == 0) {
+      shortRttNanos = rttNanos;
+      longRttNanos = rttNanos;
+      return;
+    }
+    shortRttNanos += (rttNanos - shortRttNanos) * SHORT_SMOOTHING;
+    longRttNanos += (rttNanos - longRttNanos) * LONG_SMOOTHING;
+
+    // Depois de uma degradação longa a referência fica inflada; deixa ela voltar mais rápido.
+    if (longRttNanos > 2 * shortRttNanos) {
+      longRttNanos *= 0.95;
+    }
+
+    // Com o bulkhead ocioso a latência não diz nada sobre o limite: não cresce sem demanda.
+    double current = limit;
+    if (inFlightAtStart < current / 2) {
+      return;
+    }
+
+    double gradient = Math.clamp(RTT_TOLERANCE * longRttNanos / shortRttNanos, 0.5, 1.0);
+    double target = current * gradient + Math.sqrt(current);
+    limit = Math.clamp(current + (target - current) * LIMIT_SMOOTHING, minLimit, maxLimit);
+  }
+
+  private synchronized void onDrop() {
+    limit = Math.max(minLimit, limit * DROP_BACKOFF);
+  }
+
+  /** Vaga reservada; exatamente um dos métodos deve ser chamado ao fim da requisição. */
+  public final class Permit {
+
+    private final long startedAt;
+    private final int inFlightAtStart;
+
+    private Permit(long startedAt, int inFlightAtStart) {
+      this.startedAt = startedAt;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /** Requisição atendida: a latência entra no cálculo do limite. */
+    public void success() {
+      inFlight.decrementAndGet();
+      onSample(nanoClock.getAsLong() - startedAt, inFlightAtStart);
+    }
+
+    /** Falha do servidor: corte multiplicativo do limite. */
+    public void dropped() {
+      inFlight.decrementAndGet();
+      onDrop();
+    }
+
+    /** Resultado que não reflete carga (ex.: 4xx): só libera a vaga. */
+    public void ignore() {
+      inFlight.decrementAndGet();
+    }
+  }
+}
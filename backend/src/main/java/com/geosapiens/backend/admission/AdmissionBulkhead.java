@@ -0,0 +1,16 @@
+package com.geosapiens.backend.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Coloca o endpoint (ou todos os do controller) sob o limite adaptativo do {@link Bulkhead}. */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface AdmissionBulkhead {
+
+  Bulkhead value();
+}
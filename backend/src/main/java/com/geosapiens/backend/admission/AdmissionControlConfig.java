@@ -0,0 +1,80 @@
+package com.geosapiens.backend.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Um {@link AdaptiveConcurrencyLimiter} por {@link Bulkhead}. A busca tem teto próprio, menor, para
+ * que consultas caras não consumam a capacidade do banco que atende lookups e escritas.
+ *
+ * <p>{@code app.admission.enabled} é lido em runtime, como em {@code FlywayConfig}: com Spring AOT
+ * um {@code @ConditionalOn...} seria resolvido no build e {@code APP_ADMISSION_ENABLED} seria
+ * ignorado pela imagem.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+  private final Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Bulkhead.class);
+  private final Duration retryAfter;
+  private final boolean enabled;
+
+  public AdmissionControlConfig(
+      MeterRegistry meterRegistry,
+      @Value("${app.admission.enabled:true}") boolean enabled,
+      @Value("${app.admission.initial-limit:20}") int initialLimit,
+      @Value("${app.admission.min-limit:4}") int minLimit,
+      @Value("${app.admission.max-limit:200}") int maxLimit,
+      @Value("${app.admission.search-max-limit:40}") int searchMaxLimit,
+      @Value("${app.admission.retry-after:1s}") Duration retryAfter) {
+    this.retryAfter = retryAfter;
+    this.enabled = enabled;
+    for (Bulkhead bulkhead : Bulkhead.values()) {
+      int max = bulkhead == Bulkhead.SEARCH ? Math.min(maxLimit, searchMaxLimit) : maxLimit;
+      var limiter = new AdaptiveConcurrencyLimiter(
+          bulkhead, Math.min(initialLimit, max), Math.min(minLimit, max), max);
+      limiters.put(bulkhead, limiter);
+      if (enabled) {
+        bindMetrics(meterRegistry, limiter);
+      }
+    }
+  }
+
+  @Bean
+  AdmissionControlInterceptor admissionControlInterceptor() {
+    return new AdmissionControlInterceptor(limiters, retryAfter);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    if (enabled) {
+      registry.addInterceptor(admissionControlInterceptor());
+    }
+  }
+
+  private static void bindMetrics(MeterRegistry registry, AdaptiveConcurrencyLimiter limiter) {
+    String tag = limiter.bulkhead().name().toLowerCase(Locale.ROOT);
+    Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+        .tag("bulkhead", tag)
+        .register(registry);
+    Gauge.builder("admission.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+        .tag("bulkhead", tag)
+        .register(registry);
+    Gauge.builder("admission.rtt.reference", limiter, AdaptiveConcurrencyLimiter::referenceRttMillis)
+        .tag("bulkhead", tag)
+        .baseUnit("milliseconds")
+        .register(registry);
+    FunctionCounter.builder("admission.rejected", limiter, AdaptiveConcurrencyLimiter::rejected)
+        .tag("bulkhead", tag)
+        .register(registry);
+  }
+}
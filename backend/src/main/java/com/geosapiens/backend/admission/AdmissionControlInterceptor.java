@@ -0,0 +1,78 @@
+package com.geosapiens.backend.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Aplica o limite do {@link Bulkhead} declarado com {@link AdmissionBulkhead} no handler. Acima do
+ * limite a requisição falha com {@link AdmissionRejectedException} antes de chegar ao controller;
+ * as demais liberam a vaga no {@code afterCompletion}, informando latência e resultado ao limiter.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+  private static final String PERMIT_ATTRIBUTE =
+      AdmissionControlInterceptor.class.getName() + ".permit";
+
+  private final Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters;
+  private final Duration retryAfter;
+
+  public AdmissionControlInterceptor(
+      Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters, Duration retryAfter) {
+    this.limiters = limiters;
+    this.retryAfter = retryAfter;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    var bulkhead = bulkheadOf(handlerMethod);
+    var limiter = bulkhead != null ? limiters.get(bulkhead) : null;
+    if (limiter == null) {
+      return true;
+    }
+
+    var permit = limiter.tryAcquire();
+    if (permit == null) {
+      throw new AdmissionRejectedException(bulkhead, retryAfter);
+    }
+    request.setAttribute(PERMIT_ATTRIBUTE, permit);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    var attribute = request.getAttribute(PERMIT_ATTRIBUTE);
+    if (!(attribute instanceof AdaptiveConcurrencyLimiter.Permit permit)) {
+      return;
+    }
+    request.removeAttribute(PERMIT_ATTRIBUTE);
+
+    int status = response.getStatus();
+    if (ex != null || status >= 500) {
+      permit.dropped();
+    } else if (status >= 400) {
+      permit.ignore();
+    } else {
+      permit.success();
+    }
+  }
+
+  private static Bulkhead bulkheadOf(HandlerMethod handlerMethod) {
+    var annotation = AnnotatedElementUtils.findMergedAnnotation(
+        handlerMethod.getMethod(), AdmissionBulkhead.class);
+    if (annotation == null) {
+      annotation = AnnotatedElementUtils.findMergedAnnotation(
+          handlerMethod.getBeanType(), AdmissionBulkhead.class);
+    }
+    return annotation != null ? annotation.value() : null;
+  }
+}
@@ -0,0 +1,29 @@
+package com.geosapiens.backend.admission;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada porque o {@link Bulkhead} está no limite; vira 429 com Retry-After. Sem stack
+ * trace: é lançada justamente quando o servidor está sobrecarregado.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+  private final Bulkhead bulkhead;
+  private final Duration retryAfter;
+
+  public AdmissionRejectedException(Bulkhead bulkhead, Duration retryAfter) {
+    super(
+        "Servidor sobrecarregado para requisições do tipo " + bulkhead + "; tente novamente.",
+        null, false, false);
+    this.bulkhead = bulkhead;
+    this.retryAfter = retryAfter;
+  }
+
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,14 @@
+package com.geosapiens.backend.admission;
+
+/**
+ * Grupos de endpoints com limite de concorrência próprio: uma rajada de buscas textuais caras só
+ * esgota o limite de {@link #SEARCH}, e lookups por id e escritas continuam sendo atendidos.
+ */
+public enum Bulkhead {
+  /** Listagem paginada com filtros e busca textual. */
+  SEARCH,
+  /** Lookups exatos: por id, por serial e multi-gets. */
+  READ,
+  /** Criação, alteração e remoção, inclusive em lote. */
+  WRITE
+}
@@ -10,12 +10,19 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
+// UPDATE só com as colunas alteradas (+ updated_at/version): menos WAL em PATCH e heartbeats.
+// Tombstones (soft delete) ficam fora de toda query JPA; queries nativas filtram explicitamente.
 @Entity
 @Table(name = "assets")
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 public class Asset {
 
   @Id
@@ -39,12 +46,24 @@ public class Asset {
   @Column(name = "acquisition_date", nullable = false)
   private LocalDate acquisitionDate;
 
+  // Graus WGS84; os dois nulos quando o asset não tem localização.
+  private Double latitude;
+
+  private Double longitude;
+
   @Column(name = "created_at", nullable = false, updatable = false)
   private OffsetDateTime createdAt;
 
   @Column(name = "updated_at", nullable = false)
   private OffsetDateTime updatedAt;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  @Column(name = "deleted_at")
+  private OffsetDateTime deletedAt;
+
   @PrePersist
   void prePersist() {
     var now = OffsetDateTime.now(ZoneOffset.UTC);
@@ -109,6 +128,22 @@ public class Asset {
     this.acquisitionDate = acquisitionDate;
   }
 
+  public Double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(Double latitude) {
+    this.latitude = latitude;
+  }
+
+  public Double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(Double longitude) {
+    this.longitude = longitude;
+  }
+
   public OffsetDateTime getCreatedAt() {
     return createdAt;
   }
@@ -124,5 +159,20 @@ public class Asset {
   public void setUpdatedAt(OffsetDateTime updatedAt) {
     this.updatedAt = updatedAt;
   }
-}
 
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public OffsetDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  public void setDeletedAt(OffsetDateTime deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+}
@@ -0,0 +1,68 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
+import com.geosapiens.backend.assets.dto.AssetIdBatchRequest;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.dto.AssetsBatchGetResponse;
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Multi-get por id. Fica fora do {@link AssetController} porque {@code /assets:batchGet} é um
+ * método customizado do recurso, não um sub-caminho de {@code /assets}.
+ */
+@RestController
+@AdmissionBulkhead(Bulkhead.READ)
+public class AssetBatchController {
+
+  static final int MAX_IDS = 5000;
+
+  private final AssetService assetService;
+
+  public AssetBatchController(AssetService assetService) {
+    this.assetService = assetService;
+  }
+
+  // GET cabe em listas curtas (limite de URL do servidor); listas grandes devem usar POST.
+  @GetMapping("/assets:batchGet")
+  public AssetsBatchGetResponse batchGet(@RequestParam List<Long> ids) {
+    if (ids.isEmpty() || ids.contains(null)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "`ids` deve conter ids válidos.");
+    }
+    if (ids.size() > MAX_IDS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`ids` deve ter no máximo " + MAX_IDS + " elementos.");
+    }
+    return resolve(ids);
+  }
+
+  @PostMapping("/assets:batchGet")
+  public AssetsBatchGetResponse batchGet(@Valid @RequestBody AssetIdBatchRequest request) {
+    return resolve(request.ids());
+  }
+
+  private AssetsBatchGetResponse resolve(List<Long> ids) {
+    var found = assetService.lookupByIds(ids);
+
+    List<AssetResponse> items = new ArrayList<>(ids.size());
+    List<Long> missing = new ArrayList<>();
+    for (Long id : ids) {
+      var asset = found.get(id);
+      items.add(asset);
+      if (asset == null) {
+        missing.add(id);
+      }
+    }
+
+    return new AssetsBatchGetResponse(items, missing);
+  }
+}
@@ -0,0 +1,82 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
+import com.geosapiens.backend.assets.dto.AssetBulkOperationResponse;
+import com.geosapiens.backend.assets.dto.AssetBulkStatusRequest;
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Operações em lote guiadas pelos mesmos filtros de {@code GET /assets}. */
+@RestController
+@RequestMapping("/assets")
+@AdmissionBulkhead(Bulkhead.WRITE)
+public class AssetBulkController {
+
+  private final AssetBulkService assetBulkService;
+
+  public AssetBulkController(AssetBulkService assetBulkService) {
+    this.assetBulkService = assetBulkService;
+  }
+
+  @PostMapping("/bulk-status")
+  public AssetBulkOperationResponse updateStatus(
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) Status status,
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredTo,
+      @RequestParam(required = false) String bbox,
+      @RequestParam(required = false) String near,
+      @RequestParam(required = false) Double radius,
+      @Valid @RequestBody AssetBulkStatusRequest request) {
+    var filter = requireRestricted(new AssetFilter(
+        category, status, q, acquiredFrom, acquiredTo,
+        AssetGeoParams.bbox(bbox), AssetGeoParams.near(near, radius)));
+    return new AssetBulkOperationResponse(assetBulkService.updateStatus(filter, request.status()));
+  }
+
+  @DeleteMapping
+  public AssetBulkOperationResponse delete(
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) Status status,
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredTo,
+      @RequestParam(required = false) String bbox,
+      @RequestParam(required = false) String near,
+      @RequestParam(required = false) Double radius) {
+    var filter = requireRestricted(new AssetFilter(
+        category, status, q, acquiredFrom, acquiredTo,
+        AssetGeoParams.bbox(bbox), AssetGeoParams.near(near, radius)));
+    return new AssetBulkOperationResponse(assetBulkService.delete(filter));
+  }
+
+  // Sem filtro a operação atingiria a tabela inteira; isso nunca é o que o cliente quer por engano.
+  private static AssetFilter requireRestricted(AssetFilter filter) {
+    if (filter.isUnrestricted()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Operações em lote exigem ao menos um filtro "
+              + "(`category`, `status`, `q`, `acquiredFrom`, `acquiredTo`, `bbox` ou `near`).");
+    }
+    if (filter.hasInvertedAcquisitionRange()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`acquiredFrom` deve ser <= `acquiredTo`.");
+    }
+    return filter;
+  }
+}
@@ -0,0 +1,174 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.serial.SerialNumberFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.DeleteSpecification;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Operações por filtro executadas como UPDATE/DELETE set-based, reaproveitando os predicados de
+ * {@link AssetSpecifications}. Quando o intervalo de ids afetados passa de {@code chunk-size}, o
+ * statement é repetido por faixas de id, cada uma em sua própria transação, para não segurar locks
+ * de milhões de linhas de uma vez.
+ */
+@Service
+public class AssetBulkService {
+
+  private final AssetRepository assetRepository;
+  private final SerialNumberFilter serialNumberFilter;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate tx;
+  private final TransactionTemplate readOnlyTx;
+  private final long chunkSize;
+  private final AssetDeleteMode deleteMode;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  public AssetBulkService(
+      AssetRepository assetRepository,
+      SerialNumberFilter serialNumberFilter,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.assets.bulk.chunk-size:10000}") long chunkSize,
+      @Value("${app.assets.delete.mode:soft}") AssetDeleteMode deleteMode) {
+    this.assetRepository = assetRepository;
+    this.serialNumberFilter = serialNumberFilter;
+    this.eventPublisher = eventPublisher;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.chunkSize = chunkSize;
+    this.deleteMode = deleteMode;
+  }
+
+  /**
+   * Move para {@code target} todos os assets do filtro que ainda não estão nele. Cada faixa trava e
+   * lê id, status e versão das linhas (em ordem de id) e depois atualiza exatamente esses ids: o
+   * histórico recebe o status anterior de cada linha, na mesma transação.
+   */
+  public long updateStatus(AssetFilter filter, Status target) {
+    var spec = AssetSpecifications.<Asset>matching(filter)
+        .and((from, cb) -> cb.notEqual(from.get("status"), target));
+
+    long affected = forEachIdRange(spec, range -> {
+      List<Tuple> rows = lockStatuses(range);
+      if (rows.isEmpty()) {
+        return 0;
+      }
+      var ids = new Long[rows.size()];
+      List<AssetChangedEvent> changes = new ArrayList<>(rows.size());
+      for (int i = 0; i < ids.length; i++) {
+        Tuple row = rows.get(i);
+        ids[i] = row.get(0, Long.class);
+        long version = row.get(2, Long.class);
+        changes.add(AssetChangedEvent.updated(
+            statusOnly(ids[i], row.get(1, Status.class), version),
+            statusOnly(ids[i], target, version + 1)));
+      }
+      int updated = assetRepository.updateStatusByIdIn(
+          ids, target.name(), OffsetDateTime.now(ZoneOffset.UTC));
+      eventPublisher.publishEvent(new AssetsFieldChangesEvent(changes));
+      return updated;
+    });
+
+    eventPublisher.publishEvent(
+        new AssetsBulkChangedEvent(AssetsBulkChangedEvent.Operation.STATUS_CHANGED, filter, affected));
+    return affected;
+  }
+
+  public long delete(AssetFilter filter) {
+    var spec = AssetSpecifications.<Asset>matching(filter);
+
+    long affected = deleteMode == AssetDeleteMode.SOFT
+        ? forEachIdRange(spec, range -> assetRepository.update(
+            UpdateSpecification.<Asset>update((root, update, cb) -> {
+              var now = OffsetDateTime.now(ZoneOffset.UTC);
+              update.set(root.<OffsetDateTime>get("deletedAt"), now);
+              update.set(root.<OffsetDateTime>get("updatedAt"), now);
+              update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+            }).where(range)))
+        : forEachIdRange(spec, range -> assetRepository.delete(DeleteSpecification.where(range)));
+
+    serialNumberFilter.markStale(affected);
+    eventPublisher.publishEvent(
+        new AssetsBulkChangedEvent(AssetsBulkChangedEvent.Operation.DELETED, filter, affected));
+    return affected;
+  }
+
+  private long forEachIdRange(
+      PredicateSpecification<Asset> spec, RangeStatement statement) {
+    Tuple bounds = readOnlyTx.execute(status -> idBounds(spec));
+    if (bounds == null || bounds.get(0) == null) {
+      return 0;
+    }
+
+    long minId = bounds.get(0, Long.class);
+    long maxId = bounds.get(1, Long.class);
+    long affected = 0;
+
+    for (long lo = minId; lo <= maxId; lo += chunkSize) {
+      long hi = Math.min(maxId, lo + chunkSize - 1);
+      var range = spec.and(AssetSpecifications.idBetween(lo, hi));
+      affected += tx.execute(status -> statement.execute(range));
+    }
+
+    return affected;
+  }
+
+  private Tuple idBounds(PredicateSpecification<Asset> spec) {
+    var cb = entityManager.getCriteriaBuilder();
+    var query = cb.createTupleQuery();
+    var root = query.from(Asset.class);
+    query.select(cb.tuple(cb.min(root.<Long>get("id")), cb.max(root.<Long>get("id"))));
+
+    var predicate = spec.toPredicate(root, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  // Travadas até o fim da transação da faixa: o UPDATE por ids altera exatamente estas linhas.
+  private List<Tuple> lockStatuses(PredicateSpecification<Asset> spec) {
+    var cb = entityManager.getCriteriaBuilder();
+    var query = cb.createTupleQuery();
+    var root = query.from(Asset.class);
+    query.select(cb.tuple(
+        root.<Long>get("id"), root.<Status>get("status"), root.<Long>get("version")));
+    query.orderBy(cb.asc(root.get("id")));
+
+    var predicate = spec.toPredicate(root, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+
+    return entityManager.createQuery(query)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+  }
+
+  private static AssetResponse statusOnly(Long id, Status status, long version) {
+    return new AssetResponse(id, null, null, null, status, null, null, null, null, null, version);
+  }
+
+  @FunctionalInterface
+  private interface RangeStatement {
+    long execute(PredicateSpecification<Asset> range);
+  }
+}
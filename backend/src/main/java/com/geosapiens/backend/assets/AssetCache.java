@@ -0,0 +1,112 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.datasource.ReadRoutingContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache read-through de snapshots imutáveis ({@link AssetResponse}) por id, com um índice
+ * serial → id ao lado. A busca por serial só é hit se o snapshot do id ainda existir e tiver o
+ * mesmo serial, então invalidar o id basta para matar as duas entradas.
+ *
+ * <p>Invalidação acontece após o commit. Uma leitura que começou antes do commit pode repovoar um
+ * snapshot antigo; o {@code ttl} limita essa janela.
+ *
+ * <p>Com réplicas, só leituras do primário repovoam o cache: uma réplica atrasada devolveria o
+ * snapshot de antes da escrita que acabou de invalidar a entrada, e ele ficaria servido a todos por
+ * {@code ttl}. Requisições presas ao primário (read-your-writes) também não leem do cache, para não
+ * receber um snapshot guardado antes da própria escrita.
+ */
+@Component
+public class AssetCache {
+
+  private final boolean enabled;
+  private final Cache<Long, AssetResponse> byId;
+  private final Cache<String, Long> idBySerialNumber;
+
+  public AssetCache(
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.cache.enabled:true}") boolean enabled,
+      @Value("${app.assets.cache.max-size:100000}") long maxSize,
+      @Value("${app.assets.cache.ttl:60s}") Duration ttl) {
+    this.enabled = enabled;
+    this.byId = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    this.idBySerialNumber = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, byId, "assets.by-id");
+    CaffeineCacheMetrics.monitor(meterRegistry, idBySerialNumber, "assets.by-serial");
+  }
+
+  public AssetResponse getById(Long id) {
+    return readable() ? byId.getIfPresent(id) : null;
+  }
+
+  public AssetResponse getBySerialNumber(String serialNumber) {
+    if (!readable()) {
+      return null;
+    }
+
+    Long id = idBySerialNumber.getIfPresent(serialNumber);
+    if (id == null) {
+      return null;
+    }
+
+    AssetResponse asset = byId.getIfPresent(id);
+    return asset != null && serialNumber.equals(asset.serialNumber()) ? asset : null;
+  }
+
+  /** Marca o início de uma leitura que vai repovoar o cache; passe o valor para {@link #put}. */
+  public long beginFill() {
+    return ReadRoutingContext.replicaReads();
+  }
+
+  /** Guarda o snapshot, a menos que alguma leitura desde {@code fill} tenha vindo de uma réplica. */
+  public void put(AssetResponse asset, long fill) {
+    if (!enabled || ReadRoutingContext.replicaReads() != fill) {
+      return;
+    }
+    byId.put(asset.id(), asset);
+    idBySerialNumber.put(asset.serialNumber(), asset.id());
+  }
+
+  private boolean readable() {
+    return enabled && !ReadRoutingContext.isPrimaryOnly();
+  }
+
+  public void invalidateAll() {
+    byId.invalidateAll();
+    idBySerialNumber.invalidateAll();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetChanged(AssetChangedEvent event) {
+    byId.invalidate(event.id());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetsIngested(AssetsIngestedEvent event) {
+    byId.invalidateAll(event.ids());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetsBulkChanged(AssetsBulkChangedEvent event) {
+    if (event.affected() > 0) {
+      invalidateAll();
+    }
+  }
+}
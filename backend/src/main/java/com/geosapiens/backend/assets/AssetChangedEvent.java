@@ -0,0 +1,31 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.dto.AssetResponse;
+
+/**
+ * Publicado pelo {@link AssetService} a cada escrita. {@code before} é nulo em criações (e em
+ * exclusões condicionais, que não carregam a entidade); {@code after} é nulo em exclusões.
+ * {@code version} é a versão gravada pela escrita; numa exclusão, a do tombstone em modo
+ * {@code SOFT} ou a da linha removida em {@code HARD}.
+ */
+public record AssetChangedEvent(
+    Type type, Long id, Long version, AssetResponse before, AssetResponse after) {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  public static AssetChangedEvent created(AssetResponse after) {
+    return new AssetChangedEvent(Type.CREATED, after.id(), after.version(), null, after);
+  }
+
+  public static AssetChangedEvent updated(AssetResponse before, AssetResponse after) {
+    return new AssetChangedEvent(Type.UPDATED, after.id(), after.version(), before, after);
+  }
+
+  public static AssetChangedEvent deleted(Long id, Long version, AssetResponse before) {
+    return new AssetChangedEvent(Type.DELETED, id, version, before, null);
+  }
+}
@@ -0,0 +1,55 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
+import com.geosapiens.backend.assets.dto.AssetClustersResponse;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Visão agregada do mapa ({@code GET /assets/clusters?bbox=...}): com o mapa afastado o cliente
+ * recebe um cluster por célula da grade em vez das linhas; aceita os filtros da listagem.
+ */
+@RestController
+public class AssetClusterController {
+
+  static final int DEFAULT_GRID_SIZE = 32;
+  static final int MAX_GRID_SIZE = 64;
+
+  private final AssetService assetService;
+
+  public AssetClusterController(AssetService assetService) {
+    this.assetService = assetService;
+  }
+
+  @GetMapping("/assets/clusters")
+  @AdmissionBulkhead(Bulkhead.SEARCH)
+  public AssetClustersResponse clusters(
+      @RequestParam String bbox,
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) Status status,
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredTo,
+      @RequestParam(defaultValue = "false") boolean includeArchived,
+      @RequestParam(defaultValue = "" + DEFAULT_GRID_SIZE) int gridSize) {
+    if (gridSize < 1 || gridSize > MAX_GRID_SIZE) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`gridSize` deve estar entre 1 e " + MAX_GRID_SIZE + ".");
+    }
+    var filter = new AssetFilter(
+        category, status, q, acquiredFrom, acquiredTo, AssetGeoParams.bbox(bbox), null);
+    if (filter.hasInvertedAcquisitionRange()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`acquiredFrom` deve ser <= `acquiredTo`.");
+    }
+    return assetService.clusters(filter, includeArchived, gridSize);
+  }
+}
@@ -1,28 +1,37 @@
 package com.geosapiens.backend.assets;
 
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
 import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.dto.AssetSerialBatchRequest;
 import com.geosapiens.backend.assets.dto.AssetUpsertRequest;
+import com.geosapiens.backend.assets.dto.AssetsBySerialBatchResponse;
 import com.geosapiens.backend.assets.dto.AssetsPageResponse;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.Set;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.JsonNode;
 
 @RestController
 @RequestMapping("/assets")
@@ -32,15 +41,7 @@ public class AssetController {
   private static final int DEFAULT_SIZE = 10;
   private static final int MAX_SIZE = 100;
 
-  private static final Set<String> ALLOWED_SORT_FIELDS = Set.of(
-      "id",
-      "name",
-      "serialNumber",
-      "category",
-      "status",
-      "acquisitionDate",
-      "createdAt",
-      "updatedAt");
+  static final String MERGE_PATCH_JSON = "application/merge-patch+json";
 
   private final AssetService assetService;
 
@@ -49,10 +50,20 @@ public class AssetController {
   }
 
   @GetMapping
+  @AdmissionBulkhead(Bulkhead.SEARCH)
   public AssetsPageResponse list(
       @RequestParam(required = false) Category category,
       @RequestParam(required = false) Status status,
       @RequestParam(required = false) String q,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate acquiredTo,
+      @RequestParam(required = false) String bbox,
+      @RequestParam(required = false) String near,
+      @RequestParam(required = false) Double radius,
+      @RequestParam(defaultValue = "false") boolean includeArchived,
+      @RequestParam(defaultValue = "true") boolean totals,
       @RequestParam(defaultValue = "" + DEFAULT_PAGE) int page,
       @RequestParam(defaultValue = "" + DEFAULT_SIZE) int size,
       @RequestParam(required = false, name = "sort") List<String> sort) {
@@ -63,90 +74,102 @@ public class AssetController {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "`size` deve ser >= 1.");
     }
 
+    var filter = new AssetFilter(
+        category, status, q, acquiredFrom, acquiredTo,
+        AssetGeoParams.bbox(bbox), AssetGeoParams.near(near, radius));
+    if (filter.hasInvertedAcquisitionRange()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`acquiredFrom` deve ser <= `acquiredTo`.");
+    }
+
     int effectiveSize = Math.min(size, MAX_SIZE);
-    Sort effectiveSort = parseSort(sort);
+    Sort effectiveSort = AssetSorts.parse(sort);
 
     var pageable = PageRequest.of(page, effectiveSize, effectiveSort);
-    var result = assetService.search(category, status, q, pageable);
+    // Sem totais a listagem dispensa o count, que é a query mais cara em filtros amplos.
+    if (!totals) {
+      return AssetsPageResponse.fromSlice(
+          assetService.searchWithoutTotals(filter, includeArchived, pageable));
+    }
+    return AssetsPageResponse.fromPage(assetService.search(filter, includeArchived, pageable));
+  }
+
+  // READ
+  @GetMapping("/{id}")
+  @AdmissionBulkhead(Bulkhead.READ)
+  public ResponseEntity<AssetResponse> get(@PathVariable Long id) {
+    var asset = assetService.lookupById(id);
+    return ResponseEntity.ok().eTag(AssetETags.toETag(asset.version())).body(asset);
+  }
+
+  @GetMapping("/by-serial/{serialNumber}")
+  @AdmissionBulkhead(Bulkhead.READ)
+  public ResponseEntity<AssetResponse> getBySerialNumber(@PathVariable String serialNumber) {
+    var asset = assetService.lookupBySerialNumber(serialNumber);
+    return ResponseEntity.ok().eTag(AssetETags.toETag(asset.version())).body(asset);
+  }
 
-    return AssetsPageResponse.fromPage(result);
+  @PostMapping("/by-serial:batchGet")
+  @AdmissionBulkhead(Bulkhead.READ)
+  public AssetsBySerialBatchResponse getBySerialNumbers(
+      @Valid @RequestBody AssetSerialBatchRequest request) {
+    var found = assetService.lookupBySerialNumbers(request.serialNumbers());
+
+    List<AssetResponse> items = new ArrayList<>(request.serialNumbers().size());
+    List<String> missing = new ArrayList<>();
+    for (String serialNumber : request.serialNumbers()) {
+      var asset = found.get(serialNumber);
+      items.add(asset);
+      if (asset == null) {
+        missing.add(serialNumber);
+      }
+    }
+
+    return new AssetsBySerialBatchResponse(items, missing);
   }
 
   // CREATE
   @PostMapping
+  @AdmissionBulkhead(Bulkhead.WRITE)
   public ResponseEntity<AssetResponse> create(@Valid @RequestBody AssetUpsertRequest request) {
-    var created = assetService.create(request);
-    return ResponseEntity.status(HttpStatus.CREATED).body(AssetResponse.fromEntity(created));
+    var created = AssetResponse.fromEntity(assetService.create(request));
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .eTag(AssetETags.toETag(created.version()))
+        .body(created);
   }
 
   // UPDATE
   @PutMapping("/{id}")
-  public AssetResponse update(
-      @PathVariable Long id, @Valid @RequestBody AssetUpsertRequest request) {
-    var updated = assetService.update(id, request);
-    return AssetResponse.fromEntity(updated);
+  @AdmissionBulkhead(Bulkhead.WRITE)
+  public ResponseEntity<AssetResponse> update(
+      @PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody AssetUpsertRequest request) {
+    var updated =
+        AssetResponse.fromEntity(assetService.update(id, request, AssetETags.parseIfMatch(ifMatch)));
+    return ResponseEntity.ok().eTag(AssetETags.toETag(updated.version())).body(updated);
+  }
+
+  // Só os campos enviados mudam; `application/json` também é aceito por conveniência.
+  @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+  @AdmissionBulkhead(Bulkhead.WRITE)
+  public ResponseEntity<AssetResponse> patch(
+      @PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody JsonNode patch) {
+    var patched =
+        AssetResponse.fromEntity(assetService.patch(id, patch, AssetETags.parseIfMatch(ifMatch)));
+    return ResponseEntity.ok().eTag(AssetETags.toETag(patched.version())).body(patched);
   }
 
   // DELETE
   @DeleteMapping("/{id}")
+  @AdmissionBulkhead(Bulkhead.WRITE)
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void delete(@PathVariable Long id) {
-    assetService.delete(id);
-  }
-
-  private static Sort parseSort(List<String> sortParams) {
-    if (sortParams == null || sortParams.isEmpty()) {
-      return Sort.by(Sort.Order.desc("id"));
-    }
-
-    List<String> sortTokens = new ArrayList<>();
-    for (String raw : sortParams) {
-      if (raw == null || raw.isBlank()) {
-        continue;
-      }
-
-      for (String token : raw.split(",", -1)) {
-        String normalizedToken = token.trim();
-        if (normalizedToken.isEmpty()) {
-          continue;
-        }
-        sortTokens.add(normalizedToken);
-      }
-    }
-
-    List<Sort.Order> orders = new ArrayList<>();
-    for (int index = 0; index < sortTokens.size(); index++) {
-      String property = sortTokens.get(index);
-
-      if (!ALLOWED_SORT_FIELDS.contains(property)) {
-        throw new ResponseStatusException(
-            HttpStatus.BAD_REQUEST, "Campo `sort` inválido: " + property);
-      }
-
-      Sort.Direction direction = Sort.Direction.ASC;
-      if (index + 1 < sortTokens.size()) {
-        String nextToken = sortTokens.get(index + 1);
-        String normalizedDirection = nextToken.toUpperCase(Locale.ROOT);
-        if ("ASC".equals(normalizedDirection)) {
-          direction = Sort.Direction.ASC;
-          index++;
-        } else if ("DESC".equals(normalizedDirection)) {
-          direction = Sort.Direction.DESC;
-          index++;
-        } else if (!ALLOWED_SORT_FIELDS.contains(nextToken)) {
-          throw new ResponseStatusException(
-              HttpStatus.BAD_REQUEST, "Direção de `sort` inválida: " + nextToken);
-        }
-      }
-
-      orders.add(new Sort.Order(direction, property));
-    }
-
-    if (orders.isEmpty()) {
-      return Sort.by(Sort.Order.desc("id"));
-    }
-
-    return Sort.by(orders);
+  public void delete(
+      @PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    assetService.delete(id, AssetETags.parseIfMatch(ifMatch));
   }
 
 }
@@ -0,0 +1,10 @@
+package com.geosapiens.backend.assets;
+
+/**
+ * {@code SOFT} marca {@code deleted_at} (tombstone, removido fisicamente pelo purger depois da
+ * retenção); {@code HARD} apaga a linha na hora, como antes.
+ */
+public enum AssetDeleteMode {
+  SOFT,
+  HARD
+}
@@ -0,0 +1,50 @@
+package com.geosapiens.backend.assets;
+
+import java.util.List;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Conversão entre a coluna {@code version} do Asset e os headers {@code ETag}/{@code If-Match}. */
+public final class AssetETags {
+
+  /** Versão que nunca existe: faz o update/delete responder 412 sem consultar o banco à toa. */
+  static final long UNSATISFIABLE_VERSION = -1L;
+
+  private AssetETags() {}
+
+  public static String toETag(Long version) {
+    return "\"" + (version != null ? version : 0L) + "\"";
+  }
+
+  /**
+   * Retorna a versão esperada pelo {@code If-Match}, ou {@code null} quando o header está ausente
+   * ou é {@code *} (qualquer versão serve).
+   */
+  public static Long parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank()) {
+      return null;
+    }
+
+    List<ETag> tags = ETag.parse(ifMatch);
+    if (tags.size() == 1 && tags.get(0).isWildcard()) {
+      return null;
+    }
+    if (tags.size() != 1) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`If-Match` deve conter exatamente uma ETag.");
+    }
+
+    ETag tag = tags.get(0);
+    // If-Match usa comparação forte: ETag fraca nunca casa (RFC 9110, 13.1.1).
+    if (tag.weak()) {
+      return UNSATISFIABLE_VERSION;
+    }
+
+    try {
+      return Long.parseLong(tag.tag());
+    } catch (NumberFormatException ex) {
+      return UNSATISFIABLE_VERSION;
+    }
+  }
+}
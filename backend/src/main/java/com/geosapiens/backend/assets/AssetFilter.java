@@ -0,0 +1,42 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.geo.GeoRadius;
+import java.time.LocalDate;
+
+/**
+ * Filtros aceitos pela listagem e pelas operações em lote; campos nulos não restringem. Filtros
+ * geográficos só casam assets com localização.
+ */
+public record AssetFilter(
+    Category category,
+    Status status,
+    String q,
+    LocalDate acquiredFrom,
+    LocalDate acquiredTo,
+    BoundingBox bbox,
+    GeoRadius near) {
+
+  public AssetFilter(
+      Category category, Status status, String q, LocalDate acquiredFrom, LocalDate acquiredTo) {
+    this(category, status, q, acquiredFrom, acquiredTo, null, null);
+  }
+
+  public AssetFilter(Category category, Status status, String q) {
+    this(category, status, q, null, null);
+  }
+
+  public boolean isUnrestricted() {
+    return category == null
+        && status == null
+        && (q == null || q.isBlank())
+        && acquiredFrom == null
+        && acquiredTo == null
+        && bbox == null
+        && near == null;
+  }
+
+  public boolean hasInvertedAcquisitionRange() {
+    return acquiredFrom != null && acquiredTo != null && acquiredFrom.isAfter(acquiredTo);
+  }
+}
@@ -0,0 +1,40 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.geo.GeoRadius;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Parâmetros geográficos comuns à listagem, aos clusters e às operações em lote. */
+final class AssetGeoParams {
+
+  private AssetGeoParams() {}
+
+  /** {@code bbox=minLon,minLat,maxLon,maxLat}, ou {@code null} sem o parâmetro. */
+  static BoundingBox bbox(String raw) {
+    if (raw == null) {
+      return null;
+    }
+    try {
+      return BoundingBox.parse(raw);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+  }
+
+  /** {@code near=lat,lon} com {@code radius} em metros; um sem o outro é 400. */
+  static GeoRadius near(String near, Double radius) {
+    if (near == null && radius == null) {
+      return null;
+    }
+    if (near == null || radius == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`near` e `radius` devem ser informados juntos.");
+    }
+    try {
+      return GeoRadius.parse(near, radius);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
+import com.geosapiens.backend.assets.dto.AssetHistoryResponse;
+import com.geosapiens.backend.assets.history.AssetHistory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Histórico de escritas de um asset, do mais novo para o mais velho
+ * ({@code GET /assets/{id}/history?before=...}). Continua disponível depois da exclusão; id sem
+ * histórico devolve página vazia. Cobre escritas por id, flush da ingestão e {@code bulk-status};
+ * exclusão por filtro ({@code DELETE /assets}) e arquivamento não aparecem. A entrada de
+ * exclusão traz só a versão, sem valores de campo.
+ */
+@RestController
+public class AssetHistoryController {
+
+  static final int DEFAULT_LIMIT = 50;
+  static final int MAX_LIMIT = 500;
+
+  private final AssetHistory history;
+
+  public AssetHistoryController(AssetHistory history) {
+    this.history = history;
+  }
+
+  @GetMapping("/assets/{id}/history")
+  @AdmissionBulkhead(Bulkhead.READ)
+  public AssetHistoryResponse list(
+      @PathVariable Long id,
+      @RequestParam(required = false) Long before,
+      @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`limit` deve estar entre 1 e " + MAX_LIMIT + ".");
+    }
+
+    // Um item a mais só para saber se há próxima página.
+    var items = history.find(id, before, limit + 1);
+    boolean hasMore = items.size() > limit;
+    return new AssetHistoryResponse(hasMore ? items.subList(0, limit) : items, hasMore);
+  }
+}
@@ -0,0 +1,32 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.dto.AssetIngestRequest;
+import com.geosapiens.backend.assets.dto.AssetIngestResponse;
+import com.geosapiens.backend.assets.ingest.AssetIngestBuffer;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Ingestão assíncrona de status/atributos ({@code POST /assets:ingest}). Responde 202 assim que as
+ * atualizações entram na fila; a gravação acontece no próximo flush do {@link AssetIngestBuffer}.
+ * Fica fora dos bulkheads de admissão: só toca memória, e a fila limitada já faz o backpressure.
+ */
+@RestController
+public class AssetIngestController {
+
+  private final AssetIngestBuffer ingestBuffer;
+
+  public AssetIngestController(AssetIngestBuffer ingestBuffer) {
+    this.ingestBuffer = ingestBuffer;
+  }
+
+  @PostMapping("/assets:ingest")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public AssetIngestResponse ingest(@Valid @RequestBody AssetIngestRequest request) {
+    return ingestBuffer.offer(request.updates());
+  }
+}
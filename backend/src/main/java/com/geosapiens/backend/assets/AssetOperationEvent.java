@@ -0,0 +1,99 @@
+package com.geosapiens.backend.assets;
+
+import java.util.StringJoiner;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Evento JFR de uma consulta do {@link AssetService}: duração, origem (tabela quente, arquivo, read
+ * model), forma do filtro e linhas devolvidas. Sem gravação ativa, {@code shouldCommit()} é falso e
+ * nenhum campo é montado; o texto de {@code q} nunca entra no evento, só a presença do filtro.
+ */
+@Name(AssetOperationEvent.NAME)
+@Label("Asset Operation")
+@Category({"GeoSapiens", "Assets"})
+@Description("Consulta do AssetService com forma do filtro, linhas e duração")
+@StackTrace(false)
+final class AssetOperationEvent extends Event {
+
+  static final String NAME = "com.geosapiens.assets.Operation";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Source")
+  String source;
+
+  @Label("Filter")
+  String filter;
+
+  @Label("Sort")
+  String sort;
+
+  @Label("Offset")
+  long offset;
+
+  @Label("Page Size")
+  int pageSize;
+
+  @Label("Rows")
+  long rows;
+
+  @Description("-1 quando a consulta não faz count")
+  @Label("Total")
+  long total;
+
+  void complete(
+      String operation,
+      String source,
+      AssetFilter filter,
+      Pageable pageable,
+      long rows,
+      long total) {
+    end();
+    if (!shouldCommit()) {
+      return;
+    }
+    this.operation = operation;
+    this.source = source;
+    this.filter = shape(filter);
+    this.sort = pageable.getSort().isSorted() ? pageable.getSort().toString() : "";
+    this.offset = pageable.isPaged() ? pageable.getOffset() : 0;
+    this.pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+    this.rows = rows;
+    this.total = total;
+    commit();
+  }
+
+  /** Filtros presentes; enums com o valor, o resto só pelo nome. */
+  static String shape(AssetFilter filter) {
+    var shape = new StringJoiner(",");
+    if (filter.category() != null) {
+      shape.add("category=" + filter.category());
+    }
+    if (filter.status() != null) {
+      shape.add("status=" + filter.status());
+    }
+    if (filter.q() != null && !filter.q().isBlank()) {
+      shape.add("q");
+    }
+    if (filter.acquiredFrom() != null) {
+      shape.add("acquiredFrom");
+    }
+    if (filter.acquiredTo() != null) {
+      shape.add("acquiredTo");
+    }
+    if (filter.bbox() != null) {
+      shape.add("bbox");
+    }
+    if (filter.near() != null) {
+      shape.add("near");
+    }
+    return shape.toString();
+  }
+}
@@ -0,0 +1,191 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.datasource.ReadRoutingContext;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Monta a {@link Page} da listagem a partir de um slice (página + 1 linha) e do count. Em
+ * {@code PARALLEL} o count roda numa virtual thread, em transação read-only própria (outra conexão),
+ * enquanto o slice roda na transação do chamador; a latência fica próxima da maior das duas queries,
+ * não da soma. Com o pool sem conexão ociosa ou {@code max-concurrent} counts em voo, cai para o modo
+ * sequencial em vez de disputar conexões; se o count ainda espera conexão quando a página termina, o
+ * chamador o executa na própria conexão (sem deadlock de pool). Em ambos os modos o count é
+ * dispensado quando o slice já mostra o total (última página).
+ */
+@Component
+public class AssetPageExecutor {
+
+  public enum Mode {
+    SEQUENTIAL,
+    PARALLEL
+  }
+
+  private final Mode mode;
+  private final TransactionTemplate readOnlyTx;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore permits;
+  private final HikariDataSource pool;
+
+  private final Counter parallelCounts;
+  private final Counter sequentialCounts;
+  private final Counter saturatedCounts;
+  private final Counter skippedCounts;
+
+  public AssetPageExecutor(
+      PlatformTransactionManager transactionManager,
+      DataSource dataSource,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.search.count-mode:sequential}") Mode mode,
+      @Value("${app.assets.search.parallel-max-concurrent:8}") int maxConcurrent) {
+    this.mode = mode;
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    this.pool = DataSourceUnwrapper.unwrap(
+        dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+
+    this.parallelCounts = countCounter(meterRegistry, "parallel");
+    this.sequentialCounts = countCounter(meterRegistry, "sequential");
+    this.saturatedCounts = countCounter(meterRegistry, "saturated");
+    this.skippedCounts = countCounter(meterRegistry, "skipped");
+  }
+
+  public <T> Page<T> page(Pageable pageable, Supplier<Slice<T>> slice, LongSupplier count) {
+    ParallelCount parallel = startCount(count);
+
+    Slice<T> content;
+    try {
+      content = slice.get();
+    } catch (RuntimeException ex) {
+      if (parallel != null) {
+        parallel.claim();
+      }
+      throw ex;
+    }
+
+    // Última página (ou única): o total sai do offset, sem count.
+    if (!content.hasNext() && (content.hasContent() || pageable.getOffset() == 0)) {
+      if (parallel != null) {
+        parallel.claim();
+      }
+      skippedCounts.increment();
+      return new PageImpl<>(
+          content.getContent(), pageable, pageable.getOffset() + content.getNumberOfElements());
+    }
+
+    if (parallel == null) {
+      sequentialCounts.increment();
+      return new PageImpl<>(content.getContent(), pageable, count.getAsLong());
+    }
+    // O count ainda esperava conexão: o chamador conta na própria, sem ficar preso ao pool.
+    if (parallel.claim()) {
+      saturatedCounts.increment();
+      return new PageImpl<>(content.getContent(), pageable, count.getAsLong());
+    }
+    parallelCounts.increment();
+    return new PageImpl<>(content.getContent(), pageable, await(parallel.total()));
+  }
+
+  /** Sem totais: só o slice, nenhum count é disparado. */
+  public <T> Slice<T> slice(Supplier<Slice<T>> slice) {
+    skippedCounts.increment();
+    return slice.get();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  private ParallelCount startCount(LongSupplier count) {
+    if (mode != Mode.PARALLEL) {
+      return null;
+    }
+    if (!hasIdleConnection() || !permits.tryAcquire()) {
+      saturatedCounts.increment();
+      return null;
+    }
+
+    var started = new AtomicBoolean();
+    // Só conta se ganhar a disputa com o chamador; senão devolve a conexão sem executar nada.
+    Supplier<Long> task = ReadRoutingContext.propagate(() -> {
+      try {
+        return readOnlyTx.execute(
+            status -> started.compareAndSet(false, true) ? count.getAsLong() : null);
+      } finally {
+        permits.release();
+      }
+    });
+    try {
+      return new ParallelCount(CompletableFuture.supplyAsync(task, executor), started);
+    } catch (RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  // Sem conexão ociosa o count esperaria no pool atrás de outras requisições: melhor sequencial.
+  private boolean hasIdleConnection() {
+    HikariPoolMXBean state = pool != null ? pool.getHikariPoolMXBean() : null;
+    return state == null
+        || (state.getIdleConnections() > 0 && state.getThreadsAwaitingConnection() == 0);
+  }
+
+  private static long await(CompletableFuture<Long> total) {
+    try {
+      return total.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrompido aguardando o count da listagem.", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new CompletionException(ex.getCause());
+    }
+  }
+
+  /**
+   * Count disparado em paralelo. {@code started} decide quem executa a query: a virtual thread ao
+   * conseguir conexão, ou o chamador via {@link #claim()} (para cancelar ou assumir o count). A
+   * thread nunca é interrompida: interromper I/O de socket numa virtual thread fecha a conexão JDBC.
+   */
+  private record ParallelCount(CompletableFuture<Long> total, AtomicBoolean started) {
+
+    /** {@code true} se o count ainda não tinha começado e não vai mais rodar em paralelo. */
+    boolean claim() {
+      return started.compareAndSet(false, true);
+    }
+  }
+
+  private static Counter countCounter(MeterRegistry meterRegistry, String execution) {
+    return Counter.builder("assets.search.count")
+        .description("Counts da listagem por forma de execução")
+        .tag("execution", execution)
+        .register(meterRegistry);
+  }
+}
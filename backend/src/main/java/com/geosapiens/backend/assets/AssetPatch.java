@@ -0,0 +1,139 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.dto.ApiErrorResponse;
+import com.geosapiens.backend.assets.dto.AssetUpsertRequest;
+import com.geosapiens.backend.assets.exceptions.AssetPatchInvalidException;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JSON Merge Patch (RFC 7396) sobre os campos editáveis de um asset. Só os campos presentes no
+ * documento são convertidos e validados, com as mesmas constraints de {@link AssetUpsertRequest}
+ * ({@code Validator.validateValue}); {@code null} significa remover o campo, o que os obrigatórios
+ * recusam. Campos ausentes ficam {@code null} aqui e não mudam. Latitude e longitude vão juntas e
+ * aceitam {@code null} (remove a localização); {@code hasLocation} diz se vieram no documento.
+ */
+record AssetPatch(
+    String name,
+    String serialNumber,
+    Category category,
+    Status status,
+    LocalDate acquisitionDate,
+    boolean hasLocation,
+    Double latitude,
+    Double longitude) {
+
+  private static final Map<String, Class<?>> FIELDS = Map.of(
+      "name", String.class,
+      "serialNumber", String.class,
+      "category", Category.class,
+      "status", Status.class,
+      "acquisitionDate", LocalDate.class,
+      "latitude", Double.class,
+      "longitude", Double.class);
+
+  static AssetPatch parse(JsonNode document, JsonMapper jsonMapper, Validator validator) {
+    if (document == null || !document.isObject()) {
+      throw new AssetPatchInvalidException(List.of(new ApiErrorResponse.ApiFieldError(
+          "payload", "O merge patch deve ser um objeto JSON.", null)));
+    }
+
+    List<ApiErrorResponse.ApiFieldError> errors = new ArrayList<>();
+    Map<String, Object> values = new HashMap<>();
+    for (var property : document.properties()) {
+      String field = property.getKey();
+      JsonNode node = property.getValue();
+      Class<?> type = FIELDS.get(field);
+      if (type == null) {
+        errors.add(new ApiErrorResponse.ApiFieldError(
+            field, "Campo não pode ser alterado via PATCH.", null));
+        continue;
+      }
+
+      Object value;
+      try {
+        value = node.isNull() ? null : jsonMapper.treeToValue(node, type);
+      } catch (JacksonException ex) {
+        String raw = node.isValueNode() ? node.asString() : node.toString();
+        errors.add(new ApiErrorResponse.ApiFieldError(
+            field, "Valor inválido para '" + field + "': " + raw + ".", raw));
+        continue;
+      }
+
+      for (var violation : validator.validateValue(AssetUpsertRequest.class, field, value)) {
+        errors.add(new ApiErrorResponse.ApiFieldError(
+            field, violation.getMessage(), value != null ? value.toString() : null));
+      }
+      values.put(field, value);
+    }
+
+    boolean hasLocation = values.containsKey("latitude") || values.containsKey("longitude");
+    if (hasLocation && (values.get("latitude") == null) != (values.get("longitude") == null)) {
+      errors.add(new ApiErrorResponse.ApiFieldError(
+          "location", "Latitude e longitude devem ser informadas juntas.", null));
+    }
+
+    if (!errors.isEmpty()) {
+      throw new AssetPatchInvalidException(errors);
+    }
+
+    return new AssetPatch(
+        (String) values.get("name"),
+        (String) values.get("serialNumber"),
+        (Category) values.get("category"),
+        (Status) values.get("status"),
+        (LocalDate) values.get("acquisitionDate"),
+        hasLocation,
+        (Double) values.get("latitude"),
+        (Double) values.get("longitude"));
+  }
+
+  /** {@code true} se algum campo presente difere do valor atual do asset. */
+  boolean changes(Asset asset) {
+    return differs(name, asset.getName())
+        || differs(serialNumber, asset.getSerialNumber())
+        || differs(category, asset.getCategory())
+        || differs(status, asset.getStatus())
+        || differs(acquisitionDate, asset.getAcquisitionDate())
+        || hasLocation && (!Objects.equals(latitude, asset.getLatitude())
+            || !Objects.equals(longitude, asset.getLongitude()));
+  }
+
+  boolean changesSerialNumber(Asset asset) {
+    return differs(serialNumber, asset.getSerialNumber());
+  }
+
+  void applyTo(Asset asset) {
+    if (name != null) {
+      asset.setName(name);
+    }
+    if (serialNumber != null) {
+      asset.setSerialNumber(serialNumber);
+    }
+    if (category != null) {
+      asset.setCategory(category);
+    }
+    if (status != null) {
+      asset.setStatus(status);
+    }
+    if (acquisitionDate != null) {
+      asset.setAcquisitionDate(acquisitionDate);
+    }
+    if (hasLocation) {
+      asset.setLatitude(latitude);
+      asset.setLongitude(longitude);
+    }
+  }
+
+  private static boolean differs(Object patched, Object current) {
+    return patched != null && !Objects.equals(patched, current);
+  }
+}
@@ -0,0 +1,277 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Planos da listagem: para cada forma de consulta (entidade, quais filtros vieram, ordenação) o JPQL
+ * da página e do count é montado uma vez e guardado. Como o texto é sempre o mesmo, o Hibernate
+ * reaproveita a query já interpretada do cache de planos (a Criteria API de {@link
+ * AssetSpecifications} não entra nesse cache) e o pgjdbc, o prepared statement do servidor. Por
+ * requisição sobra só o bind dos valores.
+ *
+ * <p>Mesma semântica de {@link AssetSpecifications#matching}, que segue atendendo as operações em
+ * lote.
+ */
+@Component
+public class AssetQueryPlans {
+
+  static final int CATEGORY = 1;
+  static final int STATUS = 1 << 1;
+  static final int QUERY = 1 << 2;
+  static final int ACQUIRED_FROM = 1 << 3;
+  static final int ACQUIRED_TO = 1 << 4;
+  static final int BBOX = 1 << 5;
+  static final int BBOX_WRAP = 1 << 6;
+  static final int NEAR = 1 << 7;
+  static final int NEAR_WRAP = 1 << 8;
+
+  private final EntityManager entityManager;
+  private final Cache<Shape, Plan> plans;
+  private final Cache<ClusterShape, String> clusterPlans;
+
+  public AssetQueryPlans(
+      EntityManager entityManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.search.plan-cache-size:512}") long maxSize) {
+    this.entityManager = entityManager;
+    this.plans = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, plans, "assets.query-plans");
+    this.clusterPlans = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /** Página mais uma linha, como {@code query.slice(pageable)} do Spring Data: sem count. */
+  public <T> Slice<T> slice(Class<T> entity, AssetFilter filter, Pageable pageable) {
+    int mask = mask(filter);
+    var plan = plan(entity, mask, pageable.getSort());
+
+    TypedQuery<T> query = entityManager.createQuery(plan.select(), entity);
+    bind(query, filter, mask);
+    if (pageable.isPaged()) {
+      query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+      query.setMaxResults(pageable.getPageSize() + 1);
+    }
+
+    List<T> rows = query.getResultList();
+    boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+    return new SliceImpl<>(
+        hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+  }
+
+  public long count(Class<?> entity, AssetFilter filter) {
+    int mask = mask(filter);
+    var plan = plan(entity, mask, Sort.unsorted());
+
+    TypedQuery<Long> query = entityManager.createQuery(plan.count(), Long.class);
+    bind(query, filter, mask);
+    return query.getSingleResult();
+  }
+
+  /**
+   * Agrupa as linhas do filtro numa grade de células com lado {@code 360 / 2^level} graus. O lado
+   * entra como literal no texto (um plano por nível): com parâmetro no GROUP BY o Postgres não
+   * reconhece a expressão do SELECT como a mesma do agrupamento.
+   */
+  public List<Object[]> clusters(Class<?> entity, AssetFilter filter, int level) {
+    int mask = mask(filter);
+    String jpql = clusterPlans.get(
+        new ClusterShape(entity, mask, level), AssetQueryPlans::compileClusters);
+
+    TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+    bind(query, filter, mask);
+    return query.getResultList();
+  }
+
+  long size() {
+    return plans.estimatedSize();
+  }
+
+  private Plan plan(Class<?> entity, int mask, Sort sort) {
+    // Sort vem do cache de AssetSorts: equals cai quase sempre na comparação por referência.
+    return plans.get(new Shape(entity, mask, sort), AssetQueryPlans::compile);
+  }
+
+  static int mask(AssetFilter filter) {
+    int mask = 0;
+    if (filter.category() != null) {
+      mask |= CATEGORY;
+    }
+    if (filter.status() != null) {
+      mask |= STATUS;
+    }
+    if (filter.q() != null && !filter.q().isBlank()) {
+      mask |= QUERY;
+    }
+    if (filter.acquiredFrom() != null) {
+      mask |= ACQUIRED_FROM;
+    }
+    if (filter.acquiredTo() != null) {
+      mask |= ACQUIRED_TO;
+    }
+    if (filter.bbox() != null) {
+      mask |= filter.bbox().crossesAntimeridian() ? BBOX | BBOX_WRAP : BBOX;
+    }
+    if (filter.near() != null) {
+      mask |= filter.near().boundingBox().crossesAntimeridian() ? NEAR | NEAR_WRAP : NEAR;
+    }
+    return mask;
+  }
+
+  private static void bind(TypedQuery<?> query, AssetFilter filter, int mask) {
+    if ((mask & CATEGORY) != 0) {
+      query.setParameter("category", filter.category());
+    }
+    if ((mask & STATUS) != 0) {
+      query.setParameter("status", filter.status());
+    }
+    if ((mask & QUERY) != 0) {
+      query.setParameter("q", AssetSpecifications.toContainsLikePattern(filter.q()));
+    }
+    if ((mask & ACQUIRED_FROM) != 0) {
+      query.setParameter("acquiredFrom", filter.acquiredFrom());
+    }
+    if ((mask & ACQUIRED_TO) != 0) {
+      query.setParameter("acquiredTo", filter.acquiredTo());
+    }
+    if ((mask & BBOX) != 0) {
+      bindBox(query, "bb", filter.bbox());
+    }
+    if ((mask & NEAR) != 0) {
+      bindBox(query, "near", filter.near().boundingBox());
+      query.setParameter("nearLat", filter.near().latitude());
+      query.setParameter("nearLon", filter.near().longitude());
+      query.setParameter("nearMeters", filter.near().meters());
+    }
+  }
+
+  private static void bindBox(TypedQuery<?> query, String prefix, BoundingBox box) {
+    query.setParameter(prefix + "MinLon", box.minLon());
+    query.setParameter(prefix + "MinLat", box.minLat());
+    query.setParameter(prefix + "MaxLon", box.maxLon());
+    query.setParameter(prefix + "MaxLat", box.maxLat());
+  }
+
+  static Plan compile(Shape shape) {
+    String from = " from " + shape.entity().getSimpleName() + " a" + where(shape.mask());
+    return new Plan("select a" + from + orderBy(shape.sort()), "select count(a)" + from);
+  }
+
+  static String compileClusters(ClusterShape shape) {
+    String cell = new BigDecimal(360 / Math.pow(2, shape.level())).toPlainString();
+    String cellX = "floor(a.longitude / " + cell + ")";
+    String cellY = "floor(a.latitude / " + cell + ")";
+    return "select " + cellX + ", " + cellY + ", count(a), avg(a.latitude), avg(a.longitude),"
+        + " min(a.latitude), min(a.longitude), max(a.latitude), max(a.longitude), min(a.id)"
+        + " from " + shape.entity().getSimpleName() + " a" + where(shape.mask())
+        + " group by " + cellX + ", " + cellY;
+  }
+
+  private static String where(int mask) {
+    var where = new StringBuilder();
+    if ((mask & CATEGORY) != 0) {
+      and(where, "a.category = :category");
+    }
+    if ((mask & STATUS) != 0) {
+      and(where, "a.status = :status");
+    }
+    if ((mask & QUERY) != 0) {
+      // Escapa padrões para não tratar o input do usuário como wildcard.
+      and(where, "(lower(a.name) like :q escape '\\' or lower(a.serialNumber) like :q escape '\\')");
+    }
+    if ((mask & ACQUIRED_FROM) != 0 && (mask & ACQUIRED_TO) != 0) {
+      and(where, "a.acquisitionDate between :acquiredFrom and :acquiredTo");
+    } else if ((mask & ACQUIRED_FROM) != 0) {
+      and(where, "a.acquisitionDate >= :acquiredFrom");
+    } else if ((mask & ACQUIRED_TO) != 0) {
+      and(where, "a.acquisitionDate <= :acquiredTo");
+    }
+    if ((mask & BBOX) != 0) {
+      and(where, box("bb", (mask & BBOX_WRAP) != 0));
+    }
+    if ((mask & NEAR) != 0) {
+      and(where, box("near", (mask & NEAR_WRAP) != 0));
+      and(where,
+          "function('asset_distance_m', a.latitude, a.longitude, :nearLat, :nearLon)"
+              + " <= :nearMeters");
+    }
+    return where.toString();
+  }
+
+  // Mesmo predicado de AssetSpecifications.withinBox: a caixa que cruza o antimeridiano vira duas.
+  private static String box(String prefix, boolean wrap) {
+    String min = ":" + prefix + "MinLat";
+    String max = ":" + prefix + "MaxLat";
+    if (!wrap) {
+      return inBox(":" + prefix + "MinLon", min, ":" + prefix + "MaxLon", max);
+    }
+    return "(" + inBox(":" + prefix + "MinLon", min, "180.0", max)
+        + " or " + inBox("-180.0", min, ":" + prefix + "MaxLon", max) + ")";
+  }
+
+  private static String inBox(String minLon, String minLat, String maxLon, String maxLat) {
+    return "function('asset_in_box', a.longitude, a.latitude, "
+        + minLon + ", " + minLat + ", " + maxLon + ", " + maxLat + ") = true";
+  }
+
+  private static void and(StringBuilder where, String predicate) {
+    where.append(where.isEmpty() ? " where " : " and ").append(predicate);
+  }
+
+  // As propriedades entram no texto do JPQL: só as ordenáveis da listagem são aceitas. Texto segue a
+  // collation do banco; empates por id, na direção da última ordenação, como no read model.
+  private static String orderBy(Sort sort) {
+    if (sort.isUnsorted()) {
+      return "";
+    }
+    var orderBy = new StringBuilder(" order by ");
+    boolean first = true;
+    boolean byId = false;
+    Sort.Order last = null;
+    for (var order : sort) {
+      if (!AssetSorts.FIELDS.contains(order.getProperty())) {
+        throw new IllegalArgumentException("Propriedade de ordenação inválida: " + order);
+      }
+      if (!first) {
+        orderBy.append(", ");
+      }
+      first = false;
+      byId |= order.getProperty().equals("id");
+      last = order;
+
+      String path = "a." + order.getProperty();
+      orderBy.append(order.isIgnoreCase() ? "lower(" + path + ")" : path)
+          .append(order.isAscending() ? " asc" : " desc");
+      switch (order.getNullHandling()) {
+        case NULLS_FIRST -> orderBy.append(" nulls first");
+        case NULLS_LAST -> orderBy.append(" nulls last");
+        case NATIVE -> { }
+      }
+    }
+    if (!byId) {
+      orderBy.append(last.isAscending() ? ", a.id asc" : ", a.id desc");
+    }
+    return orderBy.toString();
+  }
+
+  record Shape(Class<?> entity, int mask, Sort sort) {}
+
+  record Plan(String select, String count) {}
+
+  record ClusterShape(Class<?> entity, int mask, int level) {}
+}
@@ -1,10 +1,63 @@
 package com.geosapiens.backend.assets;
 
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface AssetRepository extends JpaRepository<Asset, Long>, JpaSpecificationExecutor<Asset> {
   boolean existsBySerialNumber(String serialNumber);
 
   boolean existsBySerialNumberAndIdNot(String serialNumber, Long id);
+
+  Optional<Asset> findBySerialNumber(String serialNumber);
+
+  // Um único parâmetro array: o plano é o mesmo para qualquer quantidade de seriais.
+  // Queries nativas não recebem o @SQLRestriction da entidade: o filtro de tombstones vai explícito.
+  @Query(
+      value = "SELECT * FROM assets WHERE serial_number = ANY(:serialNumbers) AND deleted_at IS NULL",
+      nativeQuery = true)
+  List<Asset> findAllBySerialNumberIn(@Param("serialNumbers") String[] serialNumbers);
+
+  @Query(
+      value = "SELECT * FROM assets WHERE id = ANY(:ids) AND deleted_at IS NULL",
+      nativeQuery = true)
+  List<Asset> findAllByIdIn(@Param("ids") Long[] ids);
+
+  // Lê da tabela companheira: inclui os seriais de assets arquivados, que continuam reservados.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+  @Query(value = "SELECT serial_number FROM asset_serial_numbers", nativeQuery = true)
+  Stream<String> streamAllSerialNumbers();
+
+  // Troca de status em lote por ids já travados pela leitura do estado anterior (AssetBulkService).
+  @Modifying
+  @Query(
+      value = """
+          UPDATE assets SET status = :status, updated_at = :now, version = version + 1
+          WHERE id = ANY(:ids) AND deleted_at IS NULL
+          """,
+      nativeQuery = true)
+  int updateStatusByIdIn(
+      @Param("ids") Long[] ids, @Param("status") String status, @Param("now") OffsetDateTime now);
+
+  @Modifying
+  @Query("delete from Asset a where a.id = :id and a.version = :version")
+  int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+  @Modifying
+  @Query("""
+      update Asset a
+      set a.deletedAt = :now, a.updatedAt = :now, a.version = a.version + 1
+      where a.id = :id and a.version = :version
+      """)
+  int softDeleteByIdAndVersion(
+      @Param("id") Long id, @Param("version") Long version, @Param("now") OffsetDateTime now);
 }
@@ -1,27 +1,109 @@
 package com.geosapiens.backend.assets;
 
+import com.geosapiens.backend.assets.dto.AssetClusterResponse;
+import com.geosapiens.backend.assets.dto.AssetClustersResponse;
+import com.geosapiens.backend.assets.dto.AssetResponse;
 import com.geosapiens.backend.assets.dto.AssetUpsertRequest;
 import com.geosapiens.backend.assets.exceptions.AssetNotFoundException;
+import com.geosapiens.backend.assets.exceptions.AssetPreconditionFailedException;
 import com.geosapiens.backend.assets.exceptions.SerialNumberConflictException;
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.readmodel.AssetReadModel;
+import com.geosapiens.backend.assets.serial.SerialNumberFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
 @Service
 public class AssetService {
 
   private static final String POSTGRES_UNIQUE_VIOLATION_SQLSTATE = "23505";
   private static final String ASSETS_SERIAL_NUMBER_UK = "assets_serial_number_uk";
+  private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+  public static final String SEARCH_TIMER = "assets.search";
+  public static final String CLUSTERS_TIMER = "assets.clusters";
+  static final int MAX_CLUSTER_LEVEL = 30;
+
+  // Tag "source" do timer de busca e campo do AssetOperationEvent.
+  private static final String SOURCE_HOT = "hot";
+  private static final String SOURCE_ARCHIVE = "with-archive";
+  private static final String SOURCE_MEMORY = "memory";
 
   private final AssetRepository assetRepository;
+  private final AssetViewRepository assetViewRepository;
+  private final SerialNumberFilter serialNumberFilter;
+  private final AssetCache assetCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final JsonMapper jsonMapper;
+  private final Validator validator;
+  private final AssetDeleteMode deleteMode;
+  private final AssetPageExecutor pageExecutor;
+  private final AssetQueryPlans queryPlans;
+  private final AssetReadModel readModel;
+  private final TransactionTemplate readOnlyTx;
+  private final Timer hotSearchTimer;
+  private final Timer archiveSearchTimer;
+  private final Timer memorySearchTimer;
+  private final Timer clustersTimer;
 
-  public AssetService(AssetRepository assetRepository) {
+  public AssetService(
+      AssetRepository assetRepository,
+      AssetViewRepository assetViewRepository,
+      SerialNumberFilter serialNumberFilter,
+      AssetCache assetCache,
+      ApplicationEventPublisher eventPublisher,
+      JsonMapper jsonMapper,
+      Validator validator,
+      AssetPageExecutor pageExecutor,
+      AssetQueryPlans queryPlans,
+      AssetReadModel readModel,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.delete.mode:soft}") AssetDeleteMode deleteMode) {
     this.assetRepository = assetRepository;
+    this.assetViewRepository = assetViewRepository;
+    this.serialNumberFilter = serialNumberFilter;
+    this.assetCache = assetCache;
+    this.eventPublisher = eventPublisher;
+    this.jsonMapper = jsonMapper;
+    this.validator = validator;
+    this.pageExecutor = pageExecutor;
+    this.queryPlans = queryPlans;
+    this.readModel = readModel;
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.deleteMode = deleteMode;
+    this.hotSearchTimer = searchTimer(meterRegistry, SOURCE_HOT);
+    this.archiveSearchTimer = searchTimer(meterRegistry, SOURCE_ARCHIVE);
+    this.memorySearchTimer = searchTimer(meterRegistry, SOURCE_MEMORY);
+    this.clustersTimer = Timer.builder(CLUSTERS_TIMER)
+        .description("Latência da agregação de assets em clusters para o mapa")
+        .register(meterRegistry);
   }
 
   @Transactional(readOnly = true)
@@ -29,19 +111,233 @@ public class AssetService {
     return assetRepository.findById(id).orElseThrow(() -> new AssetNotFoundException(id));
   }
 
-  @Transactional(readOnly = true)
-  public Page<Asset> search(Category category, Status status, String q, Pageable pageable) {
-    Specification<Asset> spec =
-        Specification.where(AssetSpecifications.hasCategory(category))
-            .and(AssetSpecifications.hasStatus(status))
-            .and(AssetSpecifications.matchesQuery(q));
+  // Lookups de leitura ficam fora de transação: hit no cache não pega conexão do pool. Só o que veio
+  // do primário repovoa o cache, ver AssetCache.
+
+  public AssetResponse lookupById(Long id) {
+    var cached = assetCache.getById(id);
+    if (cached != null) {
+      return cached;
+    }
+
+    long fill = assetCache.beginFill();
+    // Fora da tabela quente, o asset ainda pode estar no arquivo (somente leitura).
+    var asset = assetRepository.findById(id)
+        .map(AssetResponse::fromEntity)
+        .or(() -> assetViewRepository.findById(id).map(AssetResponse::fromView))
+        .orElseThrow(() -> new AssetNotFoundException(id));
+    assetCache.put(asset, fill);
+    return asset;
+  }
+
+  public AssetResponse lookupBySerialNumber(String serialNumber) {
+    var cached = assetCache.getBySerialNumber(serialNumber);
+    if (cached != null) {
+      return cached;
+    }
+
+    long fill = assetCache.beginFill();
+    var asset = assetRepository.findBySerialNumber(serialNumber)
+        .map(AssetResponse::fromEntity)
+        .or(() -> assetViewRepository.findBySerialNumber(serialNumber).map(AssetResponse::fromView))
+        .orElseThrow(() -> new AssetNotFoundException(serialNumber));
+    assetCache.put(asset, fill);
+    return asset;
+  }
+
+  /**
+   * Resolve vários ids servindo o que estiver no cache e buscando o resto com
+   * {@code id = ANY(?)}, em blocos de {@value #LOOKUP_CHUNK_SIZE}. Como em {@link #lookupById}, o
+   * que não está na tabela quente é procurado no arquivo. O mapa retornado só contém os ids
+   * encontrados.
+   */
+  public Map<Long, AssetResponse> lookupByIds(List<Long> ids) {
+    Map<Long, AssetResponse> found = new HashMap<>();
+    List<Long> misses = new ArrayList<>();
+
+    for (Long id : new LinkedHashSet<>(ids)) {
+      var cached = assetCache.getById(id);
+      if (cached != null) {
+        found.put(id, cached);
+      } else {
+        misses.add(id);
+      }
+    }
+
+    long fill = assetCache.beginFill();
+    for (int from = 0; from < misses.size(); from += LOOKUP_CHUNK_SIZE) {
+      var chunk = misses.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, misses.size()));
+      for (Asset entity : assetRepository.findAllByIdIn(chunk.toArray(Long[]::new))) {
+        var asset = AssetResponse.fromEntity(entity);
+        assetCache.put(asset, fill);
+        found.put(asset.id(), asset);
+      }
+
+      var archived = chunk.stream().filter(id -> !found.containsKey(id)).toArray(Long[]::new);
+      if (archived.length > 0) {
+        for (AssetView view : assetViewRepository.findAllByIdIn(archived)) {
+          var asset = AssetResponse.fromView(view);
+          assetCache.put(asset, fill);
+          found.put(asset.id(), asset);
+        }
+      }
+    }
 
-    return assetRepository.findAll(spec, pageable);
+    return found;
+  }
+
+  /**
+   * Resolve vários seriais com uma query ({@code serial_number = ANY(?)}) para os que não estão no
+   * cache, mais uma no arquivo para os que também não estão na tabela quente. O mapa retornado só
+   * contém os seriais encontrados.
+   */
+  public Map<String, AssetResponse> lookupBySerialNumbers(List<String> serialNumbers) {
+    Map<String, AssetResponse> found = new HashMap<>();
+    List<String> misses = new ArrayList<>();
+
+    for (String serialNumber : new LinkedHashSet<>(serialNumbers)) {
+      var cached = assetCache.getBySerialNumber(serialNumber);
+      if (cached != null) {
+        found.put(serialNumber, cached);
+      } else {
+        misses.add(serialNumber);
+      }
+    }
+
+    if (!misses.isEmpty()) {
+      long fill = assetCache.beginFill();
+      for (Asset entity : assetRepository.findAllBySerialNumberIn(misses.toArray(String[]::new))) {
+        var asset = AssetResponse.fromEntity(entity);
+        assetCache.put(asset, fill);
+        found.put(asset.serialNumber(), asset);
+      }
+
+      var archived = misses.stream().filter(serial -> !found.containsKey(serial)).toArray(String[]::new);
+      if (archived.length > 0) {
+        for (AssetView view : assetViewRepository.findAllBySerialNumberIn(archived)) {
+          var asset = AssetResponse.fromView(view);
+          assetCache.put(asset, fill);
+          found.put(asset.serialNumber(), asset);
+        }
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Por padrão só a tabela quente é consultada. {@code status=RETIRED} ou {@code includeArchived}
+   * trocam a consulta para a view que une o arquivo. Página e count podem rodar em paralelo, ver
+   * {@link AssetPageExecutor}; as queries saem de planos pré-montados por forma de filtro e ordenação
+   * ({@link AssetQueryPlans}). Com o read model em memória pronto e sem escritas pendentes, a tabela
+   * quente é respondida por ele, sem transação nem conexão. Cada chamada emite um {@link
+   * AssetOperationEvent} para as gravações JFR.
+   */
+  public Page<AssetResponse> search(AssetFilter filter, boolean includeArchived, Pageable pageable) {
+    var event = new AssetOperationEvent();
+    event.begin();
+    Page<AssetResponse> page;
+    String source;
+    if (usesArchive(filter, includeArchived)) {
+      source = SOURCE_ARCHIVE;
+      page = archiveSearchTimer.record(() -> readOnlyTx.execute(status -> pageExecutor
+          .page(
+              pageable,
+              () -> queryPlans.slice(AssetView.class, filter, pageable),
+              () -> queryPlans.count(AssetView.class, filter))
+          .map(AssetResponse::fromView)));
+    } else if ((page = searchInMemory(filter, pageable)) != null) {
+      source = SOURCE_MEMORY;
+    } else {
+      source = SOURCE_HOT;
+      page = hotSearchTimer.record(() -> readOnlyTx.execute(status -> pageExecutor
+          .page(
+              pageable,
+              () -> queryPlans.slice(Asset.class, filter, pageable),
+              () -> queryPlans.count(Asset.class, filter))
+          .map(AssetResponse::fromEntity)));
+    }
+    event.complete(
+        "search", source, filter, pageable, page.getNumberOfElements(), page.getTotalElements());
+    return page;
+  }
+
+  /** Como {@link #search}, mas sem totais: nenhum count é executado. */
+  public Slice<AssetResponse> searchWithoutTotals(
+      AssetFilter filter, boolean includeArchived, Pageable pageable) {
+    var event = new AssetOperationEvent();
+    event.begin();
+    Slice<AssetResponse> slice;
+    String source;
+    if (usesArchive(filter, includeArchived)) {
+      source = SOURCE_ARCHIVE;
+      slice = archiveSearchTimer.record(() -> readOnlyTx.execute(status -> pageExecutor
+          .slice(() -> queryPlans.slice(AssetView.class, filter, pageable))
+          .map(AssetResponse::fromView)));
+    } else if ((slice = searchInMemory(filter, pageable)) != null) {
+      source = SOURCE_MEMORY;
+    } else {
+      source = SOURCE_HOT;
+      slice = hotSearchTimer.record(() -> readOnlyTx.execute(status -> pageExecutor
+          .slice(() -> queryPlans.slice(Asset.class, filter, pageable))
+          .map(AssetResponse::fromEntity)));
+    }
+    event.complete(
+        "searchWithoutTotals", source, filter, pageable, slice.getNumberOfElements(), -1);
+    return slice;
+  }
+
+  /**
+   * Assets do viewport ({@code filter.bbox()}, obrigatório) agregados no banco numa grade de células
+   * quadradas com lado {@code 360 / 2^n} graus, escolhido para dar cerca de {@code gridSize} células
+   * no maior lado do viewport. A grade é fixa no globo, então arrastar o mapa não muda os clusters
+   * das células que continuam visíveis. O mapa recebe no máximo uma linha por célula.
+   */
+  public AssetClustersResponse clusters(AssetFilter filter, boolean includeArchived, int gridSize) {
+    var event = new AssetOperationEvent();
+    event.begin();
+    int level = clusterLevel(filter.bbox(), gridSize);
+    boolean archive = usesArchive(filter, includeArchived);
+    Class<?> entity = archive ? AssetView.class : Asset.class;
+    List<Object[]> rows = clustersTimer.record(() -> readOnlyTx.execute(
+        status -> queryPlans.clusters(entity, filter, level)));
+
+    List<AssetClusterResponse> clusters = new ArrayList<>(rows.size());
+    long total = 0;
+    for (Object[] row : rows) {
+      long count = ((Number) row[2]).longValue();
+      total += count;
+      clusters.add(new AssetClusterResponse(
+          ((Number) row[3]).doubleValue(),
+          ((Number) row[4]).doubleValue(),
+          count,
+          count == 1 ? ((Number) row[9]).longValue() : null,
+          new BoundingBox(
+              ((Number) row[6]).doubleValue(),
+              ((Number) row[5]).doubleValue(),
+              ((Number) row[8]).doubleValue(),
+              ((Number) row[7]).doubleValue())));
+    }
+    clusters.sort(Comparator.comparingLong(AssetClusterResponse::count).reversed());
+    event.complete(
+        "clusters", archive ? SOURCE_ARCHIVE : SOURCE_HOT, filter, Pageable.unpaged(),
+        clusters.size(), total);
+    return new AssetClustersResponse(360 / Math.pow(2, level), total, clusters);
+  }
+
+  // Menor n com 360 / 2^n <= maior lado / gridSize.
+  static int clusterLevel(BoundingBox viewport, int gridSize) {
+    double span = Math.max(viewport.width(), viewport.height());
+    if (span <= 0) {
+      return MAX_CLUSTER_LEVEL;
+    }
+    int level = (int) Math.ceil(Math.log(360 * gridSize / span) / Math.log(2));
+    return Math.clamp(level, 0, MAX_CLUSTER_LEVEL);
   }
 
   @Transactional
   public Asset create(AssetUpsertRequest request) {
-    if (assetRepository.existsBySerialNumber(request.serialNumber())) {
+    if (isSerialNumberTaken(request.serialNumber())) {
       throw new SerialNumberConflictException(request.serialNumber());
     }
 
@@ -49,7 +345,10 @@ public class AssetService {
     applyUpsertRequest(asset, request);
 
     try {
-      return assetRepository.saveAndFlush(asset);
+      var created = assetRepository.saveAndFlush(asset);
+      serialNumberFilter.put(created.getSerialNumber());
+      eventPublisher.publishEvent(AssetChangedEvent.created(AssetResponse.fromEntity(created)));
+      return created;
     } catch (DataIntegrityViolationException ex) {
       if (isUniqueViolation(ex)) {
         throw new SerialNumberConflictException(request.serialNumber(), ex);
@@ -58,32 +357,137 @@ public class AssetService {
     }
   }
 
+  /**
+   * Atualiza o asset. Com {@code expectedVersion} informado (If-Match), a versão carregada precisa
+   * bater; o UPDATE em si também filtra por {@code version}, então uma escrita concorrente entre a
+   * leitura e o flush resulta em 412 sem nenhum lock de linha.
+   */
   @Transactional
-  public Asset update(Long id, AssetUpsertRequest request) {
+  public Asset update(Long id, AssetUpsertRequest request, Long expectedVersion) {
     var asset = getById(id);
+    requireVersion(asset, expectedVersion);
+    requireSerialNumberAvailable(request.serialNumber(), id);
 
-    if (assetRepository.existsBySerialNumberAndIdNot(request.serialNumber(), id)) {
-      throw new SerialNumberConflictException(request.serialNumber());
+    var before = AssetResponse.fromEntity(asset);
+    applyUpsertRequest(asset, request);
+    return flushUpdate(asset, before);
+  }
+
+  /**
+   * Aplica um JSON Merge Patch. Só os campos presentes são validados e, com {@code @DynamicUpdate},
+   * só as colunas alteradas entram no UPDATE. Patch que não muda nada devolve o asset como está, sem
+   * UPDATE, sem nova versão e sem evento.
+   */
+  @Transactional
+  public Asset patch(Long id, JsonNode document, Long expectedVersion) {
+    var patch = AssetPatch.parse(document, jsonMapper, validator);
+    var asset = getById(id);
+    requireVersion(asset, expectedVersion);
+    if (!patch.changes(asset)) {
+      return asset;
+    }
+    if (patch.changesSerialNumber(asset)) {
+      requireSerialNumberAvailable(patch.serialNumber(), id);
     }
 
-    applyUpsertRequest(asset, request);
+    var before = AssetResponse.fromEntity(asset);
+    patch.applyTo(asset);
+    return flushUpdate(asset, before);
+  }
+
+  /**
+   * Em modo {@code SOFT} a linha vira tombstone ({@code deleted_at}, nova versão) e o serial é
+   * liberado pelo trigger; o purger remove a linha depois da retenção. Em {@code HARD}, DELETE.
+   */
+  @Transactional
+  public void delete(Long id, Long expectedVersion) {
+    if (expectedVersion == null) {
+      var asset = getById(id);
+      var before = AssetResponse.fromEntity(asset);
+      if (deleteMode == AssetDeleteMode.SOFT) {
+        asset.setDeletedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        assetRepository.saveAndFlush(asset);
+      } else {
+        assetRepository.delete(asset);
+      }
+      serialNumberFilter.markStale();
+      eventPublisher.publishEvent(AssetChangedEvent.deleted(id, asset.getVersion(), before));
+      return;
+    }
+
+    // DELETE condicional em um único statement; só em caso de falha descobrimos se foi 404 ou 412.
+    int affected = deleteMode == AssetDeleteMode.SOFT
+        ? assetRepository.softDeleteByIdAndVersion(
+            id, expectedVersion, OffsetDateTime.now(ZoneOffset.UTC))
+        : assetRepository.deleteByIdAndVersion(id, expectedVersion);
+    if (affected == 0) {
+      if (!assetRepository.existsById(id)) {
+        throw new AssetNotFoundException(id);
+      }
+      throw new AssetPreconditionFailedException(id);
+    }
+    serialNumberFilter.markStale();
+    long version = deleteMode == AssetDeleteMode.SOFT ? expectedVersion + 1 : expectedVersion;
+    eventPublisher.publishEvent(AssetChangedEvent.deleted(id, version, null));
+  }
 
+  private Asset flushUpdate(Asset asset, AssetResponse before) {
     try {
-      return assetRepository.saveAndFlush(asset);
+      var updated = assetRepository.saveAndFlush(asset);
+      if (!before.serialNumber().equals(updated.getSerialNumber())) {
+        serialNumberFilter.put(updated.getSerialNumber());
+        serialNumberFilter.markStale();
+      }
+      eventPublisher.publishEvent(
+          AssetChangedEvent.updated(before, AssetResponse.fromEntity(updated)));
+      return updated;
+    } catch (OptimisticLockingFailureException ex) {
+      throw new AssetPreconditionFailedException(asset.getId(), ex);
     } catch (DataIntegrityViolationException ex) {
       if (isUniqueViolation(ex)) {
-        throw new SerialNumberConflictException(request.serialNumber(), ex);
+        throw new SerialNumberConflictException(asset.getSerialNumber(), ex);
       }
       throw ex;
     }
   }
 
-  @Transactional
-  public void delete(Long id) {
-    if (!assetRepository.existsById(id)) {
-      throw new AssetNotFoundException(id);
+  private Page<AssetResponse> searchInMemory(AssetFilter filter, Pageable pageable) {
+    long startedAt = System.nanoTime();
+    var page = readModel.search(filter, pageable);
+    if (page != null) {
+      memorySearchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+    return page;
+  }
+
+  private static boolean usesArchive(AssetFilter filter, boolean includeArchived) {
+    return includeArchived || filter.status() == Status.RETIRED;
+  }
+
+  private void requireSerialNumberAvailable(String serialNumber, Long id) {
+    if (serialNumberFilter.mightContain(serialNumber)
+        && assetRepository.existsBySerialNumberAndIdNot(serialNumber, id)) {
+      throw new SerialNumberConflictException(serialNumber);
+    }
+  }
+
+  // Miss definitivo do filtro dispensa o round-trip; "talvez" confirma no banco.
+  private boolean isSerialNumberTaken(String serialNumber) {
+    if (!serialNumberFilter.mightContain(serialNumber)) {
+      return false;
+    }
+
+    boolean exists = assetRepository.existsBySerialNumber(serialNumber);
+    if (!exists) {
+      serialNumberFilter.recordFalsePositive();
+    }
+    return exists;
+  }
+
+  private static void requireVersion(Asset asset, Long expectedVersion) {
+    if (expectedVersion != null && !expectedVersion.equals(asset.getVersion())) {
+      throw new AssetPreconditionFailedException(asset.getId());
     }
-    assetRepository.deleteById(id);
   }
 
   private static void applyUpsertRequest(Asset asset, AssetUpsertRequest request) {
@@ -92,6 +496,8 @@ public class AssetService {
     asset.setCategory(request.category());
     asset.setStatus(request.status());
     asset.setAcquisitionDate(request.acquisitionDate());
+    asset.setLatitude(request.latitude());
+    asset.setLongitude(request.longitude());
   }
 
   private static boolean isUniqueViolation(Throwable ex) {
@@ -111,4 +517,11 @@ public class AssetService {
 
     return false;
   }
+
+  private static Timer searchTimer(MeterRegistry meterRegistry, String source) {
+    return Timer.builder(SEARCH_TIMER)
+        .description("Latência da listagem paginada de assets")
+        .tag("source", source)
+        .register(meterRegistry);
+  }
 }
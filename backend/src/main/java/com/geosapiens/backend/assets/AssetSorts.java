@@ -0,0 +1,105 @@
+package com.geosapiens.backend.assets;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Interpreta o parâmetro {@code sort} da listagem ({@code campo[,asc|desc][,campo...]}). Clientes
+ * repetem poucas combinações, então o {@link Sort} validado fica num cache pequeno por valor bruto
+ * do parâmetro; entradas inválidas lançam 400 e nunca entram no cache.
+ */
+final class AssetSorts {
+
+  static final Set<String> FIELDS = Set.of(
+      "id",
+      "name",
+      "serialNumber",
+      "category",
+      "status",
+      "acquisitionDate",
+      "createdAt",
+      "updatedAt");
+
+  static final Sort DEFAULT = Sort.by(Sort.Order.desc("id"));
+
+  private static final int MAX_CACHED = 256;
+
+  private static final Cache<List<String>, Sort> PARSED = Caffeine.newBuilder()
+      .maximumSize(MAX_CACHED)
+      .build();
+
+  private AssetSorts() {}
+
+  static Sort parse(List<String> sortParams) {
+    if (sortParams == null || sortParams.isEmpty()) {
+      return DEFAULT;
+    }
+
+    var cached = PARSED.getIfPresent(sortParams);
+    if (cached != null) {
+      return cached;
+    }
+    var sort = parseUncached(sortParams);
+    // A lista vem do binding da requisição: a chave guardada é uma cópia imutável.
+    PARSED.put(List.copyOf(sortParams), sort);
+    return sort;
+  }
+
+  private static Sort parseUncached(List<String> sortParams) {
+    List<String> sortTokens = new ArrayList<>();
+    for (String raw : sortParams) {
+      if (raw == null || raw.isBlank()) {
+        continue;
+      }
+
+      for (String token : raw.split(",", -1)) {
+        String normalizedToken = token.trim();
+        if (normalizedToken.isEmpty()) {
+          continue;
+        }
+        sortTokens.add(normalizedToken);
+      }
+    }
+
+    List<Sort.Order> orders = new ArrayList<>();
+    for (int index = 0; index < sortTokens.size(); index++) {
+      String property = sortTokens.get(index);
+
+      if (!FIELDS.contains(property)) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, "Campo `sort` inválido: " + property);
+      }
+
+      Sort.Direction direction = Sort.Direction.ASC;
+      if (index + 1 < sortTokens.size()) {
+        String nextToken = sortTokens.get(index + 1);
+        String normalizedDirection = nextToken.toUpperCase(Locale.ROOT);
+        if ("ASC".equals(normalizedDirection)) {
+          direction = Sort.Direction.ASC;
+          index++;
+        } else if ("DESC".equals(normalizedDirection)) {
+          direction = Sort.Direction.DESC;
+          index++;
+        } else if (!FIELDS.contains(nextToken)) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "Direção de `sort` inválida: " + nextToken);
+        }
+      }
+
+      orders.add(new Sort.Order(direction, property));
+    }
+
+    if (orders.isEmpty()) {
+      return DEFAULT;
+    }
+
+    return Sort.by(orders);
+  }
+}
@@ -1,37 +1,115 @@
 package com.geosapiens.backend.assets;
 
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.geo.GeoRadius;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDate;
 import java.util.Locale;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.PredicateSpecification;
 
 public final class AssetSpecifications {
 
   private AssetSpecifications() {}
 
-  public static Specification<Asset> hasCategory(Category category) {
-    return (root, query, cb) -> category == null ? null : cb.equal(root.get("category"), category);
+  // PredicateSpecification serve tanto para SELECT quanto para UPDATE/DELETE em lote, e para
+  // qualquer entidade com os mesmos atributos (Asset e AssetView).
+  public static <T> PredicateSpecification<T> matching(AssetFilter filter) {
+    return PredicateSpecification.<T>where(hasCategory(filter.category()))
+        .and(hasStatus(filter.status()))
+        .and(matchesQuery(filter.q()))
+        .and(acquiredBetween(filter.acquiredFrom(), filter.acquiredTo()))
+        .and(withinBox(filter.bbox()))
+        .and(withinRadius(filter.near()));
   }
 
-  public static Specification<Asset> hasStatus(Status status) {
-    return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+  public static <T> PredicateSpecification<T> hasCategory(Category category) {
+    return (from, cb) -> category == null ? null : cb.equal(from.get("category"), category);
   }
 
-  public static Specification<Asset> matchesQuery(String q) {
-    return (root, query, cb) -> {
+  public static <T> PredicateSpecification<T> hasStatus(Status status) {
+    return (from, cb) -> status == null ? null : cb.equal(from.get("status"), status);
+  }
+
+  public static <T> PredicateSpecification<T> matchesQuery(String q) {
+    return (from, cb) -> {
       if (q == null || q.isBlank()) {
         return null;
       }
 
       String pattern = toContainsLikePattern(q);
 
-      var name = cb.lower(root.get("name"));
-      var serialNumber = cb.lower(root.get("serialNumber"));
+      var name = cb.lower(from.get("name"));
+      var serialNumber = cb.lower(from.get("serialNumber"));
 
       // Escapa padrões para não tratar o input do usuário como wildcard.
       return cb.or(cb.like(name, pattern, '\\'), cb.like(serialNumber, pattern, '\\'));
     };
   }
 
-  private static String toContainsLikePattern(String q) {
+  // Predicado direto sobre a chave de partição: o planner descarta as partições fora da faixa.
+  public static <T> PredicateSpecification<T> acquiredBetween(
+      LocalDate acquiredFrom, LocalDate acquiredTo) {
+    return (from, cb) -> {
+      if (acquiredFrom == null && acquiredTo == null) {
+        return null;
+      }
+
+      var acquisitionDate = from.<LocalDate>get("acquisitionDate");
+      if (acquiredFrom == null) {
+        return cb.lessThanOrEqualTo(acquisitionDate, acquiredTo);
+      }
+      if (acquiredTo == null) {
+        return cb.greaterThanOrEqualTo(acquisitionDate, acquiredFrom);
+      }
+      return cb.between(acquisitionDate, acquiredFrom, acquiredTo);
+    };
+  }
+
+  /**
+   * {@code asset_in_box} (V8) é SQL puro e o Postgres o expande em {@code point(lon, lat) <@ box},
+   * que usa o índice GiST de cada partição. Caixa que cruza o antimeridiano vira duas.
+   */
+  public static <T> PredicateSpecification<T> withinBox(BoundingBox bbox) {
+    return (from, cb) -> bbox == null ? null : box(from, cb, bbox);
+  }
+
+  /** Caixa que circunscreve o círculo (índice) e a distância exata só nas linhas dela. */
+  public static <T> PredicateSpecification<T> withinRadius(GeoRadius near) {
+    return (from, cb) -> {
+      if (near == null) {
+        return null;
+      }
+      var distance = cb.function("asset_distance_m", Double.class,
+          from.get("latitude"), from.get("longitude"),
+          cb.literal(near.latitude()), cb.literal(near.longitude()));
+      return cb.and(box(from, cb, near.boundingBox()), cb.le(distance, near.meters()));
+    };
+  }
+
+  private static Predicate box(From<?, ?> from, CriteriaBuilder cb, BoundingBox bbox) {
+    if (!bbox.crossesAntimeridian()) {
+      return inBox(from, cb, bbox.minLon(), bbox.minLat(), bbox.maxLon(), bbox.maxLat());
+    }
+    return cb.or(
+        inBox(from, cb, bbox.minLon(), bbox.minLat(), 180, bbox.maxLat()),
+        inBox(from, cb, -180, bbox.minLat(), bbox.maxLon(), bbox.maxLat()));
+  }
+
+  private static Predicate inBox(
+      From<?, ?> from, CriteriaBuilder cb,
+      double minLon, double minLat, double maxLon, double maxLat) {
+    return cb.isTrue(cb.function("asset_in_box", Boolean.class,
+        from.get("longitude"), from.get("latitude"),
+        cb.literal(minLon), cb.literal(minLat), cb.literal(maxLon), cb.literal(maxLat)));
+  }
+
+  public static <T> PredicateSpecification<T> idBetween(long fromInclusive, long toInclusive) {
+    return (from, cb) -> cb.between(from.get("id"), fromInclusive, toInclusive);
+  }
+
+  static String toContainsLikePattern(String q) {
     String s = q.trim().toLowerCase(Locale.ROOT);
     s = s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     return "%" + s + "%";
@@ -0,0 +1,40 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
+import com.geosapiens.backend.assets.dto.AssetSuggestionsResponse;
+import com.geosapiens.backend.assets.suggest.AssetSuggestionIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Type-ahead da busca ({@code GET /assets/suggest?prefix=...}): completa nome e serial a partir do
+ * índice em memória, sem LIKE nem count no banco.
+ */
+@RestController
+public class AssetSuggestionController {
+
+  static final int DEFAULT_LIMIT = 10;
+  static final int MAX_LIMIT = 50;
+
+  private final AssetSuggestionIndex index;
+
+  public AssetSuggestionController(AssetSuggestionIndex index) {
+    this.index = index;
+  }
+
+  @GetMapping("/assets/suggest")
+  @AdmissionBulkhead(Bulkhead.READ)
+  public AssetSuggestionsResponse suggest(
+      @RequestParam String prefix,
+      @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`limit` deve estar entre 1 e " + MAX_LIMIT + ".");
+    }
+    return new AssetSuggestionsResponse(index.suggest(prefix, limit), index.isReady());
+  }
+}
@@ -0,0 +1,48 @@
+package com.geosapiens.backend.assets;
+
+import com.geosapiens.backend.admission.AdmissionBulkhead;
+import com.geosapiens.backend.admission.Bulkhead;
+import com.geosapiens.backend.assets.dto.AssetTombstonesResponse;
+import com.geosapiens.backend.assets.tombstone.AssetTombstones;
+import java.time.OffsetDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Assets removidos ainda dentro da retenção, para sincronização incremental de sistemas externos
+ * ({@code GET /assets/tombstones?since=...&afterId=...}). Depois do purge o tombstone some.
+ */
+@RestController
+public class AssetTombstoneController {
+
+  static final int DEFAULT_LIMIT = 500;
+  static final int MAX_LIMIT = 5000;
+
+  private final AssetTombstones tombstones;
+
+  public AssetTombstoneController(AssetTombstones tombstones) {
+    this.tombstones = tombstones;
+  }
+
+  @GetMapping("/assets/tombstones")
+  @AdmissionBulkhead(Bulkhead.READ)
+  public AssetTombstonesResponse list(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          OffsetDateTime since,
+      @RequestParam(required = false) Long afterId,
+      @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "`limit` deve estar entre 1 e " + MAX_LIMIT + ".");
+    }
+
+    // Um item a mais só para saber se há próxima página.
+    var items = tombstones.find(since, afterId, limit + 1);
+    boolean hasMore = items.size() > limit;
+    return new AssetTombstonesResponse(hasMore ? items.subList(0, limit) : items, hasMore);
+  }
+}
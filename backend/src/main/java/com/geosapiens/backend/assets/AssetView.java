@@ -0,0 +1,107 @@
+package com.geosapiens.backend.assets;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Leitura somente sobre a view {@code assets_with_archive} (tabela quente + arquivo). Usada quando
+ * a busca precisa enxergar assets arquivados; escritas continuam em {@link Asset}.
+ */
+@Entity
+@Immutable
+@Table(name = "assets_with_archive")
+public class AssetView {
+
+  @Id
+  private Long id;
+
+  @Column(nullable = false)
+  private String name;
+
+  @Column(name = "serial_number", nullable = false)
+  private String serialNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Category category;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Status status;
+
+  @Column(name = "acquisition_date", nullable = false)
+  private LocalDate acquisitionDate;
+
+  private Double latitude;
+
+  private Double longitude;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt;
+
+  @Column(nullable = false)
+  private Long version;
+
+  @Column(nullable = false)
+  private boolean archived;
+
+  protected AssetView() {}
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getSerialNumber() {
+    return serialNumber;
+  }
+
+  public Category getCategory() {
+    return category;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public LocalDate getAcquisitionDate() {
+    return acquisitionDate;
+  }
+
+  public Double getLatitude() {
+    return latitude;
+  }
+
+  public Double getLongitude() {
+    return longitude;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public boolean isArchived() {
+    return archived;
+  }
+}
@@ -0,0 +1,26 @@
+package com.geosapiens.backend.assets;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/** Somente leitura: a view não aceita escrita. */
+public interface AssetViewRepository
+    extends Repository<AssetView, Long>, JpaSpecificationExecutor<AssetView> {
+
+  Optional<AssetView> findById(Long id);
+
+  Optional<AssetView> findBySerialNumber(String serialNumber);
+
+  // Mesmo formato de AssetRepository: um único parâmetro array. A view já exclui tombstones.
+  @Query(value = "SELECT * FROM assets_with_archive WHERE id = ANY(:ids)", nativeQuery = true)
+  List<AssetView> findAllByIdIn(@Param("ids") Long[] ids);
+
+  @Query(
+      value = "SELECT * FROM assets_with_archive WHERE serial_number = ANY(:serialNumbers)",
+      nativeQuery = true)
+  List<AssetView> findAllBySerialNumberIn(@Param("serialNumbers") String[] serialNumbers);
+}
@@ -0,0 +1,14 @@
+package com.geosapiens.backend.assets;
+
+/**
+ * Publicado por operações em lote, que alteram linhas sem carregar entidades: quem mantém cópias
+ * em memória precisa descartá-las ou recarregar.
+ */
+public record AssetsBulkChangedEvent(Operation operation, AssetFilter filter, long affected) {
+
+  public enum Operation {
+    STATUS_CHANGED,
+    DELETED,
+    ARCHIVED
+  }
+}
@@ -0,0 +1,12 @@
+package com.geosapiens.backend.assets;
+
+import java.util.List;
+
+/**
+ * Publicado dentro da transação pelas escritas set-based que mudam linhas existentes (flush da
+ * ingestão, troca de status em lote), com uma mudança por linha alterada. {@code before} e
+ * {@code after} trazem só os campos que o statement pode mudar, mais id e versão; os demais ficam
+ * nulos nos dois lados. Não substitui os eventos de invalidação ({@link AssetsIngestedEvent},
+ * {@link AssetsBulkChangedEvent}).
+ */
+public record AssetsFieldChangesEvent(List<AssetChangedEvent> changes) {}
@@ -0,0 +1,9 @@
+package com.geosapiens.backend.assets;
+
+import java.util.Set;
+
+/**
+ * Publicado pelo flush da ingestão assíncrona, dentro da transação, com os ids que de fato mudaram.
+ * As linhas são alteradas por UPDATE direto, sem entidades nem snapshots de antes/depois.
+ */
+public record AssetsIngestedEvent(Set<Long> ids) {}
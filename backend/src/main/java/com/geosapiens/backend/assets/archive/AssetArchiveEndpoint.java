@@ -0,0 +1,83 @@
+package com.geosapiens.backend.assets.archive;
+
+import com.geosapiens.backend.assets.AssetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/assetarchive} mostra tamanho da tabela quente e do arquivo, a última rodada e
+ * a latência da listagem com e sem arquivo; {@code POST} dispara uma rodada de arquivamento.
+ */
+@Component
+@Endpoint(id = "assetarchive")
+public class AssetArchiveEndpoint {
+
+  // Tamanhos incluem índices e TOAST; linhas vêm das estatísticas (reltuples), sem count(*).
+  private static final String HOT_SIZE = """
+      SELECT COALESCE(sum(pg_total_relation_size(t.relid)), 0),
+        COALESCE(sum(GREATEST(c.reltuples, 0)), 0)::BIGINT
+      FROM pg_partition_tree('assets') t
+      JOIN pg_class c ON c.oid = t.relid
+      WHERE t.isleaf
+      """;
+
+  private static final String ARCHIVE_SIZE = """
+      SELECT pg_total_relation_size('assets_archive'), GREATEST(c.reltuples, 0)::BIGINT
+      FROM pg_class c
+      WHERE c.oid = 'assets_archive'::regclass
+      """;
+
+  private final AssetArchiver archiver;
+  private final JdbcTemplate jdbcTemplate;
+  private final MeterRegistry meterRegistry;
+
+  public AssetArchiveEndpoint(
+      AssetArchiver archiver, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+    this.archiver = archiver;
+    this.jdbcTemplate = jdbcTemplate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @ReadOperation
+  public Report report() {
+    Map<String, SearchLatency> latency = new LinkedHashMap<>();
+    for (Timer timer : meterRegistry.find(AssetService.SEARCH_TIMER).timers()) {
+      latency.put(timer.getId().getTag("source"), new SearchLatency(
+          timer.count(),
+          timer.mean(TimeUnit.MILLISECONDS),
+          timer.max(TimeUnit.MILLISECONDS)));
+    }
+
+    return new Report(
+        tableSize(HOT_SIZE), tableSize(ARCHIVE_SIZE), archiver.lastRun(), latency);
+  }
+
+  @WriteOperation
+  public AssetArchiver.Run archive() {
+    var run = archiver.archive();
+    return run != null ? run : archiver.lastRun();
+  }
+
+  private TableSize tableSize(String sql) {
+    return jdbcTemplate.queryForObject(
+        sql, (rs, rowNum) -> new TableSize(rs.getLong(1), rs.getLong(2)));
+  }
+
+  public record Report(
+      TableSize hot,
+      TableSize archive,
+      AssetArchiver.Run lastRun,
+      Map<String, SearchLatency> searchLatency) {}
+
+  public record TableSize(long totalBytes, long estimatedRows) {}
+
+  public record SearchLatency(long count, double meanMillis, double maxMillis) {}
+}
@@ -0,0 +1,156 @@
+package com.geosapiens.backend.assets.archive;
+
+import com.geosapiens.backend.assets.AssetFilter;
+import com.geosapiens.backend.assets.AssetsBulkChangedEvent;
+import com.geosapiens.backend.assets.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Move assets RETIRED há mais de {@code retired-for} da tabela quente para {@code assets_archive}.
+ * Cada lote é um único statement (CTE DELETE ... RETURNING -> INSERT) em sua própria transação;
+ * {@code SKIP LOCKED} deixa de fora linhas que estão sendo editadas, que entram numa próxima rodada.
+ */
+@Component
+public class AssetArchiver {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetArchiver.class);
+
+  // O set_config local à transação impede o trigger de DELETE de liberar o serial dos movidos.
+  private static final String MARK_ARCHIVING = "SELECT set_config('assets.archiving', 'on', true)";
+
+  private static final String MOVE_BATCH = """
+      WITH batch AS (
+        SELECT id, acquisition_date
+        FROM assets
+        WHERE status = 'RETIRED' AND deleted_at IS NULL AND updated_at < ?
+        ORDER BY updated_at
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+      ), moved AS (
+        DELETE FROM assets a
+        USING batch b
+        WHERE a.id = b.id AND a.acquisition_date = b.acquisition_date
+        RETURNING a.id, a.name, a.serial_number, a.category, a.status, a.acquisition_date,
+          a.created_at, a.updated_at, a.version, a.latitude, a.longitude
+      )
+      INSERT INTO assets_archive (
+        id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+        latitude, longitude)
+      SELECT
+        id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+        latitude, longitude
+      FROM moved
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate tx;
+  private final ApplicationEventPublisher eventPublisher;
+  private final boolean enabled;
+  private final Duration retiredFor;
+  private final int batchSize;
+  private final int maxBatches;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final Timer runTimer;
+  private final Counter movedCounter;
+  private volatile Run lastRun;
+
+  public AssetArchiver(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.archive.enabled:true}") boolean enabled,
+      @Value("${app.assets.archive.retired-for:90d}") Duration retiredFor,
+      @Value("${app.assets.archive.batch-size:1000}") int batchSize,
+      @Value("${app.assets.archive.max-batches:1000}") int maxBatches) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+    this.enabled = enabled;
+    this.retiredFor = retiredFor;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxBatches = Math.max(1, maxBatches);
+
+    this.runTimer = Timer.builder("assets.archive.run")
+        .description("Duração de cada rodada de arquivamento")
+        .register(meterRegistry);
+    this.movedCounter = Counter.builder("assets.archive.moved")
+        .description("Assets movidos para assets_archive")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${app.assets.archive.cron:0 30 3 * * *}", zone = "UTC")
+  public void scheduledRun() {
+    if (enabled) {
+      archive();
+    }
+  }
+
+  /** Roda uma rodada completa; devolve {@code null} se outra já estiver em andamento. */
+  public Run archive() {
+    if (!running.compareAndSet(false, true)) {
+      return null;
+    }
+
+    try {
+      var cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(retiredFor);
+      long startedAt = System.nanoTime();
+      long moved = 0;
+      int batches = 0;
+
+      while (batches < maxBatches) {
+        Integer inBatch = tx.execute(status -> {
+          jdbcTemplate.queryForObject(MARK_ARCHIVING, String.class);
+          return jdbcTemplate.update(MOVE_BATCH, cutoff, batchSize);
+        });
+        batches++;
+        moved += inBatch;
+        if (inBatch < batchSize) {
+          break;
+        }
+      }
+
+      var duration = Duration.ofNanos(System.nanoTime() - startedAt);
+      runTimer.record(duration);
+      movedCounter.increment(moved);
+      lastRun = new Run(Instant.now(), cutoff, moved, batches, duration.toMillis());
+
+      if (moved > 0) {
+        log.info(
+            "Arquivamento: {} assets movidos em {} lotes ({} ms).",
+            moved, batches, duration.toMillis());
+        eventPublisher.publishEvent(new AssetsBulkChangedEvent(
+            AssetsBulkChangedEvent.Operation.ARCHIVED,
+            new AssetFilter(null, Status.RETIRED, null),
+            moved));
+      }
+      return lastRun;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  public Run lastRun() {
+    return lastRun;
+  }
+
+  public record Run(
+      Instant finishedAt, OffsetDateTime cutoff, long moved, int batches, long durationMillis) {}
+}
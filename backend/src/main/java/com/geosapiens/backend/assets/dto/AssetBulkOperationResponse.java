@@ -0,0 +1,3 @@
+package com.geosapiens.backend.assets.dto;
+
+public record AssetBulkOperationResponse(long affected) {}
@@ -0,0 +1,6 @@
+package com.geosapiens.backend.assets.dto;
+
+import com.geosapiens.backend.assets.Status;
+import jakarta.validation.constraints.NotNull;
+
+public record AssetBulkStatusRequest(@NotNull(message = "Status é obrigatório.") Status status) {}
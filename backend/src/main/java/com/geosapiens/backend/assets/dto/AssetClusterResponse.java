@@ -0,0 +1,10 @@
+package com.geosapiens.backend.assets.dto;
+
+import com.geosapiens.backend.assets.geo.BoundingBox;
+
+/**
+ * Uma célula da grade: centroide e quantidade de assets. {@code assetId} só vem quando a célula tem
+ * um único asset; {@code bounds} é a caixa dos pontos, para o zoom ao clicar no cluster.
+ */
+public record AssetClusterResponse(
+    double latitude, double longitude, long count, Long assetId, BoundingBox bounds) {}
@@ -0,0 +1,7 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.util.List;
+
+/** {@code cellSize} em graus; {@code total} soma os assets de todos os clusters. */
+public record AssetClustersResponse(
+    double cellSize, long total, List<AssetClusterResponse> clusters) {}
@@ -0,0 +1,4 @@
+package com.geosapiens.backend.assets.dto;
+
+/** Campo alterado numa entrada do histórico; {@code from} é nulo na criação. */
+public record AssetFieldChangeResponse(String field, String from, String to) {}
@@ -0,0 +1,17 @@
+package com.geosapiens.backend.assets.dto;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Uma escrita no asset. {@code version} é a versão gravada; em exclusões, a do tombstone (modo
+ * {@code SOFT}) ou a da linha removida ({@code HARD}). Exclusões não trazem valores de campo:
+ * {@code changes} vem vazio.
+ */
+public record AssetHistoryEntryResponse(
+    Long seq,
+    AssetChangedEvent.Type type,
+    Long version,
+    OffsetDateTime changedAt,
+    List<AssetFieldChangeResponse> changes) {}
@@ -0,0 +1,9 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.util.List;
+
+/**
+ * Página do histórico de um asset, da escrita mais nova para a mais velha. Com {@code hasMore}, a
+ * próxima página vem de {@code before} igual ao {@code seq} do último item.
+ */
+public record AssetHistoryResponse(List<AssetHistoryEntryResponse> items, boolean hasMore) {}
@@ -0,0 +1,11 @@
+package com.geosapiens.backend.assets.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record AssetIdBatchRequest(
+    @NotEmpty(message = "Informe ao menos um id.")
+    @Size(max = 5000, message = "Informe no máximo 5000 ids por requisição.")
+    List<@NotNull(message = "Id não pode ser nulo.") Long> ids) {}
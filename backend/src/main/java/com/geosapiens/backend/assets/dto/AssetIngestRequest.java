@@ -0,0 +1,33 @@
+package com.geosapiens.backend.assets.dto;
+
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record AssetIngestRequest(
+    @NotEmpty(message = "Informe ao menos uma atualização.")
+    @Size(max = 5000, message = "Informe no máximo 5000 atualizações por requisição.")
+    List<@NotNull(message = "Atualização não pode ser nula.") @Valid Update> updates) {
+
+  /** Campos nulos ficam como estão; serial e data de aquisição só mudam pelo PUT. */
+  public record Update(
+      @NotNull(message = "Id é obrigatório.")
+      Long id,
+      Status status,
+      Category category,
+      @Size(max = 255, message = "Nome deve ter no máximo 255 caracteres.")
+      @Pattern(regexp = ".*\\S.*", message = "Nome não pode ser vazio.")
+      String name) {
+
+    @AssertTrue(message = "Informe ao menos um de status, category ou name.")
+    public boolean isChangingSomething() {
+      return status != null || category != null || name != null;
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.geosapiens.backend.assets.dto;
+
+/** {@code accepted} atualizações enfileiradas; {@code pending} ids aguardando o próximo flush. */
+public record AssetIngestResponse(int accepted, int pending) {}
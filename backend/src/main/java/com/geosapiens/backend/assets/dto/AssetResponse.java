@@ -1,6 +1,7 @@
 package com.geosapiens.backend.assets.dto;
 
 import com.geosapiens.backend.assets.Asset;
+import com.geosapiens.backend.assets.AssetView;
 import com.geosapiens.backend.assets.Category;
 import com.geosapiens.backend.assets.Status;
 import java.time.LocalDate;
@@ -13,8 +14,11 @@ public record AssetResponse(
     Category category,
     Status status,
     LocalDate acquisitionDate,
+    Double latitude,
+    Double longitude,
     OffsetDateTime createdAt,
-    OffsetDateTime updatedAt) {
+    OffsetDateTime updatedAt,
+    Long version) {
 
   public static AssetResponse fromEntity(Asset asset) {
     return new AssetResponse(
@@ -24,8 +28,25 @@ public record AssetResponse(
         asset.getCategory(),
         asset.getStatus(),
         asset.getAcquisitionDate(),
+        asset.getLatitude(),
+        asset.getLongitude(),
         asset.getCreatedAt(),
-        asset.getUpdatedAt());
+        asset.getUpdatedAt(),
+        asset.getVersion());
   }
-}
 
+  public static AssetResponse fromView(AssetView asset) {
+    return new AssetResponse(
+        asset.getId(),
+        asset.getName(),
+        asset.getSerialNumber(),
+        asset.getCategory(),
+        asset.getStatus(),
+        asset.getAcquisitionDate(),
+        asset.getLatitude(),
+        asset.getLongitude(),
+        asset.getCreatedAt(),
+        asset.getUpdatedAt(),
+        asset.getVersion());
+  }
+}
@@ -0,0 +1,11 @@
+package com.geosapiens.backend.assets.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record AssetSerialBatchRequest(
+    @NotEmpty(message = "Informe ao menos um número de série.")
+    @Size(max = 1000, message = "Informe no máximo 1000 números de série por requisição.")
+    List<@NotBlank(message = "Número de série não pode ser vazio.") String> serialNumbers) {}
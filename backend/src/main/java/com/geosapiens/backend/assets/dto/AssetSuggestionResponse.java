@@ -0,0 +1,11 @@
+package com.geosapiens.backend.assets.dto;
+
+/** Asset cujo nome ou serial completa o prefixo; {@code matchedField} diz qual dos dois. */
+public record AssetSuggestionResponse(
+    Long id, String name, String serialNumber, Field matchedField) {
+
+  public enum Field {
+    NAME,
+    SERIAL
+  }
+}
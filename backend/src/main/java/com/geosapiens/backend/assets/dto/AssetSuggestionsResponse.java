@@ -0,0 +1,6 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.util.List;
+
+/** {@code ready=false}: o índice ainda está carregando e {@code items} vem vazio. */
+public record AssetSuggestionsResponse(List<AssetSuggestionResponse> items, boolean ready) {}
@@ -0,0 +1,7 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.time.OffsetDateTime;
+
+/** Asset removido (soft delete) ainda dentro da retenção; {@code version} é a da remoção. */
+public record AssetTombstoneResponse(
+    Long id, String serialNumber, Long version, OffsetDateTime deletedAt) {}
@@ -0,0 +1,9 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.util.List;
+
+/**
+ * Página de tombstones em ordem de {@code (deletedAt, id)}. Com {@code hasMore}, a próxima página
+ * vem de {@code since}/{@code afterId} iguais ao {@code deletedAt}/{@code id} do último item.
+ */
+public record AssetTombstonesResponse(List<AssetTombstoneResponse> items, boolean hasMore) {}
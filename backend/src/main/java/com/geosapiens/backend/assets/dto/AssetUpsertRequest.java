@@ -2,12 +2,16 @@ package com.geosapiens.backend.assets.dto;
 
 import com.geosapiens.backend.assets.Category;
 import com.geosapiens.backend.assets.Status;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
+/** PUT substitui o asset inteiro: latitude/longitude ausentes removem a localização. */
 public record AssetUpsertRequest(
     @NotBlank(message = "Nome é obrigatório.")
     @Size(max = 255, message = "Nome deve ter no máximo 255 caracteres.")
@@ -21,4 +25,25 @@ public record AssetUpsertRequest(
     Status status,
     @NotNull(message = "Data de aquisição é obrigatória.")
     @PastOrPresent(message = "Data de aquisição não pode ser futura.")
-    LocalDate acquisitionDate) {}
+    LocalDate acquisitionDate,
+    @DecimalMin(value = "-90", message = "Latitude deve estar entre -90 e 90.")
+    @DecimalMax(value = "90", message = "Latitude deve estar entre -90 e 90.")
+    Double latitude,
+    @DecimalMin(value = "-180", message = "Longitude deve estar entre -180 e 180.")
+    @DecimalMax(value = "180", message = "Longitude deve estar entre -180 e 180.")
+    Double longitude) {
+
+  public AssetUpsertRequest(
+      String name,
+      String serialNumber,
+      Category category,
+      Status status,
+      LocalDate acquisitionDate) {
+    this(name, serialNumber, category, status, acquisitionDate, null, null);
+  }
+
+  @AssertTrue(message = "Latitude e longitude devem ser informadas juntas.")
+  public boolean isLocationComplete() {
+    return (latitude == null) == (longitude == null);
+  }
+}
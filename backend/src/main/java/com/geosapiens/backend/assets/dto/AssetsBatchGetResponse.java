@@ -0,0 +1,9 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.util.List;
+
+/**
+ * {@code items} segue a ordem da requisição, com {@code null} na posição de cada id não
+ * encontrado; {@code missing} lista esses ids.
+ */
+public record AssetsBatchGetResponse(List<AssetResponse> items, List<Long> missing) {}
@@ -0,0 +1,9 @@
+package com.geosapiens.backend.assets.dto;
+
+import java.util.List;
+
+/**
+ * {@code items} segue a ordem da requisição, com {@code null} na posição de cada serial não
+ * encontrado; {@code missing} lista esses seriais.
+ */
+public record AssetsBySerialBatchResponse(List<AssetResponse> items, List<String> missing) {}
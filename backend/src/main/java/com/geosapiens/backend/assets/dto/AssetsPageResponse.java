@@ -1,16 +1,30 @@
 package com.geosapiens.backend.assets.dto;
 
-import com.geosapiens.backend.assets.Asset;
 import java.util.List;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+/** Com {@code totals=false} na listagem, {@code totalElements} e {@code totalPages} vêm nulos. */
 public record AssetsPageResponse(
-    List<AssetResponse> items, int page, int size, long totalElements, int totalPages) {
+    List<AssetResponse> items,
+    int page,
+    int size,
+    Long totalElements,
+    Integer totalPages,
+    boolean hasNext) {
 
-  public static AssetsPageResponse fromPage(Page<Asset> page) {
-    var items = page.getContent().stream().map(AssetResponse::fromEntity).toList();
+  public static AssetsPageResponse fromPage(Page<AssetResponse> page) {
     return new AssetsPageResponse(
-        items, page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+        page.getContent(),
+        page.getNumber(),
+        page.getSize(),
+        page.getTotalElements(),
+        page.getTotalPages(),
+        page.hasNext());
   }
-}
 
+  public static AssetsPageResponse fromSlice(Slice<AssetResponse> slice) {
+    return new AssetsPageResponse(
+        slice.getContent(), slice.getNumber(), slice.getSize(), null, null, slice.hasNext());
+  }
+}
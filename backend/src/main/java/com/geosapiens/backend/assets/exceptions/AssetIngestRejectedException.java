@@ -0,0 +1,40 @@
+package com.geosapiens.backend.assets.exceptions;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Ingestão recusada: fila cheia (429, o cliente deve reenviar após {@code retryAfter}) ou ingestão
+ * indisponível, por estar desligada ou em shutdown (503).
+ */
+public class AssetIngestRejectedException extends RuntimeException {
+
+  private final HttpStatus status;
+  private final Duration retryAfter;
+
+  private AssetIngestRejectedException(HttpStatus status, String message, Duration retryAfter) {
+    // Rejeição sob carga (fila cheia, buffer parado): sem stack trace.
+    super(message, null, false, false);
+    this.status = status;
+    this.retryAfter = retryAfter;
+  }
+
+  public static AssetIngestRejectedException queueFull(int capacity, Duration retryAfter) {
+    return new AssetIngestRejectedException(
+        HttpStatus.TOO_MANY_REQUESTS,
+        "Fila de ingestão cheia (" + capacity + " assets pendentes); tente novamente.",
+        retryAfter);
+  }
+
+  public static AssetIngestRejectedException unavailable(String reason, Duration retryAfter) {
+    return new AssetIngestRejectedException(HttpStatus.SERVICE_UNAVAILABLE, reason, retryAfter);
+  }
+
+  public HttpStatus getStatus() {
+    return status;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -3,11 +3,16 @@ package com.geosapiens.backend.assets.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Sem stack trace: scanners disparam milhares destes por segundo e o handler só usa a mensagem.
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class AssetNotFoundException extends RuntimeException {
 
   public AssetNotFoundException(Long id) {
-    super("Asset não encontrado: id=" + id);
+    super("Asset não encontrado: id=" + id, null, false, false);
+  }
+
+  public AssetNotFoundException(String serialNumber) {
+    super("Asset não encontrado: serialNumber=" + serialNumber, null, false, false);
   }
 }
 
@@ -0,0 +1,19 @@
+package com.geosapiens.backend.assets.exceptions;
+
+import com.geosapiens.backend.assets.dto.ApiErrorResponse;
+import java.util.List;
+
+/** Merge patch com campos desconhecidos, valores não conversíveis ou que violam as constraints. */
+public class AssetPatchInvalidException extends RuntimeException {
+
+  private final List<ApiErrorResponse.ApiFieldError> errors;
+
+  public AssetPatchInvalidException(List<ApiErrorResponse.ApiFieldError> errors) {
+    super("Merge patch inválido.");
+    this.errors = List.copyOf(errors);
+  }
+
+  public List<ApiErrorResponse.ApiFieldError> getErrors() {
+    return errors;
+  }
+}
@@ -0,0 +1,19 @@
+package com.geosapiens.backend.assets.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class AssetPreconditionFailedException extends RuntimeException {
+
+  // Versão divergente de If-Match: resposta esperada, sem stack trace.
+  public AssetPreconditionFailedException(Long id) {
+    super(
+        "Asset id=" + id + " foi modificado por outra requisição. Recarregue e tente novamente.",
+        null, false, false);
+  }
+
+  public AssetPreconditionFailedException(Long id, Throwable cause) {
+    super("Asset id=" + id + " foi modificado por outra requisição. Recarregue e tente novamente.", cause);
+  }
+}
@@ -0,0 +1,120 @@
+package com.geosapiens.backend.assets.exceptions;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Corpos JSON dos erros de código fixo (404, 409, 412, 429...) escritos direto em bytes, sem passar
+ * pelo {@code ApiErrorResponse} nem pelo Jackson: status e código já ficam pré-codificados no
+ * {@link Template}, e o timestamp é renderizado no máximo uma vez por milissegundo. Mesmos campos,
+ * mesma ordem e mesmo formato do {@code ApiErrorResponse} ({@code OffsetDateTime} no offset do
+ * servidor, como o Jackson o escreve), com {@code errors} sempre vazio.
+ */
+public final class ErrorBodies {
+
+  private static final byte[] OPEN = utf8("{\"timestamp\":\"");
+  private static final byte[] PATH = utf8("\",\"path\":\"");
+  private static final byte[] CLOSE = utf8("\",\"errors\":[]}");
+  private static final byte[] HEX = utf8("0123456789abcdef");
+
+  private static volatile Timestamp timestamp = new Timestamp(0, render(OffsetDateTime.now()));
+
+  private ErrorBodies() {}
+
+  public static Template template(HttpStatus status, String code) {
+    return new Template(
+        status, utf8("\",\"status\":" + status.value() + ",\"code\":\"" + code + "\",\"message\":\""));
+  }
+
+  /** Erro pré-codificado: só {@code message} e {@code path} variam por requisição. */
+  public record Template(HttpStatus status, byte[] head) {
+
+    public byte[] render(String message, String path) {
+      var out = new ByteArrayOutputStream(96 + head.length + message.length() + path.length());
+      out.writeBytes(OPEN);
+      out.writeBytes(timestamp());
+      out.writeBytes(head);
+      writeEscaped(out, message);
+      out.writeBytes(PATH);
+      writeEscaped(out, path);
+      out.writeBytes(CLOSE);
+      return out.toByteArray();
+    }
+
+    public ResponseEntity<byte[]> response(String message, String path) {
+      return ResponseEntity.status(status)
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(render(message, path));
+    }
+  }
+
+  // Sob rajada de erros, as respostas do mesmo milissegundo reaproveitam o texto do primeiro.
+  static byte[] timestamp() {
+    long now = System.currentTimeMillis();
+    var current = timestamp;
+    if (current.millis() != now) {
+      current = new Timestamp(now, render(OffsetDateTime.now()));
+      timestamp = current;
+    }
+    return current.text();
+  }
+
+  // O formatter que o Jackson usa para OffsetDateTime: offset do servidor e fração até nanos.
+  private static byte[] render(OffsetDateTime now) {
+    return utf8(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(now));
+  }
+
+  // Mesmo escape do Jackson: aspas, barra invertida e caracteres de controle.
+  static void writeEscaped(ByteArrayOutputStream out, String value) {
+    if (!needsEscape(value)) {
+      out.writeBytes(utf8(value));
+      return;
+    }
+    var plain = new StringBuilder(value.length() + 16);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != '"' && c != '\\' && c >= 0x20) {
+        plain.append(c);
+        continue;
+      }
+      out.writeBytes(utf8(plain.toString()));
+      plain.setLength(0);
+      out.write('\\');
+      switch (c) {
+        case '"', '\\' -> out.write(c);
+        case '\n' -> out.write('n');
+        case '\r' -> out.write('r');
+        case '\t' -> out.write('t');
+        default -> {
+          out.write('u');
+          out.write('0');
+          out.write('0');
+          out.write(HEX[c >> 4]);
+          out.write(HEX[c & 0xF]);
+        }
+      }
+    }
+    out.writeBytes(utf8(plain.toString()));
+  }
+
+  private static boolean needsEscape(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\' || c < 0x20) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private record Timestamp(long millis, byte[] text) {}
+}
@@ -2,14 +2,16 @@ package com.geosapiens.backend.assets.exceptions;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.geosapiens.backend.admission.AdmissionRejectedException;
 import com.geosapiens.backend.assets.dto.ApiErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
@@ -31,6 +33,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
   private static final String CODE_INVALID_REQUEST = "INVALID_REQUEST";
   private static final String CODE_NOT_FOUND = "ASSET_NOT_FOUND";
   private static final String CODE_SERIAL_NUMBER_CONFLICT = "SERIAL_NUMBER_CONFLICT";
+  private static final String CODE_PRECONDITION_FAILED = "PRECONDITION_FAILED";
+  private static final String CODE_TOO_MANY_REQUESTS = "TOO_MANY_REQUESTS";
+  private static final String CODE_INGEST_QUEUE_FULL = "INGEST_QUEUE_FULL";
+  private static final String CODE_INGEST_UNAVAILABLE = "INGEST_UNAVAILABLE";
+
+  // Erros de código fixo saem de templates pré-codificados (ver ErrorBodies).
+  private static final ErrorBodies.Template NOT_FOUND =
+      ErrorBodies.template(HttpStatus.NOT_FOUND, CODE_NOT_FOUND);
+  private static final ErrorBodies.Template SERIAL_NUMBER_CONFLICT =
+      ErrorBodies.template(HttpStatus.CONFLICT, CODE_SERIAL_NUMBER_CONFLICT);
+  private static final ErrorBodies.Template PRECONDITION_FAILED =
+      ErrorBodies.template(HttpStatus.PRECONDITION_FAILED, CODE_PRECONDITION_FAILED);
+  private static final ErrorBodies.Template TOO_MANY_REQUESTS =
+      ErrorBodies.template(HttpStatus.TOO_MANY_REQUESTS, CODE_TOO_MANY_REQUESTS);
+  private static final ErrorBodies.Template INGEST_QUEUE_FULL =
+      ErrorBodies.template(HttpStatus.TOO_MANY_REQUESTS, CODE_INGEST_QUEUE_FULL);
+  private static final ErrorBodies.Template INGEST_UNAVAILABLE =
+      ErrorBodies.template(HttpStatus.SERVICE_UNAVAILABLE, CODE_INGEST_UNAVAILABLE);
 
   @Override
   protected ResponseEntity<Object> handleMethodArgumentNotValid(
@@ -117,28 +137,56 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             List.of()));
   }
 
-  @ExceptionHandler(AssetNotFoundException.class)
-  public ResponseEntity<ApiErrorResponse> handleAssetNotFound(
-      AssetNotFoundException ex, HttpServletRequest request) {
-    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+  @ExceptionHandler(AssetPatchInvalidException.class)
+  public ResponseEntity<ApiErrorResponse> handlePatchInvalid(
+      AssetPatchInvalidException ex, HttpServletRequest request) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
         ApiErrorResponse.of(
-            HttpStatus.NOT_FOUND.value(),
-            CODE_NOT_FOUND,
-            ex.getMessage(),
+            HttpStatus.BAD_REQUEST.value(),
+            CODE_VALIDATION_ERROR,
+            "Falha na validação da requisição.",
             request.getRequestURI(),
-            List.of()));
+            ex.getErrors()));
+  }
+
+  @ExceptionHandler(AssetNotFoundException.class)
+  public ResponseEntity<byte[]> handleAssetNotFound(
+      AssetNotFoundException ex, HttpServletRequest request) {
+    return NOT_FOUND.response(ex.getMessage(), request.getRequestURI());
   }
 
   @ExceptionHandler(SerialNumberConflictException.class)
-  public ResponseEntity<ApiErrorResponse> handleSerialNumberConflict(
+  public ResponseEntity<byte[]> handleSerialNumberConflict(
       SerialNumberConflictException ex, HttpServletRequest request) {
-    return ResponseEntity.status(HttpStatus.CONFLICT).body(
-        ApiErrorResponse.of(
-            HttpStatus.CONFLICT.value(),
-            CODE_SERIAL_NUMBER_CONFLICT,
-            ex.getMessage(),
-            request.getRequestURI(),
-            List.of()));
+    return SERIAL_NUMBER_CONFLICT.response(ex.getMessage(), request.getRequestURI());
+  }
+
+  @ExceptionHandler(AssetPreconditionFailedException.class)
+  public ResponseEntity<byte[]> handlePreconditionFailed(
+      AssetPreconditionFailedException ex, HttpServletRequest request) {
+    return PRECONDITION_FAILED.response(ex.getMessage(), request.getRequestURI());
+  }
+
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<byte[]> handleAdmissionRejected(
+      AdmissionRejectedException ex, HttpServletRequest request) {
+    long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(TOO_MANY_REQUESTS.render(ex.getMessage(), request.getRequestURI()));
+  }
+
+  @ExceptionHandler(AssetIngestRejectedException.class)
+  public ResponseEntity<byte[]> handleIngestRejected(
+      AssetIngestRejectedException ex, HttpServletRequest request) {
+    var template = ex.getStatus() == HttpStatus.TOO_MANY_REQUESTS
+        ? INGEST_QUEUE_FULL
+        : INGEST_UNAVAILABLE;
+    return ResponseEntity.status(ex.getStatus())
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(template.render(ex.getMessage(), request.getRequestURI()));
   }
 
   private static ResponseEntity<Object> buildResponse(
@@ -165,20 +213,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
   private static List<ApiErrorResponse.ApiFieldError> toApiFieldErrors(
       List<FieldError> fieldErrors, List<ObjectError> globalErrors) {
-    var fields = fieldErrors.stream()
-        .map(
-            error -> new ApiErrorResponse.ApiFieldError(
-                error.getField(),
-                toMessage(error.getDefaultMessage()),
-                safeToString(error.getRejectedValue())))
-        .collect(Collectors.toList());
-
-    var global = globalErrors.stream()
-        .map(GlobalExceptionHandler::toApiFieldError)
-        .collect(Collectors.toList());
-
-    fields.addAll(global);
-    return fields;
+    List<ApiErrorResponse.ApiFieldError> errors =
+        new ArrayList<>(fieldErrors.size() + globalErrors.size());
+    for (FieldError error : fieldErrors) {
+      errors.add(new ApiErrorResponse.ApiFieldError(
+          error.getField(),
+          toMessage(error.getDefaultMessage()),
+          safeToString(error.getRejectedValue())));
+    }
+    for (ObjectError error : globalErrors) {
+      errors.add(toApiFieldError(error));
+    }
+    return errors;
   }
 
   private static ApiErrorResponse.ApiFieldError toApiFieldError(ObjectError error) {
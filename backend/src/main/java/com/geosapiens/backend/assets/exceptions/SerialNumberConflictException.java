@@ -6,10 +6,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.CONFLICT)
 public class SerialNumberConflictException extends RuntimeException {
 
+  // Conflito detectado pela aplicação: resposta esperada, sem stack trace.
   public SerialNumberConflictException(String serialNumber) {
-    super("Já existe um Asset com serialNumber='" + serialNumber + "'.");
+    super("Já existe um Asset com serialNumber='" + serialNumber + "'.", null, false, false);
   }
 
+  // Conflito vindo do banco (corrida no índice único): mantém a causa e o stack trace.
+
   public SerialNumberConflictException(String serialNumber, Throwable cause) {
     super("Já existe um Asset com serialNumber='" + serialNumber + "'.", cause);
   }
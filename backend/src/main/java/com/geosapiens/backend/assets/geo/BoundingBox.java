@@ -0,0 +1,60 @@
+package com.geosapiens.backend.assets.geo;
+
+/**
+ * Retângulo em graus WGS84, na ordem do {@code bbox} do GeoJSON: oeste, sul, leste, norte. Com
+ * {@code minLon > maxLon} a caixa cruza o antimeridiano (ex.: {@code 170,-20,-170,20}) e vira duas
+ * no SQL.
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+
+  public static final BoundingBox WORLD = new BoundingBox(-180, -90, 180, 90);
+
+  public BoundingBox {
+    requireLongitude(minLon);
+    requireLongitude(maxLon);
+    requireLatitude(minLat);
+    requireLatitude(maxLat);
+    if (minLat > maxLat) {
+      throw new IllegalArgumentException("`bbox`: latitude mínima deve ser <= máxima.");
+    }
+  }
+
+  /** {@code minLon,minLat,maxLon,maxLat}. */
+  public static BoundingBox parse(String raw) {
+    double[] values = GeoRadius.parseNumbers(raw, 4, "bbox", "minLon,minLat,maxLon,maxLat");
+    return new BoundingBox(values[0], values[1], values[2], values[3]);
+  }
+
+  public boolean crossesAntimeridian() {
+    return minLon > maxLon;
+  }
+
+  public double width() {
+    return crossesAntimeridian() ? 360 - minLon + maxLon : maxLon - minLon;
+  }
+
+  public double height() {
+    return maxLat - minLat;
+  }
+
+  public boolean contains(double lat, double lon) {
+    if (lat < minLat || lat > maxLat) {
+      return false;
+    }
+    return crossesAntimeridian()
+        ? lon >= minLon || lon <= maxLon
+        : lon >= minLon && lon <= maxLon;
+  }
+
+  static void requireLatitude(double lat) {
+    if (!(lat >= -90 && lat <= 90)) {
+      throw new IllegalArgumentException("Latitude deve estar entre -90 e 90: " + lat + ".");
+    }
+  }
+
+  static void requireLongitude(double lon) {
+    if (!(lon >= -180 && lon <= 180)) {
+      throw new IllegalArgumentException("Longitude deve estar entre -180 e 180: " + lon + ".");
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.geosapiens.backend.assets.geo;
+
+/**
+ * Círculo de {@code meters} em volta de um ponto, com distância de grande círculo (haversine). No
+ * SQL vira a caixa que circunscreve o círculo, que usa o índice espacial, mais o teste exato de
+ * distância nas linhas que passam pela caixa.
+ */
+public record GeoRadius(double latitude, double longitude, double meters) {
+
+  /** Raio médio da Terra (IUGG), o mesmo da função {@code asset_distance_m} no banco. */
+  public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  /** Meia volta no equador: acima disso o círculo já cobre a Terra inteira. */
+  public static final double MAX_METERS = Math.PI * EARTH_RADIUS_METERS;
+
+  public GeoRadius {
+    BoundingBox.requireLatitude(latitude);
+    BoundingBox.requireLongitude(longitude);
+    if (!(meters > 0 && meters <= MAX_METERS)) {
+      throw new IllegalArgumentException(
+          "`radius` deve estar entre 0 e " + (long) MAX_METERS + " metros.");
+    }
+  }
+
+  /** {@code near=lat,lon} (ordem usual de coordenadas) e {@code radius} em metros. */
+  public static GeoRadius parse(String near, double meters) {
+    double[] values = parseNumbers(near, 2, "near", "lat,lon");
+    return new GeoRadius(values[0], values[1], meters);
+  }
+
+  /**
+   * Menor caixa que contém o círculo. Perto de um polo, a caixa ocupa todas as longitudes; perto do
+   * antimeridiano, cruza-o.
+   */
+  public BoundingBox boundingBox() {
+    double angular = meters / EARTH_RADIUS_METERS;
+    double deltaLat = Math.toDegrees(angular);
+    double minLat = latitude - deltaLat;
+    double maxLat = latitude + deltaLat;
+    if (minLat <= -90 || maxLat >= 90) {
+      return new BoundingBox(-180, Math.max(minLat, -90), 180, Math.min(maxLat, 90));
+    }
+
+    // Maior desvio de longitude de um ponto do círculo (tangente ao meridiano).
+    double ratio = Math.sin(angular) / Math.cos(Math.toRadians(latitude));
+    if (ratio >= 1) {
+      return new BoundingBox(-180, minLat, 180, maxLat);
+    }
+    double deltaLon = Math.toDegrees(Math.asin(ratio));
+    double minLon = longitude - deltaLon;
+    double maxLon = longitude + deltaLon;
+    if (minLon < -180) {
+      minLon += 360;
+    }
+    if (maxLon > 180) {
+      maxLon -= 360;
+    }
+    return new BoundingBox(minLon, minLat, maxLon, maxLat);
+  }
+
+  public boolean contains(double lat, double lon) {
+    return distanceMeters(latitude, longitude, lat, lon) <= meters;
+  }
+
+  /** Haversine; {@code min(1, ...)} protege o {@code asin} de arredondamentos acima de 1. */
+  public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+    double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+    double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+    double h = sinLat * sinLat
+        + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(h)));
+  }
+
+  static double[] parseNumbers(String raw, int count, String param, String format) {
+    String[] parts = raw == null ? new String[0] : raw.split(",", -1);
+    if (parts.length != count) {
+      throw new IllegalArgumentException("`" + param + "` deve ter o formato " + format + ".");
+    }
+    double[] values = new double[count];
+    for (int i = 0; i < count; i++) {
+      try {
+        values[i] = Double.parseDouble(parts[i].trim());
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("`" + param + "` deve ter o formato " + format + ".");
+      }
+    }
+    return values;
+  }
+}
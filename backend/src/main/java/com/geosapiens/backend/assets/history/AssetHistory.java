@@ -0,0 +1,192 @@
+package com.geosapiens.backend.assets.history;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.AssetsFieldChangesEvent;
+import com.geosapiens.backend.assets.dto.AssetHistoryEntryResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Histórico append-only das escritas por id. O diff é calculado quando o {@link AssetChangedEvent} é
+ * publicado e fica num lote da transação; no {@code beforeCommit} o lote inteiro vai ao banco num
+ * único INSERT em batch, na mesma conexão e na mesma transação da escrita. Se a escrita sofrer
+ * rollback o histórico some junto, e se o INSERT falhar a escrita falha: nunca há um sem o outro.
+ *
+ * <p>O flush da ingestão e a troca de status em lote publicam {@link AssetsFieldChangesEvent} com o
+ * antes/depois de cada linha que alteraram, gravado do mesmo jeito, como {@code UPDATED}. Ficam de
+ * fora a exclusão por filtro ({@code DELETE /assets}) e o arquivamento, que não leem as linhas que
+ * removem.
+ *
+ * <p>A entrada {@code DELETED} leva só a versão (a do tombstone em modo {@code SOFT}) e nenhum
+ * campo: o diff vai vazio, inclusive na exclusão condicional, que não lê a linha.
+ */
+@Component
+public class AssetHistory {
+
+  private static final String INSERT = """
+      INSERT INTO asset_history (asset_id, version, change_type, diff) VALUES (?, ?, ?, ?)
+      """;
+
+  private static final String FIND_PAGE = """
+      SELECT seq, change_type, version, changed_at, diff
+      FROM asset_history
+      WHERE asset_id = ? AND seq < ?
+      ORDER BY seq DESC
+      LIMIT ?
+      """;
+
+  // change_type gravado no banco: códigos fixos, independentes da ordem do enum.
+  private static final AssetChangedEvent.Type[] TYPES = {
+      null,
+      AssetChangedEvent.Type.CREATED,
+      AssetChangedEvent.Type.UPDATED,
+      AssetChangedEvent.Type.DELETED
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final Timer writeTimer;
+  private final DistributionSummary diffSize;
+
+  public AssetHistory(
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.history.enabled:true}") boolean enabled) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.writeTimer = Timer.builder("assets.history.write")
+        .description("INSERT do lote de histórico no commit de cada escrita")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.diffSize = DistributionSummary.builder("assets.history.diff.size")
+        .description("Tamanho do diff gravado por entrada do histórico")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /** Até {@code limit} entradas de {@code assetId} anteriores a {@code before}, mais nova primeiro. */
+  public List<AssetHistoryEntryResponse> find(Long assetId, Long before, int limit) {
+    return jdbcTemplate.query(
+        FIND_PAGE,
+        (rs, rowNum) -> new AssetHistoryEntryResponse(
+            rs.getLong(1),
+            TYPES[rs.getShort(2)],
+            rs.getObject(3, Long.class),
+            rs.getObject(4, OffsetDateTime.class),
+            AssetHistoryCodec.decode(rs.getBytes(5))),
+        assetId,
+        before != null ? before : Long.MAX_VALUE,
+        limit);
+  }
+
+  @EventListener
+  void onAssetChanged(AssetChangedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    byte[] diff = AssetHistoryCodec.encode(event.before(), event.after());
+    if (diff == null) {
+      return;
+    }
+    var entry = new Entry(event.id(), event.version(), code(event.type()), diff);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      write(List.of(entry));
+      return;
+    }
+    batch().entries.add(entry);
+  }
+
+  @EventListener
+  void onFieldChanges(AssetsFieldChangesEvent event) {
+    for (var change : event.changes()) {
+      onAssetChanged(change);
+    }
+  }
+
+  private Batch batch() {
+    for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof Batch batch && batch.owner == this) {
+        return batch;
+      }
+    }
+    var batch = new Batch(this);
+    TransactionSynchronizationManager.registerSynchronization(batch);
+    return batch;
+  }
+
+  private void write(List<Entry> entries) {
+    long startedAt = System.nanoTime();
+    if (entries.size() == 1) {
+      jdbcTemplate.update(INSERT, ps -> bind(ps, entries.getFirst()));
+    } else {
+      jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+          bind(ps, entries.get(i));
+        }
+
+        @Override
+        public int getBatchSize() {
+          return entries.size();
+        }
+      });
+    }
+    writeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    for (Entry entry : entries) {
+      diffSize.record(entry.diff().length);
+    }
+  }
+
+  private static void bind(PreparedStatement ps, Entry entry) throws SQLException {
+    ps.setLong(1, entry.assetId());
+    if (entry.version() != null) {
+      ps.setLong(2, entry.version());
+    } else {
+      ps.setNull(2, Types.BIGINT);
+    }
+    ps.setShort(3, entry.changeType());
+    ps.setBytes(4, entry.diff());
+  }
+
+  private static short code(AssetChangedEvent.Type type) {
+    return switch (type) {
+      case CREATED -> 1;
+      case UPDATED -> 2;
+      case DELETED -> 3;
+    };
+  }
+
+  private record Entry(Long assetId, Long version, short changeType, byte[] diff) {}
+
+  private static final class Batch implements TransactionSynchronization {
+
+    private final AssetHistory owner;
+    private final List<Entry> entries = new ArrayList<>(1);
+
+    Batch(AssetHistory owner) {
+      this.owner = owner;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      if (!entries.isEmpty()) {
+        owner.write(entries);
+      }
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.geosapiens.backend.assets.history;
+
+import com.geosapiens.backend.assets.dto.AssetFieldChangeResponse;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Diff binário de uma escrita: só os campos que mudaram, cada um como {@code tag} de 1 byte seguido
+ * do valor anterior e do novo. Valor = varint {@code tamanho + 1} (0 = nulo) e o texto em UTF-8;
+ * enums pelo nome e datas em ISO, então o diff não depende da ordem das constantes. O primeiro byte é
+ * a versão do formato.
+ */
+final class AssetHistoryCodec {
+
+  static final byte FORMAT = 1;
+
+  private AssetHistoryCodec() {}
+
+  /** Tags gravadas no banco: nunca renumere nem reaproveite uma tag removida. */
+  enum Field {
+    NAME(1, "name", AssetResponse::name),
+    SERIAL_NUMBER(2, "serialNumber", AssetResponse::serialNumber),
+    CATEGORY(3, "category", asset -> textOf(asset.category())),
+    STATUS(4, "status", asset -> textOf(asset.status())),
+    ACQUISITION_DATE(5, "acquisitionDate", asset -> textOf(asset.acquisitionDate())),
+    LATITUDE(6, "latitude", asset -> textOf(asset.latitude())),
+    LONGITUDE(7, "longitude", asset -> textOf(asset.longitude()));
+
+    private static final Field[] BY_TAG = new Field[8];
+
+    static {
+      for (Field field : values()) {
+        BY_TAG[field.tag] = field;
+      }
+    }
+
+    final int tag;
+    final String jsonName;
+    private final Function<AssetResponse, String> value;
+
+    Field(int tag, String jsonName, Function<AssetResponse, String> value) {
+      this.tag = tag;
+      this.jsonName = jsonName;
+      this.value = value;
+    }
+
+    String valueOf(AssetResponse asset) {
+      return asset != null ? value.apply(asset) : null;
+    }
+
+    static Field ofTag(int tag) {
+      Field field = tag > 0 && tag < BY_TAG.length ? BY_TAG[tag] : null;
+      if (field == null) {
+        throw new IllegalArgumentException("Tag de campo desconhecida no histórico: " + tag);
+      }
+      return field;
+    }
+  }
+
+  /**
+   * Campos que diferem entre {@code before} e {@code after}. Criação ({@code before} nulo) grava todos
+   * os valores; exclusão ({@code after} nulo) não grava campos. Devolve {@code null} se nada mudou.
+   */
+  static byte[] encode(AssetResponse before, AssetResponse after) {
+    var out = new ByteArrayOutputStream(32);
+    out.write(FORMAT);
+    if (after == null) {
+      return out.toByteArray();
+    }
+    for (Field field : Field.values()) {
+      String from = field.valueOf(before);
+      String to = field.valueOf(after);
+      if (!Objects.equals(from, to)) {
+        out.write(field.tag);
+        writeValue(out, from);
+        writeValue(out, to);
+      }
+    }
+    return out.size() > 1 || before == null ? out.toByteArray() : null;
+  }
+
+  static List<AssetFieldChangeResponse> decode(byte[] diff) {
+    if (diff.length == 0 || diff[0] != FORMAT) {
+      throw new IllegalArgumentException("Formato de diff do histórico desconhecido.");
+    }
+    var reader = new Reader(diff);
+    List<AssetFieldChangeResponse> changes = new ArrayList<>(2);
+    while (reader.position < diff.length) {
+      Field field = Field.ofTag(diff[reader.position++]);
+      changes.add(new AssetFieldChangeResponse(
+          field.jsonName, reader.readValue(), reader.readValue()));
+    }
+    return changes;
+  }
+
+  private static void writeValue(ByteArrayOutputStream out, String value) {
+    if (value == null) {
+      out.write(0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    int length = bytes.length + 1;
+    while (length >= 0x80) {
+      out.write((length & 0x7F) | 0x80);
+      length >>>= 7;
+    }
+    out.write(length);
+    out.writeBytes(bytes);
+  }
+
+  private static String textOf(Object value) {
+    return value != null ? value.toString() : null;
+  }
+
+  private static final class Reader {
+
+    private final byte[] diff;
+    private int position = 1;
+
+    Reader(byte[] diff) {
+      this.diff = diff;
+    }
+
+    String readValue() {
+      int length = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = diff[position++];
+        length |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      if (length == 0) {
+        return null;
+      }
+      var value = new String(diff, position, length - 1, StandardCharsets.UTF_8);
+      position += length - 1;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,335 @@
+package com.geosapiens.backend.assets.ingest;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.AssetsFieldChangesEvent;
+import com.geosapiens.backend.assets.AssetsIngestedEvent;
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetIngestRequest;
+import com.geosapiens.backend.assets.dto.AssetIngestResponse;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.exceptions.AssetIngestRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Ingestão write-behind para atualizações frequentes de status/atributos (heartbeats de agentes).
+ * As atualizações entram numa fila em memória limitada a {@code capacity} ids, combinadas por id
+ * (o campo mais recente vence), e a cada {@code flush-interval} viram um UPDATE por lote de
+ * {@code batch-size} ids (arrays num {@code unnest}), todos numa única transação. UPDATE que não
+ * muda nada é filtrado no próprio SQL e não incrementa a versão; cada linha alterada volta com os
+ * valores anteriores e entra no histórico ({@link AssetsFieldChangesEvent}).
+ *
+ * <p>Escrita síncrona (PUT/PATCH/DELETE, lotes) vence atualização aceita antes dela: cada entrada
+ * guarda o instante em que foi aceita e o UPDATE só aplica se {@code updated_at} da linha não for
+ * mais novo, gravando esse instante como {@code updated_at}. Isso vale também para o lote já drenado
+ * por um flush em andamento e para o que é reaplicado do journal depois de um restart.
+ *
+ * <p>Durabilidade ({@code durability}): {@code memory} perde a fila se o processo morrer;
+ * {@code journal} grava cada lote aceito num journal em disco antes do 202 e reaplica no startup;
+ * {@code journal-fsync} faz também fsync por lote. No shutdown a fila é sempre descarregada.
+ */
+@Component
+public class AssetIngestBuffer {
+
+  public enum Durability {
+    MEMORY,
+    JOURNAL,
+    JOURNAL_FSYNC
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(AssetIngestBuffer.class);
+
+  // Um statement por lote, com as entradas em arrays. Só grava se algo muda: heartbeat repetido não
+  // gera versão nova nem invalida caches. O filtro por updated_at descarta a atualização se uma
+  // escrita síncrona a sucedeu (mesmo relógio da JVM do @PreUpdate do Asset). As linhas são
+  // travadas antes, em ordem de id, e a CTE devolve os valores anteriores para o histórico: o que o
+  // UPDATE lê depois do lock é a versão mais nova, a mesma que a CTE viu.
+  private static final String UPDATE = """
+      WITH batch AS (
+        SELECT *
+        FROM unnest(?::bigint[], ?::text[], ?::text[], ?::text[], ?::timestamptz[])
+          AS u(id, status, category, name, accepted_at)
+      ), locked AS (
+        SELECT a.id, a.acquisition_date, a.status, a.category, a.name
+        FROM assets a
+        JOIN batch u ON u.id = a.id
+        WHERE a.deleted_at IS NULL
+        ORDER BY a.id
+        FOR UPDATE OF a
+      )
+      UPDATE assets a
+      SET status = COALESCE(u.status, a.status),
+        category = COALESCE(u.category, a.category),
+        name = COALESCE(u.name, a.name),
+        updated_at = u.accepted_at,
+        version = a.version + 1
+      FROM batch u, locked l
+      WHERE a.id = u.id
+        AND l.id = a.id AND l.acquisition_date = a.acquisition_date
+        AND a.deleted_at IS NULL
+        AND a.updated_at <= u.accepted_at
+        AND (a.status, a.category, a.name) IS DISTINCT FROM
+          (COALESCE(u.status, a.status), COALESCE(u.category, a.category), COALESCE(u.name, a.name))
+      RETURNING a.id, a.version, l.status, l.category, l.name, a.status, a.category, a.name
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate tx;
+  private final ApplicationEventPublisher eventPublisher;
+  private final boolean enabled;
+  private final int capacity;
+  private final int batchSize;
+  private final Duration retryAfter;
+  private final IngestJournal journal;
+
+  private final Object flushLock = new Object();
+  // Guardado por this. LinkedHashMap mantém a ordem de chegada no flush.
+  private Map<Long, IngestEntry> pending = new LinkedHashMap<>();
+  private volatile boolean accepting;
+
+  private final Counter accepted;
+  private final Counter coalesced;
+  private final Counter rejected;
+  private final Counter applied;
+  private final Counter unchanged;
+  private final Counter flushFailures;
+  private final Timer flushTimer;
+
+  public AssetIngestBuffer(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher,
+      JsonMapper jsonMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.ingest.enabled:true}") boolean enabled,
+      @Value("${app.assets.ingest.capacity:50000}") int capacity,
+      @Value("${app.assets.ingest.batch-size:500}") int batchSize,
+      @Value("${app.assets.ingest.retry-after:1s}") Duration retryAfter,
+      @Value("${app.assets.ingest.durability:memory}") Durability durability,
+      @Value("${app.assets.ingest.journal-dir:./data/ingest-journal}") Path journalDir) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+    this.enabled = enabled;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.retryAfter = retryAfter;
+    this.journal = enabled && durability != Durability.MEMORY
+        ? new IngestJournal(journalDir, durability == Durability.JOURNAL_FSYNC, jsonMapper)
+        : null;
+
+    this.accepted = Counter.builder("assets.ingest.accepted").register(meterRegistry);
+    this.coalesced = Counter.builder("assets.ingest.coalesced")
+        .description("Atualizações combinadas com outra pendente do mesmo id")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("assets.ingest.rejected")
+        .description("Atualizações recusadas com 429 por fila cheia")
+        .register(meterRegistry);
+    this.applied = Counter.builder("assets.ingest.applied").register(meterRegistry);
+    this.unchanged = Counter.builder("assets.ingest.unchanged")
+        .description(
+            "Atualizações que não mudavam nada, cujo asset não existe mais ou já foi sobrescrito")
+        .register(meterRegistry);
+    this.flushFailures = Counter.builder("assets.ingest.flush.failures").register(meterRegistry);
+    this.flushTimer = Timer.builder("assets.ingest.flush").register(meterRegistry);
+    Gauge.builder("assets.ingest.pending", this, AssetIngestBuffer::pendingCount)
+        .register(meterRegistry);
+
+    if (journal != null) {
+      var replayed = journal.replay();
+      replayed.forEach(entry -> pending.merge(entry.id(), entry, IngestEntry::mergedWith));
+      if (!replayed.isEmpty()) {
+        log.info("Journal de ingestão: {} atualizações reaplicadas na fila.", replayed.size());
+      }
+    }
+    this.accepting = enabled;
+  }
+
+  public AssetIngestResponse offer(List<AssetIngestRequest.Update> updates) {
+    if (!accepting) {
+      throw AssetIngestRejectedException.unavailable(
+          enabled ? "Ingestão em shutdown." : "Ingestão assíncrona desabilitada.", retryAfter);
+    }
+
+    var acceptedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    List<IngestEntry> entries = updates.stream()
+        .map(u -> new IngestEntry(u.id(), u.status(), u.category(), u.name(), acceptedAt))
+        .toList();
+
+    synchronized (this) {
+      Set<Long> newIds = new HashSet<>();
+      for (var entry : entries) {
+        if (!pending.containsKey(entry.id())) {
+          newIds.add(entry.id());
+        }
+      }
+      // Tudo ou nada: o cliente reenvia o lote inteiro depois do Retry-After.
+      if (pending.size() + newIds.size() > capacity) {
+        rejected.increment(entries.size());
+        throw AssetIngestRejectedException.queueFull(capacity, retryAfter);
+      }
+
+      if (journal != null) {
+        journal.append(entries);
+      }
+      for (var entry : entries) {
+        pending.merge(entry.id(), entry, IngestEntry::mergedWith);
+      }
+      coalesced.increment(entries.size() - newIds.size());
+      accepted.increment(entries.size());
+      return new AssetIngestResponse(entries.size(), pending.size());
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.assets.ingest.flush-interval:500ms}",
+      fixedDelayString = "${app.assets.ingest.flush-interval:500ms}")
+  public void flush() {
+    synchronized (flushLock) {
+      Map<Long, IngestEntry> batch;
+      long segment = -1;
+      synchronized (this) {
+        if (pending.isEmpty()) {
+          return;
+        }
+        // Rotaciona antes de drenar: se falhar, a fila continua intacta.
+        if (journal != null) {
+          segment = journal.rotate();
+        }
+        batch = pending;
+        pending = new LinkedHashMap<>();
+      }
+
+      try {
+        flushTimer.record(() -> apply(new ArrayList<>(batch.values())));
+      } catch (RuntimeException ex) {
+        // Não só DataAccessException: sem conexão (CannotCreateTransactionException) ou com falha
+        // no commit (TransactionSystemException) o lote também não foi gravado e precisa voltar.
+        flushFailures.increment();
+        requeue(batch);
+        log.warn("Flush da ingestão falhou; {} assets voltaram para a fila.", batch.size(), ex);
+        return;
+      }
+      if (journal != null) {
+        journal.deleteUpTo(segment);
+      }
+    }
+  }
+
+  /**
+   * PUT/DELETE síncrono chegou depois da atualização pendente: ele vence, a pendente sai. É só um
+   * atalho; o que já foi drenado ou está no journal é barrado pelo filtro de {@code updated_at}.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetChanged(AssetChangedEvent event) {
+    synchronized (this) {
+      pending.remove(event.id());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    accepting = false;
+    flush();
+    synchronized (this) {
+      if (!pending.isEmpty()) {
+        log.warn("Shutdown com {} assets na fila de ingestão não gravados.", pending.size());
+      }
+    }
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  public synchronized int pendingCount() {
+    return pending.size();
+  }
+
+  private void apply(List<IngestEntry> entries) {
+    tx.executeWithoutResult(txStatus -> {
+      List<AssetChangedEvent> changes = new ArrayList<>();
+      for (int from = 0; from < entries.size(); from += batchSize) {
+        var chunk = entries.subList(from, Math.min(entries.size(), from + batchSize));
+        changes.addAll(jdbcTemplate.query(UPDATE, AssetIngestBuffer::change, arrays(chunk)));
+      }
+
+      applied.increment(changes.size());
+      unchanged.increment(entries.size() - changes.size());
+      if (!changes.isEmpty()) {
+        Set<Long> changed = new HashSet<>();
+        changes.forEach(change -> changed.add(change.id()));
+        eventPublisher.publishEvent(new AssetsFieldChangesEvent(changes));
+        eventPublisher.publishEvent(new AssetsIngestedEvent(changed));
+      }
+    });
+  }
+
+  // Uma coluna por array, na ordem do unnest; campo ausente vai nulo e o COALESCE mantém o atual.
+  static Object[] arrays(List<IngestEntry> entries) {
+    int n = entries.size();
+    var ids = new Long[n];
+    var statuses = new String[n];
+    var categories = new String[n];
+    var names = new String[n];
+    var acceptedAt = new String[n];
+    for (int i = 0; i < n; i++) {
+      var entry = entries.get(i);
+      ids[i] = entry.id();
+      statuses[i] = entry.status() != null ? entry.status().name() : null;
+      categories[i] = entry.category() != null ? entry.category().name() : null;
+      names[i] = entry.name();
+      acceptedAt[i] = entry.acceptedAt().toString();
+    }
+    return new Object[] {ids, statuses, categories, names, acceptedAt};
+  }
+
+  // Antes/depois só dos campos que a ingestão muda; o resto fica nulo dos dois lados.
+  private static AssetChangedEvent change(ResultSet rs, int rowNum) throws SQLException {
+    long id = rs.getLong(1);
+    long version = rs.getLong(2);
+    return AssetChangedEvent.updated(
+        partial(id, version - 1, rs.getString(3), rs.getString(4), rs.getString(5)),
+        partial(id, version, rs.getString(6), rs.getString(7), rs.getString(8)));
+  }
+
+  private static AssetResponse partial(
+      long id, long version, String status, String category, String name) {
+    return new AssetResponse(
+        id, name, null, Category.valueOf(category), Status.valueOf(status),
+        null, null, null, null, null, version);
+  }
+
+  private synchronized void requeue(Map<Long, IngestEntry> batch) {
+    // O que chegou depois do drain é mais novo e vence campo a campo.
+    var merged = new LinkedHashMap<>(batch);
+    pending.forEach((id, newer) -> merged.merge(id, newer, IngestEntry::mergedWith));
+    pending = merged;
+  }
+}
@@ -0,0 +1,24 @@
+package com.geosapiens.backend.assets.ingest;
+
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import java.time.OffsetDateTime;
+
+/**
+ * Atualização parcial pendente de um asset; campos nulos não mudam. {@code acceptedAt} é o instante
+ * em que a atualização foi aceita: o UPDATE só aplica se nenhuma escrita síncrona tocou a linha
+ * depois dele (ver {@link AssetIngestBuffer}).
+ */
+record IngestEntry(
+    long id, Status status, Category category, String name, OffsetDateTime acceptedAt) {
+
+  /** Combina com uma atualização mais nova do mesmo id: o que ela trouxer vence. */
+  IngestEntry mergedWith(IngestEntry newer) {
+    return new IngestEntry(
+        id,
+        newer.status != null ? newer.status : status,
+        newer.category != null ? newer.category : category,
+        newer.name != null ? newer.name : name,
+        newer.acceptedAt);
+  }
+}
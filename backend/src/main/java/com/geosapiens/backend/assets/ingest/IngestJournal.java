@@ -0,0 +1,137 @@
+package com.geosapiens.backend.assets.ingest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Journal append-only das atualizações aceitas, em segmentos {@code ingest-<seq>.jsonl} (uma linha
+ * JSON por atualização). Cada flush fecha o segmento corrente com {@link #rotate()} e, depois do
+ * commit, apaga os segmentos até ele com {@link #deleteUpTo(long)}. Se o flush falha nada é apagado
+ * e o próximo flush bem-sucedido cobre os segmentos antigos. No startup, {@link #replay()} devolve
+ * tudo que ficou em disco, em ordem.
+ */
+final class IngestJournal implements AutoCloseable {
+
+  private static final Pattern SEGMENT = Pattern.compile("ingest-(\\d+)\\.jsonl");
+
+  private final Path directory;
+  private final boolean fsync;
+  private final JsonMapper jsonMapper;
+
+  private long currentSeq;
+  private FileChannel current;
+
+  IngestJournal(Path directory, boolean fsync, JsonMapper jsonMapper) {
+    this.directory = directory;
+    this.fsync = fsync;
+    this.jsonMapper = jsonMapper;
+  }
+
+  /** Lê os segmentos existentes e abre um segmento novo depois deles. */
+  List<IngestEntry> replay() {
+    try {
+      Files.createDirectories(directory);
+      List<IngestEntry> entries = new ArrayList<>();
+      for (long seq : segments()) {
+        try (var lines = Files.lines(segment(seq))) {
+          lines.filter(line -> !line.isBlank())
+              .map(line -> jsonMapper.readValue(line, IngestEntry.class))
+              .forEach(entries::add);
+        }
+        currentSeq = seq;
+      }
+      open(currentSeq + 1);
+      return entries;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Falha ao ler o journal de ingestão em " + directory, ex);
+    }
+  }
+
+  void append(List<IngestEntry> entries) {
+    var bytes = new ByteArrayOutputStream(entries.size() * 96);
+    for (var entry : entries) {
+      bytes.writeBytes(jsonMapper.writeValueAsBytes(entry));
+      bytes.write('\n');
+    }
+
+    try {
+      var buffer = ByteBuffer.wrap(bytes.toByteArray());
+      while (buffer.hasRemaining()) {
+        current.write(buffer);
+      }
+      if (fsync) {
+        current.force(false);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Falha ao gravar o journal de ingestão", ex);
+    }
+  }
+
+  /** Fecha o segmento corrente, abre o próximo e devolve a sequência do que foi fechado. */
+  long rotate() {
+    long closed = currentSeq;
+    try {
+      current.close();
+      open(closed + 1);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Falha ao rotacionar o journal de ingestão", ex);
+    }
+    return closed;
+  }
+
+  void deleteUpTo(long seq) {
+    try {
+      for (long existing : segments()) {
+        if (existing <= seq) {
+          Files.deleteIfExists(segment(existing));
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Falha ao limpar o journal de ingestão", ex);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (current != null) {
+        current.close();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void open(long seq) throws IOException {
+    currentSeq = seq;
+    current = FileChannel.open(
+        segment(seq), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private List<Long> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(path -> SEGMENT.matcher(path.getFileName().toString()))
+          .filter(matcher -> matcher.matches())
+          .map(matcher -> Long.parseLong(matcher.group(1)))
+          .sorted(Comparator.naturalOrder())
+          .toList();
+    }
+  }
+
+  private Path segment(long seq) {
+    return directory.resolve("ingest-" + seq + ".jsonl");
+  }
+}
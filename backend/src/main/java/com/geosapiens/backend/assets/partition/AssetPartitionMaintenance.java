@@ -0,0 +1,72 @@
+package com.geosapiens.backend.assets.partition;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém partições anuais de {@code assets} criadas à frente da data atual, para que a virada do
+ * ano nunca encontre um INSERT sem partição de destino. A criação em si fica na função SQL
+ * {@code assets_ensure_partitions} (V3), que é idempotente.
+ */
+@Component
+public class AssetPartitionMaintenance {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetPartitionMaintenance.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final int yearsAhead;
+  private final Clock clock;
+
+  // O enabled é checado em runtime (e não com @ConditionalOn...) porque o Spring AOT da imagem
+  // resolveria a condição no build.
+  public AssetPartitionMaintenance(
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.assets.partitions.maintenance-enabled:true}") boolean enabled,
+      @Value("${app.assets.partitions.years-ahead:1}") int yearsAhead) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.yearsAhead = Math.max(1, yearsAhead);
+    this.clock = Clock.systemUTC();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onReady() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      ensurePartitions();
+    } catch (DataAccessException ex) {
+      // Não derruba a aplicação: o job agendado tenta de novo.
+      log.warn("Falha ao garantir partições de assets no startup.", ex);
+    }
+  }
+
+  @Scheduled(cron = "${app.assets.partitions.cron:0 0 3 * * *}", zone = "UTC")
+  public void scheduledRun() {
+    if (enabled) {
+      ensurePartitions();
+    }
+  }
+
+  public void ensurePartitions() {
+    LocalDate today = LocalDate.now(clock);
+    LocalDate until = today.plusYears(yearsAhead);
+    Integer created = jdbcTemplate.queryForObject(
+        "SELECT assets_ensure_partitions(?, ?)", Integer.class, today, until);
+
+    if (created != null && created > 0) {
+      log.info("Partições de assets criadas: {} (até {}).", created, until.getYear());
+    }
+  }
+}
@@ -0,0 +1,527 @@
+package com.geosapiens.backend.assets.readmodel;
+
+import com.geosapiens.backend.assets.AssetFilter;
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.geo.GeoRadius;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Snapshot imutável de {@code assets} em colunas primitivas, com as linhas em ordem de id. Enums
+ * viram bytes (ordinal), {@code acquisitionDate} vira epoch-day, timestamps viram epoch-micros (a
+ * precisão do Postgres), localização sem valor vira {@code NaN} e nome/serial são codificados por
+ * dicionário. Cada enum tem um bitmap por valor e cada coluna ordenável tem a permutação ascendente
+ * das linhas (empates por id); ordem descendente é a mesma permutação lida de trás para frente, com
+ * os empates por id descendente.
+ *
+ * <p>Enums são ordenados pelo nome, como no banco (colunas {@code varchar}). Nome e serial não são
+ * ordenáveis aqui: a ordem deles é a da collation do banco (acentos, maiúsculas e minúsculas), que
+ * o read model não reproduz, então essas listagens vão ao banco ({@link #supports}).
+ */
+final class AssetColumns {
+
+  private static final Category[] CATEGORIES = Category.values();
+  private static final Status[] STATUSES = Status.values();
+  private static final int[] CATEGORY_RANK = alphabeticalRank(CATEGORIES);
+  private static final int[] STATUS_RANK = alphabeticalRank(STATUSES);
+
+  enum Column {
+    ID("id"),
+    CATEGORY("category"),
+    STATUS("status"),
+    ACQUISITION_DATE("acquisitionDate"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private static final Map<String, Column> BY_PROPERTY = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(column -> column.property, column -> column));
+
+    private final String property;
+
+    Column(String property) {
+      this.property = property;
+    }
+
+    /** Coluna da propriedade de ordenação (campos aceitos em {@code sort}), ou {@code null}. */
+    static Column of(String property) {
+      return BY_PROPERTY.get(property);
+    }
+  }
+
+  static final AssetColumns EMPTY = new Builder(0).build();
+
+  private final int size;
+  private final long[] ids;
+  private final int[] nameCodes;
+  private final int[] serialNumberCodes;
+  private final byte[] categories;
+  private final byte[] statuses;
+  private final int[] acquisitionDays;
+  private final long[] createdAtMicros;
+  private final long[] updatedAtMicros;
+  private final long[] versions;
+  private final double[] latitudes;
+  private final double[] longitudes;
+
+  private final String[] names;
+  private final String[] lowerNames;
+  private final String[] serialNumbers;
+  private final String[] lowerSerialNumbers;
+
+  private final BitSet[] byCategory;
+  private final BitSet[] byStatus;
+  // Indexado por Column.ordinal(); ID é a identidade e fica nulo.
+  private final int[][] ascending;
+
+  private AssetColumns(Builder b) {
+    this.size = b.size;
+    this.ids = Arrays.copyOf(b.ids, size);
+    this.categories = Arrays.copyOf(b.categories, size);
+    this.statuses = Arrays.copyOf(b.statuses, size);
+    this.acquisitionDays = Arrays.copyOf(b.acquisitionDays, size);
+    this.createdAtMicros = Arrays.copyOf(b.createdAtMicros, size);
+    this.updatedAtMicros = Arrays.copyOf(b.updatedAtMicros, size);
+    this.versions = Arrays.copyOf(b.versions, size);
+    this.latitudes = Arrays.copyOf(b.latitudes, size);
+    this.longitudes = Arrays.copyOf(b.longitudes, size);
+
+    this.names = dictionary(b.names, size);
+    this.nameCodes = encode(b.names, size, names);
+    this.lowerNames = lowerCase(names);
+    this.serialNumbers = dictionary(b.serialNumbers, size);
+    this.serialNumberCodes = encode(b.serialNumbers, size, serialNumbers);
+    this.lowerSerialNumbers = lowerCase(serialNumbers);
+
+    this.byCategory = bitmaps(categories, CATEGORIES.length);
+    this.byStatus = bitmaps(statuses, STATUSES.length);
+
+    this.ascending = new int[Column.values().length][];
+    for (Column column : Column.values()) {
+      if (column != Column.ID) {
+        ascending[column.ordinal()] = ascendingBy(column);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  long id(int row) {
+    return ids[row];
+  }
+
+  /** Linha do id, ou negativo se ausente (busca binária: as linhas estão em ordem de id). */
+  int rowOf(long id) {
+    return Arrays.binarySearch(ids, 0, size, id);
+  }
+
+  /**
+   * Filtro + ordenação + página. Com uma única ordenação a página sai direto da permutação; com
+   * várias, as linhas que passam no filtro são ordenadas pelas colunas em sequência.
+   */
+  Page<AssetResponse> search(AssetFilter filter, Pageable pageable) {
+    var matcher = new Matcher(filter);
+    long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+    int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+    List<Sort.Order> orders = pageable.getSort().toList();
+    if (orders.size() > 1) {
+      return searchMultiSort(matcher, orders, pageable, offset, limit);
+    }
+
+    Column column = orders.isEmpty() ? Column.ID : Column.of(orders.get(0).getProperty());
+    boolean descending = !orders.isEmpty() && orders.get(0).isDescending();
+    int[] permutation = ascending[column.ordinal()];
+    // Sem filtro de texto ou data, o total é a cardinalidade dos bitmaps: para assim que a página
+    // estiver completa em vez de varrer o resto.
+    long knownTotal = matcher.cardinalityOrMinusOne();
+
+    List<AssetResponse> content = new ArrayList<>(Math.min(limit, 128));
+    long matched = 0;
+    for (int i = 0; i < size; i++) {
+      int position = descending ? size - 1 - i : i;
+      int row = permutation == null ? position : permutation[position];
+      if (!matcher.test(row)) {
+        continue;
+      }
+      if (matched >= offset && content.size() < limit) {
+        content.add(toResponse(row));
+      }
+      matched++;
+      if (knownTotal >= 0 && content.size() == limit) {
+        break;
+      }
+    }
+    return new PageImpl<>(content, pageable, knownTotal >= 0 ? knownTotal : matched);
+  }
+
+  AssetResponse toResponse(int row) {
+    return new AssetResponse(
+        ids[row],
+        names[nameCodes[row]],
+        serialNumbers[serialNumberCodes[row]],
+        CATEGORIES[categories[row]],
+        STATUSES[statuses[row]],
+        LocalDate.ofEpochDay(acquisitionDays[row]),
+        orNull(latitudes[row]),
+        orNull(longitudes[row]),
+        fromMicros(createdAtMicros[row]),
+        fromMicros(updatedAtMicros[row]),
+        versions[row]);
+  }
+
+  /** Ordenação que o read model reproduz igual ao banco: só colunas de {@link Column}, sem texto. */
+  static boolean supports(Sort sort) {
+    return sort.stream().allMatch(order -> Column.of(order.getProperty()) != null);
+  }
+
+  private Page<AssetResponse> searchMultiSort(
+      Matcher matcher, List<Sort.Order> orders, Pageable pageable, long offset, int limit) {
+    Comparator<Integer> comparator = null;
+    for (Sort.Order order : orders) {
+      Column column = Column.of(order.getProperty());
+      Comparator<Integer> next = Comparator.comparingLong(row -> sortKey(column, row));
+      next = order.isDescending() ? next.reversed() : next;
+      comparator = comparator == null ? next : comparator.thenComparing(next);
+    }
+    // Empate por id na direção da última ordenação, como a permutação lida de trás para frente e o
+    // ORDER BY de AssetQueryPlans.
+    Comparator<Integer> byRow = Comparator.naturalOrder();
+    comparator = comparator.thenComparing(
+        orders.get(orders.size() - 1).isDescending() ? byRow.reversed() : byRow);
+
+    List<Integer> rows = new ArrayList<>();
+    for (int row = 0; row < size; row++) {
+      if (matcher.test(row)) {
+        rows.add(row);
+      }
+    }
+    rows.sort(comparator);
+
+    int from = (int) Math.min(offset, rows.size());
+    int to = (int) Math.min((long) from + limit, rows.size());
+    List<AssetResponse> content = new ArrayList<>(to - from);
+    for (int row : rows.subList(from, to)) {
+      content.add(toResponse(row));
+    }
+    return new PageImpl<>(content, pageable, rows.size());
+  }
+
+  private long sortKey(Column column, int row) {
+    return switch (column) {
+      case ID -> row;
+      case CATEGORY -> CATEGORY_RANK[categories[row]];
+      case STATUS -> STATUS_RANK[statuses[row]];
+      case ACQUISITION_DATE -> acquisitionDays[row];
+      case CREATED_AT -> createdAtMicros[row];
+      case UPDATED_AT -> updatedAtMicros[row];
+    };
+  }
+
+  // Rank denso da chave nos 32 bits altos e a linha nos baixos: um sort de long[] primitivo ordena
+  // por chave e desempata por id, sem boxing.
+  private int[] ascendingBy(Column column) {
+    long[] keys = new long[size];
+    for (int row = 0; row < size; row++) {
+      keys[row] = sortKey(column, row);
+    }
+    long[] distinct = keys.clone();
+    Arrays.sort(distinct);
+    int distinctCount = dedupe(distinct);
+
+    long[] packed = new long[size];
+    for (int row = 0; row < size; row++) {
+      long rank = Arrays.binarySearch(distinct, 0, distinctCount, keys[row]);
+      packed[row] = (rank << 32) | row;
+    }
+    Arrays.sort(packed);
+
+    int[] permutation = new int[size];
+    for (int i = 0; i < size; i++) {
+      permutation[i] = (int) packed[i];
+    }
+    return permutation;
+  }
+
+  /** Predicado por linha; o texto é avaliado uma vez por entrada do dicionário, não por linha. */
+  private final class Matcher {
+
+    private final BitSet candidates;
+    private final int fromDay;
+    private final int toDay;
+    private final BitSet nameMatches;
+    private final BitSet serialNumberMatches;
+    private final BoundingBox bbox;
+    private final GeoRadius near;
+
+    Matcher(AssetFilter filter) {
+      BitSet bits = null;
+      if (filter.category() != null) {
+        bits = (BitSet) byCategory[filter.category().ordinal()].clone();
+      }
+      if (filter.status() != null) {
+        var status = byStatus[filter.status().ordinal()];
+        if (bits == null) {
+          bits = (BitSet) status.clone();
+        } else {
+          bits.and(status);
+        }
+      }
+      this.candidates = bits;
+      this.bbox = filter.bbox();
+      this.near = filter.near();
+      this.fromDay = filter.acquiredFrom() != null
+          ? (int) filter.acquiredFrom().toEpochDay() : Integer.MIN_VALUE;
+      this.toDay = filter.acquiredTo() != null
+          ? (int) filter.acquiredTo().toEpochDay() : Integer.MAX_VALUE;
+
+      String q = filter.q();
+      if (q == null || q.isBlank()) {
+        this.nameMatches = null;
+        this.serialNumberMatches = null;
+      } else {
+        // Mesmo contrato do LIKE da AssetSpecifications: trim + lower, contém.
+        String needle = q.trim().toLowerCase(Locale.ROOT);
+        this.nameMatches = containing(lowerNames, needle);
+        this.serialNumberMatches = containing(lowerSerialNumbers, needle);
+      }
+    }
+
+    boolean test(int row) {
+      if (candidates != null && !candidates.get(row)) {
+        return false;
+      }
+      int day = acquisitionDays[row];
+      if (day < fromDay || day > toDay) {
+        return false;
+      }
+      if ((bbox != null || near != null) && !located(row)) {
+        return false;
+      }
+      if (bbox != null && !bbox.contains(latitudes[row], longitudes[row])) {
+        return false;
+      }
+      if (near != null && !near.contains(latitudes[row], longitudes[row])) {
+        return false;
+      }
+      return nameMatches == null
+          || nameMatches.get(nameCodes[row])
+          || serialNumberMatches.get(serialNumberCodes[row]);
+    }
+
+    long cardinalityOrMinusOne() {
+      if (nameMatches != null || fromDay != Integer.MIN_VALUE || toDay != Integer.MAX_VALUE
+          || bbox != null || near != null) {
+        return -1;
+      }
+      return candidates != null ? candidates.cardinality() : size;
+    }
+
+    private boolean located(int row) {
+      return !Double.isNaN(latitudes[row]);
+    }
+
+    private static BitSet containing(String[] dictionary, String needle) {
+      var matches = new BitSet(dictionary.length);
+      for (int code = 0; code < dictionary.length; code++) {
+        if (dictionary[code].contains(needle)) {
+          matches.set(code);
+        }
+      }
+      return matches;
+    }
+  }
+
+  /**
+   * Acumula linhas em ordem crescente de id; {@link #build()} gera dicionários, bitmaps e
+   * permutações.
+   */
+  static final class Builder {
+
+    private int size;
+    private long[] ids;
+    private String[] names;
+    private String[] serialNumbers;
+    private byte[] categories;
+    private byte[] statuses;
+    private int[] acquisitionDays;
+    private long[] createdAtMicros;
+    private long[] updatedAtMicros;
+    private long[] versions;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    Builder(int expectedSize) {
+      int capacity = Math.max(16, expectedSize);
+      ids = new long[capacity];
+      names = new String[capacity];
+      serialNumbers = new String[capacity];
+      categories = new byte[capacity];
+      statuses = new byte[capacity];
+      acquisitionDays = new int[capacity];
+      createdAtMicros = new long[capacity];
+      updatedAtMicros = new long[capacity];
+      versions = new long[capacity];
+      latitudes = new double[capacity];
+      longitudes = new double[capacity];
+    }
+
+    Builder add(AssetResponse asset) {
+      int row = append(asset.id());
+      names[row] = asset.name();
+      serialNumbers[row] = asset.serialNumber();
+      categories[row] = (byte) asset.category().ordinal();
+      statuses[row] = (byte) asset.status().ordinal();
+      acquisitionDays[row] = (int) asset.acquisitionDate().toEpochDay();
+      createdAtMicros[row] = toMicros(asset.createdAt());
+      updatedAtMicros[row] = toMicros(asset.updatedAt());
+      versions[row] = asset.version();
+      latitudes[row] = asset.latitude() != null ? asset.latitude() : Double.NaN;
+      longitudes[row] = asset.longitude() != null ? asset.longitude() : Double.NaN;
+      return this;
+    }
+
+    /** Copia uma linha de outro snapshot sem materializar o {@link AssetResponse}. */
+    Builder copy(AssetColumns source, int sourceRow) {
+      int row = append(source.ids[sourceRow]);
+      names[row] = source.names[source.nameCodes[sourceRow]];
+      serialNumbers[row] = source.serialNumbers[source.serialNumberCodes[sourceRow]];
+      categories[row] = source.categories[sourceRow];
+      statuses[row] = source.statuses[sourceRow];
+      acquisitionDays[row] = source.acquisitionDays[sourceRow];
+      createdAtMicros[row] = source.createdAtMicros[sourceRow];
+      updatedAtMicros[row] = source.updatedAtMicros[sourceRow];
+      versions[row] = source.versions[sourceRow];
+      latitudes[row] = source.latitudes[sourceRow];
+      longitudes[row] = source.longitudes[sourceRow];
+      return this;
+    }
+
+    int size() {
+      return size;
+    }
+
+    AssetColumns build() {
+      return new AssetColumns(this);
+    }
+
+    private int append(long id) {
+      if (size > 0 && ids[size - 1] >= id) {
+        throw new IllegalStateException("Linhas fora de ordem de id: " + id);
+      }
+      if (size == ids.length) {
+        grow();
+      }
+      ids[size] = id;
+      return size++;
+    }
+
+    private void grow() {
+      int capacity = ids.length + (ids.length >> 1);
+      ids = Arrays.copyOf(ids, capacity);
+      names = Arrays.copyOf(names, capacity);
+      serialNumbers = Arrays.copyOf(serialNumbers, capacity);
+      categories = Arrays.copyOf(categories, capacity);
+      statuses = Arrays.copyOf(statuses, capacity);
+      acquisitionDays = Arrays.copyOf(acquisitionDays, capacity);
+      createdAtMicros = Arrays.copyOf(createdAtMicros, capacity);
+      updatedAtMicros = Arrays.copyOf(updatedAtMicros, capacity);
+      versions = Arrays.copyOf(versions, capacity);
+      latitudes = Arrays.copyOf(latitudes, capacity);
+      longitudes = Arrays.copyOf(longitudes, capacity);
+    }
+  }
+
+  private static String[] dictionary(String[] values, int size) {
+    String[] sorted = Arrays.copyOf(values, size);
+    Arrays.sort(sorted);
+    int distinct = 0;
+    for (int i = 0; i < size; i++) {
+      if (distinct == 0 || !sorted[distinct - 1].equals(sorted[i])) {
+        sorted[distinct++] = sorted[i];
+      }
+    }
+    return Arrays.copyOf(sorted, distinct);
+  }
+
+  private static int[] encode(String[] values, int size, String[] dictionary) {
+    int[] codes = new int[size];
+    for (int row = 0; row < size; row++) {
+      codes[row] = Arrays.binarySearch(dictionary, values[row]);
+    }
+    return codes;
+  }
+
+  private static String[] lowerCase(String[] dictionary) {
+    String[] lower = new String[dictionary.length];
+    for (int i = 0; i < dictionary.length; i++) {
+      lower[i] = dictionary[i].toLowerCase(Locale.ROOT);
+    }
+    return lower;
+  }
+
+  private static BitSet[] bitmaps(byte[] values, int cardinality) {
+    BitSet[] bitmaps = new BitSet[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      bitmaps[i] = new BitSet(values.length);
+    }
+    for (int row = 0; row < values.length; row++) {
+      bitmaps[values[row]].set(row);
+    }
+    return bitmaps;
+  }
+
+  private static int dedupe(long[] sorted) {
+    int distinct = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+        sorted[distinct++] = sorted[i];
+      }
+    }
+    return distinct;
+  }
+
+  private static int[] alphabeticalRank(Enum<?>[] values) {
+    Enum<?>[] sorted = values.clone();
+    Arrays.sort(sorted, Comparator.comparing(Enum::name));
+    int[] rank = new int[values.length];
+    for (int i = 0; i < sorted.length; i++) {
+      rank[sorted[i].ordinal()] = i;
+    }
+    return rank;
+  }
+
+  private static Double orNull(double value) {
+    return Double.isNaN(value) ? null : value;
+  }
+
+  static long toMicros(OffsetDateTime value) {
+    Instant instant = value.toInstant();
+    return Math.addExact(
+        Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+  }
+
+  private static OffsetDateTime fromMicros(long micros) {
+    return Instant.ofEpochSecond(
+            Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L)
+        .atOffset(ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,366 @@
+package com.geosapiens.backend.assets.readmodel;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.AssetFilter;
+import com.geosapiens.backend.assets.AssetsBulkChangedEvent;
+import com.geosapiens.backend.assets.AssetsIngestedEvent;
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Read model opcional da tabela quente em memória ({@link AssetColumns}), para a listagem responder
+ * filtro + ordenação + página sem ir ao banco. O Postgres continua sendo a fonte da verdade: o
+ * snapshot é carregado em streaming no startup e, a cada escrita, as mudanças entram numa fila que
+ * um job aplica a cada {@code refresh-interval}, gerando um snapshot novo (copy-on-write; leitores
+ * nunca veem um snapshot pela metade).
+ *
+ * <p>Enquanto houver escrita commitada (ou em commit) ainda não aplicada, {@link #search} devolve
+ * {@code null} e a listagem vai ao banco: quem acabou de escrever nunca lê um estado anterior. A
+ * exceção são as operações em lote, que commitam em várias transações e só avisam no fim; até lá
+ * o read model serve o estado anterior ao lote, como o {@code AssetCache}.
+ */
+@Component
+public class AssetReadModel {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetReadModel.class);
+
+  private static final String COLUMNS = """
+      SELECT id, name, serial_number, category, status, acquisition_date, created_at, updated_at,
+        version, latitude, longitude
+      FROM assets
+      """;
+  private static final String LOAD = COLUMNS + "WHERE deleted_at IS NULL ORDER BY id";
+  private static final String FETCH = COLUMNS + "WHERE id = ANY(?) AND deleted_at IS NULL";
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private final boolean enabled;
+  private final JdbcTemplate jdbcTemplate;
+  // Não read-only de propósito: vai ao primário, que já tem as escritas cujos eventos recebemos.
+  private final TransactionTemplate primaryTx;
+
+  private volatile State state;
+  private final Object refreshLock = new Object();
+  private final ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+  // started: escritas que chegaram ao commit; completed: que terminaram (commit ou rollback).
+  private final AtomicLong startedWrites = new AtomicLong();
+  private final AtomicLong completedWrites = new AtomicLong();
+
+  private final Timer loadTimer;
+  private final Timer refreshTimer;
+
+  public AssetReadModel(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.read-model.enabled:false}") boolean enabled) {
+    this.enabled = enabled;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.primaryTx = new TransactionTemplate(transactionManager);
+
+    this.loadTimer = Timer.builder("assets.read-model.load")
+        .description("Carga completa do read model em memória")
+        .register(meterRegistry);
+    this.refreshTimer = Timer.builder("assets.read-model.refresh")
+        .description("Aplicação incremental das escritas no read model")
+        .register(meterRegistry);
+    Gauge.builder("assets.read-model.rows", this, m -> m.rows())
+        .register(meterRegistry);
+    Gauge.builder("assets.read-model.pending.writes", this, m -> m.pendingWrites())
+        .description("Escritas ainda não aplicadas; acima de zero a listagem vai ao banco")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void warmUp() {
+    if (!enabled) {
+      return;
+    }
+    // Carrega fora da thread principal; até terminar a listagem vai ao banco.
+    Thread.ofVirtual().name("asset-read-model-load").start(() -> {
+      try {
+        reload();
+      } catch (RuntimeException ex) {
+        log.warn("Falha ao carregar o read model de assets; a listagem segue no banco.", ex);
+      }
+    });
+  }
+
+  /**
+   * Página da tabela quente em memória, ou {@code null} quando o read model não pode responder:
+   * desabilitado, ainda carregando, com escritas pendentes ou com ordenação que ele não reproduz
+   * (desconhecida ou por texto, ver {@link AssetColumns#supports}).
+   */
+  public Page<AssetResponse> search(AssetFilter filter, Pageable pageable) {
+    var current = state;
+    if (current == null
+        || current.appliedWrites() != startedWrites.get()
+        || !AssetColumns.supports(pageable.getSort())) {
+      return null;
+    }
+    return current.columns().search(filter, pageable);
+  }
+
+  /** Recarrega tudo do primário; escritas concorrentes ficam na fila para o próximo refresh. */
+  public Stats reload() {
+    if (!enabled) {
+      return stats();
+    }
+    synchronized (refreshLock) {
+      long seen = completedWrites.get();
+      changes.clear();
+      var columns = loadTimer.record(this::load);
+      state = new State(columns, seen, Instant.now());
+      log.info("Read model de assets carregado: {} linhas.", columns.size());
+    }
+    return stats();
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.assets.read-model.refresh-interval:250ms}",
+      fixedDelayString = "${app.assets.read-model.refresh-interval:250ms}")
+  public void refresh() {
+    synchronized (refreshLock) {
+      var current = state;
+      long seen = completedWrites.get();
+      if (current == null || seen == current.appliedWrites()) {
+        return;
+      }
+
+      // Tudo que completou até `seen` já está na fila.
+      List<Change> batch = new ArrayList<>();
+      for (Change change; (change = changes.poll()) != null; ) {
+        batch.add(change);
+      }
+      try {
+        // Só rollbacks desde a última rodada: nada mudou, o snapshot é o mesmo.
+        var columns = batch.isEmpty()
+            ? current.columns()
+            : refreshTimer.record(() -> apply(current.columns(), batch));
+        state = new State(columns, seen, Instant.now());
+      } catch (RuntimeException ex) {
+        // As mudanças drenadas se perderam: a próxima rodada recarrega tudo.
+        changes.add(Change.RELOAD_ALL);
+        log.warn("Falha ao atualizar o read model de assets; recarga completa agendada.", ex);
+      }
+    }
+  }
+
+  public Stats stats() {
+    var current = state;
+    return new Stats(
+        enabled,
+        current != null,
+        rows(),
+        pendingWrites(),
+        current != null ? current.refreshedAt() : null);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  void onAssetChanged(AssetChangedEvent event) {
+    track(event.after() != null ? Change.upsert(event.after()) : Change.remove(event.id()));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  void onAssetsIngested(AssetsIngestedEvent event) {
+    track(Change.fetch(event.ids()));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  void onAssetsBulkChanged(AssetsBulkChangedEvent event) {
+    if (event.affected() > 0) {
+      track(Change.RELOAD_ALL);
+    }
+  }
+
+  // A partir daqui a listagem vai ao banco; a mudança só entra na fila se o commit acontecer.
+  private void track(Change change) {
+    if (!enabled) {
+      return;
+    }
+    startedWrites.incrementAndGet();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      complete(change, true);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        complete(change, status == STATUS_COMMITTED);
+      }
+    });
+  }
+
+  private void complete(Change change, boolean committed) {
+    if (committed) {
+      changes.add(change);
+    }
+    completedWrites.incrementAndGet();
+  }
+
+  private AssetColumns load() {
+    return primaryTx.execute(status -> {
+      var builder = new AssetColumns.Builder(1024);
+      jdbcTemplate.query(LOAD, rs -> {
+        builder.add(mapRow(rs));
+      });
+      return builder.build();
+    });
+  }
+
+  /**
+   * Novo snapshot a partir do atual: linhas removidas ou alteradas saem, versões novas entram na
+   * posição do id. Ids de ingestão são relidos do banco, que tem o estado mais recente de todos.
+   */
+  private AssetColumns apply(AssetColumns current, List<Change> batch) {
+    if (batch.contains(Change.RELOAD_ALL)) {
+      return loadTimer.record(this::load);
+    }
+
+    Map<Long, AssetResponse> upserts = new TreeMap<>();
+    Set<Long> removed = new HashSet<>();
+    Set<Long> toFetch = new HashSet<>();
+    for (Change change : batch) {
+      if (change.upsert() != null) {
+        upserts.put(change.upsert().id(), change.upsert());
+        removed.remove(change.upsert().id());
+      } else if (change.removed() != null) {
+        upserts.remove(change.removed());
+        removed.add(change.removed());
+      } else {
+        toFetch.addAll(change.fetch());
+      }
+    }
+    if (!toFetch.isEmpty()) {
+      var fetched = fetch(toFetch);
+      for (Long id : toFetch) {
+        var asset = fetched.get(id);
+        if (asset != null) {
+          upserts.put(id, asset);
+          removed.remove(id);
+        } else {
+          upserts.remove(id);
+          removed.add(id);
+        }
+      }
+    }
+
+    // Merge em ordem de id entre as linhas que ficam e as que entram.
+    var builder = new AssetColumns.Builder(current.size() + upserts.size());
+    var incoming = upserts.values().iterator();
+    AssetResponse next = incoming.hasNext() ? incoming.next() : null;
+    for (int row = 0; row < current.size(); row++) {
+      long id = current.id(row);
+      while (next != null && next.id() < id) {
+        builder.add(next);
+        next = incoming.hasNext() ? incoming.next() : null;
+      }
+      if (next != null && next.id() == id) {
+        builder.add(next);
+        next = incoming.hasNext() ? incoming.next() : null;
+      } else if (!removed.contains(id)) {
+        builder.copy(current, row);
+      }
+    }
+    while (next != null) {
+      builder.add(next);
+      next = incoming.hasNext() ? incoming.next() : null;
+    }
+    return builder.build();
+  }
+
+  private Map<Long, AssetResponse> fetch(Set<Long> ids) {
+    Map<Long, AssetResponse> found = new TreeMap<>();
+    primaryTx.executeWithoutResult(status -> jdbcTemplate.query(
+        FETCH,
+        rs -> {
+          var asset = mapRow(rs);
+          found.put(asset.id(), asset);
+        },
+        (Object) ids.toArray(Long[]::new)));
+    return found;
+  }
+
+  private static AssetResponse mapRow(ResultSet rs) throws SQLException {
+    return new AssetResponse(
+        rs.getLong(1),
+        rs.getString(2),
+        rs.getString(3),
+        Category.valueOf(rs.getString(4)),
+        Status.valueOf(rs.getString(5)),
+        rs.getObject(6, LocalDate.class),
+        rs.getObject(10, Double.class),
+        rs.getObject(11, Double.class),
+        rs.getObject(7, OffsetDateTime.class),
+        rs.getObject(8, OffsetDateTime.class),
+        rs.getLong(9));
+  }
+
+  private long rows() {
+    var current = state;
+    return current != null ? current.columns().size() : 0;
+  }
+
+  private long pendingWrites() {
+    var current = state;
+    return current != null ? startedWrites.get() - current.appliedWrites() : 0;
+  }
+
+  private record State(AssetColumns columns, long appliedWrites, Instant refreshedAt) {}
+
+  /** Uma escrita commitada: exatamente um dos campos é preenchido, ou é {@link #RELOAD_ALL}. */
+  private record Change(AssetResponse upsert, Long removed, Set<Long> fetch) {
+
+    static final Change RELOAD_ALL = new Change(null, null, null);
+
+    static Change upsert(AssetResponse asset) {
+      return new Change(asset, null, null);
+    }
+
+    static Change remove(Long id) {
+      return new Change(null, id, null);
+    }
+
+    static Change fetch(Set<Long> ids) {
+      return new Change(null, null, Set.copyOf(ids));
+    }
+  }
+
+  public record Stats(
+      boolean enabled, boolean ready, long rows, long pendingWrites, Instant refreshedAt) {}
+}
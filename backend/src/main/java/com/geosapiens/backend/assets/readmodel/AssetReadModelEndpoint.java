@@ -0,0 +1,28 @@
+package com.geosapiens.backend.assets.readmodel;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/** {@code GET /actuator/assetreadmodel} mostra o estado; {@code POST} força uma recarga. */
+@Component
+@Endpoint(id = "assetreadmodel")
+public class AssetReadModelEndpoint {
+
+  private final AssetReadModel readModel;
+
+  public AssetReadModelEndpoint(AssetReadModel readModel) {
+    this.readModel = readModel;
+  }
+
+  @ReadOperation
+  public AssetReadModel.Stats stats() {
+    return readModel.stats();
+  }
+
+  @WriteOperation
+  public AssetReadModel.Stats reload() {
+    return readModel.reload();
+  }
+}
@@ -0,0 +1,268 @@
+package com.geosapiens.backend.assets.response;
+
+import com.geosapiens.backend.datasource.ReadRoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Compressão gzip das respostas JSON de assets, negociada pelo {@code Accept-Encoding}: corpos a
+ * partir de {@code minSize} bytes saem comprimidos no nível {@code level}. GETs da listagem, dos
+ * clusters do mapa e do lookup por id e por serial passam pelo {@link EncodedResponseCache}: num
+ * hit nem o controller roda, e o corpo já comprimido sai num único write.
+ *
+ * <p>Com réplicas, só respostas montadas sem nenhuma leitura de réplica são guardadas: uma réplica
+ * atrasada gravaria o estado de antes de uma escrita sob a geração nova. Requisições presas ao
+ * primário (read-your-writes) nem consultam nem enchem o cache.
+ *
+ * <p>Brotli não é oferecido: o JDK não tem encoder e gzip é aceito por todo cliente HTTP.
+ */
+class CompressingResponseFilter extends OncePerRequestFilter {
+
+  static final String GZIP = "gzip";
+
+  private static final Pattern CACHEABLE_PATH = Pattern.compile(
+      "/assets(/\\d+|/by-serial/[^/]+|/clusters)?");
+
+  // Recalculados pelo servidor/container a cada resposta; não são reaproveitados do cache.
+  private static final Set<String> UNCACHED_HEADERS = Set.of(
+      HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+      HttpHeaders.CONTENT_ENCODING.toLowerCase(Locale.ROOT),
+      HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+      HttpHeaders.DATE.toLowerCase(Locale.ROOT));
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private final EncodedResponseCache cache;
+  private final boolean compressionEnabled;
+  private final int minSize;
+  private final int level;
+
+  private final Counter rawBytes;
+  private final Counter gzipBytes;
+  private final Timer compressionCpu;
+  private final Counter cacheHits;
+
+  CompressingResponseFilter(
+      EncodedResponseCache cache,
+      MeterRegistry meterRegistry,
+      boolean compressionEnabled,
+      int minSize,
+      int level) {
+    this.cache = cache;
+    this.compressionEnabled = compressionEnabled;
+    this.minSize = minSize;
+    this.level = level;
+
+    this.rawBytes = Counter.builder("assets.compression.bytes")
+        .description("Bytes de respostas comprimidas, antes (raw) e depois (gzip)")
+        .baseUnit("bytes")
+        .tag("stage", "raw")
+        .register(meterRegistry);
+    this.gzipBytes = Counter.builder("assets.compression.bytes")
+        .description("Bytes de respostas comprimidas, antes (raw) e depois (gzip)")
+        .baseUnit("bytes")
+        .tag("stage", "gzip")
+        .register(meterRegistry);
+    this.compressionCpu = Timer.builder("assets.compression.cpu")
+        .description("Tempo de CPU da thread gasto comprimindo respostas")
+        .register(meterRegistry);
+    this.cacheHits = Counter.builder("assets.responses.served")
+        .description("Respostas servidas do cache pré-codificado, sem executar o controller")
+        .tag("source", "cache")
+        .register(meterRegistry);
+    Gauge.builder("assets.compression.ratio", this, CompressingResponseFilter::ratio)
+        .description("Bytes gzip / bytes originais, acumulado")
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return "HEAD".equals(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    boolean gzip = compressionEnabled && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    var key = isCacheable(request)
+        ? cache.key(
+            request.getRequestURI(), request.getQueryString(), request.getHeader(HttpHeaders.ORIGIN))
+        : null;
+
+    if (key != null) {
+      var cached = cache.get(key);
+      if (cached != null) {
+        cacheHits.increment();
+        for (var header : cached.headers()) {
+          response.addHeader(header.getKey(), header.getValue());
+        }
+        write(response, cached.identity(), gzip ? cached.gzip() : null);
+        return;
+      }
+    }
+
+    long replicaReads = ReadRoutingContext.replicaReads();
+    var buffered = new ContentCachingResponseWrapper(response);
+    filterChain.doFilter(request, buffered);
+    // sendError ou flush já entregaram a resposta ao container: segue sem mexer no corpo.
+    if (response.isCommitted()) {
+      buffered.copyBodyToResponse();
+      return;
+    }
+
+    byte[] body = buffered.getContentAsByteArray();
+    boolean json = isPlainJson(buffered);
+    // Abaixo de minSize o cabeçalho e o custo do gzip não compensam.
+    boolean compressible = compressionEnabled && json && body.length >= minSize;
+    boolean storable = key != null && json && buffered.getStatus() == 200
+        && ReadRoutingContext.replicaReads() == replicaReads;
+
+    // Guardado já comprimido: o próximo cliente com gzip não paga a compressão de novo.
+    byte[] compressed = compressible && (gzip || storable) ? compress(body) : null;
+    if (storable) {
+      cache.put(key, new EncodedResponseCache.Entry(headersOf(buffered), body, compressed));
+    }
+    write(response, body, gzip ? compressed : null);
+  }
+
+  private void write(HttpServletResponse response, byte[] identity, byte[] gzip)
+      throws IOException {
+    if (compressionEnabled) {
+      response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+    byte[] body = identity;
+    if (gzip != null) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+      body = gzip;
+    }
+    response.setContentLength(body.length);
+    if (body.length > 0) {
+      response.getOutputStream().write(body);
+    }
+  }
+
+  // Só JSON ainda sem Content-Encoding: é o que a listagem e os lookups produzem.
+  private static boolean isPlainJson(HttpServletResponse response) {
+    if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+      return false;
+    }
+    String contentType = response.getContentType();
+    return contentType != null
+        && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+  }
+
+  private byte[] compress(byte[] body) {
+    long cpuBefore = THREADS.getCurrentThreadCpuTime();
+    var out = new ByteArrayOutputStream(body.length / 4 + 64);
+    try (var gzip = new LeveledGzipOutputStream(out, level)) {
+      gzip.write(body);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    compressionCpu.record(THREADS.getCurrentThreadCpuTime() - cpuBefore, TimeUnit.NANOSECONDS);
+    rawBytes.increment(body.length);
+    gzipBytes.increment(out.size());
+    return out.toByteArray();
+  }
+
+  private boolean isCacheable(HttpServletRequest request) {
+    return cache.isEnabled()
+        && "GET".equals(request.getMethod())
+        // Requisições condicionais seguem para o controller, que responde 304/412.
+        && request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+        && request.getHeader(HttpHeaders.IF_MATCH) == null
+        // Logo após uma escrita do cliente: a resposta tem que vir do primário, não do cache.
+        && !ReadRoutingContext.isPrimaryOnly()
+        && CACHEABLE_PATH.matcher(request.getRequestURI()).matches();
+  }
+
+  private static List<Map.Entry<String, String>> headersOf(HttpServletResponse response) {
+    List<Map.Entry<String, String>> headers = new ArrayList<>();
+    // getHeaderNames repete o nome de headers com vários valores (Vary); getHeaders já traz todos.
+    for (String name : new LinkedHashSet<>(response.getHeaderNames())) {
+      if (UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+        continue;
+      }
+      for (String value : response.getHeaders(name)) {
+        headers.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+      }
+    }
+    if (response.getContentType() != null && response.getHeader(HttpHeaders.CONTENT_TYPE) == null) {
+      headers.add(
+          new AbstractMap.SimpleImmutableEntry<>(HttpHeaders.CONTENT_TYPE, response.getContentType()));
+    }
+    return List.copyOf(headers);
+  }
+
+  /** {@code gzip} aceito com q > 0, diretamente ou por {@code *}. */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return false;
+    }
+    Double gzipQuality = null;
+    Double wildcardQuality = null;
+    for (String part : acceptEncoding.split(",")) {
+      String[] tokens = part.split(";");
+      String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+      double quality = 1;
+      for (int i = 1; i < tokens.length; i++) {
+        String param = tokens[i].trim();
+        if (param.startsWith("q=") || param.startsWith("Q=")) {
+          try {
+            quality = Double.parseDouble(param.substring(2).trim());
+          } catch (NumberFormatException ex) {
+            quality = 0;
+          }
+        }
+      }
+      if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+        gzipQuality = quality;
+      } else if ("*".equals(coding)) {
+        wildcardQuality = quality;
+      }
+    }
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    }
+    return wildcardQuality != null && wildcardQuality > 0;
+  }
+
+  private double ratio() {
+    double raw = rawBytes.count();
+    return raw == 0 ? 0 : gzipBytes.count() / raw;
+  }
+
+  private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+    LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+      super(out, 8192);
+      def.setLevel(level);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.geosapiens.backend.assets.response;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.AssetsBulkChangedEvent;
+import com.geosapiens.backend.assets.AssetsIngestedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Respostas GET de assets já serializadas (e já comprimidas, quando passam do limite), prontas para
+ * um único write. Qualquer escrita confirmada incrementa a geração e esvazia o cache; a chave leva a
+ * geração lida no início da requisição, então uma resposta montada antes de um commit e guardada
+ * depois nunca é servida. {@code ttl} limita o que esta instância não vê: escritas feitas por outras
+ * instâncias.
+ *
+ * <p>Sem {@code enabled} explícito, o cache fica desligado quando há réplicas de leitura: o filtro
+ * não guarda respostas lidas de réplica, então com réplicas saudáveis quase nada seria guardado.
+ */
+@Component
+public class EncodedResponseCache {
+
+  private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+  private final boolean enabled;
+  private final AtomicLong generation = new AtomicLong();
+  private final Cache<Key, Entry> entries;
+
+  public EncodedResponseCache(
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.response-cache.enabled:}") Boolean enabled,
+      @Value("${app.datasource.replicas.enabled:false}") boolean replicasEnabled,
+      @Value("${app.assets.response-cache.max-size-mib:32}") long maxSizeMib,
+      @Value("${app.assets.response-cache.ttl:10s}") Duration ttl) {
+    this.enabled = enabled != null ? enabled : !replicasEnabled;
+    this.entries = Caffeine.newBuilder()
+        .maximumWeight(maxSizeMib * 1024 * 1024)
+        .<Key, Entry>weigher((key, entry) -> entry.weight())
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, entries, "assets.responses");
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Chave com a geração atual: leia antes de executar a requisição. */
+  Key key(String uri, String query, String origin) {
+    return new Key(generation.get(), uri, query, origin);
+  }
+
+  Entry get(Key key) {
+    return entries.getIfPresent(key);
+  }
+
+  void put(Key key, Entry entry) {
+    if (key.generation() == generation.get()) {
+      entries.put(key, entry);
+    }
+  }
+
+  long generation() {
+    return generation.get();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetChanged(AssetChangedEvent event) {
+    invalidate();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetsIngested(AssetsIngestedEvent event) {
+    invalidate();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetsBulkChanged(AssetsBulkChangedEvent event) {
+    if (event.affected() > 0) {
+      invalidate();
+    }
+  }
+
+  private void invalidate() {
+    generation.incrementAndGet();
+    entries.invalidateAll();
+  }
+
+  record Key(long generation, String uri, String query, String origin) {}
+
+  /**
+   * Resposta pronta: headers da primeira execução (Content-Type, ETag, CORS...), corpo original e,
+   * acima do limite de compressão, o corpo em gzip.
+   */
+  record Entry(List<Map.Entry<String, String>> headers, byte[] identity, byte[] gzip) {
+
+    int weight() {
+      return ENTRY_OVERHEAD_BYTES + identity.length + (gzip != null ? gzip.length : 0);
+    }
+  }
+}
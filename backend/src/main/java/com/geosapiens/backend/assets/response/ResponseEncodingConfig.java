@@ -0,0 +1,29 @@
+package com.geosapiens.backend.assets.response;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ResponseEncodingConfig {
+
+  @Bean
+  FilterRegistrationBean<CompressingResponseFilter> compressingResponseFilter(
+      EncodedResponseCache cache,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.compression.enabled:true}") boolean enabled,
+      @Value("${app.assets.compression.min-size:1024}") int minSize,
+      @Value("${app.assets.compression.level:5}") int level) {
+    var filter = new CompressingResponseFilter(
+        cache, meterRegistry, enabled, minSize, Math.clamp(level, 1, 9));
+    var registration = new FilterRegistrationBean<>(filter);
+    // Payloads do AssetController e os multi-gets, que são as respostas grandes.
+    registration.addUrlPatterns("/assets", "/assets/*", "/assets:batchGet");
+    // Depois do ReadYourWritesFilter, que precisa ver todas as requisições, inclusive os hits.
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+    return registration;
+  }
+}
@@ -0,0 +1,114 @@
+package com.geosapiens.backend.assets.serial;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter thread-safe sobre serial numbers. Nunca gera falso negativo para valores inseridos;
+ * falsos positivos ocorrem com probabilidade próxima à configurada enquanto o número de inserções
+ * não passa do esperado.
+ */
+final class SerialNumberBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashFunctions;
+  private final LongAdder insertions = new LongAdder();
+
+  private SerialNumberBloomFilter(long bitSize, int hashFunctions) {
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bitSize + 63) / 64);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitSize = (long) wordCount * 64;
+    this.hashFunctions = hashFunctions;
+  }
+
+  static SerialNumberBloomFilter create(long expectedInsertions, double fpp) {
+    if (expectedInsertions < 1) {
+      throw new IllegalArgumentException("expectedInsertions deve ser >= 1");
+    }
+    if (!(fpp > 0 && fpp < 1)) {
+      throw new IllegalArgumentException("fpp deve estar entre 0 e 1");
+    }
+
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+    int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+    return new SerialNumberBloomFilter(Math.max(64, bits), hashes);
+  }
+
+  void put(String value) {
+    long hash = hash64(value);
+    long h1 = mix64(hash);
+    long h2 = mix64(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+
+    for (int i = 0; i < hashFunctions; i++) {
+      setBit(Math.floorMod(h1 + i * h2, bitSize));
+    }
+    insertions.increment();
+  }
+
+  boolean mightContain(String value) {
+    long hash = hash64(value);
+    long h1 = mix64(hash);
+    long h2 = mix64(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitSize);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  long insertions() {
+    return insertions.sum();
+  }
+
+  long bitSize() {
+    return bitSize;
+  }
+
+  int hashFunctions() {
+    return hashFunctions;
+  }
+
+  /** Probabilidade de falso positivo estimada a partir da fração de bits ligados. */
+  double expectedFpp() {
+    long setBits = 0;
+    for (int i = 0; i < words.length(); i++) {
+      setBits += Long.bitCount(words.get(i));
+    }
+    return Math.pow((double) setBits / bitSize, hashFunctions);
+  }
+
+  private void setBit(long bit) {
+    int index = (int) (bit >>> 6);
+    long mask = 1L << bit;
+    long current;
+    do {
+      current = words.get(index);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!words.compareAndSet(index, current, current | mask));
+  }
+
+  // FNV-1a de 64 bits sobre os chars, sem alocar o array de bytes do String.
+  private static long hash64(String value) {
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  // Finalizador do MurmurHash3: espalha os bits para o double hashing de Kirsch-Mitzenmacher.
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return z ^ (z >>> 33);
+  }
+}
@@ -0,0 +1,241 @@
+package com.geosapiens.backend.assets.serial;
+
+import com.geosapiens.backend.assets.AssetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Filtro de existência de serial numbers usado para evitar o {@code existsBySerialNumber} quando o
+ * serial certamente é novo. Só "não" é resposta definitiva; "talvez" sempre cai no banco, e a
+ * constraint {@code assets_serial_number_uk} continua sendo a garantia final de unicidade.
+ */
+@Component
+public class SerialNumberFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(SerialNumberFilter.class);
+
+  private final AssetRepository assetRepository;
+  private final TransactionTemplate readOnlyTx;
+  private final boolean enabled;
+  private final long expectedInsertions;
+  private final double fpp;
+  private final double autoRebuildStaleRatio;
+
+  private volatile SerialNumberBloomFilter current;
+  private volatile SerialNumberBloomFilter building;
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private final AtomicLong staleEntries = new AtomicLong();
+
+  private final Counter definiteMisses;
+  private final Counter possibleHits;
+  private final Counter falsePositives;
+  private final Counter bypassed;
+
+  public SerialNumberFilter(
+      AssetRepository assetRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.serial-filter.enabled:true}") boolean enabled,
+      @Value("${app.assets.serial-filter.expected-insertions:1000000}") long expectedInsertions,
+      @Value("${app.assets.serial-filter.fpp:0.01}") double fpp,
+      @Value("${app.assets.serial-filter.auto-rebuild-stale-ratio:0.25}") double autoRebuildStaleRatio) {
+    this.assetRepository = assetRepository;
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.enabled = enabled;
+    this.expectedInsertions = expectedInsertions;
+    this.fpp = fpp;
+    this.autoRebuildStaleRatio = autoRebuildStaleRatio;
+
+    this.definiteMisses = checks(meterRegistry, "definite_miss");
+    this.possibleHits = checks(meterRegistry, "possible_hit");
+    this.bypassed = checks(meterRegistry, "bypassed");
+    this.falsePositives = Counter.builder("assets.serial.filter.false.positives")
+        .description("Consultas ao banco em que o filtro disse 'talvez' e o serial não existia")
+        .register(meterRegistry);
+
+    Gauge.builder("assets.serial.filter.observed.fpr", this, SerialNumberFilter::observedFalsePositiveRate)
+        .description("Taxa de falso positivo observada nas checagens de create")
+        .register(meterRegistry);
+    Gauge.builder("assets.serial.filter.expected.fpp", this, SerialNumberFilter::expectedFpp)
+        .description("Taxa de falso positivo estimada pela saturação de bits")
+        .register(meterRegistry);
+    Gauge.builder("assets.serial.filter.entries", this, f -> f.entries())
+        .register(meterRegistry);
+    Gauge.builder("assets.serial.filter.stale.entries", staleEntries, AtomicLong::get)
+        .description("Seriais removidos/alterados desde o último rebuild")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void warmUp() {
+    if (!enabled) {
+      log.info("Filtro de serial numbers desabilitado.");
+      return;
+    }
+    // Aquece fora da thread principal: até terminar, mightContain responde "talvez" (cai no banco).
+    Thread.ofVirtual().name("serial-filter-warmup").start(this::rebuildQuietly);
+  }
+
+  /** {@code false} significa que o serial certamente não está cadastrado. */
+  public boolean mightContain(String serialNumber) {
+    var filter = current;
+    if (filter == null) {
+      bypassed.increment();
+      return true;
+    }
+
+    if (filter.mightContain(serialNumber)) {
+      possibleHits.increment();
+      return true;
+    }
+    definiteMisses.increment();
+    return false;
+  }
+
+  public void recordFalsePositive() {
+    falsePositives.increment();
+  }
+
+  public void put(String serialNumber) {
+    var filter = current;
+    if (filter != null) {
+      filter.put(serialNumber);
+    }
+    var next = building;
+    if (next != null) {
+      next.put(serialNumber);
+    }
+  }
+
+  /** Registra que um serial saiu da tabela; bits não podem ser desligados, só reconstruídos. */
+  public void markStale() {
+    markStale(1);
+  }
+
+  public void markStale(long count) {
+    if (count <= 0) {
+      return;
+    }
+    long stale = staleEntries.addAndGet(count);
+    var filter = current;
+    if (autoRebuildStaleRatio > 0
+        && filter != null
+        && !rebuilding.get()
+        && stale > filter.insertions() * autoRebuildStaleRatio) {
+      Thread.ofVirtual().name("serial-filter-rebuild").start(this::rebuildQuietly);
+    }
+  }
+
+  /**
+   * Reconstrói o filtro lendo a coluna em streaming. Escritas concorrentes vão para o filtro atual e
+   * para o novo; a troca é atômica. Retorna {@code null} quando já há um rebuild em andamento.
+   */
+  public Stats rebuild() {
+    if (!enabled || !rebuilding.compareAndSet(false, true)) {
+      return null;
+    }
+
+    try {
+      long started = System.nanoTime();
+      long rows = readOnlyTx.execute(status -> assetRepository.count());
+      var next = SerialNumberBloomFilter.create(Math.max(expectedInsertions, rows * 2), fpp);
+      long staleBefore = staleEntries.get();
+      building = next;
+
+      readOnlyTx.executeWithoutResult(status -> {
+        try (Stream<String> serials = assetRepository.streamAllSerialNumbers()) {
+          serials.forEach(next::put);
+        }
+      });
+
+      current = next;
+      building = null;
+      staleEntries.addAndGet(-staleBefore);
+
+      log.info(
+          "Filtro de serial numbers reconstruído: {} entradas, {} bits, {} hashes em {} ms.",
+          next.insertions(),
+          next.bitSize(),
+          next.hashFunctions(),
+          (System.nanoTime() - started) / 1_000_000);
+    } finally {
+      building = null;
+      rebuilding.set(false);
+    }
+    return stats();
+  }
+
+  public Stats stats() {
+    var filter = current;
+    return new Stats(
+        enabled,
+        filter != null,
+        rebuilding.get(),
+        entries(),
+        filter != null ? filter.bitSize() : 0,
+        staleEntries.get(),
+        expectedFpp(),
+        observedFalsePositiveRate(),
+        (long) definiteMisses.count(),
+        (long) possibleHits.count(),
+        (long) falsePositives.count());
+  }
+
+  private void rebuildQuietly() {
+    try {
+      rebuild();
+    } catch (RuntimeException ex) {
+      log.warn("Falha ao reconstruir o filtro de serial numbers; checagens seguem indo ao banco.", ex);
+    }
+  }
+
+  private long entries() {
+    var filter = current;
+    return filter != null ? filter.insertions() : 0;
+  }
+
+  private double expectedFpp() {
+    var filter = current;
+    return filter != null ? filter.expectedFpp() : 0;
+  }
+
+  // Falso positivo sobre todos os "negativos reais": FP / (FP + misses definitivos).
+  private double observedFalsePositiveRate() {
+    double fp = falsePositives.count();
+    double negatives = fp + definiteMisses.count();
+    return negatives == 0 ? 0 : fp / negatives;
+  }
+
+  private static Counter checks(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("assets.serial.filter.checks")
+        .description("Checagens de unicidade de serial number respondidas pelo filtro")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  public record Stats(
+      boolean enabled,
+      boolean ready,
+      boolean rebuilding,
+      long entries,
+      long bits,
+      long staleEntries,
+      double expectedFpp,
+      double observedFalsePositiveRate,
+      long definiteMisses,
+      long possibleHits,
+      long falsePositives) {}
+}
@@ -0,0 +1,29 @@
+package com.geosapiens.backend.assets.serial;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/** {@code GET /actuator/serialfilter} mostra o estado; {@code POST} força um rebuild. */
+@Component
+@Endpoint(id = "serialfilter")
+public class SerialNumberFilterEndpoint {
+
+  private final SerialNumberFilter serialNumberFilter;
+
+  public SerialNumberFilterEndpoint(SerialNumberFilter serialNumberFilter) {
+    this.serialNumberFilter = serialNumberFilter;
+  }
+
+  @ReadOperation
+  public SerialNumberFilter.Stats stats() {
+    return serialNumberFilter.stats();
+  }
+
+  @WriteOperation
+  public SerialNumberFilter.Stats rebuild() {
+    var rebuilt = serialNumberFilter.rebuild();
+    return rebuilt != null ? rebuilt : serialNumberFilter.stats();
+  }
+}
@@ -0,0 +1,282 @@
+package com.geosapiens.backend.assets.suggest;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.AssetsBulkChangedEvent;
+import com.geosapiens.backend.assets.AssetsIngestedEvent;
+import com.geosapiens.backend.assets.dto.AssetSuggestionResponse;
+import com.geosapiens.backend.assets.dto.AssetSuggestionResponse.Field;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice de prefixos em memória para o type-ahead: um {@link ConcurrentSkipListMap} ordenado pelo
+ * nome e pelo serial normalizados (sem acento, minúsculo, espaços colapsados), com o id no fim da
+ * chave para nomes repetidos. Completar um prefixo é um {@code tailMap} lido até a chave deixar de
+ * começar com ele: leitores não travam e nunca vão ao banco.
+ *
+ * <p>Escritas chegam pelos eventos após o commit. Remoções e arquivamentos em lote recarregam tudo
+ * em segundo plano; escritas que chegam durante a recarga valem nos dois índices, e a carga não
+ * sobrescreve ids que elas já tocaram.
+ */
+@Component
+public class AssetSuggestionIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetSuggestionIndex.class);
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SPACES = Pattern.compile("[\\s\\p{Cntrl}]+");
+  private static final char SEPARATOR = '\u0000';
+
+  private static final String COLUMNS = "SELECT id, name, serial_number FROM assets ";
+  private static final String LOAD = COLUMNS + "WHERE deleted_at IS NULL";
+  private static final String FETCH = COLUMNS + "WHERE id = ANY(?) AND deleted_at IS NULL";
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private final boolean enabled;
+  private final JdbcTemplate jdbcTemplate;
+  // Não read-only: vai ao primário, que já tem as escritas cujos eventos recebemos.
+  private final TransactionTemplate primaryTx;
+
+  private volatile Index current;
+  // Guardado por this, assim como as escritas em current: a troca nunca perde uma escrita.
+  private Index building;
+  private final AtomicBoolean reloading = new AtomicBoolean();
+
+  private final Timer suggestTimer;
+
+  public AssetSuggestionIndex(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.suggest.enabled:true}") boolean enabled) {
+    this.enabled = enabled;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.primaryTx = new TransactionTemplate(transactionManager);
+
+    this.suggestTimer = Timer.builder("assets.suggest")
+        .description("Latência do type-ahead em memória")
+        .register(meterRegistry);
+    Gauge.builder("assets.suggest.entries", this, i -> i.entries())
+        .description("Chaves no índice de prefixos (nome e serial por asset)")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void warmUp() {
+    if (enabled) {
+      reloadInBackground();
+    }
+  }
+
+  public boolean isReady() {
+    return current != null;
+  }
+
+  /**
+   * Até {@code limit} assets com nome ou serial começando por {@code prefix} (normalizado), em
+   * ordem alfabética do termo normalizado: "abcdefgh" vem antes de "abz", e um termo só vem antes
+   * dos que o estendem ("notebook" antes de "notebook dell"). Não é um top-k por tamanho: a leitura
+   * para nos primeiros {@code limit} do {@code tailMap}. Vazio enquanto o índice não carregou.
+   */
+  public List<AssetSuggestionResponse> suggest(String prefix, int limit) {
+    var index = current;
+    String normalized = normalize(prefix);
+    if (index == null || normalized.isEmpty()) {
+      return List.of();
+    }
+    return suggestTimer.record(() -> index.complete(normalized, limit));
+  }
+
+  /** Recarrega do banco; {@code false} se outra recarga já está em andamento. */
+  public boolean reload() {
+    if (!enabled || !reloading.compareAndSet(false, true)) {
+      return false;
+    }
+    try {
+      long startedAt = System.nanoTime();
+      var next = new Index();
+      synchronized (this) {
+        building = next;
+      }
+      primaryTx.executeWithoutResult(status -> jdbcTemplate.query(LOAD, rs -> {
+        next.load(rs.getLong(1), rs.getString(2), rs.getString(3));
+      }));
+      synchronized (this) {
+        next.finishLoad();
+        current = next;
+        building = null;
+      }
+      log.info(
+          "Índice de sugestões carregado: {} chaves em {} ms.",
+          next.size(), (System.nanoTime() - startedAt) / 1_000_000);
+      return true;
+    } finally {
+      synchronized (this) {
+        building = null;
+      }
+      reloading.set(false);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetChanged(AssetChangedEvent event) {
+    if (event.after() != null) {
+      apply(event.id(), event.after().name(), event.after().serialNumber());
+    } else {
+      apply(event.id(), null, null);
+    }
+  }
+
+  // Heartbeats podem renomear; relê só os ids alterados.
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetsIngested(AssetsIngestedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    Map<Long, String[]> found = new HashMap<>();
+    primaryTx.executeWithoutResult(status -> jdbcTemplate.query(
+        FETCH,
+        rs -> {
+          found.put(rs.getLong(1), new String[] {rs.getString(2), rs.getString(3)});
+        },
+        (Object) event.ids().toArray(Long[]::new)));
+    for (Long id : event.ids()) {
+      var row = found.get(id);
+      apply(id, row != null ? row[0] : null, row != null ? row[1] : null);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onAssetsBulkChanged(AssetsBulkChangedEvent event) {
+    // Troca de status não mexe em nome nem serial.
+    if (event.affected() > 0
+        && event.operation() != AssetsBulkChangedEvent.Operation.STATUS_CHANGED) {
+      reloadInBackground();
+    }
+  }
+
+  private synchronized void apply(long id, String name, String serialNumber) {
+    if (current != null) {
+      current.put(id, name, serialNumber);
+    }
+    if (building != null) {
+      building.touch(id, name, serialNumber);
+    }
+  }
+
+  private void reloadInBackground() {
+    if (!enabled) {
+      return;
+    }
+    Thread.ofVirtual().name("asset-suggest-reload").start(() -> {
+      try {
+        reload();
+      } catch (RuntimeException ex) {
+        log.warn("Falha ao carregar o índice de sugestões; mantido o anterior.", ex);
+      }
+    });
+  }
+
+  private long entries() {
+    var index = current;
+    return index != null ? index.size() : 0;
+  }
+
+  static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+    return SPACES.matcher(stripped).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+  }
+
+  /** Chaves {@code termo + \0 + id}; {@code keysById} permite trocar ou remover as de um asset. */
+  static final class Index {
+
+    private final ConcurrentSkipListMap<String, AssetSuggestionResponse> entries =
+        new ConcurrentSkipListMap<>();
+    private final Map<Long, String[]> keysById = new HashMap<>();
+    // Ids escritos durante a carga: a versão do evento é mais nova que a do streaming.
+    private final Set<Long> touched = new HashSet<>();
+
+    List<AssetSuggestionResponse> complete(String prefix, int limit) {
+      List<AssetSuggestionResponse> found = new ArrayList<>(limit);
+      Set<Long> seen = new HashSet<>();
+      for (var entry : entries.tailMap(prefix).entrySet()) {
+        if (!entry.getKey().startsWith(prefix)) {
+          break;
+        }
+        var suggestion = entry.getValue();
+        if (seen.add(suggestion.id())) {
+          found.add(suggestion);
+          if (found.size() == limit) {
+            break;
+          }
+        }
+      }
+      return found;
+    }
+
+    /** {@code name == null} remove o asset. */
+    synchronized void put(long id, String name, String serialNumber) {
+      var previous = keysById.remove(id);
+      if (previous != null) {
+        entries.remove(previous[0]);
+        entries.remove(previous[1]);
+      }
+      if (name == null) {
+        return;
+      }
+
+      String nameKey = normalize(name) + SEPARATOR + id;
+      String serialKey = normalize(serialNumber) + SEPARATOR + id;
+      entries.put(nameKey, new AssetSuggestionResponse(id, name, serialNumber, Field.NAME));
+      entries.put(serialKey, new AssetSuggestionResponse(id, name, serialNumber, Field.SERIAL));
+      keysById.put(id, new String[] {nameKey, serialKey});
+    }
+
+    synchronized void touch(long id, String name, String serialNumber) {
+      touched.add(id);
+      put(id, name, serialNumber);
+    }
+
+    synchronized void load(long id, String name, String serialNumber) {
+      if (!touched.contains(id)) {
+        put(id, name, serialNumber);
+      }
+    }
+
+    synchronized void finishLoad() {
+      touched.clear();
+    }
+
+    int size() {
+      return entries.size();
+    }
+  }
+}
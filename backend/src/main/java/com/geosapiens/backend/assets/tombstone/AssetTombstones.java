@@ -0,0 +1,169 @@
+package com.geosapiens.backend.assets.tombstone;
+
+import com.geosapiens.backend.assets.dto.AssetTombstoneResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tombstones do soft delete: leitura incremental para sincronização e remoção física depois de
+ * {@code retention}. O purge roda em lotes pequenos, cada um em sua própria transação, com
+ * {@code SKIP LOCKED}: nenhum lock dura mais que um lote e o autovacuum acompanha entre eles.
+ */
+@Component
+public class AssetTombstones {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetTombstones.class);
+
+  private static final OffsetDateTime EPOCH = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+
+  private static final String FIND_PAGE = """
+      SELECT id, serial_number, version, deleted_at
+      FROM assets
+      WHERE deleted_at IS NOT NULL AND (deleted_at, id) > (?, ?)
+      ORDER BY deleted_at, id
+      LIMIT ?
+      """;
+
+  private static final String PURGE_BATCH = """
+      WITH batch AS (
+        SELECT id, acquisition_date
+        FROM assets
+        WHERE deleted_at < ?
+        ORDER BY deleted_at
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+      )
+      DELETE FROM assets a
+      USING batch b
+      WHERE a.id = b.id AND a.acquisition_date = b.acquisition_date
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate tx;
+  private final boolean enabled;
+  private final Duration retention;
+  private final int batchSize;
+  private final int maxBatches;
+  private final Duration batchPause;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final Timer runTimer;
+  private final Counter purgedCounter;
+  private volatile Run lastRun;
+
+  public AssetTombstones(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.assets.delete.purge-enabled:true}") boolean enabled,
+      @Value("${app.assets.delete.retention:30d}") Duration retention,
+      @Value("${app.assets.delete.purge-batch-size:500}") int batchSize,
+      @Value("${app.assets.delete.purge-max-batches:2000}") int maxBatches,
+      @Value("${app.assets.delete.purge-batch-pause:50ms}") Duration batchPause) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.retention = retention;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxBatches = Math.max(1, maxBatches);
+    this.batchPause = batchPause;
+
+    this.runTimer = Timer.builder("assets.tombstones.purge.run")
+        .description("Duração de cada rodada de purge de tombstones")
+        .register(meterRegistry);
+    this.purgedCounter = Counter.builder("assets.tombstones.purged")
+        .description("Tombstones removidos fisicamente")
+        .register(meterRegistry);
+  }
+
+  /** Até {@code limit} tombstones depois de {@code (since, afterId)}; nulos = desde o início. */
+  public List<AssetTombstoneResponse> find(OffsetDateTime since, Long afterId, int limit) {
+    return jdbcTemplate.query(
+        FIND_PAGE,
+        (rs, rowNum) -> new AssetTombstoneResponse(
+            rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getObject(4, OffsetDateTime.class)),
+        since != null ? since : EPOCH,
+        afterId != null ? afterId : Long.MIN_VALUE,
+        limit);
+  }
+
+  @Scheduled(cron = "${app.assets.delete.purge-cron:0 0 4 * * *}", zone = "UTC")
+  public void scheduledPurge() {
+    if (enabled) {
+      purge();
+    }
+  }
+
+  /** Roda uma rodada completa; devolve {@code null} se outra já estiver em andamento. */
+  public Run purge() {
+    if (!running.compareAndSet(false, true)) {
+      return null;
+    }
+
+    try {
+      var cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(retention);
+      long startedAt = System.nanoTime();
+      long purged = 0;
+      int batches = 0;
+
+      while (batches < maxBatches) {
+        Integer inBatch = tx.execute(status -> jdbcTemplate.update(PURGE_BATCH, cutoff, batchSize));
+        batches++;
+        purged += inBatch;
+        if (inBatch < batchSize || !pause()) {
+          break;
+        }
+      }
+
+      var duration = Duration.ofNanos(System.nanoTime() - startedAt);
+      runTimer.record(duration);
+      purgedCounter.increment(purged);
+      lastRun = new Run(Instant.now(), cutoff, purged, batches, duration.toMillis());
+
+      if (purged > 0) {
+        log.info(
+            "Purge de tombstones: {} assets removidos em {} lotes ({} ms).",
+            purged, batches, duration.toMillis());
+      }
+      return lastRun;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  public Run lastRun() {
+    return lastRun;
+  }
+
+  // Respiro entre lotes para réplicas e autovacuum; false se a thread foi interrompida.
+  private boolean pause() {
+    if (batchPause.isZero()) {
+      return true;
+    }
+    try {
+      Thread.sleep(batchPause);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  public record Run(
+      Instant finishedAt, OffsetDateTime cutoff, long purged, int batches, long durationMillis) {}
+}
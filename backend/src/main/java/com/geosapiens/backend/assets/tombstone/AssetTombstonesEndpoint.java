@@ -0,0 +1,47 @@
+package com.geosapiens.backend.assets.tombstone;
+
+import java.time.OffsetDateTime;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/assettombstones} mostra quantos tombstones existem e a última rodada de
+ * purge; {@code POST} dispara uma rodada.
+ */
+@Component
+@Endpoint(id = "assettombstones")
+public class AssetTombstonesEndpoint {
+
+  // Usa o índice parcial assets_deleted_at_idx.
+  private static final String COUNT = """
+      SELECT count(*), min(deleted_at) FROM assets WHERE deleted_at IS NOT NULL
+      """;
+
+  private final AssetTombstones tombstones;
+  private final JdbcTemplate jdbcTemplate;
+
+  public AssetTombstonesEndpoint(AssetTombstones tombstones, JdbcTemplate jdbcTemplate) {
+    this.tombstones = tombstones;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @ReadOperation
+  public Report report() {
+    return jdbcTemplate.queryForObject(COUNT, (rs, rowNum) -> new Report(
+        rs.getLong(1),
+        rs.getObject(2, OffsetDateTime.class),
+        tombstones.lastRun()));
+  }
+
+  @WriteOperation
+  public AssetTombstones.Run purge() {
+    var run = tombstones.purge();
+    return run != null ? run : tombstones.lastRun();
+  }
+
+  public record Report(
+      long tombstones, OffsetDateTime oldestDeletedAt, AssetTombstones.Run lastRun) {}
+}
@@ -1,10 +1,12 @@
 package com.geosapiens.backend.config;
 
+import com.geosapiens.backend.datasource.ReadRoutingContext;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -26,8 +28,10 @@ public class CorsConfig implements WebMvcConfigurer {
     registry
         .addMapping("/**")
         .allowedOrigins(allowedOrigins.toArray(String[]::new))
-        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         .allowedHeaders("*")
+        .exposedHeaders(
+            HttpHeaders.ETAG, HttpHeaders.RETRY_AFTER, ReadRoutingContext.LAST_WRITE_HEADER)
         .allowCredentials(false)
         .maxAge(3600);
   }
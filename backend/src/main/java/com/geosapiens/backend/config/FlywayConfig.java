@@ -0,0 +1,22 @@
+package com.geosapiens.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class FlywayConfig {
+
+  // Com Spring AOT a condição spring.flyway.enabled é avaliada no build e o bean do Flyway sempre
+  // existe; checar a propriedade aqui permite desligar a migração em runtime (ex.: treino do CDS).
+  @Bean
+  FlywayMigrationStrategy flywayMigrationStrategy(
+      @Value("${spring.flyway.enabled:true}") boolean enabled) {
+    return flyway -> {
+      if (enabled) {
+        flyway.migrate();
+      }
+    };
+  }
+}
@@ -0,0 +1,32 @@
+package com.geosapiens.backend.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Com {@code spring.main.lazy-initialization=true} (profile {@code lazy}), beans com métodos
+ * {@code @Scheduled} precisam continuar eager: o agendamento só é registrado quando o bean é criado,
+ * e um bean lazy nunca pedido por ninguém nunca rodaria.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+  @Bean
+  static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+    return (beanName, beanDefinition, beanType) -> hasScheduledMethods(beanType);
+  }
+
+  private static boolean hasScheduledMethods(Class<?> beanType) {
+    var found = new AtomicBoolean();
+    ReflectionUtils.doWithMethods(
+        beanType,
+        method -> found.set(true),
+        method -> !found.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+    return found.get();
+  }
+}
@@ -0,0 +1,57 @@
+package com.geosapiens.backend.config;
+
+import com.geosapiens.backend.assets.AssetFilter;
+import com.geosapiens.backend.assets.AssetService;
+import com.geosapiens.backend.assets.dto.AssetsPageResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Executa uma listagem completa (query, paginação e serialização) antes de a aplicação ser dada como
+ * pronta: a primeira requisição real deixa de pagar carga de classes, compilação de queries do
+ * Hibernate e montagem dos serializers do Jackson. Roda dentro do ApplicationReadyEvent, então o
+ * readiness probe só fica UP depois dele.
+ */
+@Component
+public class StartupWarmup {
+
+  private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+  private final AssetService assetService;
+  private final JsonMapper jsonMapper;
+  private final boolean enabled;
+
+  // Flag checada em runtime, como em FlywayConfig: com Spring AOT um @ConditionalOn... seria
+  // resolvido no build e APP_STARTUP_WARMUP_ENABLED não teria efeito na imagem.
+  public StartupWarmup(
+      AssetService assetService,
+      JsonMapper jsonMapper,
+      @Value("${app.startup.warmup.enabled:true}") boolean enabled) {
+    this.assetService = assetService;
+    this.jsonMapper = jsonMapper;
+    this.enabled = enabled;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (!enabled) {
+      return;
+    }
+    long startedAt = System.nanoTime();
+    try {
+      var pageable = PageRequest.of(0, 1, Sort.by(Sort.Order.desc("id")));
+      var page = assetService.search(new AssetFilter(null, null, null), false, pageable);
+      jsonMapper.writeValueAsBytes(AssetsPageResponse.fromPage(page));
+      log.info("Warm-up concluído em {} ms.", (System.nanoTime() - startedAt) / 1_000_000);
+    } catch (RuntimeException ex) {
+      log.warn("Warm-up falhou; a primeira requisição vai pagar a inicialização.", ex);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.geosapiens.backend.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/datasourcepool} mostra ocupação e tempo de aquisição do pool do primário;
+ * {@code POST} com {@code maximumPoolSize} (e opcionalmente {@code minimumIdle}) redimensiona o pool
+ * em runtime. Com réplicas ligadas o DataSource exposto é um LazyConnectionDataSourceProxy, por isso
+ * o Hikari é obtido via {@link DataSourceUnwrapper}.
+ */
+@Component
+@Endpoint(id = "datasourcepool")
+public class DataSourcePoolEndpoint {
+
+  static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+  private static final Logger log = LoggerFactory.getLogger(DataSourcePoolEndpoint.class);
+
+  private final HikariDataSource pool;
+  private final MeterRegistry meterRegistry;
+
+  public DataSourcePoolEndpoint(DataSource dataSource, MeterRegistry meterRegistry) {
+    this.pool = DataSourceUnwrapper.unwrap(
+        dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+    if (this.pool == null) {
+      throw new IllegalStateException("O DataSource do primário não é um HikariDataSource.");
+    }
+    this.meterRegistry = meterRegistry;
+  }
+
+  @ReadOperation
+  public PoolReport report() {
+    HikariConfigMXBean config = pool.getHikariConfigMXBean();
+    // O pool só existe depois da primeira conexão.
+    HikariPoolMXBean state = pool.getHikariPoolMXBean();
+    Timer acquire = meterRegistry.find(ACQUIRE_TIMER).tag("pool", config.getPoolName()).timer();
+
+    return new PoolReport(
+        config.getPoolName(),
+        config.getMaximumPoolSize(),
+        config.getMinimumIdle(),
+        config.getConnectionTimeout(),
+        state != null ? state.getActiveConnections() : 0,
+        state != null ? state.getIdleConnections() : 0,
+        state != null ? state.getTotalConnections() : 0,
+        state != null ? state.getThreadsAwaitingConnection() : 0,
+        acquire != null ? acquire.count() : 0,
+        acquire != null ? acquire.mean(TimeUnit.MILLISECONDS) : 0,
+        acquire != null ? acquire.max(TimeUnit.MILLISECONDS) : 0);
+  }
+
+  /**
+   * Aumentar vale na hora: requisições esperando abrem conexões novas até o limite. Ao reduzir, as
+   * conexões atuais são despejadas (as ociosas já, as em uso ao voltarem) e o pool refaz até o novo
+   * mínimo.
+   */
+  @WriteOperation
+  public PoolReport resize(int maximumPoolSize, @Nullable Integer minimumIdle) {
+    if (maximumPoolSize < 1) {
+      throw new InvalidEndpointRequestException(
+          "maximumPoolSize deve ser >= 1.", "maximumPoolSize inválido");
+    }
+    int newMinimumIdle = minimumIdle != null
+        ? minimumIdle
+        : Math.min(pool.getHikariConfigMXBean().getMinimumIdle(), maximumPoolSize);
+    if (newMinimumIdle < 0 || newMinimumIdle > maximumPoolSize) {
+      throw new InvalidEndpointRequestException(
+          "minimumIdle deve estar entre 0 e maximumPoolSize.", "minimumIdle inválido");
+    }
+
+    HikariConfigMXBean config = pool.getHikariConfigMXBean();
+    int previousMaximum = config.getMaximumPoolSize();
+    config.setMaximumPoolSize(maximumPoolSize);
+    config.setMinimumIdle(newMinimumIdle);
+    HikariPoolMXBean state = pool.getHikariPoolMXBean();
+    if (maximumPoolSize < previousMaximum && state != null) {
+      state.softEvictConnections();
+    }
+
+    log.info(
+        "Pool {} redimensionado: maximumPoolSize {} -> {}, minimumIdle {}.",
+        config.getPoolName(), previousMaximum, maximumPoolSize, newMinimumIdle);
+    return report();
+  }
+
+  public record PoolReport(
+      String poolName,
+      int maximumPoolSize,
+      int minimumIdle,
+      long connectionTimeoutMillis,
+      int active,
+      int idle,
+      int total,
+      int threadsAwaiting,
+      long acquireCount,
+      double acquireMeanMillis,
+      double acquireMaxMillis) {}
+}
@@ -0,0 +1,64 @@
+package com.geosapiens.backend.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exporta do {@link Statistics} do Hibernate o hit ratio do cache de planos de query (o equivalente,
+ * no lado da aplicação, ao cache de prepared statements do pgjdbc, que não expõe contadores) e os
+ * contadores de statements. Só registra algo com {@code hibernate.generate_statistics=true}.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+  private static final Logger log = LoggerFactory.getLogger(HibernateStatisticsMetrics.class);
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    if (!statistics.isStatisticsEnabled()) {
+      log.debug("Estatísticas do Hibernate desligadas; métricas hibernate.* não registradas.");
+      return;
+    }
+
+    FunctionCounter
+        .builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheHitCount)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter
+        .builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheMissCount)
+        .tag("result", "miss")
+        .register(registry);
+    Gauge
+        .builder("hibernate.query.plan.cache.hit.ratio", statistics,
+            HibernateStatisticsMetrics::hitRatio)
+        .description("Fração das queries HQL/JPQL que reaproveitaram um plano já compilado")
+        .register(registry);
+    FunctionCounter
+        .builder("hibernate.statements.prepared", statistics, Statistics::getPrepareStatementCount)
+        .register(registry);
+    FunctionCounter
+        .builder("hibernate.statements.closed", statistics, Statistics::getCloseStatementCount)
+        .register(registry);
+  }
+
+  static double hitRatio(Statistics statistics) {
+    long hits = statistics.getQueryPlanCacheHitCount();
+    long total = hits + statistics.getQueryPlanCacheMissCount();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
@@ -0,0 +1,64 @@
+package com.geosapiens.backend.datasource;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Marca, por thread, que as leituras da requisição atual precisam ir ao primário (read-your-writes),
+ * e conta as conexões entregues por réplicas. Só tem efeito quando o roteamento para réplicas está
+ * habilitado; sem ele {@link #replicaReads()} nunca muda.
+ */
+public final class ReadRoutingContext {
+
+  /** Instante (epoch em ms) da última escrita do cliente, ver {@code ReadYourWritesFilter}. */
+  public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+  private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+  private static final ThreadLocal<AtomicLong> REPLICA_READS =
+      ThreadLocal.withInitial(AtomicLong::new);
+
+  private ReadRoutingContext() {}
+
+  public static boolean isPrimaryOnly() {
+    return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+  }
+
+  /**
+   * Conexões de réplica entregues a esta thread até agora. Quem vai guardar o que leu num cache
+   * compara o valor de antes e de depois da leitura: se mudou, o dado pode estar atrasado.
+   */
+  public static long replicaReads() {
+    return REPLICA_READS.get().get();
+  }
+
+  /**
+   * Envolve uma tarefa que vai rodar em outra thread para que ela enxergue a mesma marcação da thread
+   * atual (capturada agora) e conte as leituras de réplica na thread atual; limpa tudo ao terminar.
+   */
+  public static <T> Supplier<T> propagate(Supplier<T> task) {
+    boolean primaryOnly = isPrimaryOnly();
+    AtomicLong replicaReads = REPLICA_READS.get();
+    return () -> {
+      setPrimaryOnly(primaryOnly);
+      REPLICA_READS.set(replicaReads);
+      try {
+        return task.get();
+      } finally {
+        setPrimaryOnly(false);
+        REPLICA_READS.remove();
+      }
+    };
+  }
+
+  static void setPrimaryOnly(boolean primaryOnly) {
+    if (primaryOnly) {
+      PRIMARY_ONLY.set(Boolean.TRUE);
+    } else {
+      PRIMARY_ONLY.remove();
+    }
+  }
+
+  static void markReplicaRead() {
+    REPLICA_READS.get().incrementAndGet();
+  }
+}
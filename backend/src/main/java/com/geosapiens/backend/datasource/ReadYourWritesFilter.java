@@ -0,0 +1,63 @@
+package com.geosapiens.backend.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Depois de uma escrita confirmada, as leituras do mesmo cliente vão ao primário durante
+ * {@code window}, para que ele não leia de uma réplica que ainda não aplicou a própria escrita.
+ *
+ * <p>A marca fica com o cliente, não com a instância: a resposta da escrita leva
+ * {@value ReadRoutingContext#LAST_WRITE_HEADER} com o instante do commit (epoch em ms, posto por
+ * {@link WriteCommitStamp} antes de a resposta ser escrita) e o cliente devolve o último valor
+ * recebido nas requisições seguintes. Vale em qualquer instância e não junta clientes atrás do
+ * mesmo IP. A comparação aceita diferença de relógio entre instâncias de até {@code window}.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  private final long windowMillis;
+
+  ReadYourWritesFilter(Duration window) {
+    this.windowMillis = window.toMillis();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    ReadRoutingContext.setPrimaryOnly(isMutating(request) || wroteRecently(request));
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadRoutingContext.setPrimaryOnly(false);
+    }
+  }
+
+  private boolean wroteRecently(HttpServletRequest request) {
+    String lastWrite = request.getHeader(ReadRoutingContext.LAST_WRITE_HEADER);
+    if (lastWrite == null || lastWrite.isBlank()) {
+      return false;
+    }
+    try {
+      return Math.abs(System.currentTimeMillis() - Long.parseLong(lastWrite.trim())) < windowMillis;
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  private static boolean isMutating(HttpServletRequest request) {
+    // Multi-gets usam POST só para caber o corpo; são leituras.
+    if (request.getRequestURI().endsWith(":batchGet")) {
+      return false;
+    }
+    return switch (request.getMethod()) {
+      case "POST", "PUT", "PATCH", "DELETE" -> true;
+      default -> false;
+    };
+  }
+}
@@ -0,0 +1,129 @@
+package com.geosapiens.backend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Conjunto de réplicas de leitura com checagem periódica de lag. {@link #select()} devolve uma
+ * réplica saudável em round-robin, ou {@code null} quando todas estão atrasadas/inacessíveis e a
+ * leitura deve cair no primário.
+ */
+public class ReplicaPool implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+  // Réplica em dia (tudo que recebeu já foi aplicado) tem lag 0 mesmo com o primário ocioso, mas só
+  // se o WAL receiver estiver em streaming: desconectada, receive = replay vale para sempre e a
+  // réplica pareceria saudável com qualquer atraso. Sem pg_read_all_stats o status vem NULL; aí a
+  // existência do processo (a view filtra pid nulo) é o melhor sinal disponível.
+  private static final String LAG_QUERY = """
+      SELECT CASE
+        WHEN NOT pg_is_in_recovery() THEN 0
+        WHEN NOT EXISTS (
+          SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming'
+        ) THEN 'Infinity'::float8
+        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, 0)
+      END""";
+
+  private final List<Replica> replicas;
+  private final double maxLagSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaPool(List<Replica> replicas, Duration maxLag) {
+    this.replicas = List.copyOf(replicas);
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+  }
+
+  public DataSource select() {
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      var replica = replicas.get((start + i) % size);
+      if (replica.isUsable(maxLagSeconds)) {
+        return replica.dataSource();
+      }
+    }
+    return null;
+  }
+
+  /** Marca a réplica como inacessível até a próxima checagem de lag bem-sucedida. */
+  public void markUnreachable(DataSource dataSource) {
+    for (var replica : replicas) {
+      if (replica.dataSource() == dataSource) {
+        replica.reachable = false;
+      }
+    }
+  }
+
+  public void refreshLag() {
+    for (var replica : replicas) {
+      try (Connection connection = replica.dataSource().getConnection();
+          Statement statement = connection.createStatement();
+          ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+        rs.next();
+        replica.lagSeconds = rs.getDouble(1);
+        replica.reachable = true;
+      } catch (Exception ex) {
+        if (replica.reachable) {
+          log.warn("Réplica {} inacessível; leituras vão para o primário.", replica.name(), ex);
+        }
+        replica.reachable = false;
+      }
+    }
+  }
+
+  public void bindMetrics(MeterRegistry meterRegistry) {
+    for (var replica : replicas) {
+      Gauge.builder("datasource.replica.lag.seconds", replica, r -> r.lagSeconds)
+          .tag("replica", replica.name())
+          .register(meterRegistry);
+      Gauge.builder("datasource.replica.usable", replica, r -> r.isUsable(maxLagSeconds) ? 1 : 0)
+          .tag("replica", replica.name())
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (var replica : replicas) {
+      if (replica.dataSource() instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  public static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    volatile double lagSeconds;
+    volatile boolean reachable = true;
+
+    public Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public DataSource dataSource() {
+      return dataSource;
+    }
+
+    boolean isUsable(double maxLagSeconds) {
+      return reachable && lagSeconds <= maxLagSeconds;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.geosapiens.backend.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * O roteamento para réplicas troca o DataSource da aplicação, então continua sendo um
+ * {@code @ConditionalOn...} em {@link ReplicaRoutingConfig}. Com Spring AOT essa condição é
+ * resolvida no build da imagem; sem esta checagem, {@code DB_REPLICAS_ENABLED=true} numa imagem
+ * gerada com réplicas desligadas seria ignorado em silêncio e toda leitura iria ao primário.
+ */
+@Component
+class ReplicaRoutingAotCheck {
+
+  ReplicaRoutingAotCheck(
+      @Value("${app.datasource.replicas.enabled:false}") boolean enabled,
+      ObjectProvider<ReplicaPool> replicaPool) {
+    if (enabled && replicaPool.getIfAvailable() == null) {
+      throw new IllegalStateException(
+          "app.datasource.replicas.enabled=true, mas o roteamento para réplicas não foi registrado:"
+              + " o código AOT da imagem foi gerado com réplicas desligadas."
+              + " Suba com SPRING_AOT_ENABLED=false.");
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.geosapiens.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Roteia transações {@code readOnly = true} para réplicas. O DataSource exposto é um
+ * {@link LazyConnectionDataSourceProxy}: a conexão física só é pedida no primeiro statement, quando
+ * a transação já se declarou read-only, e aí vai para {@link ReplicaRoutingDataSource}. Escritas, o
+ * Flyway e qualquer acesso fora de transação read-only usam o primário.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("app.datasource.replicas.enabled")
+public class ReplicaRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  ReplicaPool replicaPool(
+      DataSourceProperties properties,
+      MeterRegistry meterRegistry,
+      @Value("${app.datasource.replicas.urls}") String urls,
+      @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag,
+      @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+      @Value("${app.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout) {
+    List<ReplicaPool.Replica> replicas = new ArrayList<>();
+    List<String> jdbcUrls = Arrays.stream(urls.split(",", -1))
+        .map(String::trim)
+        .filter(url -> !url.isBlank())
+        .toList();
+
+    for (int i = 0; i < jdbcUrls.size(); i++) {
+      var pool = new HikariDataSource();
+      pool.setPoolName("replica-" + i);
+      pool.setJdbcUrl(jdbcUrls.get(i));
+      pool.setUsername(properties.determineUsername());
+      pool.setPassword(properties.determinePassword());
+      pool.setMaximumPoolSize(poolSize);
+      pool.setReadOnly(true);
+      // Timeout curto: réplica saturada ou fora do ar devolve a leitura ao primário rapidamente.
+      pool.setConnectionTimeout(connectionTimeout.toMillis());
+      // Réplica fora do ar não pode travar o startup; o lag check marca como inacessível.
+      pool.setInitializationFailTimeout(-1);
+      pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.add(new ReplicaPool.Replica(pool.getPoolName(), pool));
+    }
+
+    var replicaPool = new ReplicaPool(replicas, maxLag);
+    replicaPool.bindMetrics(meterRegistry);
+    return replicaPool;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+    var proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+    proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaPool));
+    return proxy;
+  }
+
+  @Bean
+  FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+      @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+    var registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return registration;
+  }
+
+  @Bean
+  WriteCommitStamp writeCommitStamp() {
+    return new WriteCommitStamp();
+  }
+
+  @Bean
+  ReplicaLagMonitor replicaLagMonitor(ReplicaPool replicaPool) {
+    return new ReplicaLagMonitor(replicaPool);
+  }
+
+  static class ReplicaLagMonitor {
+
+    private final ReplicaPool replicaPool;
+
+    ReplicaLagMonitor(ReplicaPool replicaPool) {
+      this.replicaPool = replicaPool;
+    }
+
+    @Scheduled(
+        initialDelayString = "0",
+        fixedDelayString = "${app.datasource.replicas.lag-check-interval:2s}")
+    void refresh() {
+      replicaPool.refreshLag();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.geosapiens.backend.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * DataSource usado pelo {@code LazyConnectionDataSourceProxy} para conexões read-only: escolhe uma
+ * réplica utilizável e cai no primário quando não há nenhuma, quando a réplica falha ao entregar
+ * conexão, ou quando a requisição pediu read-your-writes. Cada conexão de réplica entregue é contada
+ * em {@link ReadRoutingContext#replicaReads()}, para que os caches não guardem o que veio dela.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  private final DataSource primary;
+  private final ReplicaPool replicaPool;
+
+  ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+    this.primary = primary;
+    this.replicaPool = replicaPool;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (ReadRoutingContext.isPrimaryOnly()) {
+      return primary.getConnection();
+    }
+
+    DataSource replica = replicaPool.select();
+    if (replica == null) {
+      return primary.getConnection();
+    }
+
+    try {
+      var connection = replica.getConnection();
+      ReadRoutingContext.markReplicaRead();
+      return connection;
+    } catch (SQLException ex) {
+      replicaPool.markUnreachable(replica);
+      return primary.getConnection();
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return getConnection();
+  }
+}
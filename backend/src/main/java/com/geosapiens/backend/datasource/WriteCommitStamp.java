@@ -0,0 +1,30 @@
+package com.geosapiens.backend.datasource;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Põe {@value ReadRoutingContext#LAST_WRITE_HEADER} na resposta quando uma transação de escrita da
+ * requisição é confirmada. Roda no commit, dentro do controller, então o header já está lá quando
+ * o corpo sai e o cliente não tem como ler antes da marca. Escritas fora de requisição (ingestão
+ * em lote, jobs) não marcam ninguém.
+ */
+class WriteCommitStamp implements TransactionExecutionListener {
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+    if (commitFailure != null || transaction.isReadOnly()) {
+      return;
+    }
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request)) {
+      return;
+    }
+    var response = request.getResponse();
+    if (response != null && !response.isCommitted()) {
+      response.setHeader(
+          ReadRoutingContext.LAST_WRITE_HEADER, Long.toString(System.currentTimeMillis()));
+    }
+  }
+}
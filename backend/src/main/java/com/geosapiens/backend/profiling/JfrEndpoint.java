@@ -0,0 +1,85 @@
+package com.geosapiens.backend.profiling;
+
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Controle do JFR em produção.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/jfr}: ring buffer, gravações em andamento e arquivos disponíveis.
+ *   <li>{@code POST /actuator/jfr} com {@code settings}, {@code duration} e {@code maxSizeMib}
+ *       (todos opcionais): inicia uma gravação limitada.
+ *   <li>{@code DELETE /actuator/jfr/{id}}: encerra a gravação e escreve o arquivo.
+ *   <li>{@code POST /actuator/jfr/ring}: grava o conteúdo atual do ring buffer.
+ *   <li>{@code GET /actuator/jfr/{arquivo}}: baixa o {@code .jfr} (abre no JDK Mission Control ou
+ *       com {@code jfr print}).
+ * </ul>
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+  static final String RING = "ring";
+
+  private final JfrRecorder recorder;
+
+  public JfrEndpoint(JfrRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @ReadOperation
+  public JfrRecorder.Status status() {
+    return recorder.status();
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public WebEndpointResponse<Resource> download(@Selector String file) {
+    var path = recorder.file(file);
+    if (path == null) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+    return new WebEndpointResponse<>(new FileSystemResource(path), WebEndpointResponse.STATUS_OK);
+  }
+
+  @WriteOperation
+  public JfrRecorder.RecordingInfo start(
+      @Nullable String settings, @Nullable Duration duration, @Nullable Long maxSizeMib) {
+    try {
+      return recorder.start(settings != null ? settings : "profile", duration, maxSizeMib);
+    } catch (IllegalArgumentException | IllegalStateException ex) {
+      throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+    }
+  }
+
+  @WriteOperation
+  public JfrRecorder.DumpFile dump(@Selector String source) {
+    if (!RING.equals(source)) {
+      throw new InvalidEndpointRequestException(
+          "Só o ring buffer pode ser gravado: POST /actuator/jfr/ring.", "source inválido");
+    }
+    try {
+      return recorder.dumpRing();
+    } catch (IllegalStateException ex) {
+      throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+    }
+  }
+
+  @DeleteOperation
+  public WebEndpointResponse<JfrRecorder.DumpFile> stop(@Selector long id) {
+    var file = recorder.stop(id);
+    return file != null
+        ? new WebEndpointResponse<>(file, WebEndpointResponse.STATUS_OK)
+        : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+  }
+}
@@ -0,0 +1,378 @@
+package com.geosapiens.backend.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gravações JFR do processo. O ring buffer fica sempre ligado com as configurações {@code default}
+ * (overhead na casa de 1%) e guarda só os últimos {@code ring-max-age}/{@code ring-max-size}; é
+ * gravado em arquivo sob demanda ou quando uma requisição passa de {@code slow-request-threshold}
+ * (no máximo um dump por {@code dump-cooldown}). Gravações avulsas têm duração e tamanho limitados e
+ * escrevem o arquivo ao terminar. Tudo vai para {@code dump-dir}, que guarda os {@code max-files}
+ * arquivos mais recentes.
+ */
+@Component
+public class JfrRecorder {
+
+  static final String RING_NAME = "geosapiens-ring";
+  static final Set<String> SETTINGS = Set.of("default", "profile");
+
+  private static final Logger log = LoggerFactory.getLogger(JfrRecorder.class);
+  private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.jfr");
+  private static final DateTimeFormatter STAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+  private static final long MIB = 1024 * 1024;
+  // Variáveis de ambiente e system properties trazem DB_PASSWORD e afins; não entram nos arquivos.
+  private static final Map<String, String> REDACTED = Map.of(
+      "jdk.InitialEnvironmentVariable#enabled", "false",
+      "jdk.InitialSystemProperty#enabled", "false");
+
+  private final Path dumpDir;
+  private final boolean ringEnabled;
+  private final Duration ringMaxAge;
+  private final long ringMaxSize;
+  private final Duration slowRequestThreshold;
+  private final Duration dumpCooldown;
+  private final int maxFiles;
+  private final Duration maxRecordingDuration;
+  private final long maxRecordingSize;
+  private final int maxRecordings;
+
+  private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+  private final AtomicLong nextSlowDumpAt = new AtomicLong(System.nanoTime());
+  private final Counter slowDumps;
+  private final Counter manualDumps;
+
+  private volatile Recording ring;
+  private volatile DumpFile lastSlowDump;
+
+  public JfrRecorder(
+      MeterRegistry meterRegistry,
+      @Value("${app.profiling.jfr.dump-dir:./data/jfr}") Path dumpDir,
+      @Value("${app.profiling.jfr.ring-enabled:true}") boolean ringEnabled,
+      @Value("${app.profiling.jfr.ring-max-age:2m}") Duration ringMaxAge,
+      @Value("${app.profiling.jfr.ring-max-size-mib:64}") long ringMaxSizeMib,
+      @Value("${app.profiling.jfr.slow-request-threshold:2s}") Duration slowRequestThreshold,
+      @Value("${app.profiling.jfr.dump-cooldown:5m}") Duration dumpCooldown,
+      @Value("${app.profiling.jfr.max-files:20}") int maxFiles,
+      @Value("${app.profiling.jfr.max-recording-duration:10m}") Duration maxRecordingDuration,
+      @Value("${app.profiling.jfr.max-recording-size-mib:256}") long maxRecordingSizeMib,
+      @Value("${app.profiling.jfr.max-recordings:2}") int maxRecordings) {
+    this.dumpDir = dumpDir.toAbsolutePath().normalize();
+    this.ringEnabled = ringEnabled;
+    this.ringMaxAge = ringMaxAge;
+    this.ringMaxSize = ringMaxSizeMib * MIB;
+    this.slowRequestThreshold = slowRequestThreshold;
+    this.dumpCooldown = dumpCooldown;
+    this.maxFiles = Math.max(1, maxFiles);
+    this.maxRecordingDuration = maxRecordingDuration;
+    this.maxRecordingSize = maxRecordingSizeMib * MIB;
+    this.maxRecordings = maxRecordings;
+    this.slowDumps = dumpCounter(meterRegistry, "slow-request");
+    this.manualDumps = dumpCounter(meterRegistry, "manual");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void startRing() {
+    if (!ringEnabled || ring != null) {
+      return;
+    }
+    if (!FlightRecorder.isAvailable()) {
+      log.warn("JFR indisponível nesta JVM; ring buffer desligado.");
+      return;
+    }
+    var recording = new Recording(settings("default"));
+    recording.setName(RING_NAME);
+    recording.setToDisk(true);
+    recording.setMaxAge(ringMaxAge);
+    recording.setMaxSize(ringMaxSize);
+    recording.start();
+    ring = recording;
+    log.info("Ring buffer JFR ligado (últimos {}, até {} MiB).", ringMaxAge, ringMaxSize / MIB);
+  }
+
+  @PreDestroy
+  public void close() {
+    recordings.values().forEach(Recording::close);
+    recordings.clear();
+    var current = ring;
+    ring = null;
+    if (current != null) {
+      current.close();
+    }
+  }
+
+  Duration slowRequestThreshold() {
+    return slowRequestThreshold;
+  }
+
+  /**
+   * Começa uma gravação com {@code settings} ({@code default} ou {@code profile}); {@code duration}
+   * e {@code maxSizeMib} são limitados pelos máximos configurados. O arquivo é escrito quando a
+   * gravação termina, pelo prazo ou por {@link #stop}.
+   */
+  public synchronized RecordingInfo start(String settings, Duration duration, Long maxSizeMib) {
+    requireAvailable();
+    if (!SETTINGS.contains(settings)) {
+      throw new IllegalArgumentException("settings deve ser " + SETTINGS + ".");
+    }
+    if (duration != null && (duration.isNegative() || duration.isZero())) {
+      throw new IllegalArgumentException("duration deve ser positiva.");
+    }
+    discardFinished();
+    if (recordings.size() >= maxRecordings) {
+      throw new IllegalStateException(
+          "Já há " + recordings.size() + " gravação(ões) em andamento (máximo " + maxRecordings
+              + ").");
+    }
+
+    var recording = new Recording(settings(settings));
+    recording.setName("geosapiens-" + settings);
+    recording.setToDisk(true);
+    recording.setDuration(duration == null || duration.compareTo(maxRecordingDuration) > 0
+        ? maxRecordingDuration : duration);
+    recording.setMaxSize(maxSizeMib == null
+        ? maxRecordingSize : Math.min(Math.max(1, maxSizeMib) * MIB, maxRecordingSize));
+    try {
+      recording.setDestination(newFile("recording-" + recording.getId()));
+    } catch (IOException ex) {
+      recording.close();
+      throw new UncheckedIOException(ex);
+    }
+    recording.start();
+    recordings.put(recording.getId(), recording);
+    log.info("Gravação JFR {} iniciada ({}, até {}).",
+        recording.getId(), settings, recording.getDuration());
+    return RecordingInfo.of(recording);
+  }
+
+  /** Encerra a gravação e devolve o arquivo escrito, ou {@code null} se o id não existe. */
+  public synchronized DumpFile stop(long id) {
+    var recording = recordings.remove(id);
+    if (recording == null) {
+      return null;
+    }
+    Path file = recording.getDestination();
+    if (recording.getState() == RecordingState.RUNNING) {
+      recording.stop();
+    }
+    recording.close();
+    prune();
+    return describe(file);
+  }
+
+  /** Copia o conteúdo atual do ring buffer para um arquivo, sem interromper a gravação. */
+  public DumpFile dumpRing() {
+    return dumpRing("manual", manualDumps);
+  }
+
+  /**
+   * Reserva o próximo dump por requisição lenta. Só o primeiro chamador após o cooldown recebe
+   * {@code true}; é uma leitura e um CAS, então o filtro pode chamar na thread da requisição.
+   */
+  boolean claimSlowDump() {
+    if (ring == null) {
+      return false;
+    }
+    long now = System.nanoTime();
+    long next = nextSlowDumpAt.get();
+    return now - next >= 0 && nextSlowDumpAt.compareAndSet(next, now + dumpCooldown.toNanos());
+  }
+
+  /** Grava o ring buffer depois de {@link #claimSlowDump} ter reservado o dump. */
+  void dumpSlowRequest(String request, long elapsedNanos) {
+    try {
+      var dump = dumpRing("slow", slowDumps);
+      lastSlowDump = dump;
+      log.warn("{} levou {} ms (limite {} ms): ring buffer JFR gravado em {}.",
+          request, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          slowRequestThreshold.toMillis(), dump.name());
+    } catch (RuntimeException ex) {
+      log.warn("Falha ao gravar o ring buffer JFR após {}.", request, ex);
+    }
+  }
+
+  /** Arquivo de {@code dump-dir} pelo nome, ou {@code null}; nomes com caminho são recusados. */
+  public Path file(String name) {
+    if (name == null || !FILE_NAME.matcher(name).matches()) {
+      return null;
+    }
+    Path file = dumpDir.resolve(name);
+    return Files.isRegularFile(file) ? file : null;
+  }
+
+  public synchronized Status status() {
+    discardFinished();
+    var current = ring;
+    return new Status(
+        FlightRecorder.isAvailable(),
+        current != null
+            ? new RingInfo(ringMaxAge.toString(), ringMaxSize / MIB, current.getSize())
+            : null,
+        recordings.values().stream().map(RecordingInfo::of).toList(),
+        files(),
+        slowRequestThreshold.isZero() ? null : slowRequestThreshold.toString(),
+        dumpCooldown.toString(),
+        lastSlowDump);
+  }
+
+  private DumpFile dumpRing(String reason, Counter counter) {
+    var current = ring;
+    if (current == null) {
+      throw new IllegalStateException("Ring buffer JFR desligado.");
+    }
+    try {
+      Path file = newFile("ring-" + reason);
+      current.dump(file);
+      counter.increment();
+      prune();
+      return describe(file);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // Gravações que já terminaram pelo prazo escreveram o arquivo; só falta liberá-las.
+  private void discardFinished() {
+    recordings.values().removeIf(recording -> {
+      if (recording.getState() == RecordingState.RUNNING
+          || recording.getState() == RecordingState.DELAYED
+          || recording.getState() == RecordingState.NEW) {
+        return false;
+      }
+      recording.close();
+      return true;
+    });
+  }
+
+  private Path newFile(String prefix) throws IOException {
+    Files.createDirectories(dumpDir);
+    return dumpDir.resolve(prefix + "-" + STAMP.format(Instant.now()) + ".jfr");
+  }
+
+  private List<DumpFile> files() {
+    if (!Files.isDirectory(dumpDir)) {
+      return List.of();
+    }
+    try (Stream<Path> entries = Files.list(dumpDir)) {
+      List<DumpFile> files = new ArrayList<>();
+      entries
+          .filter(path -> FILE_NAME.matcher(path.getFileName().toString()).matches())
+          .forEach(path -> {
+            var file = describe(path);
+            if (file != null) {
+              files.add(file);
+            }
+          });
+      files.sort(Comparator.comparing(DumpFile::modifiedAt).reversed());
+      return files;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void prune() {
+    List<DumpFile> files = files();
+    for (DumpFile old : files.subList(Math.min(maxFiles, files.size()), files.size())) {
+      try {
+        Files.deleteIfExists(dumpDir.resolve(old.name()));
+      } catch (IOException ex) {
+        log.warn("Não foi possível remover o arquivo JFR {}.", old.name(), ex);
+      }
+    }
+  }
+
+  private static DumpFile describe(Path file) {
+    try {
+      return new DumpFile(
+          file.getFileName().toString(),
+          Files.size(file),
+          Files.getLastModifiedTime(file).toInstant());
+    } catch (IOException ex) {
+      // Removido entre a listagem e a leitura (prune concorrente) ou nunca escrito.
+      return null;
+    }
+  }
+
+  private static void requireAvailable() {
+    if (!FlightRecorder.isAvailable()) {
+      throw new IllegalStateException("JFR indisponível nesta JVM.");
+    }
+  }
+
+  private static Map<String, String> settings(String name) {
+    try {
+      var settings = new HashMap<>(Configuration.getConfiguration(name).getSettings());
+      settings.putAll(REDACTED);
+      return settings;
+    } catch (IOException | ParseException ex) {
+      throw new IllegalStateException("Configuração JFR '" + name + "' indisponível.", ex);
+    }
+  }
+
+  private static Counter dumpCounter(MeterRegistry meterRegistry, String trigger) {
+    return Counter.builder("jfr.dumps")
+        .description("Dumps do ring buffer JFR")
+        .tag("trigger", trigger)
+        .register(meterRegistry);
+  }
+
+  public record RingInfo(String maxAge, long maxSizeMib, long sizeBytes) {}
+
+  public record RecordingInfo(
+      long id, String name, String state, Instant startedAt, String duration, String file) {
+
+    static RecordingInfo of(Recording recording) {
+      Path destination = recording.getDestination();
+      return new RecordingInfo(
+          recording.getId(),
+          recording.getName(),
+          recording.getState().name(),
+          recording.getStartTime(),
+          recording.getDuration() != null ? recording.getDuration().toString() : null,
+          destination != null ? destination.getFileName().toString() : null);
+    }
+  }
+
+  public record DumpFile(String name, long sizeBytes, Instant modifiedAt) {}
+
+  public record Status(
+      boolean available,
+      RingInfo ring,
+      List<RecordingInfo> recordings,
+      List<DumpFile> files,
+      String slowRequestThreshold,
+      String dumpCooldown,
+      DumpFile lastSlowDump) {}
+}
@@ -0,0 +1,20 @@
+package com.geosapiens.backend.profiling;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ProfilingConfig {
+
+  @Bean
+  FilterRegistrationBean<SlowRequestFilter> slowRequestFilter(JfrRecorder recorder) {
+    var registration = new FilterRegistrationBean<>(new SlowRequestFilter(recorder));
+    // Primeiro da cadeia, para medir também os outros filtros (cache de respostas, compressão).
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    // Limite zero desliga o dump automático.
+    registration.setEnabled(!recorder.slowRequestThreshold().isZero());
+    return registration;
+  }
+}
@@ -0,0 +1,42 @@
+package com.geosapiens.backend.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Mede cada requisição de ponta a ponta e, acima do limite, reserva o dump no {@link JfrRecorder} e
+ * grava o ring buffer numa virtual thread: a resposta lenta não espera pela escrita do arquivo. A
+ * reserva respeita o cooldown na própria requisição, então uma rajada de requisições lentas cria no
+ * máximo uma thread por cooldown.
+ */
+class SlowRequestFilter extends OncePerRequestFilter {
+
+  private final JfrRecorder recorder;
+  private final long thresholdNanos;
+
+  SlowRequestFilter(JfrRecorder recorder) {
+    this.recorder = recorder;
+    this.thresholdNanos = recorder.slowRequestThreshold().toNanos();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long startedAt = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      long elapsed = System.nanoTime() - startedAt;
+      if (elapsed >= thresholdNanos && recorder.claimSlowDump()) {
+        String target = request.getMethod() + " " + request.getRequestURI();
+        Thread.ofVirtual().name("jfr-slow-dump").start(
+            () -> recorder.dumpSlowRequest(target, elapsed));
+      }
+    }
+  }
+}
@@ -0,0 +1,12 @@
+-- @format
+
+-- A V8 criou o CHECK de localização validado, varrendo as partições sob o lock exclusivo do ALTER.
+-- Migração aplicada não se edita, então a troca para NOT VALID + VALIDATE vem para frente: o CHECK
+-- é recriado NOT VALID (só catálogo, sob o lock curto do ALTER, e já vale para as escritas novas)
+-- e a V11 faz a varredura em outra transação, com o lock fraco do VALIDATE.
+ALTER TABLE assets DROP CONSTRAINT assets_location_chk;
+
+ALTER TABLE assets ADD CONSTRAINT assets_location_chk CHECK (
+  (latitude IS NULL) = (longitude IS NULL)
+  AND latitude BETWEEN -90 AND 90
+  AND longitude BETWEEN -180 AND 180) NOT VALID;
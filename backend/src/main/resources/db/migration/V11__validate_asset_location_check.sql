@@ -0,0 +1,5 @@
+-- @format
+
+-- Valida o CHECK recriado NOT VALID na V10. Em transação própria: o VALIDATE varre as partições sob
+-- SHARE UPDATE EXCLUSIVE, então leituras e escritas seguem durante a varredura.
+ALTER TABLE assets VALIDATE CONSTRAINT assets_location_chk;
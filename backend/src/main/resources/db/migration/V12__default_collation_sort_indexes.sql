@@ -0,0 +1,17 @@
+-- @format
+
+-- `GET /assets` volta a ordenar `name`/`serialNumber` pela collation do banco (acentos e caixa como o
+-- usuário espera), ainda com desempate por id. Os índices de ordenação da V9 eram COLLATE "C" e não
+-- servem mais a esse ORDER BY: são recriados na collation padrão, com o mesmo formato (coluna, id) e
+-- parciais como os da listagem.
+--
+-- Mesma ressalva de V5 sobre CONCURRENTLY em tabela particionada.
+
+DROP INDEX IF EXISTS assets_name_idx;
+CREATE INDEX assets_name_idx ON assets (name, id) WHERE deleted_at IS NULL;
+DROP INDEX IF EXISTS assets_serial_number_sort_idx;
+CREATE INDEX assets_serial_number_sort_idx
+  ON assets (serial_number, id) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS assets_archive_name_idx;
+CREATE INDEX assets_archive_name_idx ON assets_archive (name, id);
@@ -0,0 +1,4 @@
+-- @format
+
+-- Coluna de versão para optimistic locking (@Version). Default constante não reescreve a tabela.
+ALTER TABLE assets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
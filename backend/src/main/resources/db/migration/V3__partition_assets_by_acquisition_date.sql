@@ -0,0 +1,153 @@
+-- @format
+
+-- Transforma `assets` em tabela particionada por faixa anual de `acquisition_date`.
+-- Em tabela particionada toda UNIQUE precisa incluir a chave de partição, então a unicidade global
+-- de `serial_number` passa para a tabela companheira `asset_serial_numbers`, mantida por triggers.
+
+ALTER TABLE assets RENAME TO assets_legacy;
+ALTER TABLE assets_legacy RENAME CONSTRAINT assets_pkey TO assets_legacy_pkey;
+ALTER TABLE assets_legacy DROP CONSTRAINT assets_serial_number_uk;
+DROP INDEX assets_category_idx;
+DROP INDEX assets_status_idx;
+DROP INDEX assets_acquisition_date_idx;
+DROP INDEX assets_name_idx;
+
+-- A sequence sobrevive ao DROP da tabela antiga e continua gerando os ids da nova.
+ALTER SEQUENCE assets_id_seq OWNED BY NONE;
+
+CREATE TABLE assets (
+  id BIGINT NOT NULL DEFAULT nextval('assets_id_seq'),
+  name VARCHAR(255) NOT NULL,
+  serial_number VARCHAR(128) NOT NULL,
+  category VARCHAR(32) NOT NULL,
+  status VARCHAR(32) NOT NULL,
+  acquisition_date DATE NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  version BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT assets_pkey PRIMARY KEY (id, acquisition_date),
+  CONSTRAINT assets_category_chk CHECK (
+    category IN ('COMPUTER', 'PERIPHERAL', 'NETWORK_EQUIPMENT', 'SERVER_INFRA', 'MOBILE_DEVICE')
+  ),
+  CONSTRAINT assets_status_chk CHECK (status IN ('IN_USE', 'IN_STOCK', 'MAINTENANCE', 'RETIRED')),
+  CONSTRAINT assets_acquisition_date_chk CHECK (acquisition_date <= CURRENT_DATE)
+) PARTITION BY RANGE (acquisition_date);
+
+ALTER SEQUENCE assets_id_seq OWNED BY assets.id;
+
+-- Cria (se faltar) uma partição anual `assets_pYYYY` para cada ano entre as datas informadas.
+-- Chamada pelo job de manutenção do backend para manter partições à frente da data atual.
+CREATE FUNCTION assets_ensure_partitions(p_from DATE, p_to DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+  v_year INTEGER;
+  v_name TEXT;
+  v_created INTEGER := 0;
+BEGIN
+  FOR v_year IN EXTRACT(YEAR FROM p_from)::INTEGER .. EXTRACT(YEAR FROM p_to)::INTEGER LOOP
+    v_name := format('assets_p%s', v_year);
+    IF to_regclass(v_name) IS NULL THEN
+      EXECUTE format(
+        'CREATE TABLE %I PARTITION OF assets FOR VALUES FROM (%L) TO (%L)',
+        v_name, make_date(v_year, 1, 1), make_date(v_year + 1, 1, 1));
+      v_created := v_created + 1;
+    END IF;
+  END LOOP;
+  RETURN v_created;
+END;
+$$;
+
+-- Sem partição DEFAULT de propósito: ela impediria DETACH ... CONCURRENTLY e obrigaria a varrê-la
+-- a cada partição nova. Datas anteriores ao primeiro ano caem em `assets_p_historic`.
+DO $$
+DECLARE
+  v_first_year INTEGER := COALESCE(
+    (SELECT EXTRACT(YEAR FROM min(acquisition_date))::INTEGER FROM assets_legacy),
+    EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER);
+BEGIN
+  EXECUTE format(
+    'CREATE TABLE assets_p_historic PARTITION OF assets FOR VALUES FROM (MINVALUE) TO (%L)',
+    make_date(v_first_year, 1, 1));
+  PERFORM assets_ensure_partitions(
+    make_date(v_first_year, 1, 1), (CURRENT_DATE + INTERVAL '1 year')::DATE);
+END;
+$$;
+
+INSERT INTO assets (
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version)
+SELECT id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version
+FROM assets_legacy;
+
+CREATE TABLE asset_serial_numbers (
+  serial_number VARCHAR(128) NOT NULL,
+  asset_id BIGINT NOT NULL,
+  CONSTRAINT assets_serial_number_uk PRIMARY KEY (serial_number)
+);
+
+INSERT INTO asset_serial_numbers (serial_number, asset_id)
+SELECT serial_number, id FROM assets_legacy;
+
+DROP TABLE assets_legacy;
+
+-- Índices criados no pai são propagados para cada partição (inclusive as futuras).
+CREATE INDEX assets_category_idx ON assets (category);
+CREATE INDEX assets_status_idx ON assets (status);
+CREATE INDEX assets_acquisition_date_idx ON assets (acquisition_date);
+CREATE INDEX assets_name_idx ON assets (name);
+CREATE INDEX assets_serial_number_idx ON assets (serial_number);
+
+-- Triggers por statement com transition tables: um INSERT/DELETE em lote vira um único comando na
+-- companheira. A remoção filtra por serial_number E asset_id, então um UPDATE que move a linha de
+-- partição (DELETE + INSERT internos) ou troca seriais entre linhas continua consistente.
+CREATE FUNCTION asset_serial_numbers_on_insert() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  INSERT INTO asset_serial_numbers (serial_number, asset_id)
+  SELECT serial_number, id FROM new_assets;
+  RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION asset_serial_numbers_on_delete() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  DELETE FROM asset_serial_numbers s
+  USING old_assets o
+  WHERE s.serial_number = o.serial_number AND s.asset_id = o.id;
+  RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION asset_serial_numbers_on_update() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  DELETE FROM asset_serial_numbers s
+  USING old_assets o
+  JOIN new_assets n ON n.id = o.id
+  WHERE s.serial_number = o.serial_number
+    AND s.asset_id = o.id
+    AND n.serial_number <> o.serial_number;
+
+  INSERT INTO asset_serial_numbers (serial_number, asset_id)
+  SELECT n.serial_number, n.id
+  FROM new_assets n
+  JOIN old_assets o ON o.id = n.id
+  WHERE n.serial_number <> o.serial_number;
+  RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER asset_serial_numbers_insert_trg
+AFTER INSERT ON assets
+REFERENCING NEW TABLE AS new_assets
+FOR EACH STATEMENT EXECUTE FUNCTION asset_serial_numbers_on_insert();
+
+CREATE TRIGGER asset_serial_numbers_delete_trg
+AFTER DELETE ON assets
+REFERENCING OLD TABLE AS old_assets
+FOR EACH STATEMENT EXECUTE FUNCTION asset_serial_numbers_on_delete();
+
+CREATE TRIGGER asset_serial_numbers_update_trg
+AFTER UPDATE ON assets
+REFERENCING OLD TABLE AS old_assets NEW TABLE AS new_assets
+FOR EACH STATEMENT EXECUTE FUNCTION asset_serial_numbers_on_update();
@@ -0,0 +1,61 @@
+-- @format
+
+-- Arquivo frio de assets RETIRED há muito tempo. As linhas saem de `assets` (tabela quente) em lotes
+-- e continuam legíveis pela view `assets_with_archive`. O serial continua reservado em
+-- `asset_serial_numbers` enquanto a linha existir no arquivo.
+
+CREATE TABLE assets_archive (
+  id BIGINT NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  serial_number VARCHAR(128) NOT NULL,
+  category VARCHAR(32) NOT NULL,
+  status VARCHAR(32) NOT NULL,
+  acquisition_date DATE NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL,
+  updated_at TIMESTAMPTZ NOT NULL,
+  version BIGINT NOT NULL,
+  archived_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  CONSTRAINT assets_archive_pkey PRIMARY KEY (id),
+  CONSTRAINT assets_archive_status_chk CHECK (status = 'RETIRED')
+);
+
+CREATE INDEX assets_archive_category_idx ON assets_archive (category);
+CREATE INDEX assets_archive_acquisition_date_idx ON assets_archive (acquisition_date);
+CREATE INDEX assets_archive_name_idx ON assets_archive (name);
+CREATE INDEX assets_archive_serial_number_idx ON assets_archive (serial_number);
+
+-- Candidatos ao arquivamento: só RETIRED, em ordem de última alteração.
+CREATE INDEX assets_retired_updated_at_idx ON assets (updated_at) WHERE status = 'RETIRED';
+
+-- Durante o arquivamento o DELETE em `assets` não pode liberar o serial: o job marca a transação
+-- com `SET LOCAL assets.archiving = 'on'` (via set_config) e o trigger ignora o lote.
+CREATE OR REPLACE FUNCTION asset_serial_numbers_on_delete() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  IF current_setting('assets.archiving', true) = 'on' THEN
+    RETURN NULL;
+  END IF;
+
+  DELETE FROM asset_serial_numbers s
+  USING old_assets o
+  WHERE s.serial_number = o.serial_number AND s.asset_id = o.id;
+  RETURN NULL;
+END;
+$$;
+
+-- Remover do arquivo libera o serial; a função já usa a transition table `old_assets`.
+CREATE TRIGGER asset_serial_numbers_archive_delete_trg
+AFTER DELETE ON assets_archive
+REFERENCING OLD TABLE AS old_assets
+FOR EACH STATEMENT EXECUTE FUNCTION asset_serial_numbers_on_delete();
+
+CREATE VIEW assets_with_archive AS
+SELECT
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+  FALSE AS archived
+FROM assets
+UNION ALL
+SELECT
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+  TRUE AS archived
+FROM assets_archive;
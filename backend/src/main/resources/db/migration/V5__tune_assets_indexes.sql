@@ -0,0 +1,34 @@
+-- @format
+
+-- Índices alinhados aos formatos reais de `GET /assets`: filtros de igualdade por category/status
+-- com o sort padrão `id DESC` + LIMIT. Com (filtro..., id) o planner lê a página já ordenada pelo
+-- índice, sem BitmapAnd + Sort, e o count da paginação vira index-only scan.
+--
+-- Em tabela particionada o CREATE INDEX no pai não aceita CONCURRENTLY. Em bases grandes, crie antes
+-- o índice em cada partição com CONCURRENTLY e depois no pai com ON ONLY + ATTACH PARTITION; o
+-- CREATE INDEX IF NOT EXISTS abaixo passa a ser só o registro do índice já existente.
+
+CREATE INDEX IF NOT EXISTS assets_category_status_id_idx ON assets (category, status, id);
+CREATE INDEX IF NOT EXISTS assets_status_id_idx ON assets (status, id);
+CREATE INDEX IF NOT EXISTS assets_category_id_idx ON assets (category, id);
+
+-- Prefixos dos compostos acima: só custam escrita.
+DROP INDEX IF EXISTS assets_category_idx;
+DROP INDEX IF EXISTS assets_status_idx;
+
+-- `q` vira `lower(name) LIKE '%...%' OR lower(serial_number) LIKE '%...%'`; sem trigramas é seq scan.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS assets_name_trgm_idx
+  ON assets USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS assets_serial_number_trgm_idx
+  ON assets USING gin (lower(serial_number) gin_trgm_ops);
+
+-- Arquivo: só RETIRED, então status não discrimina; basta category + id e os trigramas.
+CREATE INDEX IF NOT EXISTS assets_archive_category_id_idx ON assets_archive (category, id);
+DROP INDEX IF EXISTS assets_archive_category_idx;
+
+CREATE INDEX IF NOT EXISTS assets_archive_name_trgm_idx
+  ON assets_archive USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS assets_archive_serial_number_trgm_idx
+  ON assets_archive USING gin (lower(serial_number) gin_trgm_ops);
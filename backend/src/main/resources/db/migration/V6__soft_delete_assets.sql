@@ -0,0 +1,61 @@
+-- @format
+
+-- Soft delete: DELETE /assets marca `deleted_at` em vez de remover a linha. A linha vira tombstone
+-- (visível em GET /assets/tombstones) até o purger removê-la fisicamente depois da retenção.
+-- Coluna nula sem default: só altera o catálogo, sem reescrever as partições.
+ALTER TABLE assets ADD COLUMN deleted_at TIMESTAMPTZ;
+
+-- Índices da listagem passam a ser parciais: tombstones não ocupam espaço nem entram no
+-- index-only scan do count. Mesmas observações de CONCURRENTLY da V5 valem aqui.
+DROP INDEX IF EXISTS assets_category_status_id_idx;
+DROP INDEX IF EXISTS assets_status_id_idx;
+DROP INDEX IF EXISTS assets_category_id_idx;
+
+CREATE INDEX assets_category_status_id_idx
+  ON assets (category, status, id) WHERE deleted_at IS NULL;
+CREATE INDEX assets_status_id_idx ON assets (status, id) WHERE deleted_at IS NULL;
+CREATE INDEX assets_category_id_idx ON assets (category, id) WHERE deleted_at IS NULL;
+
+-- Candidatos do arquivamento também ignoram tombstones.
+DROP INDEX IF EXISTS assets_retired_updated_at_idx;
+CREATE INDEX assets_retired_updated_at_idx
+  ON assets (updated_at) WHERE status = 'RETIRED' AND deleted_at IS NULL;
+
+-- Purger e endpoint de tombstones: só as linhas removidas, em ordem de remoção.
+CREATE INDEX assets_deleted_at_idx ON assets (deleted_at, id) WHERE deleted_at IS NOT NULL;
+
+-- Soft delete libera o serial na hora (pode ser reutilizado por um asset novo). O DELETE físico do
+-- purger depois não encontra mais o par (serial, asset_id) e não mexe no serial reutilizado.
+CREATE OR REPLACE FUNCTION asset_serial_numbers_on_update() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  DELETE FROM asset_serial_numbers s
+  USING old_assets o
+  JOIN new_assets n ON n.id = o.id
+  WHERE s.serial_number = o.serial_number
+    AND s.asset_id = o.id
+    AND (n.serial_number <> o.serial_number
+      OR (n.deleted_at IS NOT NULL AND o.deleted_at IS NULL));
+
+  INSERT INTO asset_serial_numbers (serial_number, asset_id)
+  SELECT n.serial_number, n.id
+  FROM new_assets n
+  JOIN old_assets o ON o.id = n.id
+  WHERE n.deleted_at IS NULL
+    AND (n.serial_number <> o.serial_number OR o.deleted_at IS NOT NULL);
+  RETURN NULL;
+END;
+$$;
+
+-- A view da listagem com arquivo não enxerga tombstones.
+CREATE OR REPLACE VIEW assets_with_archive AS
+SELECT
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+  FALSE AS archived
+FROM assets
+WHERE deleted_at IS NULL
+UNION ALL
+SELECT
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+  TRUE AS archived
+FROM assets_archive;
@@ -0,0 +1,20 @@
+-- @format
+
+-- Histórico append-only das escritas por id (criação, PUT/PATCH, DELETE). Cada linha guarda só os
+-- campos que mudaram, codificados em `diff` (ver AssetHistoryCodec): sem nomes de campo nem JSON,
+-- uma troca de status ocupa ~20 bytes. A aplicação só faz INSERT; nada aqui é atualizado.
+--
+-- Sem FK para `assets`: o histórico sobrevive ao purge dos tombstones e ao arquivamento, e a PK de
+-- `assets` inclui a data de aquisição (particionamento), que o histórico não precisa repetir.
+-- Colunas de 8 bytes primeiro para não pagar padding de alinhamento em cada linha.
+CREATE TABLE asset_history (
+  asset_id BIGINT NOT NULL,
+  seq BIGINT GENERATED ALWAYS AS IDENTITY,
+  version BIGINT,
+  changed_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  change_type SMALLINT NOT NULL,
+  diff BYTEA NOT NULL,
+  -- Também o índice do GET /assets/{id}/history: keyset em (asset_id, seq), do mais novo ao mais
+  -- velho, sem sort e sem índice extra para manter no INSERT.
+  CONSTRAINT asset_history_pkey PRIMARY KEY (asset_id, seq)
+);
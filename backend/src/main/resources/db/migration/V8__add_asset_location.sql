@@ -0,0 +1,67 @@
+-- @format
+
+-- Localização física do asset (WGS84, graus). Opcional: latitude e longitude vêm juntas ou não vêm.
+-- Colunas nulas sem default: só altera o catálogo; o CHECK é validado com uma varredura das
+-- partições, mas sem reescrevê-las.
+ALTER TABLE assets
+  ADD COLUMN latitude DOUBLE PRECISION,
+  ADD COLUMN longitude DOUBLE PRECISION;
+
+ALTER TABLE assets ADD CONSTRAINT assets_location_chk CHECK (
+  (latitude IS NULL) = (longitude IS NULL)
+  AND latitude BETWEEN -90 AND 90
+  AND longitude BETWEEN -180 AND 180);
+
+ALTER TABLE assets_archive
+  ADD COLUMN latitude DOUBLE PRECISION,
+  ADD COLUMN longitude DOUBLE PRECISION;
+
+-- Sem PostGIS na imagem: o índice espacial é um GiST do próprio Postgres sobre point(lon, lat),
+-- que atende `point <@ box` (viewport do mapa) sem extensão. Parcial como os índices da listagem:
+-- tombstones e assets sem localização não ocupam espaço.
+CREATE INDEX assets_location_idx
+  ON assets USING gist (point(longitude, latitude))
+  WHERE deleted_at IS NULL AND latitude IS NOT NULL;
+CREATE INDEX assets_archive_location_idx
+  ON assets_archive USING gist (point(longitude, latitude))
+  WHERE latitude IS NOT NULL;
+
+-- Predicados chamados pelo Hibernate (function(...) no JPQL e na Criteria). São funções SQL de uma
+-- expressão só, IMMUTABLE: o planner as expande no lugar da chamada e casa o `<@` com o índice.
+-- Caixa em graus, cantos (min_lon, min_lat) e (max_lon, max_lat); quem cruza o antimeridiano
+-- chama duas vezes.
+CREATE FUNCTION asset_in_box(
+  lon DOUBLE PRECISION, lat DOUBLE PRECISION,
+  min_lon DOUBLE PRECISION, min_lat DOUBLE PRECISION,
+  max_lon DOUBLE PRECISION, max_lat DOUBLE PRECISION)
+RETURNS BOOLEAN
+LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+  SELECT point(lon, lat) <@ box(point(min_lon, min_lat), point(max_lon, max_lat))
+$$;
+
+-- Distância de grande círculo (haversine, raio médio da Terra) em metros. Mesma fórmula de
+-- GeoRadius#distanceMeters, para que banco e read model concordem na borda do raio.
+CREATE FUNCTION asset_distance_m(
+  lat1 DOUBLE PRECISION, lon1 DOUBLE PRECISION,
+  lat2 DOUBLE PRECISION, lon2 DOUBLE PRECISION)
+RETURNS DOUBLE PRECISION
+LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+  SELECT 2 * 6371008.8 * asin(least(1, sqrt(
+    power(sin(radians(lat2 - lat1) / 2), 2)
+    + cos(radians(lat1)) * cos(radians(lat2)) * power(sin(radians(lon2 - lon1) / 2), 2))))
+$$;
+
+-- A view da listagem com arquivo expõe a localização; colunas novas só podem entrar no final.
+CREATE OR REPLACE VIEW assets_with_archive AS
+SELECT
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+  FALSE AS archived, latitude, longitude
+FROM assets
+WHERE deleted_at IS NULL
+UNION ALL
+SELECT
+  id, name, serial_number, category, status, acquisition_date, created_at, updated_at, version,
+  TRUE AS archived, latitude, longitude
+FROM assets_archive;
@@ -0,0 +1,18 @@
+-- @format
+
+-- `GET /assets` ordena `name`/`serialNumber` com COLLATE "C" e desempata por id, a mesma ordem do
+-- read model (code point). Com collation explícita o planner só lê a página pronta de um índice da
+-- mesma collation, então os índices de ordenação passam a ser (coluna COLLATE "C", id), parciais
+-- como os da listagem. `assets_name_idx` só servia à ordenação e é trocado;
+-- `assets_serial_number_idx` fica: as buscas por igualdade de serial usam a collation padrão.
+--
+-- Mesma ressalva de V5 sobre CONCURRENTLY em tabela particionada.
+
+DROP INDEX IF EXISTS assets_name_idx;
+CREATE INDEX assets_name_idx
+  ON assets (name COLLATE "C", id) WHERE deleted_at IS NULL;
+CREATE INDEX assets_serial_number_sort_idx
+  ON assets (serial_number COLLATE "C", id) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS assets_archive_name_idx;
+CREATE INDEX assets_archive_name_idx ON assets_archive (name COLLATE "C", id);
@@ -0,0 +1,25 @@
+package com.geosapiens.backend;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Postgres dos testes que exercitam SQL de verdade (CTEs, triggers, locks), que mocks não cobrem.
+ * Esses testes só rodam com {@code TEST_DB_URL} apontando para uma base já migrada pelo backend
+ * (ex.: {@code jdbc:postgresql://localhost:5432/geosapiens}); {@code TEST_DB_USER} e
+ * {@code TEST_DB_PASSWORD} completam a conexão. Cada teste usa seriais com prefixo próprio e limpa
+ * o que criou.
+ */
+public final class TestDatabase {
+
+  public static final String URL_ENV = "TEST_DB_URL";
+
+  private TestDatabase() {}
+
+  public static DataSource dataSource() {
+    return new DriverManagerDataSource(
+        System.getenv(URL_ENV),
+        System.getenv().getOrDefault("TEST_DB_USER", "admin"),
+        System.getenv().getOrDefault("TEST_DB_PASSWORD", "admin"));
+  }
+}
@@ -0,0 +1,102 @@
+package com.geosapiens.backend.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  void shouldRejectOnceInFlightReachesLimit() {
+    var limiter = limiter(4);
+
+    var first = limiter.tryAcquire();
+    for (int i = 1; i < 4; i++) {
+      assertNotNull(limiter.tryAcquire());
+    }
+
+    assertNotNull(first);
+    assertNull(limiter.tryAcquire());
+    assertEquals(1, limiter.rejected());
+
+    first.ignore();
+    assertNotNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void shouldGrowLimitWhileLatencyStaysFlatUnderDemand() {
+    var limiter = limiter(10);
+
+    for (int round = 0; round < 50; round++) {
+      runSaturatedRound(limiter, 5);
+    }
+
+    assertTrue(limiter.limit() > 10, "limite deveria crescer: " + limiter.limit());
+  }
+
+  @Test
+  void shouldShrinkLimitWhenLatencyInflates() {
+    var limiter = limiter(50);
+    for (int round = 0; round < 20; round++) {
+      runSaturatedRound(limiter, 5);
+    }
+    int beforeQueueing = limiter.limit();
+
+    for (int round = 0; round < 20; round++) {
+      runSaturatedRound(limiter, 40);
+    }
+
+    assertTrue(
+        limiter.limit() < beforeQueueing,
+        "limite deveria cair: " + beforeQueueing + " -> " + limiter.limit());
+  }
+
+  @Test
+  void shouldBackOffMultiplicativelyOnDrops() {
+    var limiter = limiter(100);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.tryAcquire().dropped();
+    }
+
+    assertEquals(34, limiter.limit());
+    assertEquals(0, limiter.inFlight());
+  }
+
+  @Test
+  void shouldNotGrowWhenBulkheadIsMostlyIdle() {
+    var limiter = limiter(20);
+
+    for (int i = 0; i < 200; i++) {
+      var permit = limiter.tryAcquire();
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+      permit.success();
+    }
+
+    assertEquals(20, limiter.limit());
+  }
+
+  private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+    return new AdaptiveConcurrencyLimiter(Bulkhead.SEARCH, initialLimit, 4, 200, clock::get);
+  }
+
+  /** Ocupa todas as vagas e conclui todas com a mesma latência. */
+  private void runSaturatedRound(AdaptiveConcurrencyLimiter limiter, long latencyMillis) {
+    List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+    AdaptiveConcurrencyLimiter.Permit permit;
+    while ((permit = limiter.tryAcquire()) != null) {
+      permits.add(permit);
+    }
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+  }
+}
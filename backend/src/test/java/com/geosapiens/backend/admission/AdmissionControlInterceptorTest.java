@@ -0,0 +1,82 @@
+package com.geosapiens.backend.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.Asset;
+import com.geosapiens.backend.assets.AssetController;
+import com.geosapiens.backend.assets.AssetService;
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AdmissionControlInterceptorTest {
+
+  private AssetService assetService;
+  private Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    assetService = mock(AssetService.class);
+    limiters = new EnumMap<>(Bulkhead.class);
+    for (Bulkhead bulkhead : Bulkhead.values()) {
+      limiters.put(bulkhead, new AdaptiveConcurrencyLimiter(bulkhead, 1, 1, 10));
+    }
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetController(assetService))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .addInterceptors(new AdmissionControlInterceptor(limiters, Duration.ofSeconds(2)))
+        .build();
+  }
+
+  @Test
+  void shouldReturn429WithRetryAfterWhenBulkheadIsFull() throws Exception {
+    limiters.get(Bulkhead.SEARCH).tryAcquire();
+
+    mockMvc.perform(get("/assets"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+        .andExpect(jsonPath("$.code").value("TOO_MANY_REQUESTS"));
+
+    verifyNoInteractions(assetService);
+  }
+
+  @Test
+  void shouldKeepLookupsAvailableWhileSearchIsSaturated() throws Exception {
+    limiters.get(Bulkhead.SEARCH).tryAcquire();
+    when(assetService.lookupById(1L)).thenReturn(AssetResponse.fromEntity(asset()));
+
+    mockMvc.perform(get("/assets/{id}", 1L)).andExpect(status().isOk());
+
+    assertEquals(0, limiters.get(Bulkhead.READ).inFlight());
+  }
+
+  private static Asset asset() {
+    var asset = new Asset();
+    asset.setId(1L);
+    asset.setVersion(0L);
+    asset.setName("Notebook de Teste");
+    asset.setSerialNumber("SN-1");
+    asset.setCategory(Category.COMPUTER);
+    asset.setStatus(Status.IN_USE);
+    asset.setAcquisitionDate(LocalDate.of(2024, 1, 10));
+    return asset;
+  }
+}
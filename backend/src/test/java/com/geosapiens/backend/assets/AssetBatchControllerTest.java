@@ -0,0 +1,89 @@
+package com.geosapiens.backend.assets;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AssetBatchControllerTest {
+
+  private AssetService assetService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    assetService = mock(AssetService.class);
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetBatchController(assetService))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+
+    when(assetService.lookupByIds(anyList())).thenReturn(Map.of(1L, asset(1L), 3L, asset(3L)));
+  }
+
+  @Test
+  void shouldReturnItemsInRequestOrderWithExplicitMisses() throws Exception {
+    mockMvc.perform(post("/assets:batchGet")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": [3, 2, 1]}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(3))
+        .andExpect(jsonPath("$.items[1]").doesNotExist())
+        .andExpect(jsonPath("$.items[2].id").value(1))
+        .andExpect(jsonPath("$.missing[0]").value(2));
+  }
+
+  @Test
+  void shouldAcceptIdsAsQueryParameter() throws Exception {
+    mockMvc.perform(get("/assets:batchGet").param("ids", "1,3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.missing.length()").value(0));
+  }
+
+  @Test
+  void shouldRejectBatchesAboveLimit() throws Exception {
+    String ids = LongStream.rangeClosed(1, AssetBatchController.MAX_IDS + 1)
+        .mapToObj(Long::toString)
+        .collect(Collectors.joining(","));
+
+    mockMvc.perform(post("/assets:batchGet")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": [" + ids + "]}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+
+    verifyNoInteractions(assetService);
+  }
+
+  private static AssetResponse asset(Long id) {
+    return new AssetResponse(
+        id,
+        "Notebook " + id,
+        "SN-" + id,
+        Category.COMPUTER,
+        Status.IN_USE,
+        LocalDate.of(2024, 1, 10),
+        null,
+        null,
+        null,
+        null,
+        0L);
+  }
+}
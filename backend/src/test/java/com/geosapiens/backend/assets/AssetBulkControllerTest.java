@@ -0,0 +1,101 @@
+package com.geosapiens.backend.assets;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AssetBulkControllerTest {
+
+  private AssetBulkService assetBulkService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    assetBulkService = mock(AssetBulkService.class);
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetBulkController(assetBulkService))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void shouldMoveFilteredAssetsToTargetStatus() throws Exception {
+    when(assetBulkService.updateStatus(
+            eq(new AssetFilter(null, Status.MAINTENANCE, null)), eq(Status.IN_STOCK)))
+        .thenReturn(42L);
+
+    mockMvc.perform(post("/assets/bulk-status")
+        .param("status", "MAINTENANCE")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"status\": \"IN_STOCK\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.affected").value(42));
+  }
+
+  @Test
+  void shouldDeleteByCategory() throws Exception {
+    when(assetBulkService.delete(new AssetFilter(Category.PERIPHERAL, null, null))).thenReturn(7L);
+
+    mockMvc.perform(delete("/assets").param("category", "PERIPHERAL"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.affected").value(7));
+  }
+
+  @Test
+  void shouldDeleteByAcquisitionRange() throws Exception {
+    var filter = new AssetFilter(
+        null, Status.RETIRED, null, LocalDate.of(2015, 1, 1), LocalDate.of(2015, 12, 31));
+    when(assetBulkService.delete(filter)).thenReturn(3L);
+
+    mockMvc.perform(delete("/assets")
+        .param("status", "RETIRED")
+        .param("acquiredFrom", "2015-01-01")
+        .param("acquiredTo", "2015-12-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.affected").value(3));
+  }
+
+  @Test
+  void shouldRejectInvertedAcquisitionRange() throws Exception {
+    mockMvc.perform(delete("/assets")
+        .param("acquiredFrom", "2020-01-01")
+        .param("acquiredTo", "2019-01-01"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(assetBulkService);
+  }
+
+  @Test
+  void shouldRejectBulkDeleteWithoutFilters() throws Exception {
+    mockMvc.perform(delete("/assets").param("q", "  "))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+
+    verifyNoInteractions(assetBulkService);
+  }
+
+  @Test
+  void shouldRequireTargetStatus() throws Exception {
+    mockMvc.perform(post("/assets/bulk-status")
+        .param("category", "COMPUTER")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+
+    verifyNoInteractions(assetBulkService);
+  }
+}
@@ -0,0 +1,143 @@
+package com.geosapiens.backend.assets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.dto.AssetUpsertRequest;
+import com.geosapiens.backend.assets.exceptions.AssetPreconditionFailedException;
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.JsonNode;
+
+class AssetControllerConditionalRequestTest {
+
+  private AssetService assetService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    assetService = mock(AssetService.class);
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetController(assetService))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void shouldExposeVersionAsETagOnGet() throws Exception {
+    when(assetService.lookupById(1L)).thenReturn(AssetResponse.fromEntity(asset(1L, 7L)));
+
+    mockMvc.perform(get("/assets/{id}", 1L))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+        .andExpect(jsonPath("$.version").value(7));
+  }
+
+  @Test
+  void shouldForwardIfMatchVersionToUpdate() throws Exception {
+    when(assetService.update(eq(1L), any(AssetUpsertRequest.class), eq(7L)))
+        .thenReturn(asset(1L, 8L));
+
+    mockMvc.perform(put("/assets/{id}", 1L)
+        .header(HttpHeaders.IF_MATCH, "\"7\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(validAssetPayload()))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+  }
+
+  @Test
+  void shouldReturn412WhenIfMatchIsStale() throws Exception {
+    when(assetService.update(eq(1L), any(AssetUpsertRequest.class), eq(6L)))
+        .thenThrow(new AssetPreconditionFailedException(1L));
+
+    mockMvc.perform(put("/assets/{id}", 1L)
+        .header(HttpHeaders.IF_MATCH, "\"6\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(validAssetPayload()))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(jsonPath("$.status").value(412))
+        .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+  }
+
+  @Test
+  void shouldAcceptMergePatchAndForwardIfMatch() throws Exception {
+    when(assetService.patch(eq(1L), any(JsonNode.class), eq(7L))).thenReturn(asset(1L, 8L));
+
+    mockMvc.perform(patch("/assets/{id}", 1L)
+        .header(HttpHeaders.IF_MATCH, "\"7\"")
+        .contentType("application/merge-patch+json")
+        .content("{\"status\": \"IN_USE\"}"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+        .andExpect(jsonPath("$.status").value("IN_USE"));
+  }
+
+  @Test
+  void shouldTreatWildcardIfMatchAsUnconditionalDelete() throws Exception {
+    mockMvc.perform(delete("/assets/{id}", 1L).header(HttpHeaders.IF_MATCH, "*"))
+        .andExpect(status().isNoContent());
+
+    verify(assetService).delete(1L, null);
+  }
+
+  @Test
+  void shouldReturn412WhenDeletingWithStaleVersion() throws Exception {
+    doThrow(new AssetPreconditionFailedException(1L)).when(assetService).delete(1L, 3L);
+
+    mockMvc.perform(delete("/assets/{id}", 1L).header(HttpHeaders.IF_MATCH, "\"3\""))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+  }
+
+  @Test
+  void shouldRejectMultipleETagsInIfMatch() throws Exception {
+    mockMvc.perform(delete("/assets/{id}", 1L).header(HttpHeaders.IF_MATCH, "\"1\", \"2\""))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(assetService);
+  }
+
+  private static Asset asset(Long id, Long version) {
+    var asset = new Asset();
+    asset.setId(id);
+    asset.setVersion(version);
+    asset.setName("Notebook de Teste");
+    asset.setSerialNumber("SN-" + id);
+    asset.setCategory(Category.COMPUTER);
+    asset.setStatus(Status.IN_USE);
+    asset.setAcquisitionDate(LocalDate.of(2024, 1, 10));
+    return asset;
+  }
+
+  private static String validAssetPayload() {
+    return """
+        {
+          "name": "Notebook de Teste",
+          "serialNumber": "SN-1",
+          "category": "COMPUTER",
+          "status": "IN_USE",
+          "acquisitionDate": "2024-01-10"
+        }
+        """;
+  }
+}
@@ -2,6 +2,7 @@ package com.geosapiens.backend.assets;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -37,7 +38,7 @@ class AssetControllerErrorHandlingTest {
 
   @Test
   void shouldReturn404WhenDeletingMissingAsset() throws Exception {
-    doThrow(new AssetNotFoundException(999L)).when(assetService).delete(999L);
+    doThrow(new AssetNotFoundException(999L)).when(assetService).delete(999L, null);
 
     mockMvc.perform(delete("/assets/{id}", 999L))
         .andExpect(status().isNotFound())
@@ -48,7 +49,7 @@ class AssetControllerErrorHandlingTest {
 
   @Test
   void shouldReturn404WhenUpdatingMissingAsset() throws Exception {
-    when(assetService.update(eq(999L), any(AssetUpsertRequest.class)))
+    when(assetService.update(eq(999L), any(AssetUpsertRequest.class), isNull()))
         .thenThrow(new AssetNotFoundException(999L));
 
     mockMvc.perform(put("/assets/{id}", 999L)
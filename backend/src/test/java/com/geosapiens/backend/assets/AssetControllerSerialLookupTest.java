@@ -0,0 +1,105 @@
+package com.geosapiens.backend.assets;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.exceptions.AssetNotFoundException;
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AssetControllerSerialLookupTest {
+
+  private AssetService assetService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    assetService = mock(AssetService.class);
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetController(assetService))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void shouldResolveAssetBySerialNumber() throws Exception {
+    when(assetService.lookupBySerialNumber("GS-COM-USE-0001")).thenReturn(asset(1L, "GS-COM-USE-0001"));
+
+    mockMvc.perform(get("/assets/by-serial/{serialNumber}", "GS-COM-USE-0001"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+        .andExpect(jsonPath("$.id").value(1));
+  }
+
+  @Test
+  void shouldReturn404ForUnknownSerialNumber() throws Exception {
+    when(assetService.lookupBySerialNumber("SN-NOPE"))
+        .thenThrow(new AssetNotFoundException("SN-NOPE"));
+
+    mockMvc.perform(get("/assets/by-serial/{serialNumber}", "SN-NOPE"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value("ASSET_NOT_FOUND"));
+  }
+
+  @Test
+  void shouldKeepRequestOrderAndReportMisses() throws Exception {
+    when(assetService.lookupBySerialNumbers(anyList()))
+        .thenReturn(Map.of("SN-2", asset(2L, "SN-2"), "SN-1", asset(1L, "SN-1")));
+
+    mockMvc.perform(post("/assets/by-serial:batchGet")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"serialNumbers\": [\"SN-1\", \"SN-X\", \"SN-2\"]}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(1))
+        .andExpect(jsonPath("$.items[1]").doesNotExist())
+        .andExpect(jsonPath("$.items[2].id").value(2))
+        .andExpect(jsonPath("$.missing[0]").value("SN-X"));
+  }
+
+  @Test
+  void shouldRejectBatchesAboveLimit() throws Exception {
+    String serials = IntStream.range(0, 1001)
+        .mapToObj(i -> "\"SN-" + i + "\"")
+        .collect(Collectors.joining(","));
+
+    mockMvc.perform(post("/assets/by-serial:batchGet")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"serialNumbers\": [" + serials + "]}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+
+    verifyNoInteractions(assetService);
+  }
+
+  private static AssetResponse asset(Long id, String serialNumber) {
+    return new AssetResponse(
+        id,
+        "Notebook " + id,
+        serialNumber,
+        Category.COMPUTER,
+        Status.IN_USE,
+        LocalDate.of(2024, 1, 10),
+        null,
+        null,
+        null,
+        null,
+        0L);
+  }
+}
@@ -4,6 +4,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -35,9 +36,9 @@ class AssetControllerSortingTest {
         .setControllerAdvice(new GlobalExceptionHandler())
         .build();
 
-    when(assetService.search(any(), any(), any(), any(Pageable.class)))
+    when(assetService.search(any(), anyBoolean(), any(Pageable.class)))
         .thenAnswer(invocation -> {
-          Pageable pageable = invocation.getArgument(3);
+          Pageable pageable = invocation.getArgument(2);
           return Page.empty(pageable);
         });
   }
@@ -48,7 +49,7 @@ class AssetControllerSortingTest {
         .andExpect(status().isOk());
 
     ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-    verify(assetService).search(any(), any(), any(), pageableCaptor.capture());
+    verify(assetService).search(any(), anyBoolean(), pageableCaptor.capture());
 
     Sort.Order order = pageableCaptor.getValue().getSort().getOrderFor("name");
     assertNotNull(order);
@@ -61,7 +62,7 @@ class AssetControllerSortingTest {
         .andExpect(status().isOk());
 
     ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-    verify(assetService).search(any(), any(), any(), pageableCaptor.capture());
+    verify(assetService).search(any(), anyBoolean(), pageableCaptor.capture());
 
     Sort.Order order = pageableCaptor.getValue().getSort().getOrderFor("acquisitionDate");
     assertNotNull(order);
@@ -0,0 +1,64 @@
+package com.geosapiens.backend.assets;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.dto.AssetFieldChangeResponse;
+import com.geosapiens.backend.assets.dto.AssetHistoryEntryResponse;
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import com.geosapiens.backend.assets.history.AssetHistory;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AssetHistoryControllerTest {
+
+  private AssetHistory history;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    history = mock(AssetHistory.class);
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetHistoryController(history))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void shouldPageFromNewestUsingBeforeCursor() throws Exception {
+    when(history.find(7L, 40L, 3)).thenReturn(List.of(entry(39L), entry(35L), entry(30L)));
+
+    mockMvc.perform(get("/assets/7/history").param("before", "40").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.items[1].seq").value(35))
+        .andExpect(jsonPath("$.items[0].changes[0].field").value("status"))
+        .andExpect(jsonPath("$.items[0].changes[0].to").value("RETIRED"))
+        .andExpect(jsonPath("$.hasMore").value(true));
+
+    verify(history).find(7L, 40L, 3);
+  }
+
+  @Test
+  void shouldRejectLimitOutOfRange() throws Exception {
+    mockMvc.perform(get("/assets/7/history").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private static AssetHistoryEntryResponse entry(long seq) {
+    return new AssetHistoryEntryResponse(
+        seq,
+        AssetChangedEvent.Type.UPDATED,
+        seq,
+        OffsetDateTime.parse("2026-01-10T12:00:00Z"),
+        List.of(new AssetFieldChangeResponse("status", "IN_USE", "RETIRED")));
+  }
+}
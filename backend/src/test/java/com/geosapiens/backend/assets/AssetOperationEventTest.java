@@ -0,0 +1,50 @@
+package com.geosapiens.backend.assets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class AssetOperationEventTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void shouldRecordFilterShapeWithoutSearchTextAndPageInfo() throws Exception {
+    var filter = new AssetFilter(
+        Category.COMPUTER, null, "segredo", LocalDate.parse("2024-01-01"), null,
+        BoundingBox.WORLD, null);
+    Path file = dir.resolve("events.jfr");
+
+    try (var recording = new Recording()) {
+      recording.enable(AssetOperationEvent.NAME);
+      recording.start();
+      var event = new AssetOperationEvent();
+      event.begin();
+      event.complete("search", "hot", filter, PageRequest.of(2, 20, Sort.by("name")), 20, 125);
+      recording.stop();
+      recording.dump(file);
+    }
+
+    var events = RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().equals(AssetOperationEvent.NAME))
+        .toList();
+    assertEquals(1, events.size());
+    var event = events.get(0);
+    assertEquals("search", event.getString("operation"));
+    assertEquals("hot", event.getString("source"));
+    assertEquals("category=COMPUTER,q,acquiredFrom,bbox", event.getString("filter"));
+    assertEquals("name: ASC", event.getString("sort"));
+    assertEquals(40, event.getLong("offset"));
+    assertEquals(20, event.getInt("pageSize"));
+    assertEquals(125, event.getLong("total"));
+  }
+}
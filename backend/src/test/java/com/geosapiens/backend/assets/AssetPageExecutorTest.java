@@ -0,0 +1,129 @@
+package com.geosapiens.backend.assets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AssetPageExecutorTest {
+
+  private final PageRequest secondPage = PageRequest.of(1, 2);
+  private final Thread callerThread = Thread.currentThread();
+
+  @Test
+  void shouldSkipCountOnLastPage() {
+    var executor = executor(AssetPageExecutor.Mode.SEQUENTIAL);
+
+    var page = executor.page(
+        secondPage,
+        () -> new SliceImpl<>(List.of("c"), secondPage, false),
+        () -> fail("count não deveria rodar"));
+
+    assertEquals(3, page.getTotalElements());
+  }
+
+  @Test
+  void shouldRunCountOnCallerThreadInSequentialMode() {
+    var executor = executor(AssetPageExecutor.Mode.SEQUENTIAL);
+    var countThread = new AtomicReference<Thread>();
+
+    var page = executor.page(
+        secondPage,
+        () -> new SliceImpl<>(List.of("c", "d"), secondPage, true),
+        () -> {
+          countThread.set(Thread.currentThread());
+          return 42;
+        });
+
+    assertEquals(42, page.getTotalElements());
+    assertSame(Thread.currentThread(), countThread.get());
+  }
+
+  @Test
+  void shouldRunCountConcurrentlyInParallelMode() {
+    var executor = executor(AssetPageExecutor.Mode.PARALLEL);
+    var countThread = new AtomicReference<Thread>();
+    var countStarted = new CountDownLatch(1);
+
+    // A página só termina depois que o count começou: os dois estão em voo ao mesmo tempo.
+    var page = executor.page(
+        secondPage,
+        () -> {
+          await(countStarted);
+          return new SliceImpl<>(List.of("c", "d"), secondPage, true);
+        },
+        () -> {
+          countThread.set(Thread.currentThread());
+          countStarted.countDown();
+          return 42;
+        });
+
+    assertEquals(42, page.getTotalElements());
+    assertEquals(21, page.getTotalPages());
+    assertNotSame(Thread.currentThread(), countThread.get());
+    assertEquals(true, countThread.get().isVirtual());
+  }
+
+  @Test
+  void shouldTakeOverCountStillWaitingForConnection() throws Exception {
+    var connectionAvailable = new CountDownLatch(1);
+    var transactionManager = mock(PlatformTransactionManager.class);
+    when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+      await(connectionAvailable);
+      return null;
+    });
+    var executor = new AssetPageExecutor(
+        transactionManager, mock(DataSource.class), new SimpleMeterRegistry(),
+        AssetPageExecutor.Mode.PARALLEL, 4);
+    var counts = new AtomicInteger();
+
+    var page = executor.page(
+        secondPage,
+        () -> new SliceImpl<>(List.of("c", "d"), secondPage, true),
+        () -> {
+          assertSame(Thread.currentThread(), callerThread);
+          return counts.incrementAndGet() + 41;
+        });
+    connectionAvailable.countDown();
+
+    assertEquals(42, page.getTotalElements());
+    verify(transactionManager, timeout(1_000)).commit(any());
+    assertEquals(1, counts.get());
+  }
+
+  private static AssetPageExecutor executor(AssetPageExecutor.Mode mode) {
+    return new AssetPageExecutor(
+        mock(PlatformTransactionManager.class),
+        mock(DataSource.class),
+        new SimpleMeterRegistry(),
+        mode,
+        4);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS), "latch não liberado");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+}
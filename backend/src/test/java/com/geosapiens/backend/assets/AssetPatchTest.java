@@ -0,0 +1,77 @@
+package com.geosapiens.backend.assets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.dto.ApiErrorResponse;
+import com.geosapiens.backend.assets.exceptions.AssetPatchInvalidException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class AssetPatchTest {
+
+  private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  @Test
+  void shouldValidateOnlySuppliedFields() {
+    var patch = parse("""
+        { "status": "MAINTENANCE" }
+        """);
+
+    assertEquals(Status.MAINTENANCE, patch.status());
+    assertNull(patch.name());
+    assertNull(patch.acquisitionDate());
+  }
+
+  @Test
+  void shouldRejectInvalidUnknownAndRemovedFields() {
+    var ex = assertThrows(AssetPatchInvalidException.class, () -> parse("""
+        {
+          "name": null,
+          "status": "BROKEN",
+          "acquisitionDate": "%s",
+          "version": 3
+        }
+        """.formatted(LocalDate.now().plusDays(1))));
+
+    var fields = ex.getErrors().stream()
+        .map(ApiErrorResponse.ApiFieldError::field)
+        .collect(Collectors.toSet());
+    assertEquals(Set.of("name", "status", "acquisitionDate", "version"), fields);
+  }
+
+  @Test
+  void shouldDetectNoOpPatch() {
+    var asset = new Asset();
+    asset.setName("Notebook de Teste");
+    asset.setSerialNumber("SN-1");
+    asset.setStatus(Status.IN_USE);
+
+    assertFalse(parse("""
+        { "name": "Notebook de Teste", "status": "IN_USE" }
+        """).changes(asset));
+
+    var patch = parse("""
+        { "serialNumber": "SN-2" }
+        """);
+    assertTrue(patch.changes(asset));
+    assertTrue(patch.changesSerialNumber(asset));
+
+    patch.applyTo(asset);
+    assertEquals("SN-2", asset.getSerialNumber());
+    assertEquals("Notebook de Teste", asset.getName());
+  }
+
+  private AssetPatch parse(String json) {
+    return AssetPatch.parse(jsonMapper.readTree(json), jsonMapper, validator);
+  }
+}
@@ -0,0 +1,126 @@
+package com.geosapiens.backend.assets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.geo.GeoRadius;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+class AssetQueryPlansTest {
+
+  @Test
+  void shouldCompileOnlyThePredicatesOfThePresentFilters() {
+    var filter = new AssetFilter(
+        Category.COMPUTER, null, " note ", LocalDate.parse("2024-01-01"), null);
+    int mask = AssetQueryPlans.mask(filter);
+
+    var plan = AssetQueryPlans.compile(
+        new AssetQueryPlans.Shape(Asset.class, mask, AssetSorts.parse(List.of("name,desc", "id"))));
+
+    assertEquals(
+        "select a from Asset a where a.category = :category"
+            + " and (lower(a.name) like :q escape '\\' or lower(a.serialNumber) like :q escape '\\')"
+            + " and a.acquisitionDate >= :acquiredFrom"
+            + " order by a.name desc, a.id asc",
+        plan.select());
+    assertEquals(
+        "select count(a) from Asset a where a.category = :category"
+            + " and (lower(a.name) like :q escape '\\' or lower(a.serialNumber) like :q escape '\\')"
+            + " and a.acquisitionDate >= :acquiredFrom",
+        plan.count());
+  }
+
+  @Test
+  void shouldUseBetweenForClosedRangeAndIgnoreBlankQuery() {
+    var filter = new AssetFilter(
+        null, Status.RETIRED, "  ", LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31"));
+
+    var plan = AssetQueryPlans.compile(new AssetQueryPlans.Shape(
+        AssetView.class, AssetQueryPlans.mask(filter), Sort.unsorted()));
+
+    assertEquals(
+        "select a from AssetView a where a.status = :status"
+            + " and a.acquisitionDate between :acquiredFrom and :acquiredTo",
+        plan.select());
+  }
+
+  @Test
+  void shouldSplitBoxesAcrossTheAntimeridianAndAddExactDistanceForRadius() {
+    var filter = new AssetFilter(null, null, null, null, null,
+        BoundingBox.parse("170,-20,-170,20"), GeoRadius.parse("0,0", 1000));
+    int mask = AssetQueryPlans.mask(filter);
+
+    var plan = AssetQueryPlans.compile(new AssetQueryPlans.Shape(Asset.class, mask, Sort.unsorted()));
+
+    assertEquals(
+        AssetQueryPlans.BBOX | AssetQueryPlans.BBOX_WRAP | AssetQueryPlans.NEAR, mask);
+    assertEquals(
+        "select count(a) from Asset a where"
+            + " (function('asset_in_box', a.longitude, a.latitude,"
+            + " :bbMinLon, :bbMinLat, 180.0, :bbMaxLat) = true"
+            + " or function('asset_in_box', a.longitude, a.latitude,"
+            + " -180.0, :bbMinLat, :bbMaxLon, :bbMaxLat) = true)"
+            + " and function('asset_in_box', a.longitude, a.latitude,"
+            + " :nearMinLon, :nearMinLat, :nearMaxLon, :nearMaxLat) = true"
+            + " and function('asset_distance_m', a.latitude, a.longitude, :nearLat, :nearLon)"
+            + " <= :nearMeters",
+        plan.count());
+  }
+
+  @Test
+  void shouldGroupClustersByLiteralCellSize() {
+    int mask = AssetQueryPlans.mask(
+        new AssetFilter(null, null, null, null, null, BoundingBox.WORLD, null));
+
+    String jpql = AssetQueryPlans.compileClusters(
+        new AssetQueryPlans.ClusterShape(Asset.class, mask, 5));
+
+    assertTrue(jpql.startsWith("select floor(a.longitude / 11.25), floor(a.latitude / 11.25),"));
+    assertTrue(jpql.endsWith(
+        " group by floor(a.longitude / 11.25), floor(a.latitude / 11.25)"));
+    assertEquals(5, AssetService.clusterLevel(BoundingBox.WORLD, 32));
+    assertEquals(AssetService.MAX_CLUSTER_LEVEL,
+        AssetService.clusterLevel(BoundingBox.parse("10,10,10,10"), 32));
+  }
+
+  @Test
+  void shouldBreakTiesByIdInTheDirectionOfTheLastOrder() {
+    var byStatus = AssetQueryPlans.compile(new AssetQueryPlans.Shape(
+        Asset.class, 0, AssetSorts.parse(List.of("status,desc"))));
+    var byCategoryThenSerial = AssetQueryPlans.compile(new AssetQueryPlans.Shape(
+        Asset.class, 0, AssetSorts.parse(List.of("category,desc", "serialNumber"))));
+
+    assertEquals("select a from Asset a order by a.status desc, a.id desc", byStatus.select());
+    assertEquals(
+        "select a from Asset a order by a.category desc, a.serialNumber asc, a.id asc",
+        byCategoryThenSerial.select());
+    assertEquals(
+        "select a from Asset a order by a.id desc",
+        AssetQueryPlans.compile(
+            new AssetQueryPlans.Shape(Asset.class, 0, AssetSorts.DEFAULT)).select());
+  }
+
+  @Test
+  void shouldRejectSortPropertiesOutsideTheListingFields() {
+    var shape = new AssetQueryPlans.Shape(Asset.class, 0, Sort.by("name; drop table assets"));
+
+    assertThrows(IllegalArgumentException.class, () -> AssetQueryPlans.compile(shape));
+  }
+
+  @Test
+  void shouldReuseParsedSortAndNeverCacheInvalidOnes() {
+    var first = AssetSorts.parse(List.of("acquisitionDate,desc", "name"));
+
+    assertSame(first, AssetSorts.parse(List.of("acquisitionDate,desc", "name")));
+    assertSame(AssetSorts.DEFAULT, AssetSorts.parse(List.of(" , ")));
+    assertThrows(ResponseStatusException.class, () -> AssetSorts.parse(List.of("name,sideways")));
+    assertThrows(ResponseStatusException.class, () -> AssetSorts.parse(List.of("name,sideways")));
+  }
+}
@@ -0,0 +1,77 @@
+package com.geosapiens.backend.assets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.geosapiens.backend.assets.dto.AssetTombstoneResponse;
+import com.geosapiens.backend.assets.exceptions.GlobalExceptionHandler;
+import com.geosapiens.backend.assets.tombstone.AssetTombstones;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AssetTombstoneControllerTest {
+
+  private static final OffsetDateTime SINCE = OffsetDateTime.parse("2026-01-10T12:00:00Z");
+
+  private AssetTombstones tombstones;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    tombstones = mock(AssetTombstones.class);
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new AssetTombstoneController(tombstones))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void shouldFetchOneExtraItemToSignalNextPage() throws Exception {
+    when(tombstones.find(SINCE, 7L, 3)).thenReturn(List.of(
+        tombstone(8L), tombstone(9L), tombstone(10L)));
+
+    mockMvc.perform(get("/assets/tombstones")
+        .param("since", SINCE.toString())
+        .param("afterId", "7")
+        .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.items[1].id").value(9))
+        .andExpect(jsonPath("$.hasMore").value(true));
+
+    verify(tombstones).find(SINCE, 7L, 3);
+  }
+
+  @Test
+  void shouldRejectLimitAboveMaximum() throws Exception {
+    mockMvc.perform(get("/assets/tombstones").param("limit", "5001"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(tombstones);
+  }
+
+  @Test
+  void shouldStartFromTheBeginningWithoutCursor() throws Exception {
+    when(tombstones.find(any(), any(), any(Integer.class))).thenReturn(List.of(tombstone(1L)));
+
+    mockMvc.perform(get("/assets/tombstones"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.hasMore").value(false));
+
+    verify(tombstones).find(null, null, AssetTombstoneController.DEFAULT_LIMIT + 1);
+  }
+
+  private static AssetTombstoneResponse tombstone(Long id) {
+    return new AssetTombstoneResponse(id, "SN-" + id, 2L, SINCE.plusSeconds(id));
+  }
+}
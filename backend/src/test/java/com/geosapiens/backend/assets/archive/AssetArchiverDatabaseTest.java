@@ -0,0 +1,138 @@
+package com.geosapiens.backend.assets.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.geosapiens.backend.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+/**
+ * O movimento em si contra o Postgres: a CTE copia todas as colunas, o serial continua reservado
+ * (o trigger de DELETE respeita o {@code set_config}) e linhas travadas ficam para a próxima rodada.
+ * Os candidatos têm {@code updated_at} em 1990 e o corte fica em 30 anos, para não arquivar dados
+ * reais da base.
+ */
+@EnabledIfEnvironmentVariable(named = TestDatabase.URL_ENV, matches = ".+")
+class AssetArchiverDatabaseTest {
+
+  private static final String PREFIX = "TEST-ARCH-";
+
+  private DataSource dataSource;
+  private JdbcTemplate jdbc;
+  private AssetArchiver archiver;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = TestDatabase.dataSource();
+    jdbc = new JdbcTemplate(dataSource);
+    cleanUp();
+    jdbc.update("""
+        INSERT INTO assets (
+          name, serial_number, category, status, acquisition_date, updated_at, version,
+          latitude, longitude)
+        VALUES
+          ('Old 1', 'TEST-ARCH-OLD-1', 'COMPUTER', 'RETIRED', CURRENT_DATE, '1990-01-01', 4,
+            -23.5, -46.6),
+          ('Old 2', 'TEST-ARCH-OLD-2', 'COMPUTER', 'RETIRED', CURRENT_DATE, '1990-01-02', 0,
+            NULL, NULL),
+          ('Recent', 'TEST-ARCH-RECENT', 'COMPUTER', 'RETIRED', CURRENT_DATE, now(), 0, NULL, NULL),
+          ('In use', 'TEST-ARCH-IN-USE', 'COMPUTER', 'IN_USE', CURRENT_DATE, '1990-01-01', 0,
+            NULL, NULL)
+        """);
+    archiver = new AssetArchiver(
+        jdbc,
+        new DataSourceTransactionManager(dataSource),
+        mock(ApplicationEventPublisher.class),
+        new SimpleMeterRegistry(),
+        true,
+        Duration.ofDays(365 * 30),
+        1000,
+        10);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbc.update("DELETE FROM assets_archive WHERE serial_number LIKE ?", PREFIX + "%");
+    jdbc.update("DELETE FROM assets WHERE serial_number LIKE ?", PREFIX + "%");
+  }
+
+  @Test
+  void shouldMoveOnlyOldRetiredRowsWithAllColumns() {
+    var hot = jdbc.queryForMap(
+        "SELECT id, created_at, version FROM assets WHERE serial_number = 'TEST-ARCH-OLD-1'");
+
+    assertEquals(2, archiver.archive().moved());
+
+    assertEquals(List.of("TEST-ARCH-IN-USE", "TEST-ARCH-RECENT"), serials("assets"));
+    assertEquals(List.of("TEST-ARCH-OLD-1", "TEST-ARCH-OLD-2"), serials("assets_archive"));
+    var archived = jdbc.queryForMap("""
+        SELECT id, name, status, created_at, version, latitude, longitude
+        FROM assets_archive WHERE serial_number = 'TEST-ARCH-OLD-1'
+        """);
+    assertEquals(hot.get("id"), archived.get("id"));
+    assertEquals(hot.get("created_at"), archived.get("created_at"));
+    assertEquals(4L, archived.get("version"));
+    assertEquals("Old 1", archived.get("name"));
+    assertEquals(-23.5, archived.get("latitude"));
+    assertEquals(-46.6, archived.get("longitude"));
+  }
+
+  @Test
+  void shouldKeepSerialReservedWhileArchivedAndReleaseItOnArchiveDelete() {
+    archiver.archive();
+
+    assertEquals(
+        1,
+        jdbc.queryForObject(
+            "SELECT count(*) FROM asset_serial_numbers WHERE serial_number = 'TEST-ARCH-OLD-1'",
+            Integer.class));
+    assertThrows(DuplicateKeyException.class, () -> insert("TEST-ARCH-OLD-1"));
+
+    jdbc.update("DELETE FROM assets_archive WHERE serial_number = 'TEST-ARCH-OLD-1'");
+    insert("TEST-ARCH-OLD-1");
+  }
+
+  @Test
+  void shouldSkipRowsLockedByAnotherTransaction() throws Exception {
+    try (var other = dataSource.getConnection()) {
+      other.setAutoCommit(false);
+      try (var lock = other.createStatement()) {
+        lock.execute(
+            "SELECT id FROM assets WHERE serial_number = 'TEST-ARCH-OLD-2' FOR UPDATE");
+      }
+
+      assertEquals(1, archiver.archive().moved());
+      assertEquals(List.of("TEST-ARCH-OLD-1"), serials("assets_archive"));
+      other.rollback();
+    }
+
+    assertEquals(1, archiver.archive().moved());
+    assertEquals(List.of("TEST-ARCH-OLD-1", "TEST-ARCH-OLD-2"), serials("assets_archive"));
+  }
+
+  private List<String> serials(String table) {
+    return jdbc.queryForList(
+        "SELECT serial_number FROM " + table + " WHERE serial_number LIKE ? ORDER BY 1",
+        String.class,
+        PREFIX + "%");
+  }
+
+  private void insert(String serialNumber) {
+    jdbc.update("""
+        INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+        VALUES ('Reuso', ?, 'COMPUTER', 'IN_USE', CURRENT_DATE)
+        """, serialNumber);
+  }
+}
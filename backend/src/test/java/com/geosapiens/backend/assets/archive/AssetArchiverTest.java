@@ -0,0 +1,104 @@
+package com.geosapiens.backend.assets.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geosapiens.backend.assets.AssetsBulkChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AssetArchiverTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private PlatformTransactionManager transactionManager;
+  private ApplicationEventPublisher eventPublisher;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    transactionManager = mock(PlatformTransactionManager.class);
+    eventPublisher = mock(ApplicationEventPublisher.class);
+  }
+
+  @Test
+  void shouldMarkEachTransactionBeforeMovingItsBatch() {
+    whenMoveReturn(2, 2, 1);
+
+    var run = archiver(2, 10).archive();
+
+    assertEquals(5, run.moved());
+    assertEquals(3, run.batches());
+    // Sem o set_config na mesma transação, o trigger de DELETE liberaria os seriais movidos.
+    var order = inOrder(transactionManager, jdbcTemplate);
+    for (int i = 0; i < 3; i++) {
+      order.verify(transactionManager).getTransaction(any());
+      order.verify(jdbcTemplate).queryForObject(contains("set_config"), eq(String.class));
+      order.verify(jdbcTemplate).update(anyString(), any(OffsetDateTime.class), eq(2));
+      order.verify(transactionManager).commit(any());
+    }
+    var event = ArgumentCaptor.forClass(AssetsBulkChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(AssetsBulkChangedEvent.Operation.ARCHIVED, event.getValue().operation());
+    assertEquals(5, event.getValue().affected());
+  }
+
+  @Test
+  void shouldStopAtMaxBatchesEvenWithRowsLeft() {
+    whenMoveReturn(2);
+
+    var run = archiver(2, 3).archive();
+
+    assertEquals(3, run.batches());
+    assertEquals(6, run.moved());
+    verify(jdbcTemplate, times(3)).update(anyString(), any(OffsetDateTime.class), anyInt());
+  }
+
+  @Test
+  void shouldNotPublishWhenNothingMoved() {
+    whenMoveReturn(0);
+
+    var run = archiver(2, 10).archive();
+
+    assertEquals(0, run.moved());
+    assertEquals(1, run.batches());
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  private void whenMoveReturn(int first, int... rest) {
+    Integer[] boxed = new Integer[rest.length];
+    for (int i = 0; i < rest.length; i++) {
+      boxed[i] = rest[i];
+    }
+    when(jdbcTemplate.update(anyString(), any(OffsetDateTime.class), anyInt()))
+        .thenReturn(first, boxed);
+  }
+
+  private AssetArchiver archiver(int batchSize, int maxBatches) {
+    return new AssetArchiver(
+        jdbcTemplate,
+        transactionManager,
+        eventPublisher,
+        new SimpleMeterRegistry(),
+        true,
+        Duration.ofDays(90),
+        batchSize,
+        maxBatches);
+  }
+}
@@ -0,0 +1,178 @@
+package com.geosapiens.backend.assets.bench;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Confere, com {@code EXPLAIN (ANALYZE)}, que os formatos de consulta de {@code GET /assets} usam os
+ * índices da V5/V6: página já ordenada pelo índice (sem nó Sort), count por index-only scan e busca
+ * textual por trigramas. As queries levam {@code deleted_at IS NULL}, como as geradas pelo
+ * {@code @SQLRestriction} da entidade (os índices da listagem são parciais). Insere
+ * {@code BENCH_ROWS} linhas com serial {@code BENCH-*}, roda {@code VACUUM ANALYZE} e remove tudo no
+ * final.
+ *
+ * <p>{@code BENCH_DB_URL=jdbc:postgresql://localhost:5432/geosapiens ./mvnw test -Pbench}
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = BenchDatabase.URL_ENV, matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AssetQueryShapeBenchmarkTest {
+
+  private static final String COLUMNS =
+      "a.id, a.name, a.serial_number, a.category, a.status, a.acquisition_date, "
+          + "a.created_at, a.updated_at, a.version";
+
+  private static final Pattern EXECUTION_TIME =
+      Pattern.compile("\"Execution Time\": ([0-9.]+)");
+
+  private Connection connection;
+
+  @BeforeAll
+  void seed() throws SQLException {
+    connection = BenchDatabase.connect();
+    connection.setAutoCommit(true);
+    int rows = BenchDatabase.intEnv("BENCH_ROWS", 200_000);
+
+    try (var st = connection.createStatement()) {
+      st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-%'");
+    }
+    try (var insert = connection.prepareStatement("""
+          INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+          SELECT
+            'Bench asset ' || g,
+            'BENCH-' || g,
+            (ARRAY['COMPUTER', 'PERIPHERAL', 'NETWORK_EQUIPMENT', 'SERVER_INFRA',
+              'MOBILE_DEVICE'])[1 + g % 5],
+            (ARRAY['IN_USE', 'IN_STOCK', 'MAINTENANCE', 'RETIRED'])[1 + (g / 5) % 4],
+            CURRENT_DATE - (g % 1800)
+          FROM generate_series(1, ?) g
+          """)) {
+      insert.setInt(1, rows);
+      insert.executeUpdate();
+    }
+    try (var st = connection.createStatement()) {
+      // Index-only scan depende do visibility map atualizado.
+      st.execute("VACUUM ANALYZE assets");
+    }
+  }
+
+  @AfterAll
+  void cleanUp() throws SQLException {
+    try (var st = connection.createStatement()) {
+      st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-%'");
+      st.execute("VACUUM ANALYZE assets");
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Test
+  void categoryAndStatusPageIsReadInIndexOrder() throws SQLException {
+    var plan = explain("SELECT " + COLUMNS + " FROM assets a "
+        + "WHERE a.deleted_at IS NULL AND a.category = 'COMPUTER' AND a.status = 'IN_USE' "
+        + "ORDER BY a.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY");
+
+    assertUsesIndex(plan, "category_status_id_idx");
+    assertNoSort(plan);
+  }
+
+  @Test
+  void statusPageIsReadInIndexOrder() throws SQLException {
+    var plan = explain("SELECT " + COLUMNS + " FROM assets a "
+        + "WHERE a.deleted_at IS NULL AND a.status = 'MAINTENANCE' "
+        + "ORDER BY a.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY");
+
+    assertOrderedIndexScan(plan);
+  }
+
+  @Test
+  void categoryPageIsReadInIndexOrder() throws SQLException {
+    var plan = explain("SELECT " + COLUMNS + " FROM assets a "
+        + "WHERE a.deleted_at IS NULL AND a.category = 'SERVER_INFRA' "
+        + "ORDER BY a.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY");
+
+    assertOrderedIndexScan(plan);
+  }
+
+  @Test
+  void unfilteredPageIsReadInPrimaryKeyOrder() throws SQLException {
+    var plan = explain("SELECT " + COLUMNS + " FROM assets a "
+        + "WHERE a.deleted_at IS NULL "
+        + "ORDER BY a.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY");
+
+    assertUsesIndex(plan, "_pkey");
+    assertNoSort(plan);
+  }
+
+  @Test
+  void pageCountIsIndexOnly() throws SQLException {
+    var plan = explain("SELECT count(a.id) FROM assets a "
+        + "WHERE a.deleted_at IS NULL AND a.category = 'COMPUTER' AND a.status = 'IN_USE'");
+
+    assertTrue(plan.contains("\"Node Type\": \"Index Only Scan\""), plan);
+  }
+
+  // Termo raro: com termos frequentes o planner prefere (com razão) varrer a PK em ordem e filtrar.
+  @Test
+  void textSearchUsesTrigramIndexes() throws SQLException {
+    var plan = explain("SELECT " + COLUMNS + " FROM assets a "
+        + "WHERE a.deleted_at IS NULL AND (lower(a.name) LIKE '%asset 198765%' ESCAPE '\\' "
+        + "OR lower(a.serial_number) LIKE '%asset 198765%' ESCAPE '\\') "
+        + "ORDER BY a.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY");
+
+    assertTrue(plan.contains("\"Node Type\": \"Bitmap Index Scan\""), plan);
+  }
+
+  @Test
+  void acquisitionRangeIsPrunedAndOrdered() throws SQLException {
+    var plan = explain("SELECT " + COLUMNS + " FROM assets a "
+        + "WHERE a.deleted_at IS NULL AND a.acquisition_date BETWEEN CURRENT_DATE - 30 AND CURRENT_DATE "
+        + "ORDER BY a.acquisition_date OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY");
+
+    assertUsesIndex(plan, "acquisition_date_idx");
+    assertNoSort(plan);
+    assertFalse(plan.contains("assets_p_historic"), plan);
+  }
+
+  private String explain(String sql) throws SQLException {
+    try (var st = connection.createStatement();
+        var rs = st.executeQuery("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+      rs.next();
+      var plan = rs.getString(1);
+      var time = EXECUTION_TIME.matcher(plan);
+      System.out.printf(
+          Locale.ROOT, "[bench] %-60.60s %s ms%n",
+          sql.replace(COLUMNS, "*"), time.find() ? time.group(1) : "?");
+      return plan;
+    }
+  }
+
+  private static void assertUsesIndex(String plan, String indexNameFragment) {
+    assertTrue(
+        Pattern.compile("\"Index Name\": \"[^\"]*" + Pattern.quote(indexNameFragment))
+            .matcher(plan).find(),
+        () -> "índice *" + indexNameFragment + "* não usado:\n" + plan);
+  }
+
+  // Página lida em ordem por algum índice (composto ou PK, a critério do planner), sem Sort.
+  private static void assertOrderedIndexScan(String plan) {
+    assertNoSort(plan);
+    assertFalse(plan.contains("\"Node Type\": \"Bitmap Heap Scan\""), plan);
+    assertTrue(plan.contains("\"Node Type\": \"Merge Append\""), plan);
+  }
+
+  private static void assertNoSort(String plan) {
+    assertFalse(plan.contains("\"Node Type\": \"Sort\""), () -> "plano com Sort:\n" + plan);
+  }
+}
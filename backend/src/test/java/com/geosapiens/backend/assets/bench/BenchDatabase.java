@@ -0,0 +1,48 @@
+package com.geosapiens.backend.assets.bench;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Conexão dos benchmarks que precisam de um Postgres já migrado pelo backend. Configure
+ * {@code BENCH_DB_URL} (ex.: {@code jdbc:postgresql://localhost:5432/geosapiens}),
+ * {@code BENCH_DB_USER} e {@code BENCH_DB_PASSWORD}.
+ */
+final class BenchDatabase {
+
+  static final String URL_ENV = "BENCH_DB_URL";
+
+  private BenchDatabase() {}
+
+  static Connection connect() throws SQLException {
+    return connect(new Properties());
+  }
+
+  /** Conexão com propriedades extras do pgjdbc (ex.: {@code reWriteBatchedInserts}). */
+  static Connection connect(Properties driverProperties) throws SQLException {
+    var properties = new Properties();
+    properties.putAll(driverProperties);
+    properties.setProperty("user", user());
+    properties.setProperty("password", password());
+    return DriverManager.getConnection(url(), properties);
+  }
+
+  static String url() {
+    return System.getenv(URL_ENV);
+  }
+
+  static String user() {
+    return System.getenv().getOrDefault("BENCH_DB_USER", "admin");
+  }
+
+  static String password() {
+    return System.getenv().getOrDefault("BENCH_DB_PASSWORD", "admin");
+  }
+
+  static int intEnv(String name, int defaultValue) {
+    var raw = System.getenv(name);
+    return raw == null || raw.isBlank() ? defaultValue : Integer.parseInt(raw.trim());
+  }
+}
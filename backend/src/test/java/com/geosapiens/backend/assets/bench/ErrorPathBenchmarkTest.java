@@ -0,0 +1,113 @@
+package com.geosapiens.backend.assets.bench;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.dto.ApiErrorResponse;
+import com.geosapiens.backend.assets.exceptions.AssetNotFoundException;
+import com.geosapiens.backend.assets.exceptions.ErrorBodies;
+import com.geosapiens.backend.assets.exceptions.SerialNumberConflictException;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Vazão do caminho de erro de 404/409 como o handler o executa: a exceção é lançada a
+ * {@value #STACK_DEPTH} frames de profundidade (perto de uma requisição Tomcat + Spring MVC), pega no
+ * topo e vira corpo JSON. Compara o caminho antigo (exceção com stack trace, {@link ApiErrorResponse}
+ * com {@code OffsetDateTime.now()} serializado pelo Jackson) com exceções sem stack trace e
+ * {@link ErrorBodies}. Não usa banco.
+ *
+ * <p>{@code ./mvnw test -Pbench -Dtest=ErrorPathBenchmarkTest}
+ */
+@Tag("benchmark")
+class ErrorPathBenchmarkTest {
+
+  private static final int STACK_DEPTH = 150;
+
+  private static final ErrorBodies.Template NOT_FOUND =
+      ErrorBodies.template(HttpStatus.NOT_FOUND, "ASSET_NOT_FOUND");
+  private static final ErrorBodies.Template CONFLICT =
+      ErrorBodies.template(HttpStatus.CONFLICT, "SERIAL_NUMBER_CONFLICT");
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  @Test
+  void stacklessExceptionsAndTemplatedBodiesRaiseErrorThroughput() {
+    long millis = BenchDatabase.intEnv("BENCH_ERROR_PATH_MILLIS", 2_000);
+
+    double legacyNotFound = throughput(millis, () -> legacy(
+        () -> new RuntimeException("Asset não encontrado: id=" + 42), HttpStatus.NOT_FOUND,
+        "ASSET_NOT_FOUND", "/assets/42"));
+    double notFound = throughput(millis, () -> templated(
+        () -> new AssetNotFoundException(42L), NOT_FOUND, "/assets/42"));
+    double legacyConflict = throughput(millis, () -> legacy(
+        () -> new RuntimeException("Já existe um Asset com serialNumber='SN-1'."),
+        HttpStatus.CONFLICT, "SERIAL_NUMBER_CONFLICT", "/assets"));
+    double conflict = throughput(millis, () -> templated(
+        () -> new SerialNumberConflictException("SN-1"), CONFLICT, "/assets"));
+
+    report("404", legacyNotFound, notFound);
+    report("409", legacyConflict, conflict);
+    assertTrue(notFound > legacyNotFound * 2, "404 sem stack trace deveria ao menos dobrar");
+    assertTrue(conflict > legacyConflict * 2, "409 sem stack trace deveria ao menos dobrar");
+  }
+
+  private byte[] legacy(
+      Supplier<RuntimeException> error, HttpStatus status, String code, String path) {
+    try {
+      throwAt(STACK_DEPTH, error);
+      throw new AssertionError();
+    } catch (RuntimeException ex) {
+      return jsonMapper.writeValueAsBytes(
+          ApiErrorResponse.of(status.value(), code, ex.getMessage(), path, List.of()));
+    }
+  }
+
+  private static byte[] templated(
+      Supplier<RuntimeException> error, ErrorBodies.Template template, String path) {
+    try {
+      throwAt(STACK_DEPTH, error);
+      throw new AssertionError();
+    } catch (RuntimeException ex) {
+      return template.render(ex.getMessage(), path);
+    }
+  }
+
+  private static void throwAt(int depth, Supplier<RuntimeException> error) {
+    if (depth == 0) {
+      throw error.get();
+    }
+    throwAt(depth - 1, error);
+  }
+
+  private static double throughput(long millis, Supplier<byte[]> errorPath) {
+    // Aquecimento: metade do tempo de medição.
+    run(millis / 2, errorPath);
+    long startedAt = System.nanoTime();
+    long operations = run(millis, errorPath);
+    return operations / ((System.nanoTime() - startedAt) / 1e9);
+  }
+
+  private static long run(long millis, Supplier<byte[]> errorPath) {
+    long deadline = System.nanoTime() + millis * 1_000_000;
+    long operations = 0;
+    long bytes = 0;
+    while (System.nanoTime() < deadline) {
+      for (int i = 0; i < 100; i++) {
+        bytes += errorPath.get().length;
+      }
+      operations += 100;
+    }
+    assertTrue(bytes > 0);
+    return operations;
+  }
+
+  private static void report(String label, double legacy, double optimized) {
+    System.out.printf(
+        "%s: antes %,.0f erros/s, depois %,.0f erros/s (%.1fx)%n",
+        label, legacy, optimized, optimized / legacy);
+  }
+}
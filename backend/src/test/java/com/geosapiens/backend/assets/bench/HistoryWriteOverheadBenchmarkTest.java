@@ -0,0 +1,199 @@
+package com.geosapiens.backend.assets.bench;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.Asset;
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.history.AssetHistory;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.jpa.HibernatePersistenceConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Custo do histórico no caminho de escrita: a mesma transação do {@code AssetService.update} (load,
+ * troca de status, flush, evento) com e sem o {@link AssetHistory} ouvindo, intercaladas para que
+ * ruído do banco afete os dois lados igual. A transação roda num {@link JpaTransactionManager} sobre
+ * Hikari, como na aplicação, então o INSERT do histórico sai na conexão da escrita. Insere
+ * {@code BENCH_ROWS} linhas com serial {@code BENCH-HIST-*}, removidas no final junto com o histórico.
+ *
+ * <p>Orçamento: no máximo {@value #BUDGET_P50_MICROS} µs a mais no p50 de um update.
+ *
+ * <p>{@code BENCH_DB_URL=jdbc:postgresql://localhost:5432/geosapiens ./mvnw test -Pbench}
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = BenchDatabase.URL_ENV, matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HistoryWriteOverheadBenchmarkTest {
+
+  private static final long BUDGET_P50_MICROS = 500;
+
+  private HikariDataSource dataSource;
+  private EntityManagerFactory entityManagerFactory;
+  private EntityManager entityManager;
+  private TransactionTemplate tx;
+  private AnnotationConfigApplicationContext withHistory;
+  private AnnotationConfigApplicationContext withoutHistory;
+  private List<Long> ids;
+
+  @BeforeAll
+  void setUp() throws SQLException {
+    int rows = BenchDatabase.intEnv("BENCH_ROWS", 1_000);
+    try (var connection = BenchDatabase.connect()) {
+      cleanUp(connection);
+      try (var insert = connection.prepareStatement("""
+            INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+            SELECT
+              'Bench Hist ' || g, 'BENCH-HIST-' || g, 'COMPUTER', 'IN_USE', CURRENT_DATE - (g % 1800)
+            FROM generate_series(1, ?) g
+            """)) {
+        insert.setInt(1, rows);
+        insert.executeUpdate();
+      }
+      try (var st = connection.createStatement();
+          var rs = st.executeQuery(
+              "SELECT id FROM assets WHERE serial_number LIKE 'BENCH-HIST-%' ORDER BY id")) {
+        ids = new ArrayList<>(rows);
+        while (rs.next()) {
+          ids.add(rs.getLong(1));
+        }
+      }
+    }
+
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(BenchDatabase.url());
+    dataSource.setUsername(BenchDatabase.user());
+    dataSource.setPassword(BenchDatabase.password());
+    dataSource.setMaximumPoolSize(2);
+    dataSource.setAutoCommit(false);
+
+    entityManagerFactory = new HibernatePersistenceConfiguration("bench-history")
+        .managedClasses(Asset.class)
+        .property("hibernate.connection.datasource", dataSource)
+        .property("hibernate.connection.provider_disables_autocommit", true)
+        .createEntityManagerFactory();
+    entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    var transactionManager = new JpaTransactionManager(entityManagerFactory);
+    // Como no Boot: sem o dialeto do Hibernate o JdbcTemplate não enxerga a conexão da transação.
+    transactionManager.setJpaDialect(new HibernateJpaDialect());
+    transactionManager.setDataSource(dataSource);
+    tx = new TransactionTemplate(transactionManager);
+
+    // Mesmo publish do AssetService; só um dos contextos tem o AssetHistory ouvindo.
+    withHistory = new AnnotationConfigApplicationContext();
+    withHistory.registerBean(AssetHistory.class, () -> new AssetHistory(
+        new JdbcTemplate(dataSource), new SimpleMeterRegistry(), true));
+    withHistory.refresh();
+    withoutHistory = new AnnotationConfigApplicationContext();
+    withoutHistory.refresh();
+  }
+
+  @AfterAll
+  void tearDown() throws SQLException {
+    withHistory.close();
+    withoutHistory.close();
+    entityManagerFactory.close();
+    dataSource.close();
+    try (var connection = BenchDatabase.connect()) {
+      cleanUp(connection);
+    }
+  }
+
+  @Test
+  void historyStaysWithinWriteLatencyBudget() {
+    int rounds = BenchDatabase.intEnv("BENCH_HISTORY_ROUNDS", 3_000);
+
+    // Aquecimento: JIT, pool, prepared statements do Hibernate e do INSERT.
+    for (int i = 0; i < Math.max(200, rounds / 5); i++) {
+      update(i, withHistory);
+      update(i, withoutHistory);
+    }
+
+    long[] plain = new long[rounds];
+    long[] recorded = new long[rounds];
+    for (int i = 0; i < rounds; i++) {
+      // Alterna a ordem para não favorecer sempre o mesmo lado com cache quente.
+      if (i % 2 == 0) {
+        plain[i] = update(i, withoutHistory);
+        recorded[i] = update(i, withHistory);
+      } else {
+        recorded[i] = update(i, withHistory);
+        plain[i] = update(i, withoutHistory);
+      }
+    }
+
+    long plainP50 = percentile(plain, 0.50);
+    long recordedP50 = percentile(recorded, 0.50);
+    long overheadMicros = (recordedP50 - plainP50) / 1_000;
+    System.out.printf(
+        "update sem histórico: p50 %.0f µs, p99 %.0f µs%n",
+        plainP50 / 1e3, percentile(plain, 0.99) / 1e3);
+    System.out.printf(
+        "update com histórico: p50 %.0f µs, p99 %.0f µs (+%d µs no p50, %.0f%%; orçamento %d µs)%n",
+        recordedP50 / 1e3, percentile(recorded, 0.99) / 1e3, overheadMicros,
+        100.0 * (recordedP50 - plainP50) / plainP50, BUDGET_P50_MICROS);
+    // O INSERT tem que ter saído na transação da escrita e sido confirmado com ela.
+    assertTrue(committedHistoryRows() >= rounds, "histórico deveria ter uma linha por update");
+    assertTrue(
+        overheadMicros <= BUDGET_P50_MICROS,
+        "histórico acrescentou " + overheadMicros + " µs ao p50 do update");
+  }
+
+  // Uma transação de update como a do AssetService: load, troca de status, flush, evento.
+  private long update(int round, AnnotationConfigApplicationContext events) {
+    long id = ids.get(round % ids.size());
+    long startedAt = System.nanoTime();
+    tx.executeWithoutResult(status -> {
+      var asset = entityManager.find(Asset.class, id);
+      var before = AssetResponse.fromEntity(asset);
+      asset.setStatus(asset.getStatus() == Status.IN_USE ? Status.MAINTENANCE : Status.IN_USE);
+      entityManager.flush();
+      events.publishEvent(AssetChangedEvent.updated(before, AssetResponse.fromEntity(asset)));
+    });
+    return System.nanoTime() - startedAt;
+  }
+
+  private long committedHistoryRows() {
+    // Pool com autocommit desligado: a leitura também precisa de transação.
+    return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("""
+        SELECT count(*) FROM asset_history h JOIN assets a ON a.id = h.asset_id
+        WHERE a.serial_number LIKE 'BENCH-HIST-%'
+        """, Long.class));
+  }
+
+  private static long percentile(long[] samples, double quantile) {
+    long[] sorted = samples.clone();
+    Arrays.sort(sorted);
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * (sorted.length - 1)))];
+  }
+
+  private static void cleanUp(Connection connection) throws SQLException {
+    try (var st = connection.createStatement()) {
+      st.execute("""
+          DELETE FROM asset_history h USING assets a
+          WHERE h.asset_id = a.id AND a.serial_number LIKE 'BENCH-HIST-%'
+          """);
+      st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-HIST-%'");
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.geosapiens.backend.assets.bench;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Compara os ajustes do profile {@code perf} com os defaults: INSERT em lote com
+ * {@code reWriteBatchedInserts}, listagem repetida com prepared statement no servidor
+ * ({@code prepareThreshold=1} contra {@code 0}) e vazão de um pool redimensionado em runtime pelo
+ * {@code HikariConfigMXBean}, como faz {@code /actuator/datasourcepool}. Cada caso imprime as duas
+ * medições; as linhas inseridas têm serial {@code BENCH-JDBC-*} e são removidas ao final.
+ *
+ * <p>{@code BENCH_DB_URL=jdbc:postgresql://localhost:5432/geosapiens ./mvnw test -Pbench}
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = BenchDatabase.URL_ENV, matches = ".+")
+class JdbcTuningBenchmarkTest {
+
+  private static final String INSERT = """
+      INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+      VALUES (?, ?, ?, ?, ?)
+      """;
+
+  private static final String LISTING = """
+      SELECT id, name, serial_number, category, status, acquisition_date, created_at, updated_at,
+        version
+      FROM assets
+      WHERE category = ? AND status = ?
+      ORDER BY id DESC
+      LIMIT 20
+      """;
+
+  @AfterEach
+  void cleanUp() throws SQLException {
+    try (var connection = BenchDatabase.connect(); var st = connection.createStatement()) {
+      st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-JDBC-%'");
+    }
+  }
+
+  @Test
+  void rewrittenBatchInsertsBeatOneRoundTripPerRow() throws SQLException {
+    int rows = BenchDatabase.intEnv("BENCH_JDBC_ROWS", 20_000);
+
+    var defaults = driverProperties("reWriteBatchedInserts", "false");
+    var rewritten = driverProperties("reWriteBatchedInserts", "true");
+
+    long baseline = bestOf(3, () -> insertBatch(defaults, rows));
+    long tuned = bestOf(3, () -> insertBatch(rewritten, rows));
+
+    report("batch insert de " + rows + " linhas", baseline, tuned);
+    assertTrue(tuned < baseline, "reWriteBatchedInserts deveria reduzir o tempo do lote");
+  }
+
+  @Test
+  void serverPreparedListingBeatsUnnamedStatements() throws SQLException {
+    int executions = BenchDatabase.intEnv("BENCH_JDBC_EXECUTIONS", 5_000);
+
+    var unnamed = driverProperties("prepareThreshold", "0");
+    var serverPrepared = driverProperties("prepareThreshold", "1");
+
+    long baseline = bestOf(3, () -> repeatListing(unnamed, executions));
+    long tuned = bestOf(3, () -> repeatListing(serverPrepared, executions));
+
+    report(executions + " listagens", baseline, tuned);
+    // Consulta simples em base local: o ganho é o parse/plan poupado, pequeno perto do round trip.
+    assertTrue(
+        tuned < baseline * 1.1, "prepared statement no servidor não deveria ficar mais lento");
+  }
+
+  @Test
+  void growingThePoolAtRuntimeRaisesThroughput() throws Exception {
+    int threads = 16;
+    int queriesPerThread = BenchDatabase.intEnv("BENCH_JDBC_QUERIES_PER_THREAD", 50);
+
+    try (var pool = new HikariDataSource()) {
+      pool.setPoolName("bench");
+      pool.setJdbcUrl(BenchDatabase.url());
+      pool.setUsername(BenchDatabase.user());
+      pool.setPassword(BenchDatabase.password());
+      pool.setMaximumPoolSize(2);
+      pool.setMinimumIdle(2);
+
+      long small = concurrentQueries(pool, threads, queriesPerThread);
+      pool.getHikariConfigMXBean().setMaximumPoolSize(threads);
+      long large = concurrentQueries(pool, threads, queriesPerThread);
+
+      report("pool 2 -> " + threads + " conexões (" + threads + " threads)", small, large);
+      assertTrue(large * 2 < small, "o pool maior deveria pelo menos dobrar a vazão");
+    }
+  }
+
+  private static long insertBatch(Properties properties, int rows) throws SQLException {
+    try (var connection = BenchDatabase.connect(properties)) {
+      connection.setAutoCommit(false);
+      long startedAt = System.nanoTime();
+      try (var insert = connection.prepareStatement(INSERT)) {
+        var acquisitionDate = Date.valueOf(LocalDate.now().minusYears(1));
+        for (int i = 0; i < rows; i++) {
+          insert.setString(1, "Bench JDBC " + i);
+          insert.setString(2, "BENCH-JDBC-" + System.nanoTime() + "-" + i);
+          insert.setString(3, "COMPUTER");
+          insert.setString(4, "IN_STOCK");
+          insert.setDate(5, acquisitionDate);
+          insert.addBatch();
+          if ((i + 1) % 500 == 0) {
+            insert.executeBatch();
+          }
+        }
+        insert.executeBatch();
+      }
+      // Mede só o envio; o rollback evita acumular linhas entre as rodadas.
+      long elapsed = System.nanoTime() - startedAt;
+      connection.rollback();
+      return elapsed;
+    }
+  }
+
+  private static long repeatListing(Properties properties, int executions) throws SQLException {
+    try (var connection = BenchDatabase.connect(properties)) {
+      long startedAt = System.nanoTime();
+      for (int i = 0; i < executions; i++) {
+        try (var listing = connection.prepareStatement(LISTING)) {
+          listing.setString(1, i % 2 == 0 ? "COMPUTER" : "PERIPHERAL");
+          listing.setString(2, "IN_USE");
+          try (var rs = listing.executeQuery()) {
+            while (rs.next()) {
+              rs.getLong(1);
+            }
+          }
+        }
+      }
+      return System.nanoTime() - startedAt;
+    }
+  }
+
+  private static long concurrentQueries(HikariDataSource pool, int threads, int queriesPerThread)
+      throws Exception {
+    // pg_sleep simula uma consulta de 10 ms: o gargalo é esperar conexão, não CPU.
+    Callable<Void> worker = () -> {
+      for (int i = 0; i < queriesPerThread; i++) {
+        try (Connection connection = pool.getConnection();
+            var st = connection.createStatement()) {
+          st.execute("SELECT pg_sleep(0.01)");
+        }
+      }
+      return null;
+    };
+
+    try (var executor = Executors.newFixedThreadPool(threads)) {
+      long startedAt = System.nanoTime();
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(worker));
+      }
+      for (var future : futures) {
+        future.get();
+      }
+      return System.nanoTime() - startedAt;
+    }
+  }
+
+  private static Properties driverProperties(String name, String value) {
+    var properties = new Properties();
+    properties.setProperty(name, value);
+    return properties;
+  }
+
+  private static long bestOf(int rounds, Measurement measurement) throws SQLException {
+    long best = Long.MAX_VALUE;
+    // A primeira rodada aquece JIT e caches do Postgres e fica de fora.
+    measurement.run();
+    for (int i = 0; i < rounds; i++) {
+      best = Math.min(best, measurement.run());
+    }
+    return best;
+  }
+
+  private static void report(String label, long baselineNanos, long tunedNanos) {
+    System.out.printf(
+        "%s: padrão %.1f ms, ajustado %.1f ms (%.2fx)%n",
+        label, baselineNanos / 1e6, tunedNanos / 1e6, (double) baselineNanos / tunedNanos);
+  }
+
+  @FunctionalInterface
+  private interface Measurement {
+    long run() throws SQLException;
+  }
+}
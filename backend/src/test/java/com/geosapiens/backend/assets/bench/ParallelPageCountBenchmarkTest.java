@@ -0,0 +1,203 @@
+package com.geosapiens.backend.assets.bench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.geosapiens.backend.assets.AssetPageExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mede o {@link AssetPageExecutor} com página e count de custo parecido (busca textual ampla numa
+ * página funda): em {@code PARALLEL} a latência de uma listagem deve ficar perto da maior das duas
+ * queries, não da soma. Com o pool saturado (mais clientes que conexões), o modo paralelo deve cair
+ * para sequencial sem timeouts de conexão e sem perder vazão. Insere {@code BENCH_ROWS} linhas com
+ * serial {@code BENCH-PC-*} e remove tudo no final.
+ *
+ * <p>{@code BENCH_DB_URL=jdbc:postgresql://localhost:5432/geosapiens ./mvnw test -Pbench}
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = BenchDatabase.URL_ENV, matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelPageCountBenchmarkTest {
+
+  private static final String WHERE = """
+      WHERE deleted_at IS NULL
+        AND (lower(name) LIKE '%bench pc 1%' OR lower(serial_number) LIKE '%bench pc 1%')
+      """;
+
+  private static final String PAGE = "SELECT id FROM assets " + WHERE
+      + "ORDER BY name DESC, id DESC OFFSET ? LIMIT ?";
+
+  private static final String COUNT = "SELECT count(*) FROM assets " + WHERE;
+
+  private static final PageRequest DEEP_PAGE = PageRequest.of(200, 20);
+
+  private HikariDataSource pool;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTx;
+
+  @BeforeAll
+  void seed() throws SQLException {
+    int rows = BenchDatabase.intEnv("BENCH_ROWS", 200_000);
+    try (var connection = BenchDatabase.connect()) {
+      try (var st = connection.createStatement()) {
+        st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-PC-%'");
+      }
+      try (var insert = connection.prepareStatement("""
+            INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+            SELECT
+              'Bench PC ' || g, 'BENCH-PC-' || g, 'COMPUTER', 'IN_USE', CURRENT_DATE - (g % 1800)
+            FROM generate_series(1, ?) g
+            """)) {
+        insert.setInt(1, rows);
+        insert.executeUpdate();
+      }
+      try (var st = connection.createStatement()) {
+        st.execute("VACUUM ANALYZE assets");
+      }
+    }
+
+    pool = new HikariDataSource();
+    pool.setPoolName("bench-parallel");
+    pool.setJdbcUrl(BenchDatabase.url());
+    pool.setUsername(BenchDatabase.user());
+    pool.setPassword(BenchDatabase.password());
+    pool.setMaximumPoolSize(4);
+    pool.setMinimumIdle(4);
+    // Com 12 clientes em 4 conexões a fila é esperada; o que não pode é o count travar o pool.
+    pool.setConnectionTimeout(30_000);
+
+    var transactionManager = new DataSourceTransactionManager(pool);
+    jdbcTemplate = new JdbcTemplate(pool);
+    readOnlyTx = new TransactionTemplate(transactionManager);
+    readOnlyTx.setReadOnly(true);
+  }
+
+  @AfterAll
+  void cleanUp() throws SQLException {
+    pool.close();
+    try (var connection = BenchDatabase.connect(); var st = connection.createStatement()) {
+      st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-PC-%'");
+      st.execute("VACUUM ANALYZE assets");
+    }
+  }
+
+  @Test
+  void parallelCountCutsSingleRequestLatency() {
+    int rounds = BenchDatabase.intEnv("BENCH_PARALLEL_ROUNDS", 30);
+    var sequential = executor(AssetPageExecutor.Mode.SEQUENTIAL);
+    var parallel = executor(AssetPageExecutor.Mode.PARALLEL);
+
+    long sequentialNanos = median(rounds, () -> search(sequential));
+    long parallelNanos = median(rounds, () -> search(parallel));
+
+    report("listagem (mediana)", sequentialNanos, parallelNanos);
+    // Com um único núcleo as duas queries disputam a mesma CPU no Postgres: não há o que sobrepor.
+    assumeTrue(Runtime.getRuntime().availableProcessors() > 1, "ganho exige mais de um núcleo");
+    assertTrue(
+        parallelNanos < sequentialNanos * 0.85, "o count paralelo deveria reduzir a latência");
+  }
+
+  @Test
+  void saturatedPoolFallsBackWithoutTimeouts() throws Exception {
+    int clients = 12;
+    int searchesPerClient = BenchDatabase.intEnv("BENCH_PARALLEL_SEARCHES_PER_CLIENT", 10);
+    var meters = new SimpleMeterRegistry();
+    var parallel = new AssetPageExecutor(
+        new DataSourceTransactionManager(pool), pool, meters, AssetPageExecutor.Mode.PARALLEL, 8);
+
+    long sequentialNanos =
+        concurrentSearches(executor(AssetPageExecutor.Mode.SEQUENTIAL), clients, searchesPerClient);
+    long parallelNanos = concurrentSearches(parallel, clients, searchesPerClient);
+
+    double saturated = meters.get("assets.search.count").tag("execution", "saturated")
+        .counter().count();
+    report(clients + " clientes, pool de 4", sequentialNanos, parallelNanos);
+    System.out.printf("counts sequenciais por pool saturado: %.0f%n", saturated);
+    assertTrue(saturated > 0, "com o pool cheio o count deveria cair para sequencial");
+    assertTrue(
+        parallelNanos < sequentialNanos * 1.25, "pool saturado não deveria derrubar a vazão");
+  }
+
+  private AssetPageExecutor executor(AssetPageExecutor.Mode mode) {
+    return new AssetPageExecutor(
+        new DataSourceTransactionManager(pool), pool, new SimpleMeterRegistry(), mode, 8);
+  }
+
+  // Como o AssetService: a página roda na transação do chamador, o count fica com o executor.
+  private long search(AssetPageExecutor executor) {
+    var page = readOnlyTx.execute(status -> executor.page(
+        DEEP_PAGE,
+        () -> {
+          var rows = jdbcTemplate.queryForList(
+              PAGE, Long.class, DEEP_PAGE.getOffset(), DEEP_PAGE.getPageSize() + 1);
+          boolean hasNext = rows.size() > DEEP_PAGE.getPageSize();
+          return new SliceImpl<>(
+              hasNext ? rows.subList(0, DEEP_PAGE.getPageSize()) : rows, DEEP_PAGE, hasNext);
+        },
+        () -> jdbcTemplate.queryForObject(COUNT, Long.class)));
+    assertEquals(DEEP_PAGE.getPageSize(), page.getNumberOfElements());
+    return page.getTotalElements();
+  }
+
+  private long concurrentSearches(AssetPageExecutor executor, int clients, int searchesPerClient)
+      throws Exception {
+    Callable<Void> client = () -> {
+      for (int i = 0; i < searchesPerClient; i++) {
+        search(executor);
+      }
+      return null;
+    };
+
+    try (var threads = Executors.newFixedThreadPool(clients)) {
+      long startedAt = System.nanoTime();
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < clients; i++) {
+        futures.add(threads.submit(client));
+      }
+      for (var future : futures) {
+        future.get();
+      }
+      return System.nanoTime() - startedAt;
+    }
+  }
+
+  private static long median(int rounds, Runnable measurement) {
+    // A primeira rodada aquece JIT, pool e caches do Postgres e fica de fora.
+    measurement.run();
+    long[] samples = new long[rounds];
+    for (int i = 0; i < rounds; i++) {
+      long startedAt = System.nanoTime();
+      measurement.run();
+      samples[i] = System.nanoTime() - startedAt;
+    }
+    Arrays.sort(samples);
+    return samples[rounds / 2];
+  }
+
+  private static void report(String label, long sequentialNanos, long parallelNanos) {
+    System.out.printf(
+        "%s: sequencial %.1f ms, paralelo %.1f ms (%.2fx)%n",
+        label, sequentialNanos / 1e6, parallelNanos / 1e6, (double) sequentialNanos / parallelNanos);
+  }
+}
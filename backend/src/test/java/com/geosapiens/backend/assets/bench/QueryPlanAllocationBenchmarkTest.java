@@ -0,0 +1,168 @@
+package com.geosapiens.backend.assets.bench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.Asset;
+import com.geosapiens.backend.assets.AssetFilter;
+import com.geosapiens.backend.assets.AssetQueryPlans;
+import com.geosapiens.backend.assets.AssetRepository;
+import com.geosapiens.backend.assets.AssetSpecifications;
+import com.geosapiens.backend.assets.AssetView;
+import com.geosapiens.backend.assets.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernatePersistenceConfiguration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+/**
+ * Mede, com {@code ThreadMXBean#getCurrentThreadAllocatedBytes}, quanto uma listagem (página +
+ * count) aloca montando a query pela Criteria API de {@link AssetSpecifications} (caminho antigo)
+ * contra os planos de {@link AssetQueryPlans}. As duas leem as mesmas linhas do mesmo plano SQL; a
+ * diferença é a montagem da query. Sobe um Hibernate avulso sobre o banco de {@code BENCH_DB_URL} e
+ * insere {@code BENCH_ROWS} linhas com serial {@code BENCH-QP-*}, removidas no final.
+ *
+ * <p>{@code BENCH_DB_URL=jdbc:postgresql://localhost:5432/geosapiens ./mvnw test -Pbench}
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = BenchDatabase.URL_ENV, matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanAllocationBenchmarkTest {
+
+  private static final AssetFilter FILTER = new AssetFilter(Category.COMPUTER, null, "bench qp 1");
+  private static final PageRequest PAGE =
+      PageRequest.of(2, 20, Sort.by(Sort.Order.desc("name"), Sort.Order.asc("id")));
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private EntityManagerFactory entityManagerFactory;
+  private EntityManager entityManager;
+  private AssetRepository repository;
+  private AssetQueryPlans plans;
+
+  @BeforeAll
+  void setUp() throws SQLException {
+    int rows = BenchDatabase.intEnv("BENCH_ROWS", 20_000);
+    try (var connection = BenchDatabase.connect()) {
+      try (var st = connection.createStatement()) {
+        st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-QP-%'");
+      }
+      try (var insert = connection.prepareStatement("""
+            INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+            SELECT
+              'Bench QP ' || g, 'BENCH-QP-' || g, 'COMPUTER', 'IN_USE', CURRENT_DATE - (g % 1800)
+            FROM generate_series(1, ?) g
+            """)) {
+        insert.setInt(1, rows);
+        insert.executeUpdate();
+      }
+      try (var st = connection.createStatement()) {
+        st.execute("VACUUM ANALYZE assets");
+      }
+    }
+
+    entityManagerFactory = new HibernatePersistenceConfiguration("bench-query-plans")
+        .managedClasses(Asset.class, AssetView.class)
+        .jdbcUrl(BenchDatabase.url())
+        .jdbcCredentials(BenchDatabase.user(), BenchDatabase.password())
+        .property("hibernate.generate_statistics", true)
+        .createEntityManagerFactory();
+    entityManager = entityManagerFactory.createEntityManager();
+    repository = new JpaRepositoryFactory(entityManager).getRepository(AssetRepository.class);
+    plans = new AssetQueryPlans(entityManager, new SimpleMeterRegistry(), 512);
+  }
+
+  @AfterAll
+  void cleanUp() throws SQLException {
+    entityManager.close();
+    entityManagerFactory.close();
+    try (var connection = BenchDatabase.connect(); var st = connection.createStatement()) {
+      st.execute("DELETE FROM assets WHERE serial_number LIKE 'BENCH-QP-%'");
+      st.execute("VACUUM ANALYZE assets");
+    }
+  }
+
+  @Test
+  void cachedPlansAllocateLessPerListing() {
+    int rounds = BenchDatabase.intEnv("BENCH_QUERY_PLAN_ROUNDS", 300);
+    var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    assertEquals(criteria(), plans(), "os dois caminhos devem achar o mesmo total");
+
+    var criteria = measure(rounds, statistics, this::criteria);
+    var cached = measure(rounds, statistics, this::plans);
+
+    report("criteria (Specification)", criteria);
+    report("planos em cache", cached);
+    // Criteria não passa pelo cache de planos; o JPQL dos planos nunca deveria recompilar.
+    assertEquals(0, cached.planMisses(), "página e count deveriam reusar o plano HQL");
+    assertTrue(cached.planHits() >= rounds * 2L);
+    assertTrue(
+        cached.bytesPerListing() < criteria.bytesPerListing(),
+        "planos em cache deveriam alocar menos por listagem");
+  }
+
+  // Caminho antigo do AssetService: Specification montada por requisição, slice + count.
+  private long criteria() {
+    var spec = Specification.where(AssetSpecifications.<Asset>matching(FILTER));
+    Slice<Asset> slice = repository.findBy(spec, query -> query.slice(PAGE));
+    long total = repository.count(spec);
+    entityManager.clear();
+    assertEquals(PAGE.getPageSize(), slice.getNumberOfElements());
+    return total;
+  }
+
+  private long plans() {
+    Slice<Asset> slice = plans.slice(Asset.class, FILTER, PAGE);
+    long total = plans.count(Asset.class, FILTER);
+    entityManager.clear();
+    assertEquals(PAGE.getPageSize(), slice.getNumberOfElements());
+    return total;
+  }
+
+  private static Result measure(int rounds, Statistics statistics, Runnable listing) {
+    // Aquece JIT, caches do Hibernate e prepared statements antes de medir.
+    for (int i = 0; i < Math.max(50, rounds / 4); i++) {
+      listing.run();
+    }
+    statistics.clear();
+
+    long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      listing.run();
+    }
+    long elapsed = System.nanoTime() - startedAt;
+    long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    return new Result(
+        allocated / rounds,
+        elapsed / rounds,
+        statistics.getQueryPlanCacheHitCount(),
+        statistics.getQueryPlanCacheMissCount());
+  }
+
+  private static void report(String label, Result result) {
+    System.out.printf(
+        "%s: %,d bytes/listagem, %.0f µs/listagem, cache de planos HQL %d hits / %d misses%n",
+        label, result.bytesPerListing(), result.nanosPerListing() / 1e3,
+        result.planHits(), result.planMisses());
+  }
+
+  private record Result(long bytesPerListing, long nanosPerListing, long planHits, long planMisses) {}
+}
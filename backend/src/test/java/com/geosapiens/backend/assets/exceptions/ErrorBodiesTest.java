@@ -0,0 +1,62 @@
+package com.geosapiens.backend.assets.exceptions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.dto.ApiErrorResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+class ErrorBodiesTest {
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  @Test
+  void shouldRenderSameFieldsAsApiErrorResponseWithEscaping() {
+    var template = ErrorBodies.template(HttpStatus.NOT_FOUND, "ASSET_NOT_FOUND");
+    String message = "Asset não encontrado: serialNumber=a\"b\\c\n\u0001";
+
+    byte[] body = template.render(message, "/assets/by-serial/a%22b");
+
+    JsonNode json = jsonMapper.readTree(body);
+    assertEquals(404, json.get("status").asInt());
+    assertEquals("ASSET_NOT_FOUND", json.get("code").asString());
+    assertEquals(message, json.get("message").asString());
+    assertEquals("/assets/by-serial/a%22b", json.get("path").asString());
+    assertTrue(json.get("errors").isEmpty());
+    assertTrue(new String(body, StandardCharsets.UTF_8).startsWith("{\"timestamp\":\""));
+  }
+
+  @Test
+  void shouldRenderTimestampLikeJacksonRendersApiErrorResponse() {
+    String expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(
+            ApiErrorResponse.of(400, "VALIDATION_ERROR", "x", "/assets", List.of())))
+        .get("timestamp").asString();
+    String actual = jsonMapper.readTree(
+            ErrorBodies.template(HttpStatus.NOT_FOUND, "ASSET_NOT_FOUND").render("x", "/assets/1"))
+        .get("timestamp").asString();
+
+    var jackson = OffsetDateTime.parse(expected);
+    var template = OffsetDateTime.parse(actual);
+    assertEquals(jackson.getOffset(), template.getOffset());
+    assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(template), actual);
+    assertTrue(Duration.between(jackson, template).abs().toSeconds() < 5);
+  }
+
+  @Test
+  void shouldThrowDomainErrorsWithoutStackTraceUnlessTheyWrapACause() {
+    assertEquals(0, new AssetNotFoundException(1L).getStackTrace().length);
+    assertEquals(0, new SerialNumberConflictException("SN-1").getStackTrace().length);
+    assertEquals(0, new AssetPreconditionFailedException(1L).getStackTrace().length);
+
+    var fromDatabase = new SerialNumberConflictException("SN-1", new IllegalStateException());
+    assertTrue(fromDatabase.getStackTrace().length > 0);
+  }
+}
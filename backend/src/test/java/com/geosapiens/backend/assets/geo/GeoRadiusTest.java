@@ -0,0 +1,54 @@
+package com.geosapiens.backend.assets.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GeoRadiusTest {
+
+  @Test
+  void shouldParseBoxInGeoJsonOrderAndHandleTheAntimeridian() {
+    var box = BoundingBox.parse("170, -20, -170, 20");
+
+    assertTrue(box.crossesAntimeridian());
+    assertEquals(20, box.width(), 1e-9);
+    assertTrue(box.contains(0, 179.5));
+    assertTrue(box.contains(0, -175));
+    assertFalse(box.contains(0, 0));
+    assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("0,10,1,5"));
+    assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("0,0,181,1"));
+    assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("0,0,1"));
+  }
+
+  @Test
+  void shouldCircumscribeTheCircleWithABoxThatContainsItsEdge() {
+    var near = GeoRadius.parse("-23.55,-46.63", 100_000);
+    var box = near.boundingBox();
+
+    // Pontos a 100 km para norte e para leste ficam dentro da caixa e na borda do círculo.
+    assertEquals(-23.55 + Math.toDegrees(100_000 / GeoRadius.EARTH_RADIUS_METERS),
+        box.maxLat(), 1e-9);
+    assertTrue(box.maxLon() > -46.63 + 0.9 && box.maxLon() < -46.63 + 1.0);
+    assertEquals(100_000, GeoRadius.distanceMeters(-23.55, -46.63, box.maxLat(), -46.63), 1e-3);
+    // São Paulo → Rio de Janeiro, ~360 km.
+    assertEquals(360_000, GeoRadius.distanceMeters(-23.55, -46.63, -22.91, -43.17), 5_000);
+  }
+
+  @Test
+  void shouldWrapNearTheAntimeridianAndSpanAllLongitudesNearThePoles() {
+    var fiji = GeoRadius.parse("-17.7,179.9", 50_000).boundingBox();
+    assertTrue(fiji.crossesAntimeridian());
+    assertTrue(fiji.contains(-17.7, -179.9));
+
+    var polar = GeoRadius.parse("89.5,10", 100_000).boundingBox();
+    assertEquals(-180, polar.minLon());
+    assertEquals(180, polar.maxLon());
+    assertEquals(90, polar.maxLat());
+
+    assertThrows(IllegalArgumentException.class, () -> GeoRadius.parse("0,0", 0));
+    assertThrows(IllegalArgumentException.class, () -> GeoRadius.parse("91,0", 10));
+  }
+}
@@ -0,0 +1,61 @@
+package com.geosapiens.backend.assets.history;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetFieldChangeResponse;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AssetHistoryCodecTest {
+
+  private static final AssetResponse BEFORE = new AssetResponse(
+      7L, "Notebook", "NB-1", Category.COMPUTER, Status.IN_USE,
+      LocalDate.parse("2024-03-01"), null, null, null, null, 3L);
+
+  @Test
+  void shouldStoreOnlyChangedFieldsCompactly() {
+    var after = new AssetResponse(
+        7L, "Notebook", "NB-1", Category.COMPUTER, Status.MAINTENANCE,
+        LocalDate.parse("2024-03-01"), null, null, null, null, 4L);
+
+    byte[] diff = AssetHistoryCodec.encode(BEFORE, after);
+
+    assertEquals(
+        List.of(new AssetFieldChangeResponse("status", "IN_USE", "MAINTENANCE")),
+        AssetHistoryCodec.decode(diff));
+    // Formato + tag + "IN_USE" + "MAINTENANCE", cada valor com 1 byte de tamanho.
+    assertEquals(1 + 1 + 7 + 12, diff.length);
+  }
+
+  @Test
+  void shouldRoundTripCreationWithLongUnicodeValues() {
+    var name = "Impressora térmica ".repeat(20);
+    var created = new AssetResponse(
+        8L, name, "SN-ç", Category.PERIPHERAL, Status.IN_STOCK,
+        LocalDate.parse("2025-12-31"), -23.55, -46.63, null, null, 0L);
+
+    var changes = AssetHistoryCodec.decode(AssetHistoryCodec.encode(null, created));
+
+    assertEquals(7, changes.size());
+    assertEquals(new AssetFieldChangeResponse("name", null, name), changes.get(0));
+    assertEquals(
+        new AssetFieldChangeResponse("acquisitionDate", null, "2025-12-31"), changes.get(4));
+    assertEquals(new AssetFieldChangeResponse("longitude", null, "-46.63"), changes.get(6));
+  }
+
+  @Test
+  void shouldSkipNoOpUpdatesAndStoreNoFieldsOnDelete() {
+    assertNull(AssetHistoryCodec.encode(BEFORE, BEFORE));
+
+    byte[] deleted = AssetHistoryCodec.encode(BEFORE, null);
+    assertArrayEquals(new byte[] {AssetHistoryCodec.FORMAT}, deleted);
+    assertTrue(AssetHistoryCodec.decode(deleted).isEmpty());
+  }
+}
@@ -0,0 +1,166 @@
+package com.geosapiens.backend.assets.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.geosapiens.backend.TestDatabase;
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetFieldChangeResponse;
+import com.geosapiens.backend.assets.dto.AssetIngestRequest;
+import com.geosapiens.backend.assets.history.AssetHistory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * O filtro de {@code updated_at} do UPDATE contra o Postgres: atualização aceita antes de uma escrita
+ * síncrona não a sobrescreve, nem no flush nem reaplicada do journal depois de um restart. E os
+ * valores anteriores devolvidos pelo UPDATE chegam ao histórico na transação do flush.
+ */
+@EnabledIfEnvironmentVariable(named = TestDatabase.URL_ENV, matches = ".+")
+class AssetIngestBufferDatabaseTest {
+
+  private static final String SERIAL = "TEST-INGEST-1";
+
+  @TempDir
+  Path journalDir;
+
+  private DataSource dataSource;
+  private JdbcTemplate jdbc;
+  private long id;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = TestDatabase.dataSource();
+    jdbc = new JdbcTemplate(dataSource);
+    cleanUp();
+    id = jdbc.queryForObject("""
+        INSERT INTO assets (name, serial_number, category, status, acquisition_date, updated_at)
+        VALUES ('Ingest', ?, 'COMPUTER', 'IN_USE', CURRENT_DATE, now() - interval '1 hour')
+        RETURNING id
+        """, Long.class, SERIAL);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbc.update("""
+        DELETE FROM asset_history h USING assets a
+        WHERE h.asset_id = a.id AND a.serial_number = ?
+        """, SERIAL);
+    jdbc.update("DELETE FROM assets WHERE serial_number = ?", SERIAL);
+  }
+
+  @Test
+  void shouldApplyUpdateAcceptedAfterLastWrite() {
+    var buffer = buffer(AssetIngestBuffer.Durability.MEMORY);
+    buffer.offer(List.of(update(Status.MAINTENANCE)));
+
+    buffer.flush();
+
+    assertEquals("MAINTENANCE", status());
+    assertEquals(1L, version());
+  }
+
+  @Test
+  void shouldNotOverwriteSynchronousWriteCommittedAfterAccept() {
+    var buffer = buffer(AssetIngestBuffer.Durability.MEMORY);
+    buffer.offer(List.of(update(Status.MAINTENANCE)));
+    // PUT que commitou depois do 202 mas sem passar pelo evento (ex.: lote já drenado pelo flush).
+    synchronousWrite(Status.RETIRED);
+
+    buffer.flush();
+
+    assertEquals("RETIRED", status());
+    assertEquals(1L, version());
+  }
+
+  @Test
+  void shouldNotReplaySupersededJournalEntryAfterRestart() {
+    var crashed = buffer(AssetIngestBuffer.Durability.JOURNAL);
+    crashed.offer(List.of(update(Status.MAINTENANCE)));
+    synchronousWrite(Status.RETIRED);
+
+    var restarted = buffer(AssetIngestBuffer.Durability.JOURNAL);
+    restarted.flush();
+
+    assertEquals("RETIRED", status());
+    assertEquals(0, restarted.pendingCount());
+  }
+
+  @Test
+  void shouldRecordPreviousValuesInHistoryWithinTheFlush() {
+    try (var events = new AnnotationConfigApplicationContext()) {
+      var history = new AssetHistory(jdbc, new SimpleMeterRegistry(), true);
+      events.registerBean(AssetHistory.class, () -> history);
+      events.refresh();
+      var buffer = buffer(AssetIngestBuffer.Durability.MEMORY, events);
+      buffer.offer(
+          List.of(new AssetIngestRequest.Update(id, Status.MAINTENANCE, null, "Renomeado")));
+
+      buffer.flush();
+
+      var entries = history.find(id, null, 10);
+      assertEquals(1, entries.size());
+      assertEquals(AssetChangedEvent.Type.UPDATED, entries.getFirst().type());
+      assertEquals(1L, entries.getFirst().version());
+      assertEquals(
+          List.of(
+              new AssetFieldChangeResponse("name", "Ingest", "Renomeado"),
+              new AssetFieldChangeResponse("status", "IN_USE", "MAINTENANCE")),
+          entries.getFirst().changes());
+    }
+  }
+
+  private void synchronousWrite(Status status) {
+    jdbc.update(
+        "UPDATE assets SET status = ?, updated_at = ?, version = version + 1 WHERE id = ?",
+        status.name(), OffsetDateTime.now(ZoneOffset.UTC), id);
+  }
+
+  private String status() {
+    return jdbc.queryForObject("SELECT status FROM assets WHERE id = ?", String.class, id);
+  }
+
+  private long version() {
+    return jdbc.queryForObject("SELECT version FROM assets WHERE id = ?", Long.class, id);
+  }
+
+  private AssetIngestRequest.Update update(Status status) {
+    return new AssetIngestRequest.Update(id, status, null, null);
+  }
+
+  private AssetIngestBuffer buffer(AssetIngestBuffer.Durability durability) {
+    return buffer(durability, mock(ApplicationEventPublisher.class));
+  }
+
+  private AssetIngestBuffer buffer(
+      AssetIngestBuffer.Durability durability, ApplicationEventPublisher eventPublisher) {
+    return new AssetIngestBuffer(
+        jdbc,
+        new DataSourceTransactionManager(dataSource),
+        eventPublisher,
+        JsonMapper.builder().build(),
+        new SimpleMeterRegistry(),
+        true,
+        10,
+        500,
+        Duration.ofSeconds(1),
+        durability,
+        journalDir);
+  }
+}
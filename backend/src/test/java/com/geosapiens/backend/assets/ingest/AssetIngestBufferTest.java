@@ -0,0 +1,241 @@
+package com.geosapiens.backend.assets.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.assets.AssetsFieldChangesEvent;
+import com.geosapiens.backend.assets.AssetsIngestedEvent;
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetIngestRequest;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.exceptions.AssetIngestRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+class AssetIngestBufferTest {
+
+  @TempDir
+  Path journalDir;
+
+  private JdbcTemplate jdbcTemplate;
+  private PlatformTransactionManager transactionManager;
+  private ApplicationEventPublisher eventPublisher;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    transactionManager = mock(PlatformTransactionManager.class);
+    eventPublisher = mock(ApplicationEventPublisher.class);
+  }
+
+  @Test
+  void shouldCoalescePerIdAndFlushOneRowPerAsset() {
+    var buffer = buffer(10, AssetIngestBuffer.Durability.MEMORY);
+    whenUpdateChanges(1L);
+
+    buffer.offer(List.of(update(1L, Status.MAINTENANCE, null), update(2L, Status.IN_USE, null)));
+    var response = buffer.offer(List.of(update(1L, null, "Renomeado")));
+    assertEquals(2, response.pending());
+
+    buffer.flush();
+
+    List<IngestEntry> flushed = flushedEntries();
+    assertEquals(
+        List.of(
+            entry(1L, Status.MAINTENANCE, "Renomeado"),
+            entry(2L, Status.IN_USE, null)),
+        flushed.stream().map(AssetIngestBufferTest::withoutAcceptedAt).toList());
+    // A entrada combinada carrega o instante da atualização mais nova.
+    assertFalse(flushed.get(0).acceptedAt().isBefore(flushed.get(1).acceptedAt()));
+    verify(eventPublisher).publishEvent(new AssetsFieldChangesEvent(List.of(change(1L))));
+    verify(eventPublisher).publishEvent(new AssetsIngestedEvent(Set.of(1L)));
+    assertEquals(0, buffer.pendingCount());
+  }
+
+  @Test
+  void shouldRejectWholeBatchWhenNewIdsExceedCapacity() {
+    var buffer = buffer(2, AssetIngestBuffer.Durability.MEMORY);
+    buffer.offer(List.of(update(1L, Status.IN_USE, null), update(2L, Status.IN_USE, null)));
+
+    // Id já pendente não ocupa vaga nova.
+    buffer.offer(List.of(update(1L, Status.RETIRED, null)));
+    var overflow = List.of(update(1L, Status.IN_STOCK, null), update(3L, Status.IN_USE, null));
+    var ex = assertThrows(AssetIngestRejectedException.class, () -> buffer.offer(overflow));
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+    assertEquals(2, buffer.pendingCount());
+  }
+
+  @Test
+  void shouldRequeueBatchWhenFlushFailsKeepingNewerValues() {
+    var buffer = buffer(10, AssetIngestBuffer.Durability.MEMORY);
+    buffer.offer(List.of(update(1L, Status.MAINTENANCE, "Antigo")));
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+        .thenThrow(new QueryTimeoutException("timeout"));
+
+    buffer.flush();
+    buffer.offer(List.of(update(1L, Status.IN_USE, null)));
+
+    whenUpdateChanges(1L);
+    buffer.flush();
+    assertEquals(
+        entry(1L, Status.IN_USE, "Antigo"), withoutAcceptedAt(flushedEntries().getFirst()));
+  }
+
+  @Test
+  void shouldRequeueAndKeepJournalWhenTransactionCannotStart() throws Exception {
+    var buffer = buffer(10, AssetIngestBuffer.Durability.JOURNAL_FSYNC);
+    buffer.offer(List.of(update(1L, Status.MAINTENANCE, null)));
+    when(transactionManager.getTransaction(any()))
+        .thenThrow(new CannotCreateTransactionException("pool esgotado"))
+        .thenReturn(null);
+
+    buffer.flush();
+
+    assertEquals(1, buffer.pendingCount());
+    try (var files = Files.list(journalDir)) {
+      assertTrue(files.anyMatch(path -> path.toFile().length() > 0));
+    }
+
+    // O próximo flush grava o lote que voltou e só então limpa o journal.
+    buffer.offer(List.of(update(2L, Status.IN_USE, null)));
+    whenUpdateChanges(1L, 2L);
+    buffer.flush();
+
+    assertEquals(
+        List.of(entry(1L, Status.MAINTENANCE, null), entry(2L, Status.IN_USE, null)),
+        flushedEntries().stream().map(AssetIngestBufferTest::withoutAcceptedAt).toList());
+    assertEquals(0, buffer.pendingCount());
+    try (var files = Files.list(journalDir)) {
+      assertTrue(files.allMatch(path -> path.toFile().length() == 0));
+    }
+  }
+
+  @Test
+  void shouldReplayJournalAfterCrashAndDeleteItAfterFlush() throws Exception {
+    var crashed = buffer(10, AssetIngestBuffer.Durability.JOURNAL);
+    crashed.offer(List.of(update(7L, Status.RETIRED, null)));
+
+    // Sem shutdown: a instância nova só tem o que está em disco.
+    var restarted = buffer(10, AssetIngestBuffer.Durability.JOURNAL);
+    assertEquals(1, restarted.pendingCount());
+
+    whenUpdateChanges(7L);
+    restarted.flush();
+
+    assertEquals(entry(7L, Status.RETIRED, null), withoutAcceptedAt(flushedEntries().getFirst()));
+    try (var files = Files.list(journalDir)) {
+      assertTrue(files.allMatch(path -> path.toFile().length() == 0));
+    }
+  }
+
+  @Test
+  void shouldRefuseOffersAfterShutdownFlush() {
+    var buffer = buffer(10, AssetIngestBuffer.Durability.MEMORY);
+    whenUpdateChanges(1L);
+    buffer.offer(List.of(update(1L, Status.IN_USE, null)));
+
+    buffer.shutdown();
+
+    assertEquals(0, buffer.pendingCount());
+    var ex = assertThrows(
+        AssetIngestRejectedException.class,
+        () -> buffer.offer(List.of(update(1L, Status.IN_USE, null))));
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+  }
+
+  private AssetIngestBuffer buffer(int capacity, AssetIngestBuffer.Durability durability) {
+    return new AssetIngestBuffer(
+        jdbcTemplate,
+        transactionManager,
+        eventPublisher,
+        JsonMapper.builder().build(),
+        new SimpleMeterRegistry(),
+        true,
+        capacity,
+        500,
+        Duration.ofSeconds(1),
+        durability,
+        journalDir);
+  }
+
+  // O UPDATE devolve só as linhas que mudaram.
+  @SuppressWarnings("unchecked")
+  private void whenUpdateChanges(long... ids) {
+    List<AssetChangedEvent> changes = Arrays.stream(ids).mapToObj(id -> change(id)).toList();
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+        .thenReturn(changes);
+  }
+
+  // Reconstrói as entradas a partir dos arrays do último UPDATE.
+  @SuppressWarnings("unchecked")
+  private List<IngestEntry> flushedEntries() {
+    ArgumentCaptor<Object[]> captor = ArgumentCaptor.forClass(Object[].class);
+    verify(jdbcTemplate, atLeastOnce()).query(anyString(), any(RowMapper.class), captor.capture());
+    Object[] arrays = captor.getValue();
+    var ids = (Long[]) arrays[0];
+    var statuses = (String[]) arrays[1];
+    var categories = (String[]) arrays[2];
+    var names = (String[]) arrays[3];
+    var acceptedAt = (String[]) arrays[4];
+    List<IngestEntry> entries = new ArrayList<>();
+    for (int i = 0; i < ids.length; i++) {
+      entries.add(new IngestEntry(
+          ids[i],
+          statuses[i] != null ? Status.valueOf(statuses[i]) : null,
+          categories[i] != null ? Category.valueOf(categories[i]) : null,
+          names[i],
+          OffsetDateTime.parse(acceptedAt[i])));
+    }
+    return entries;
+  }
+
+  private static AssetChangedEvent change(long id) {
+    return AssetChangedEvent.updated(
+        new AssetResponse(id, "Antes", null, Category.COMPUTER, Status.IN_USE,
+            null, null, null, null, null, 1L),
+        new AssetResponse(id, "Antes", null, Category.COMPUTER, Status.MAINTENANCE,
+            null, null, null, null, null, 2L));
+  }
+
+  private static AssetIngestRequest.Update update(Long id, Status status, String name) {
+    return new AssetIngestRequest.Update(id, status, null, name);
+  }
+
+  private static IngestEntry entry(long id, Status status, String name) {
+    return new IngestEntry(id, status, null, name, null);
+  }
+
+  private static IngestEntry withoutAcceptedAt(IngestEntry entry) {
+    return new IngestEntry(entry.id(), entry.status(), entry.category(), entry.name(), null);
+  }
+}
@@ -0,0 +1,140 @@
+package com.geosapiens.backend.assets.readmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.geosapiens.backend.assets.AssetFilter;
+import com.geosapiens.backend.assets.Category;
+import com.geosapiens.backend.assets.Status;
+import com.geosapiens.backend.assets.dto.AssetResponse;
+import com.geosapiens.backend.assets.geo.BoundingBox;
+import com.geosapiens.backend.assets.geo.GeoRadius;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class AssetColumnsTest {
+
+  private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-01-10T12:00:00.123456Z");
+
+  private final AssetColumns columns = new AssetColumns.Builder(4)
+      .add(located(asset(1L, "Notebook B", "SN-1", Category.COMPUTER, Status.IN_USE, "2024-01-10"),
+          -23.55, -46.63))
+      .add(asset(2L, "Monitor", "SN-2", Category.PERIPHERAL, Status.IN_STOCK, "2023-05-01"))
+      .add(located(
+          asset(3L, "Notebook A", "SN-3", Category.COMPUTER, Status.MAINTENANCE, "2025-02-01"),
+          -22.91, -43.17))
+      .add(asset(4L, "notebook c", "XY-4", Category.COMPUTER, Status.IN_USE, "2022-12-31"))
+      .add(located(
+          asset(5L, "Switch", "SN-5", Category.NETWORK_EQUIPMENT, Status.IN_USE, "2024-06-30"),
+          -17.7, 178.0))
+      .build();
+
+  @Test
+  void shouldFilterWithBitmapsAndPageFromPresortedPermutation() {
+    var page = columns.search(
+        new AssetFilter(Category.COMPUTER, null, null),
+        PageRequest.of(0, 2, Sort.by(Sort.Order.desc("acquisitionDate"))));
+
+    assertEquals(List.of(3L, 1L), ids(page.getContent()));
+    assertEquals(3, page.getTotalElements());
+  }
+
+  @Test
+  void shouldLeaveTextSortsToTheDatabaseCollation() {
+    assertTrue(AssetColumns.supports(Sort.by("status", "acquisitionDate")));
+    assertFalse(AssetColumns.supports(Sort.by("name")));
+    assertFalse(AssetColumns.supports(
+        Sort.by(Sort.Order.asc("category"), Sort.Order.desc("serialNumber"))));
+    assertFalse(AssetColumns.supports(Sort.by("unknown")));
+  }
+
+  @Test
+  void shouldMatchTextCaseInsensitivelyOnNameOrSerialAndDateRange() {
+    var page = columns.search(
+        new AssetFilter(null, null, "  NOTEBOOK ", LocalDate.parse("2023-01-01"), null),
+        PageRequest.of(0, 10, Sort.by("acquisitionDate")));
+
+    assertEquals(List.of(1L, 3L), ids(page.getContent()));
+    assertEquals(2, page.getTotalElements());
+    assertEquals(1, columns.search(
+        new AssetFilter(null, null, "xy-"), PageRequest.of(0, 10)).getTotalElements());
+  }
+
+  @Test
+  void shouldSortByEnumNameThenNextColumn() {
+    // IN_STOCK < IN_USE < MAINTENANCE pelo nome, não pela ordem de declaração.
+    var page = columns.search(
+        new AssetFilter(null, null, null),
+        PageRequest.of(1, 2, Sort.by(Sort.Order.asc("status"), Sort.Order.desc("id"))));
+
+    assertEquals(List.of(4L, 1L), ids(page.getContent()));
+    assertEquals(5, page.getTotalElements());
+  }
+
+  @Test
+  void shouldBreakTiesByIdInTheDirectionOfTheLastOrder() {
+    var all = new AssetFilter(null, null, null);
+
+    // COMPUTER: 1, 3, 4. Descendente lê a permutação de trás para frente: id descendente.
+    assertEquals(List.of(4L, 3L, 1L), ids(columns.search(
+        new AssetFilter(Category.COMPUTER, null, null),
+        PageRequest.of(0, 10, Sort.by(Sort.Order.desc("category")))).getContent()));
+    // Várias ordenações seguem a mesma regra que o ORDER BY do banco: 1 e 4 empatam em IN_USE.
+    assertEquals(List.of(2L, 5L, 1L, 4L, 3L), ids(columns.search(all, PageRequest.of(0, 10,
+        Sort.by(Sort.Order.desc("category"), Sort.Order.asc("status")))).getContent()));
+    assertEquals(List.of(2L, 5L, 3L, 4L, 1L), ids(columns.search(all, PageRequest.of(0, 10,
+        Sort.by(Sort.Order.desc("category"), Sort.Order.desc("status")))).getContent()));
+  }
+
+  @Test
+  void shouldFilterByBoxAcrossAntimeridianAndByRadiusSkippingUnlocatedRows() {
+    var all = PageRequest.of(0, 10);
+
+    assertEquals(List.of(1L, 3L), ids(columns.search(
+        geo(BoundingBox.parse("-50,-25,-40,-20"), null), all).getContent()));
+    assertEquals(List.of(5L), ids(columns.search(
+        geo(BoundingBox.parse("170,-20,-170,0"), null), all).getContent()));
+    // São Paulo → Rio ~360 km.
+    assertEquals(List.of(1L, 3L), ids(columns.search(
+        geo(null, GeoRadius.parse("-23.55,-46.63", 400_000)), all).getContent()));
+    assertEquals(1, columns.search(
+        geo(null, GeoRadius.parse("-23.55,-46.63", 300_000)), all).getTotalElements());
+  }
+
+  @Test
+  void shouldRoundTripRowsThroughCopy() {
+    var copy = new AssetColumns.Builder(1).copy(columns, columns.rowOf(3L)).build();
+
+    assertEquals(
+        located(
+            asset(3L, "Notebook A", "SN-3", Category.COMPUTER, Status.MAINTENANCE, "2025-02-01"),
+            -22.91, -43.17),
+        copy.toResponse(0));
+  }
+
+  private static AssetFilter geo(BoundingBox bbox, GeoRadius near) {
+    return new AssetFilter(null, null, null, null, null, bbox, near);
+  }
+
+  private static List<Long> ids(List<AssetResponse> assets) {
+    return assets.stream().map(AssetResponse::id).toList();
+  }
+
+  private static AssetResponse asset(
+      Long id, String name, String serial, Category category, Status status, String acquired) {
+    return new AssetResponse(
+        id, name, serial, category, status, LocalDate.parse(acquired), null, null,
+        T0.plusMinutes(id), T0.plusHours(id), id * 10);
+  }
+
+  private static AssetResponse located(AssetResponse asset, double lat, double lon) {
+    return new AssetResponse(
+        asset.id(), asset.name(), asset.serialNumber(), asset.category(), asset.status(),
+        asset.acquisitionDate(), lat, lon, asset.createdAt(), asset.updatedAt(), asset.version());
+  }
+}
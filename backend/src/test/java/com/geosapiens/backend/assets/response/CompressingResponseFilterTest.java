@@ -0,0 +1,148 @@
+package com.geosapiens.backend.assets.response;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.geosapiens.backend.assets.AssetChangedEvent;
+import com.geosapiens.backend.datasource.ReadRoutingTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+class CompressingResponseFilterTest {
+
+  private final AtomicInteger executions = new AtomicInteger();
+  private volatile boolean replicaRead;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private EncodedResponseCache cache;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    cache = new EncodedResponseCache(meterRegistry, true, true, 1, Duration.ofMinutes(1));
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new FakeAssetsController())
+        .addFilters(new CompressingResponseFilter(cache, meterRegistry, true, 256, 5))
+        .build();
+  }
+
+  @Test
+  void shouldGzipLargeJsonOnlyWhenAccepted() throws Exception {
+    var plain = mockMvc.perform(get("/assets/1")).andReturn().getResponse();
+    var gzipped = mockMvc.perform(get("/assets/2").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+        .andReturn().getResponse();
+
+    assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertTrue(gzipped.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    assertTrue(gzipped.getContentAsByteArray().length < plain.getContentAsByteArray().length);
+    assertEquals(
+        plain.getContentAsString().replace("\"id\":1", "\"id\":2"),
+        gunzip(gzipped.getContentAsByteArray()));
+    assertEquals("\"2\"", gzipped.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  void shouldServeRepeatedGetsFromCacheUntilAWriteCommits() throws Exception {
+    byte[] first = mockMvc.perform(get("/assets/7").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andReturn().getResponse().getContentAsByteArray();
+    var second = mockMvc.perform(get("/assets/7").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andReturn().getResponse();
+    var identity = mockMvc.perform(get("/assets/7")).andReturn().getResponse();
+
+    assertEquals(1, executions.get());
+    assertArrayEquals(first, second.getContentAsByteArray());
+    assertEquals("\"7\"", second.getHeader(HttpHeaders.ETAG));
+    assertNull(identity.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(gunzip(first), identity.getContentAsString());
+
+    cache.onAssetChanged(AssetChangedEvent.deleted(7L, 3L, null));
+    mockMvc.perform(get("/assets/7"));
+    assertEquals(2, executions.get());
+
+    // Condicionais vão sempre ao controller.
+    mockMvc.perform(get("/assets/7").header(HttpHeaders.IF_NONE_MATCH, "\"7\""));
+    assertEquals(3, executions.get());
+  }
+
+  @Test
+  void shouldNotStoreReplicaReadsNorServePinnedClientsFromCache() throws Exception {
+    replicaRead = true;
+    mockMvc.perform(get("/assets/7"));
+    mockMvc.perform(get("/assets/7"));
+    assertEquals(2, executions.get());
+
+    replicaRead = false;
+    mockMvc.perform(get("/assets/7"));
+    mockMvc.perform(get("/assets/7"));
+    assertEquals(3, executions.get());
+
+    // Cliente dentro da janela de read-your-writes vai ao controller (e ao primário).
+    ReadRoutingTestSupport.setPrimaryOnly(true);
+    try {
+      mockMvc.perform(get("/assets/7"));
+    } finally {
+      ReadRoutingTestSupport.setPrimaryOnly(false);
+    }
+    assertEquals(4, executions.get());
+  }
+
+  @Test
+  void shouldDefaultToOffWhenReplicasAreEnabled() {
+    assertFalse(new EncodedResponseCache(meterRegistry, null, true, 1, Duration.ofMinutes(1))
+        .isEnabled());
+    assertTrue(new EncodedResponseCache(meterRegistry, null, false, 1, Duration.ofMinutes(1))
+        .isEnabled());
+    assertTrue(new EncodedResponseCache(meterRegistry, true, true, 1, Duration.ofMinutes(1))
+        .isEnabled());
+  }
+
+  @Test
+  void shouldHonourQualityValuesInAcceptEncoding() {
+    assertTrue(CompressingResponseFilter.acceptsGzip("gzip, deflate, br"));
+    assertTrue(CompressingResponseFilter.acceptsGzip("br;q=1.0, *;q=0.5"));
+    assertFalse(CompressingResponseFilter.acceptsGzip("gzip;q=0, *"));
+    assertFalse(CompressingResponseFilter.acceptsGzip("identity"));
+    assertFalse(CompressingResponseFilter.acceptsGzip(null));
+  }
+
+  private static String gunzip(byte[] body) throws IOException {
+    try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @RestController
+  private class FakeAssetsController {
+
+    @GetMapping("/assets/{id}")
+    ResponseEntity<String> get(@PathVariable long id) {
+      executions.incrementAndGet();
+      if (replicaRead) {
+        ReadRoutingTestSupport.markReplicaRead();
+      }
+      String payload = "{\"id\":" + id + ",\"name\":\"" + "Notebook ".repeat(60) + "\"}";
+      return ResponseEntity.ok()
+          .eTag(Long.toString(id))
+          .header(HttpHeaders.CONTENT_TYPE, "application/json")
+          .body(payload);
+    }
+  }
+}
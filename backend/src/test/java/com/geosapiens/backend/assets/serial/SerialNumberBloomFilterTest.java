@@ -0,0 +1,54 @@
+package com.geosapiens.backend.assets.serial;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SerialNumberBloomFilterTest {
+
+  @Test
+  void shouldNeverReportFalseNegatives() {
+    var filter = SerialNumberBloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("GS-COM-USE-" + i);
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain("GS-COM-USE-" + i));
+    }
+  }
+
+  @Test
+  void shouldKeepFalsePositiveRateNearConfiguredValue() {
+    var filter = SerialNumberBloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("GS-COM-USE-" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("SN-NEW-" + i)) {
+        falsePositives++;
+      }
+    }
+
+    double rate = falsePositives / 100_000.0;
+    assertTrue(rate < 0.02, "taxa de falso positivo alta demais: " + rate);
+    assertTrue(filter.expectedFpp() < 0.02);
+  }
+
+  @Test
+  void shouldReportEmptyFilterAsDefiniteMiss() {
+    var filter = SerialNumberBloomFilter.create(1_000, 0.01);
+
+    assertFalse(filter.mightContain("GS-ANY"));
+  }
+
+  @Test
+  void shouldRejectInvalidSizing() {
+    assertThrows(IllegalArgumentException.class, () -> SerialNumberBloomFilter.create(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> SerialNumberBloomFilter.create(10, 1.5));
+  }
+}
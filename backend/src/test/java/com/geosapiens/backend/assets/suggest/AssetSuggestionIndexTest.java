@@ -0,0 +1,65 @@
+package com.geosapiens.backend.assets.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.geosapiens.backend.assets.dto.AssetSuggestionResponse;
+import com.geosapiens.backend.assets.dto.AssetSuggestionResponse.Field;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AssetSuggestionIndexTest {
+
+  @Test
+  void shouldNormalizeAccentsCaseAndSpaces() {
+    assertEquals(
+        "impressora termica 2", AssetSuggestionIndex.normalize("  Impressora  Térmica\t2 "));
+  }
+
+  @Test
+  void shouldCompleteInAlphabeticalOrderAndCountEachAssetOnce() {
+    var index = new AssetSuggestionIndex.Index();
+    index.put(1, "Notebook Dell", "NB-0001");
+    index.put(2, "Notebook", "nb-0002");
+    index.put(3, "Monitor", "MON-1");
+    index.put(4, "Abz", "SN-4");
+    index.put(5, "Abcdefgh", "SN-5");
+
+    // Um termo antes dos que o estendem; fora isso, alfabética, não por tamanho.
+    assertEquals(List.of(2L, 1L), ids(index.complete("note", 10)));
+    assertEquals(List.of(5L, 4L), ids(index.complete("ab", 10)));
+    // Cada asset aparece uma vez, mesmo quando nome e serial casam.
+    assertEquals(List.of(1L, 2L), ids(index.complete("nb", 10)));
+    assertEquals(List.of(1L), ids(index.complete("n", 1)));
+    assertEquals(Field.SERIAL, index.complete("mon-", 10).get(0).matchedField());
+  }
+
+  @Test
+  void shouldReplaceKeysOnRenameAndDropThemOnRemoval() {
+    var index = new AssetSuggestionIndex.Index();
+    index.put(1, "Switch Core", "SW-1");
+
+    index.put(1, "Roteador Borda", "SW-1");
+    assertEquals(List.of(), index.complete("switch", 10));
+    assertEquals(List.of(1L), ids(index.complete("rot", 10)));
+
+    index.put(1, null, null);
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  void shouldKeepEventWritesOverStreamedRowsDuringLoad() {
+    var index = new AssetSuggestionIndex.Index();
+    index.touch(7, "Nome Novo", "SN-7");
+
+    index.load(7, "Nome Antigo", "SN-7");
+    index.load(8, "Outro", "SN-8");
+
+    assertEquals(List.of(7L), ids(index.complete("nome", 10)));
+    assertEquals("Nome Novo", index.complete("nome", 10).get(0).name());
+    assertEquals(4, index.size());
+  }
+
+  private static List<Long> ids(List<AssetSuggestionResponse> suggestions) {
+    return suggestions.stream().map(AssetSuggestionResponse::id).toList();
+  }
+}
@@ -0,0 +1,141 @@
+package com.geosapiens.backend.assets.tombstone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.geosapiens.backend.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+/**
+ * Purge em lotes e trigger de seriais da V6 contra o Postgres. Os tombstones "antigos" têm
+ * {@code deleted_at} em 1990 e a retenção é de 30 anos, para não purgar dados reais da base.
+ */
+@EnabledIfEnvironmentVariable(named = TestDatabase.URL_ENV, matches = ".+")
+class AssetTombstonesDatabaseTest {
+
+  private static final String PREFIX = "TEST-TOMB-";
+
+  private JdbcTemplate jdbc;
+  private AssetTombstones tombstones;
+
+  @BeforeEach
+  void setUp() {
+    var dataSource = TestDatabase.dataSource();
+    jdbc = new JdbcTemplate(dataSource);
+    cleanUp();
+    tombstones = new AssetTombstones(
+        jdbc,
+        new DataSourceTransactionManager(dataSource),
+        new SimpleMeterRegistry(),
+        true,
+        Duration.ofDays(365 * 30),
+        2,
+        100,
+        Duration.ZERO);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbc.update("DELETE FROM assets WHERE serial_number LIKE ?", PREFIX + "%");
+  }
+
+  @Test
+  void shouldPurgeOnlyTombstonesOlderThanRetentionInBatches() {
+    for (int i = 1; i <= 5; i++) {
+      softDelete(insert(PREFIX + "OLD-" + i), longAgo(i));
+    }
+    softDelete(insert(PREFIX + "RECENT"), OffsetDateTime.now(ZoneOffset.UTC));
+    insert(PREFIX + "LIVE");
+
+    var run = tombstones.purge();
+
+    assertEquals(5, run.purged());
+    assertEquals(3, run.batches());
+    assertEquals(List.of(PREFIX + "LIVE", PREFIX + "RECENT"), serials());
+  }
+
+  @Test
+  void shouldReleaseSerialOnSoftDeleteAndKeepReuseAfterPurge() {
+    long deleted = insert(PREFIX + "SERIAL");
+    assertThrows(DuplicateKeyException.class, () -> insert(PREFIX + "SERIAL"));
+
+    softDelete(deleted, longAgo(1));
+    long reused = insert(PREFIX + "SERIAL");
+    tombstones.purge();
+
+    // O DELETE físico do tombstone não libera o serial agora reservado pelo asset novo.
+    assertEquals(List.of(reused), reservedBy(PREFIX + "SERIAL"));
+    assertThrows(DuplicateKeyException.class, () -> insert(PREFIX + "SERIAL"));
+  }
+
+  @Test
+  void shouldMoveReservationWhenSerialChanges() {
+    long id = insert(PREFIX + "BEFORE");
+
+    jdbc.update("UPDATE assets SET serial_number = ? WHERE id = ?", PREFIX + "AFTER", id);
+
+    assertEquals(List.of(), reservedBy(PREFIX + "BEFORE"));
+    assertEquals(List.of(id), reservedBy(PREFIX + "AFTER"));
+    insert(PREFIX + "BEFORE");
+  }
+
+  @Test
+  void shouldPageTombstonesByDeletionTimeAndId() {
+    long first = insert(PREFIX + "A");
+    long second = insert(PREFIX + "B");
+    softDelete(first, longAgo(1));
+    softDelete(second, longAgo(1));
+
+    var page = tombstones.find(null, null, 1).stream()
+        .filter(t -> t.serialNumber().startsWith(PREFIX))
+        .toList();
+    var next = tombstones.find(page.getFirst().deletedAt(), page.getFirst().id(), 10).stream()
+        .filter(t -> t.serialNumber().startsWith(PREFIX))
+        .toList();
+
+    assertEquals(List.of(first), page.stream().map(t -> t.id()).toList());
+    assertEquals(List.of(second), next.stream().map(t -> t.id()).toList());
+  }
+
+  private long insert(String serialNumber) {
+    return jdbc.queryForObject("""
+        INSERT INTO assets (name, serial_number, category, status, acquisition_date)
+        VALUES ('Tombstone', ?, 'COMPUTER', 'IN_USE', CURRENT_DATE)
+        RETURNING id
+        """, Long.class, serialNumber);
+  }
+
+  private void softDelete(long id, OffsetDateTime deletedAt) {
+    jdbc.update(
+        "UPDATE assets SET deleted_at = ?, version = version + 1 WHERE id = ?", deletedAt, id);
+  }
+
+  private static OffsetDateTime longAgo(int day) {
+    return OffsetDateTime.of(1990, 1, day, 0, 0, 0, 0, ZoneOffset.UTC);
+  }
+
+  private List<String> serials() {
+    return jdbc.queryForList(
+        "SELECT serial_number FROM assets WHERE serial_number LIKE ? ORDER BY 1",
+        String.class,
+        PREFIX + "%");
+  }
+
+  private List<Long> reservedBy(String serialNumber) {
+    return jdbc.queryForList(
+        "SELECT asset_id FROM asset_serial_numbers WHERE serial_number = ?",
+        Long.class,
+        serialNumber);
+  }
+}
@@ -0,0 +1,83 @@
+package com.geosapiens.backend.assets.tombstone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AssetTombstonesTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    transactionManager = mock(PlatformTransactionManager.class);
+  }
+
+  @Test
+  void shouldPurgeInOneTransactionPerBatchUntilShortBatch() {
+    when(jdbcTemplate.update(anyString(), any(OffsetDateTime.class), anyInt()))
+        .thenReturn(2, 2, 1);
+
+    var run = tombstones(2, 10, Duration.ZERO).purge();
+
+    assertEquals(5, run.purged());
+    assertEquals(3, run.batches());
+    verify(transactionManager, times(3)).getTransaction(any());
+    verify(transactionManager, times(3)).commit(any());
+    verify(jdbcTemplate, times(3)).update(anyString(), any(OffsetDateTime.class), eq(2));
+  }
+
+  @Test
+  void shouldStopAtMaxBatchesEvenWithTombstonesLeft() {
+    when(jdbcTemplate.update(anyString(), any(OffsetDateTime.class), anyInt())).thenReturn(2);
+
+    var run = tombstones(2, 3, Duration.ZERO).purge();
+
+    assertEquals(3, run.batches());
+    assertEquals(6, run.purged());
+  }
+
+  @Test
+  void shouldStopBetweenBatchesWhenInterrupted() {
+    when(jdbcTemplate.update(anyString(), any(OffsetDateTime.class), anyInt())).thenReturn(2);
+
+    Thread.currentThread().interrupt();
+    try {
+      var run = tombstones(2, 10, Duration.ofSeconds(10)).purge();
+
+      assertEquals(1, run.batches());
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  private AssetTombstones tombstones(int batchSize, int maxBatches, Duration batchPause) {
+    return new AssetTombstones(
+        jdbcTemplate,
+        transactionManager,
+        new SimpleMeterRegistry(),
+        true,
+        Duration.ofDays(30),
+        batchSize,
+        maxBatches,
+        batchPause);
+  }
+}
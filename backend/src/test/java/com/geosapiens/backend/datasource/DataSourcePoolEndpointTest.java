@@ -0,0 +1,62 @@
+package com.geosapiens.backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+class DataSourcePoolEndpointTest {
+
+  private HikariDataSource hikari;
+  private DataSourcePoolEndpoint endpoint;
+
+  @BeforeEach
+  void setUp() {
+    // Sem getConnection o Hikari não abre o pool, então não precisa de banco.
+    hikari = new HikariDataSource();
+    hikari.setPoolName("primary");
+    hikari.setJdbcUrl("jdbc:postgresql://localhost:1/unused");
+    hikari.setMaximumPoolSize(10);
+    hikari.setMinimumIdle(10);
+    endpoint = new DataSourcePoolEndpoint(
+        new LazyConnectionDataSourceProxy(hikari), new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    hikari.close();
+  }
+
+  @Test
+  void shouldUnwrapLazyProxyAndResizePool() {
+    var report = endpoint.resize(25, 5);
+
+    assertEquals(25, hikari.getMaximumPoolSize());
+    assertEquals(5, hikari.getMinimumIdle());
+    assertEquals(25, report.maximumPoolSize());
+    assertEquals("primary", report.poolName());
+  }
+
+  @Test
+  void shouldCapMinimumIdleWhenShrinkingWithoutIt() {
+    endpoint.resize(4, null);
+
+    assertEquals(4, hikari.getMaximumPoolSize());
+    assertEquals(4, hikari.getMinimumIdle());
+  }
+
+  @Test
+  void shouldRejectInvalidSizesWithoutTouchingThePool() {
+    assertThrows(InvalidEndpointRequestException.class, () -> endpoint.resize(0, null));
+    assertThrows(InvalidEndpointRequestException.class, () -> endpoint.resize(5, 6));
+
+    assertEquals(10, hikari.getMaximumPoolSize());
+    assertEquals(10, hikari.getMinimumIdle());
+  }
+}
@@ -0,0 +1,15 @@
+package com.geosapiens.backend.datasource;
+
+/** Acesso dos testes de outros pacotes às marcações que só o roteamento faz. */
+public final class ReadRoutingTestSupport {
+
+  private ReadRoutingTestSupport() {}
+
+  public static void setPrimaryOnly(boolean primaryOnly) {
+    ReadRoutingContext.setPrimaryOnly(primaryOnly);
+  }
+
+  public static void markReplicaRead() {
+    ReadRoutingContext.markReplicaRead();
+  }
+}
@@ -0,0 +1,81 @@
+package com.geosapiens.backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ReadYourWritesFilterTest {
+
+  private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void shouldPinReadsToThePrimaryOnlyWithinTheWindowOfTheClientsLastWrite() throws Exception {
+    long now = System.currentTimeMillis();
+
+    assertFalse(primaryOnly(get(null)));
+    assertTrue(primaryOnly(get(Long.toString(now - 1_000))));
+    assertFalse(primaryOnly(get(Long.toString(now - 60_000))));
+    assertFalse(primaryOnly(get("x")));
+    assertTrue(primaryOnly(new MockHttpServletRequest("PUT", "/assets/1")));
+    assertFalse(primaryOnly(new MockHttpServletRequest("POST", "/assets:batchGet")));
+    assertFalse(ReadRoutingContext.isPrimaryOnly());
+  }
+
+  @Test
+  void shouldStampTheResponseWhenAWriteCommitsWithinTheRequest() {
+    var response = new MockHttpServletResponse();
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest("PUT", "/assets/1"), response));
+    var stamp = new WriteCommitStamp();
+
+    stamp.afterCommit(transaction(true), null);
+    assertNull(response.getHeader(ReadRoutingContext.LAST_WRITE_HEADER));
+    stamp.afterCommit(transaction(false), new RuntimeException());
+    assertNull(response.getHeader(ReadRoutingContext.LAST_WRITE_HEADER));
+
+    stamp.afterCommit(transaction(false), null);
+    String lastWrite = response.getHeader(ReadRoutingContext.LAST_WRITE_HEADER);
+    assertNotNull(lastWrite);
+    assertTrue(Math.abs(System.currentTimeMillis() - Long.parseLong(lastWrite)) < 5_000);
+  }
+
+  private boolean primaryOnly(MockHttpServletRequest request) throws Exception {
+    var seen = new AtomicBoolean();
+    filter.doFilter(
+        request, new MockHttpServletResponse(),
+        (req, res) -> seen.set(ReadRoutingContext.isPrimaryOnly()));
+    return seen.get();
+  }
+
+  private static MockHttpServletRequest get(String lastWrite) {
+    var request = new MockHttpServletRequest("GET", "/assets/1");
+    if (lastWrite != null) {
+      request.addHeader(ReadRoutingContext.LAST_WRITE_HEADER, lastWrite);
+    }
+    return request;
+  }
+
+  private static TransactionExecution transaction(boolean readOnly) {
+    var transaction = mock(TransactionExecution.class);
+    when(transaction.isReadOnly()).thenReturn(readOnly);
+    return transaction;
+  }
+}
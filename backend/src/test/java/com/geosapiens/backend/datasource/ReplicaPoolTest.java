@@ -0,0 +1,57 @@
+package com.geosapiens.backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaPoolTest {
+
+  private ReplicaPool.Replica first;
+  private ReplicaPool.Replica second;
+  private ReplicaPool pool;
+
+  @BeforeEach
+  void setUp() {
+    first = new ReplicaPool.Replica("replica-0", mock(DataSource.class));
+    second = new ReplicaPool.Replica("replica-1", mock(DataSource.class));
+    pool = new ReplicaPool(List.of(first, second), Duration.ofSeconds(5));
+  }
+
+  @Test
+  void shouldRoundRobinAcrossHealthyReplicas() {
+    DataSource a = pool.select();
+    DataSource b = pool.select();
+
+    assertNotSame(a, b);
+    assertSame(a, pool.select());
+  }
+
+  @Test
+  void shouldSkipReplicasLaggingBeyondThreshold() {
+    first.lagSeconds = 30;
+
+    for (int i = 0; i < 4; i++) {
+      assertSame(second.dataSource(), pool.select());
+    }
+  }
+
+  @Test
+  void shouldFallBackToPrimaryWhenNoReplicaIsUsable() {
+    first.lagSeconds = 30;
+    pool.markUnreachable(second.dataSource());
+
+    assertNull(pool.select());
+  }
+
+  @Test
+  void shouldFallBackToPrimaryWithoutReplicas() {
+    assertNull(new ReplicaPool(List.of(), Duration.ofSeconds(5)).select());
+  }
+}
@@ -0,0 +1,71 @@
+package com.geosapiens.backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private ReplicaPool.Replica replica;
+  private ReplicaRoutingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    var primary = mock(DataSource.class);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    var replicaDataSource = mock(DataSource.class);
+    when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+    replica = new ReplicaPool.Replica("replica-0", replicaDataSource);
+    dataSource = new ReplicaRoutingDataSource(
+        primary, new ReplicaPool(List.of(replica), Duration.ofSeconds(5)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadRoutingContext.setPrimaryOnly(false);
+  }
+
+  @Test
+  void shouldCountOnlyConnectionsServedByReplicas() throws SQLException {
+    long before = ReadRoutingContext.replicaReads();
+
+    assertSame(replicaConnection, dataSource.getConnection());
+    assertEquals(before + 1, ReadRoutingContext.replicaReads());
+
+    ReadRoutingContext.setPrimaryOnly(true);
+    assertSame(primaryConnection, dataSource.getConnection());
+    ReadRoutingContext.setPrimaryOnly(false);
+    replica.lagSeconds = 30;
+    assertSame(primaryConnection, dataSource.getConnection());
+    assertEquals(before + 1, ReadRoutingContext.replicaReads());
+  }
+
+  @Test
+  void shouldCountReplicaReadsOfPropagatedTasksOnTheCallingThread() throws Exception {
+    long before = ReadRoutingContext.replicaReads();
+
+    var task = ReadRoutingContext.propagate(() -> {
+      try {
+        return dataSource.getConnection();
+      } catch (SQLException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    var worker = Thread.ofVirtual().start(task::get);
+    worker.join();
+
+    assertEquals(before + 1, ReadRoutingContext.replicaReads());
+  }
+}
@@ -0,0 +1,94 @@
+package com.geosapiens.backend.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrRecorderTest {
+
+  @TempDir
+  Path dir;
+
+  private JfrRecorder recorder;
+
+  @AfterEach
+  void close() {
+    recorder.close();
+  }
+
+  @Test
+  void shouldDumpRingOncePerCooldownOnSlowRequests() throws Exception {
+    recorder = recorder(Duration.ofMinutes(5), 20);
+    recorder.startRing();
+
+    assertTrue(recorder.claimSlowDump());
+    assertFalse(recorder.claimSlowDump());
+    recorder.dumpSlowRequest("GET /assets", Duration.ofSeconds(3).toNanos());
+
+    var status = recorder.status();
+    assertEquals(1, status.files().size());
+    assertNotNull(status.lastSlowDump());
+    Path dump = recorder.file(status.lastSlowDump().name());
+    assertTrue(dump.getFileName().toString().startsWith("ring-slow-"));
+    // O arquivo é uma gravação JFR válida, sem variáveis de ambiente nem system properties.
+    var events = RecordingFile.readAllEvents(dump);
+    assertFalse(events.isEmpty());
+    assertTrue(events.stream().map(event -> event.getEventType().getName()).noneMatch(
+        name -> name.equals("jdk.InitialEnvironmentVariable")
+            || name.equals("jdk.InitialSystemProperty")));
+  }
+
+  @Test
+  void shouldKeepOnlyTheNewestFilesAndRejectPathsOutsideTheDumpDir() throws Exception {
+    recorder = recorder(Duration.ZERO, 2);
+    recorder.startRing();
+
+    recorder.dumpRing();
+    Thread.sleep(5);
+    recorder.dumpRing();
+    Thread.sleep(5);
+    var newest = recorder.dumpRing();
+
+    var files = recorder.status().files();
+    assertEquals(2, files.size());
+    assertEquals(newest.name(), files.get(0).name());
+    assertNull(recorder.file("../" + newest.name()));
+    assertNull(recorder.file("missing.jfr"));
+    Files.writeString(dir.resolve("notes.txt"), "x");
+    assertNull(recorder.file("notes.txt"));
+  }
+
+  @Test
+  void shouldBoundRecordingsAndWriteTheFileOnStop() {
+    recorder = recorder(Duration.ZERO, 20);
+
+    var info = recorder.start("default", Duration.ofHours(1), 1024L);
+    assertEquals("PT1M", info.duration());
+    assertThrows(IllegalStateException.class, () -> recorder.start("default", null, null));
+    assertThrows(IllegalArgumentException.class, () -> recorder.start("custom", null, null));
+
+    var file = recorder.stop(info.id());
+    assertEquals(info.file(), file.name());
+    assertNotNull(recorder.file(file.name()));
+    assertNull(recorder.stop(info.id()));
+    assertTrue(recorder.status().recordings().isEmpty());
+  }
+
+  private JfrRecorder recorder(Duration cooldown, int maxFiles) {
+    return new JfrRecorder(
+        new SimpleMeterRegistry(), dir, true, Duration.ofMinutes(1), 16,
+        Duration.ofSeconds(2), cooldown, maxFiles, Duration.ofMinutes(1), 16, 1);
+  }
+}
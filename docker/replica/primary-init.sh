@@ -0,0 +1,10 @@
+#!/bin/bash
+# Executado uma única vez pelo entrypoint do Postgres (volume vazio): cria o usuário de
+# replicação e libera conexões de streaming vindas da rede do Compose.
+set -euo pipefail
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-SQL
+  CREATE ROLE ${REPLICATION_USER} WITH REPLICATION LOGIN PASSWORD '${REPLICATION_PASSWORD}';
+SQL
+
+echo "host replication ${REPLICATION_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
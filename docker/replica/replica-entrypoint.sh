@@ -0,0 +1,23 @@
+#!/bin/bash
+# Sobe uma réplica de streaming: na primeira execução clona o primário com pg_basebackup -R
+# (gera standby.signal + primary_conninfo); depois só inicia o Postgres em modo hot standby.
+set -euo pipefail
+
+: "${PGDATA:?PGDATA is required}"
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  mkdir -p "$PGDATA"
+  chown -R postgres:postgres "$(dirname "$PGDATA")"
+  chmod 700 "$PGDATA"
+
+  until gosu postgres pg_isready -h "$PRIMARY_HOST" -p "$PRIMARY_PORT" > /dev/null 2>&1; do
+    echo "aguardando primário em $PRIMARY_HOST:$PRIMARY_PORT..."
+    sleep 1
+  done
+
+  PGPASSWORD="$REPLICATION_PASSWORD" gosu postgres pg_basebackup \
+    -h "$PRIMARY_HOST" -p "$PRIMARY_PORT" -U "$REPLICATION_USER" \
+    -D "$PGDATA" -R -X stream -c fast
+fi
+
+exec gosu postgres postgres -c hot_standby=on
@@ -3,6 +3,7 @@ import {
 	API_ACCEPT_HEADER,
 	API_CONTENT_TYPE_HEADER,
 	API_JSON_CONTENT_TYPE,
+	API_LAST_WRITE_HEADER,
 	ASSETS_API_PATH,
 	ASSETS_LIST_QUERY_KEY,
 	ASSETS_QUERY_KEY,
@@ -38,6 +39,10 @@ export type NormalizedAssetsQueryParams = {
 
 const API_BASE_URL = resolveApiBaseUrl(import.meta.env.VITE_API_URL);
 
+// Instante da última escrita devolvido pelo backend; reenviado para que as leituras seguintes
+// vão ao primário enquanto as réplicas não aplicaram a escrita.
+let lastWrite: string | null = null;
+
 export class ApiHttpError extends Error {
 	readonly status: number;
 	readonly code?: string;
@@ -118,6 +123,11 @@ async function request<TResponse>(
 		body: options.body === undefined ? undefined : JSON.stringify(options.body),
 	});
 
+	const writtenAt = response.headers.get(API_LAST_WRITE_HEADER);
+	if (writtenAt) {
+		lastWrite = writtenAt;
+	}
+
 	return parseResponse<TResponse>(response);
 }
 
@@ -172,6 +182,9 @@ function appendQueryValue(
 function buildHeaders(hasBody: boolean): Headers {
 	const headers = new Headers();
 	headers.set(API_ACCEPT_HEADER, API_JSON_CONTENT_TYPE);
+	if (lastWrite) {
+		headers.set(API_LAST_WRITE_HEADER, lastWrite);
+	}
 	if (hasBody) {
 		headers.set(API_CONTENT_TYPE_HEADER, API_JSON_CONTENT_TYPE);
 	}
@@ -10,6 +10,8 @@ export interface Asset {
   category: Category;
   status: Status;
   acquisitionDate: string;
+  latitude: number | null;
+  longitude: number | null;
   createdAt: string;
   updatedAt: string;
 }
@@ -20,6 +22,8 @@ export interface AssetUpsertRequest {
   category: Category;
   status: Status;
   acquisitionDate: string;
+  latitude: number | null;
+  longitude: number | null;
 }
 
 export interface PaginatedResponse<TItem> {
@@ -28,6 +32,7 @@ export interface PaginatedResponse<TItem> {
   size: number;
   totalElements: number;
   totalPages: number;
+  hasNext: boolean;
 }
 
 export type AssetsPageResponse = PaginatedResponse<Asset>;
@@ -55,34 +55,63 @@ import {
 	SheetTrigger,
 } from './ui/sheet';
 
-const assetUpsertSchema = z.object({
-	name: z.string().trim().min(1, 'Nome é obrigatório.'),
-	serialNumber: z.string().trim().min(1, 'Número de série é obrigatório.'),
-	category: z
+// Vazio = sem localização; aceita vírgula como separador decimal.
+const coordinateSchema = (label: string, limit: number) =>
+	z
 		.string()
-		.min(1, 'Categoria é obrigatória.')
+		.trim()
+		.transform((value) => value.replace(',', '.'))
 		.refine(
-			(value): value is Category => isEnumValue(value, CATEGORY_VALUES),
-			'Categoria inválida.',
+			(value) =>
+				value === '' ||
+				(Number.isFinite(Number(value)) && Math.abs(Number(value)) <= limit),
+			`${label} deve estar entre -${limit} e ${limit}.`,
 		)
-		.transform((value) => value as Category),
-	status: z
-		.string()
-		.min(1, 'Status é obrigatório.')
-		.refine(
-			(value): value is Status => isEnumValue(value, STATUS_VALUES),
-			'Status inválido.',
-		)
-		.transform((value) => value as Status),
-	acquisitionDate: z
-		.string()
-		.min(1, 'Data de aquisição é obrigatória.')
-		.refine((value) => isValidDateInput(value), 'Data de aquisição inválida.')
-		.refine(
-			(value) => value <= getTodayDateInputValue(),
-			'A data de aquisição não pode ser futura.',
-		),
-});
+		.transform((value) => (value === '' ? null : Number(value)));
+
+const assetUpsertSchema = z
+	.object({
+		name: z.string().trim().min(1, 'Nome é obrigatório.'),
+		serialNumber: z.string().trim().min(1, 'Número de série é obrigatório.'),
+		category: z
+			.string()
+			.min(1, 'Categoria é obrigatória.')
+			.refine(
+				(value): value is Category => isEnumValue(value, CATEGORY_VALUES),
+				'Categoria inválida.',
+			)
+			.transform((value) => value as Category),
+		status: z
+			.string()
+			.min(1, 'Status é obrigatório.')
+			.refine(
+				(value): value is Status => isEnumValue(value, STATUS_VALUES),
+				'Status inválido.',
+			)
+			.transform((value) => value as Status),
+		acquisitionDate: z
+			.string()
+			.min(1, 'Data de aquisição é obrigatória.')
+			.refine(
+				(value) => isValidDateInput(value),
+				'Data de aquisição inválida.',
+			)
+			.refine(
+				(value) => value <= getTodayDateInputValue(),
+				'A data de aquisição não pode ser futura.',
+			),
+		latitude: coordinateSchema('Latitude', 90),
+		longitude: coordinateSchema('Longitude', 180),
+	})
+	.superRefine((values, ctx) => {
+		if ((values.latitude === null) !== (values.longitude === null)) {
+			ctx.addIssue({
+				code: 'custom',
+				path: [values.latitude === null ? 'latitude' : 'longitude'],
+				message: 'Informe latitude e longitude juntas.',
+			});
+		}
+	});
 
 type AssetUpsertFormInput = z.input<typeof assetUpsertSchema>;
 type AssetUpsertFormOutput = z.output<typeof assetUpsertSchema>;
@@ -104,6 +133,8 @@ const emptyFormValues: AssetUpsertFormInput = {
 	category: '',
 	status: '',
 	acquisitionDate: '',
+	latitude: '',
+	longitude: '',
 };
 
 const CATEGORY_PLACEHOLDER_VALUE = '__CATEGORY_PLACEHOLDER__';
@@ -181,6 +212,9 @@ export default function AssetUpsertSheet({
 				category: asset.category,
 				status: asset.status,
 				acquisitionDate: asset.acquisitionDate,
+				// PUT substitui o ativo inteiro: sem estes campos a localização seria removida.
+				latitude: asset.latitude?.toString() ?? '',
+				longitude: asset.longitude?.toString() ?? '',
 			});
 			return;
 		}
@@ -472,6 +506,50 @@ export default function AssetUpsertSheet({
 						}}
 					/>
 
+					<div className='grid grid-cols-2 gap-4'>
+						<div className='space-y-2'>
+							<label
+								htmlFor='asset-latitude'
+								className='text-sm font-medium'>
+								Latitude
+							</label>
+							<Input
+								id='asset-latitude'
+								inputMode='decimal'
+								placeholder='Ex.: -23.5505'
+								aria-invalid={Boolean(form.formState.errors.latitude)}
+								disabled={isSubmitting}
+								{...form.register('latitude')}
+							/>
+							{form.formState.errors.latitude?.message && (
+								<p className='text-sm text-destructive'>
+									{form.formState.errors.latitude.message}
+								</p>
+							)}
+						</div>
+
+						<div className='space-y-2'>
+							<label
+								htmlFor='asset-longitude'
+								className='text-sm font-medium'>
+								Longitude
+							</label>
+							<Input
+								id='asset-longitude'
+								inputMode='decimal'
+								placeholder='Ex.: -46.6333'
+								aria-invalid={Boolean(form.formState.errors.longitude)}
+								disabled={isSubmitting}
+								{...form.register('longitude')}
+							/>
+							{form.formState.errors.longitude?.message && (
+								<p className='text-sm text-destructive'>
+									{form.formState.errors.longitude.message}
+								</p>
+							)}
+						</div>
+					</div>
+
 					{formErrorMessage && (
 						<p className='text-sm text-destructive'>{formErrorMessage}</p>
 					)}
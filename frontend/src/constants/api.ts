@@ -3,6 +3,7 @@
 const API_ACCEPT_HEADER = 'Accept';
 const API_CONTENT_TYPE_HEADER = 'Content-Type';
 const API_JSON_CONTENT_TYPE = 'application/json';
+const API_LAST_WRITE_HEADER = 'X-Last-Write';
 
 const ASSETS_QUERY_KEY = 'assets';
 const ASSETS_LIST_QUERY_KEY = 'list';
@@ -15,6 +16,7 @@ export {
 	API_ACCEPT_HEADER,
 	API_CONTENT_TYPE_HEADER,
 	API_JSON_CONTENT_TYPE,
+	API_LAST_WRITE_HEADER,
 	ASSETS_LIST_QUERY_KEY,
 	ASSETS_API_PATH,
 	ASSETS_QUERY_KEY,
@@ -6,6 +6,8 @@ const ASSET_CREATE_FIELDS = [
 	'category',
 	'status',
 	'acquisitionDate',
+	'latitude',
+	'longitude',
 ] as const;
 
 export { ASSET_CREATE_FIELDS };